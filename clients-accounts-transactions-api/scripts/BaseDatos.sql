@@ -30,6 +30,8 @@ CREATE TABLE bank.cliente (
 );
 
 CREATE INDEX idx_cliente_persona ON bank.cliente(persona_id);
+-- Listado de clientes más recientes primero, por página o por cursor (created_at, id)
+CREATE INDEX idx_cliente_creacion ON bank.cliente(created_at DESC, id DESC);
 
 CREATE TABLE bank.cuenta (
   id uuid PRIMARY KEY DEFAULT gen_random_uuid(),
@@ -44,6 +46,8 @@ CREATE TABLE bank.cuenta (
 );
 
 CREATE INDEX idx_cuenta_cliente ON bank.cuenta(cliente_id);
+-- Listado de cuentas más recientes primero, por página o por cursor (created_at, id)
+CREATE INDEX idx_cuenta_creacion ON bank.cuenta(created_at DESC, id DESC);
 
 CREATE TABLE bank.movimiento (
   id uuid PRIMARY KEY DEFAULT gen_random_uuid(),
@@ -57,6 +61,29 @@ CREATE TABLE bank.movimiento (
 
 CREATE INDEX idx_movimiento_cuenta_fecha ON bank.movimiento(cuenta_id, fecha DESC);
 CREATE INDEX idx_movimiento_fecha ON bank.movimiento(fecha);
+-- Saldo acumulado al leer (modo DERIVED) y totales del reporte resumido: suma, ventana y
+-- agrupación por tipo por cuenta sin visitar la tabla
+CREATE INDEX idx_movimiento_cuenta_orden ON bank.movimiento(cuenta_id, fecha, created_at, id) INCLUDE (valor, tipo);
+
+-- Recálculos de saldo_post_movimiento pendientes (modo diferido): una fila por cuenta con la
+-- fecha más antigua afectada; version cambia con cada ajuste combinado
+CREATE TABLE bank.recalculo_pendiente (
+  cuenta_id uuid PRIMARY KEY REFERENCES bank.cuenta(id) ON DELETE CASCADE,
+  desde timestamptz NOT NULL,
+  version bigint NOT NULL DEFAULT 1,
+  registrado_en timestamptz NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_recalculo_pendiente_registro ON bank.recalculo_pendiente(registrado_en);
+
+-- Saldo de cierre diario por cuenta: una fila por cada día con movimientos. El saldo a una fecha
+-- es el cierre del último día registrado hasta esa fecha (scripts/saldo_diario_backfill.sql)
+CREATE TABLE bank.saldo_diario (
+  cuenta_id uuid NOT NULL REFERENCES bank.cuenta(id) ON DELETE CASCADE,
+  dia date NOT NULL,
+  saldo_cierre numeric(18,2) NOT NULL,
+  PRIMARY KEY (cuenta_id, dia)
+);
 
 -- ======================================================================
 -- DATOS DE EJEMPLO
@@ -0,0 +1,68 @@
+#!/usr/bin/env bash
+# ======================================================================
+# Ejecuta un benchmark de scripts/benchmark con los tamaños documentados en su encabezado y
+# guarda la salida completa de psql (EXPLAIN (ANALYZE, BUFFERS) y \timing) en
+# scripts/benchmark/resultados/<benchmark>-<tamaño>.txt, precedida por la versión de
+# PostgreSQL, los parámetros que afectan al plan y el commit medido.
+#
+# Uso (la conexión se toma de las variables PG* habituales o de los argumentos extra de psql):
+#   scripts/benchmark/capturar_resultados.sh filtros_movimientos -d bank_db
+# ======================================================================
+set -euo pipefail
+
+if [ $# -lt 1 ]; then
+  echo "uso: $0 <benchmark> [opciones de psql]" >&2
+  exit 1
+fi
+
+benchmark="$1"
+shift
+
+dir="$(cd "$(dirname "$0")" && pwd)"
+script="$dir/$benchmark.sql"
+resultados="$dir/resultados"
+
+case "$benchmark" in
+  filtros_movimientos)
+    tamanos=("clientes=200 movimientos=500" "clientes=2000 movimientos=1000")
+    ;;
+  saldo_derivado)
+    tamanos=("movimientos=10000" "movimientos=1000000")
+    ;;
+  *)
+    echo "benchmark desconocido: $benchmark" >&2
+    exit 1
+    ;;
+esac
+
+mkdir -p "$resultados"
+
+for tamano in "${tamanos[@]}"; do
+  variables=()
+  etiqueta=""
+  for asignacion in $tamano; do
+    variables+=(-v "$asignacion")
+    etiqueta+="-${asignacion//=/}"
+  done
+  salida="$resultados/$benchmark$etiqueta.txt"
+
+  # Cada corrida termina en ROLLBACK: sin VACUUM, las filas muertas de la anterior inflan los
+  # índices y las lecturas de la siguiente
+  psql -X -q "$@" -c "VACUUM (ANALYZE) bank.persona, bank.cliente, bank.cuenta, bank.movimiento,
+                      bank.saldo_diario"
+
+  {
+    echo "-- benchmark: $benchmark ($tamano)"
+    echo "-- commit:    $(git -C "$dir" rev-parse --short HEAD 2>/dev/null || echo desconocido)"
+    echo "-- fecha:     $(date -u +%Y-%m-%dT%H:%M:%SZ)"
+    psql -X -q -A -t "$@" -c "SELECT '-- ' || version()" \
+      -c "SELECT '-- ' || name || ' = ' || current_setting(name) FROM pg_settings
+          WHERE name IN ('shared_buffers', 'work_mem', 'effective_cache_size',
+                         'random_page_cost', 'jit', 'max_parallel_workers_per_gather')
+          ORDER BY name"
+    echo
+    psql -X -e "$@" "${variables[@]}" -f "$script"
+  } > "$salida" 2>&1
+
+  echo "$salida"
+done
@@ -0,0 +1,170 @@
+-- ======================================================================
+-- BENCHMARK: listado de movimientos con consulta genérica (:x IS NULL OR ...)
+--            frente a la consulta armada por MovementQueryBuilder
+--
+-- Uso (sobre una base creada con scripts/BaseDatos.sql):
+--   psql -d bank_db -v clientes=200 -v movimientos=500 -f scripts/benchmark/filtros_movimientos.sql
+--   psql -d bank_db -v clientes=2000 -v movimientos=1000 -f scripts/benchmark/filtros_movimientos.sql
+--
+-- Se crean :clientes clientes con dos cuentas cada uno y :movimientos movimientos por cuenta,
+-- dentro de una transacción que termina en ROLLBACK. Ambas consultas se preparan con
+-- plan_cache_mode = force_generic_plan, que es el plan que termina usando una sentencia
+-- preparada reutilizada: la genérica tiene un solo plan para todas las combinaciones, la armada
+-- uno por combinación. Para cada par comparar el nodo de acceso (Index Scan sobre
+-- idx_movimiento_cuenta_fecha / idx_movimiento_fecha frente a Seq Scan o Hash Join sobre
+-- bank.cuenta), "Buffers" y "Execution Time". Las sentencias son copia literal de la consulta
+-- anterior de MovementRepository y de la salida de MovementQueryBuilder
+-- (ver MovementQueryBuilderTest).
+--
+-- Resultados: scripts/benchmark/capturar_resultados.sh filtros_movimientos -d bank_db corre los
+-- dos tamaños anteriores y deja la salida en scripts/benchmark/resultados/ (ver su README.md).
+-- ======================================================================
+
+\set ON_ERROR_STOP on
+\if :{?clientes}
+\else
+  \set clientes 200
+\endif
+\if :{?movimientos}
+\else
+  \set movimientos 500
+\endif
+
+\timing on
+
+BEGIN;
+
+INSERT INTO bank.persona (id, nombre, identificacion)
+SELECT ('00000000-0000-0000-0001-' || lpad(to_hex(n), 12, '0'))::uuid, 'Benchmark ' || n, 'BENCH-FILTRO-' || n
+FROM generate_series(1, :clientes) AS n;
+
+INSERT INTO bank.cliente (id, persona_id, username)
+SELECT ('00000000-0000-0000-0002-' || lpad(to_hex(n), 12, '0'))::uuid,
+       ('00000000-0000-0000-0001-' || lpad(to_hex(n), 12, '0'))::uuid, 'bench-filtro-' || n
+FROM generate_series(1, :clientes) AS n;
+
+INSERT INTO bank.cuenta (cliente_id, tipo, saldo_inicial, saldo_actual)
+SELECT ('00000000-0000-0000-0002-' || lpad(to_hex(n), 12, '0'))::uuid, t.tipo, 1000.00, 1000.00
+FROM generate_series(1, :clientes) AS n CROSS JOIN (VALUES ('AHORROS'), ('CORRIENTE')) AS t(tipo);
+
+-- Movimientos repartidos en el último año; el saldo almacenado no interesa para el listado
+INSERT INTO bank.movimiento (cuenta_id, fecha, tipo, valor, saldo_post_movimiento, created_at)
+SELECT c.id,
+       now() - make_interval(mins => (n * 523 + abs(hashtext(c.id::text)) % 997) % 525600),
+       CASE WHEN n % 2 = 0 THEN 'CREDITO' ELSE 'DEBITO' END,
+       CASE WHEN n % 2 = 0 THEN 10.00 ELSE -5.00 END,
+       1000.00,
+       now()
+FROM bank.cuenta c CROSS JOIN generate_series(1, :movimientos) AS n
+WHERE c.cliente_id::text LIKE '00000000-0000-0000-0002-%';
+
+ANALYZE bank.movimiento;
+ANALYZE bank.cuenta;
+
+SELECT c.cliente_id AS bench_cliente, c.numero_cuenta AS bench_cuenta FROM bank.cuenta c
+WHERE c.cliente_id = ('00000000-0000-0000-0002-' || lpad(to_hex(:clientes / 2), 12, '0'))::uuid
+ORDER BY c.numero_cuenta LIMIT 1 \gset
+SELECT (now() - interval '200 days')::timestamp AS bench_desde,
+       (now() - interval '170 days')::timestamp AS bench_hasta \gset
+
+SET plan_cache_mode = force_generic_plan;
+
+-- Consulta anterior: un único plan para cualquier combinación de filtros
+PREPARE generica(uuid, bigint, timestamp, timestamp, int, int) AS
+SELECT m.* FROM bank.movimiento m LEFT JOIN bank.cuenta c ON m.cuenta_id = c.id
+WHERE ($1::uuid IS NULL OR c.cliente_id = $1::uuid)
+  AND ($2::bigint IS NULL OR c.numero_cuenta = $2::bigint)
+  AND ($3::timestamp IS NULL OR m.fecha >= $3::timestamp)
+  AND ($4::timestamp IS NULL OR m.fecha <= $4::timestamp)
+ORDER BY m.fecha DESC, m.id DESC LIMIT $5 OFFSET $6;
+
+-- Consultas armadas: solo los filtros y joins pedidos
+PREPARE sin_filtros(int) AS
+SELECT m.id, m.cuenta_id, m.fecha, m.tipo, m.valor, m.saldo_post_movimiento, m.created_at
+FROM bank.movimiento m ORDER BY m.fecha DESC, m.id DESC LIMIT $1;
+
+PREPARE por_cuenta(bigint, int) AS
+SELECT m.id, m.cuenta_id, m.fecha, m.tipo, m.valor, m.saldo_post_movimiento, m.created_at
+FROM bank.movimiento m WHERE m.cuenta_id = (SELECT id FROM bank.cuenta WHERE numero_cuenta = $1)
+ORDER BY m.fecha DESC, m.id DESC LIMIT $2;
+
+PREPARE por_cliente(uuid, int) AS
+SELECT m.id, m.cuenta_id, m.fecha, m.tipo, m.valor, m.saldo_post_movimiento, m.created_at
+FROM bank.movimiento m JOIN bank.cuenta c ON c.id = m.cuenta_id WHERE c.cliente_id = $1
+ORDER BY m.fecha DESC, m.id DESC LIMIT $2;
+
+PREPARE por_cuenta_y_fechas(bigint, uuid, timestamp, timestamp, int) AS
+SELECT m.id, m.cuenta_id, m.fecha, m.tipo, m.valor, m.saldo_post_movimiento, m.created_at
+FROM bank.movimiento m
+WHERE m.cuenta_id = (SELECT id FROM bank.cuenta WHERE numero_cuenta = $1 AND cliente_id = $2)
+  AND m.fecha >= $3 AND m.fecha <= $4
+ORDER BY m.fecha DESC, m.id DESC LIMIT $5;
+
+PREPARE por_fechas(timestamp, timestamp, int) AS
+SELECT m.id, m.cuenta_id, m.fecha, m.tipo, m.valor, m.saldo_post_movimiento, m.created_at
+FROM bank.movimiento m WHERE m.fecha >= $1 AND m.fecha <= $2
+ORDER BY m.fecha DESC, m.id DESC LIMIT $3;
+
+PREPARE por_cuenta_cursor(bigint, timestamp, uuid, int) AS
+SELECT m.id, m.cuenta_id, m.fecha, m.tipo, m.valor, m.saldo_post_movimiento, m.created_at
+FROM bank.movimiento m WHERE m.cuenta_id = (SELECT id FROM bank.cuenta WHERE numero_cuenta = $1)
+  AND m.fecha <= $2 AND (m.fecha, m.id) < ($2, $3)
+ORDER BY m.fecha DESC, m.id DESC LIMIT $4;
+
+-- ----------------------------------------------------------------------
+-- 1. Sin filtros
+-- ----------------------------------------------------------------------
+\echo '== sin filtros: genérica'
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE generica(NULL, NULL, NULL, NULL, 50, 0);
+\echo '== sin filtros: armada'
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE sin_filtros(50);
+
+-- ----------------------------------------------------------------------
+-- 2. Una cuenta
+-- ----------------------------------------------------------------------
+\echo '== cuenta: genérica'
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE generica(NULL, :bench_cuenta, NULL, NULL, 50, 0);
+\echo '== cuenta: armada'
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE por_cuenta(:bench_cuenta, 50);
+
+-- ----------------------------------------------------------------------
+-- 3. Un cliente (todas sus cuentas)
+-- ----------------------------------------------------------------------
+\echo '== cliente: genérica'
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE generica(:'bench_cliente', NULL, NULL, NULL, 50, 0);
+\echo '== cliente: armada'
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE por_cliente(:'bench_cliente', 50);
+
+-- ----------------------------------------------------------------------
+-- 4. Cliente, cuenta y rango de fechas (estado de cuenta de un mes)
+-- ----------------------------------------------------------------------
+\echo '== cliente, cuenta y fechas: genérica'
+EXPLAIN (ANALYZE, BUFFERS)
+EXECUTE generica(:'bench_cliente', :bench_cuenta, :'bench_desde', :'bench_hasta', 50, 0);
+\echo '== cliente, cuenta y fechas: armada'
+EXPLAIN (ANALYZE, BUFFERS)
+EXECUTE por_cuenta_y_fechas(:bench_cuenta, :'bench_cliente', :'bench_desde', :'bench_hasta', 50);
+
+-- ----------------------------------------------------------------------
+-- 5. Solo rango de fechas
+-- ----------------------------------------------------------------------
+\echo '== fechas: genérica'
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE generica(NULL, NULL, :'bench_desde', :'bench_hasta', 50, 0);
+\echo '== fechas: armada'
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE por_fechas(:'bench_desde', :'bench_hasta', 50);
+
+-- ----------------------------------------------------------------------
+-- 6. Una cuenta, página profunda: desplazamiento frente a cursor
+-- ----------------------------------------------------------------------
+SELECT fecha AS bench_cursor_fecha, id AS bench_cursor_id FROM bank.movimiento
+WHERE cuenta_id = (SELECT id FROM bank.cuenta WHERE numero_cuenta = :bench_cuenta)
+ORDER BY fecha DESC, id DESC OFFSET (:movimientos * 8 / 10) - 1 LIMIT 1 \gset
+
+\echo '== cuenta, página profunda: genérica con OFFSET'
+EXPLAIN (ANALYZE, BUFFERS)
+EXECUTE generica(NULL, :bench_cuenta, NULL, NULL, 50, (:movimientos * 8 / 10));
+\echo '== cuenta, página profunda: armada con cursor'
+EXPLAIN (ANALYZE, BUFFERS)
+EXECUTE por_cuenta_cursor(:bench_cuenta, :'bench_cursor_fecha', :'bench_cursor_id', 50);
+
+ROLLBACK;
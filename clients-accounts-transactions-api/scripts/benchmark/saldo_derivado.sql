@@ -0,0 +1,145 @@
+-- ======================================================================
+-- BENCHMARK: saldo_post_movimiento almacenado (ROW_BY_ROW / SET_BASED / DEFERRED)
+--            frente a saldo calculado al leer (DERIVED)
+--
+-- Uso (sobre una base creada con scripts/BaseDatos.sql):
+--   psql -d bank_db -v movimientos=10000   -f scripts/benchmark/saldo_derivado.sql
+--   psql -d bank_db -v movimientos=1000000 -f scripts/benchmark/saldo_derivado.sql
+--
+-- Todo se ejecuta dentro de una transacción que termina en ROLLBACK: la cuenta y los movimientos
+-- de prueba no quedan en la base. Comparar "Execution Time" y "Buffers" de cada par de consultas.
+-- Las consultas son copia literal de MovementRepository con los parámetros sustituidos.
+--
+-- Resultados: scripts/benchmark/capturar_resultados.sh saldo_derivado -d bank_db corre los dos
+-- tamaños anteriores y deja la salida en scripts/benchmark/resultados/ (ver su README.md).
+-- ======================================================================
+
+\set ON_ERROR_STOP on
+\if :{?movimientos}
+\else
+  \set movimientos 10000
+\endif
+
+\timing on
+
+BEGIN;
+
+INSERT INTO bank.persona (id, nombre, identificacion)
+VALUES ('00000000-0000-0000-0000-00000000b001', 'Benchmark', 'BENCH-SALDO');
+
+INSERT INTO bank.cliente (id, persona_id, username)
+VALUES ('00000000-0000-0000-0000-00000000b002', '00000000-0000-0000-0000-00000000b001', 'bench-saldo');
+
+INSERT INTO bank.cuenta (id, cliente_id, tipo, saldo_inicial, saldo_actual)
+VALUES ('00000000-0000-0000-0000-00000000b003', '00000000-0000-0000-0000-00000000b002', 'AHORROS', 1000.00, 1000.00);
+
+-- Un movimiento por minuto hacia atrás desde ahora; créditos y débitos alternados
+INSERT INTO bank.movimiento (cuenta_id, fecha, tipo, valor, saldo_post_movimiento, created_at)
+SELECT '00000000-0000-0000-0000-00000000b003',
+       now() - make_interval(mins => :movimientos - n),
+       CASE WHEN n % 2 = 0 THEN 'CREDITO' ELSE 'DEBITO' END,
+       CASE WHEN n % 2 = 0 THEN 10.00 ELSE -5.00 END,
+       1000.00 + 10.00 * (n / 2) - 5.00 * ((n + 1) / 2),
+       now()
+FROM generate_series(1, :movimientos) AS n;
+
+UPDATE bank.cuenta
+SET saldo_actual = 1000.00 + (SELECT SUM(m.valor) FROM bank.movimiento m WHERE m.cuenta_id = bank.cuenta.id)
+WHERE id = '00000000-0000-0000-0000-00000000b003';
+
+-- Saldos de cierre diarios de la cuenta (igual que scripts/saldo_diario_backfill.sql)
+INSERT INTO bank.saldo_diario (cuenta_id, dia, saldo_cierre)
+SELECT d.cuenta_id, d.dia, 1000.00 + SUM(d.neto) OVER (ORDER BY d.dia)
+FROM (SELECT cuenta_id, fecha::date AS dia, SUM(valor) AS neto FROM bank.movimiento
+      WHERE cuenta_id = '00000000-0000-0000-0000-00000000b003' GROUP BY cuenta_id, fecha::date) d;
+
+ANALYZE bank.movimiento;
+ANALYZE bank.saldo_diario;
+ANALYZE bank.cuenta;
+
+SELECT numero_cuenta AS bench_cuenta FROM bank.cuenta
+WHERE id = '00000000-0000-0000-0000-00000000b003' \gset
+
+-- ----------------------------------------------------------------------
+-- 1. Listado findWithFilters: primera página (50) de la cuenta, sin fechas
+-- ----------------------------------------------------------------------
+\echo '== listado, primera página: almacenado'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT m.* FROM bank.movimiento m LEFT JOIN bank.cuenta c ON m.cuenta_id = c.id
+WHERE c.numero_cuenta = :bench_cuenta
+ORDER BY m.fecha DESC LIMIT 50 OFFSET 0;
+
+\echo '== listado, primera página: DERIVED'
+EXPLAIN (ANALYZE, BUFFERS)
+WITH pagina AS (SELECT m.* FROM bank.movimiento m LEFT JOIN bank.cuenta c ON m.cuenta_id = c.id
+                WHERE c.numero_cuenta = :bench_cuenta ORDER BY m.fecha DESC LIMIT 50 OFFSET 0),
+     limites AS (SELECT cuenta_id, MIN(fecha) AS desde, MAX(fecha) AS hasta FROM pagina GROUP BY cuenta_id),
+     semilla AS MATERIALIZED (SELECT l.cuenta_id, l.desde, l.hasta,
+                        COALESCE(sd.saldo_cierre, c.saldo_inicial)
+                          + COALESCE((SELECT SUM(a.valor) FROM bank.movimiento a
+                                      WHERE a.cuenta_id = l.cuenta_id
+                                        AND a.fecha >= COALESCE((sd.dia + 1)::timestamp, '-infinity')
+                                        AND a.fecha < l.desde), 0) AS saldo
+                 FROM limites l JOIN bank.cuenta c ON c.id = l.cuenta_id
+                 LEFT JOIN LATERAL (SELECT s.dia, s.saldo_cierre FROM bank.saldo_diario s
+                                    WHERE s.cuenta_id = l.cuenta_id AND s.dia < l.desde::date
+                                    ORDER BY s.dia DESC LIMIT 1) sd ON true),
+     acumulado AS (SELECT m.id, s.saldo + SUM(m.valor) OVER (PARTITION BY m.cuenta_id ORDER BY m.fecha, m.created_at, m.id) AS saldo
+                   FROM semilla s JOIN bank.movimiento m ON m.cuenta_id = s.cuenta_id AND m.fecha >= s.desde AND m.fecha <= s.hasta)
+SELECT p.id, p.cuenta_id, p.fecha, p.tipo, p.valor, a.saldo AS saldo_post_movimiento, p.created_at
+FROM pagina p JOIN acumulado a ON a.id = p.id ORDER BY p.fecha DESC;
+
+-- ----------------------------------------------------------------------
+-- 2. Ruta del reporte: movimientos de un día a mitad del historial (listMovements por cuenta)
+-- ----------------------------------------------------------------------
+SELECT (now() - make_interval(mins => :movimientos / 2))::date AS bench_dia \gset
+
+\echo '== reporte, un día a mitad del historial: almacenado'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT m.* FROM bank.movimiento m LEFT JOIN bank.cuenta c ON m.cuenta_id = c.id
+WHERE c.numero_cuenta = :bench_cuenta
+  AND m.fecha >= :'bench_dia'::timestamp AND m.fecha <= (:'bench_dia'::date + 1)::timestamp - interval '1 microsecond'
+ORDER BY m.fecha DESC LIMIT 50 OFFSET 0;
+
+\echo '== reporte, un día a mitad del historial: DERIVED'
+EXPLAIN (ANALYZE, BUFFERS)
+WITH pagina AS (SELECT m.* FROM bank.movimiento m LEFT JOIN bank.cuenta c ON m.cuenta_id = c.id
+                WHERE c.numero_cuenta = :bench_cuenta
+                  AND m.fecha >= :'bench_dia'::timestamp AND m.fecha <= (:'bench_dia'::date + 1)::timestamp - interval '1 microsecond'
+                ORDER BY m.fecha DESC LIMIT 50 OFFSET 0),
+     limites AS (SELECT cuenta_id, MIN(fecha) AS desde, MAX(fecha) AS hasta FROM pagina GROUP BY cuenta_id),
+     semilla AS MATERIALIZED (SELECT l.cuenta_id, l.desde, l.hasta,
+                        COALESCE(sd.saldo_cierre, c.saldo_inicial)
+                          + COALESCE((SELECT SUM(a.valor) FROM bank.movimiento a
+                                      WHERE a.cuenta_id = l.cuenta_id
+                                        AND a.fecha >= COALESCE((sd.dia + 1)::timestamp, '-infinity')
+                                        AND a.fecha < l.desde), 0) AS saldo
+                 FROM limites l JOIN bank.cuenta c ON c.id = l.cuenta_id
+                 LEFT JOIN LATERAL (SELECT s.dia, s.saldo_cierre FROM bank.saldo_diario s
+                                    WHERE s.cuenta_id = l.cuenta_id AND s.dia < l.desde::date
+                                    ORDER BY s.dia DESC LIMIT 1) sd ON true),
+     acumulado AS (SELECT m.id, s.saldo + SUM(m.valor) OVER (PARTITION BY m.cuenta_id ORDER BY m.fecha, m.created_at, m.id) AS saldo
+                   FROM semilla s JOIN bank.movimiento m ON m.cuenta_id = s.cuenta_id AND m.fecha >= s.desde AND m.fecha <= s.hasta)
+SELECT p.id, p.cuenta_id, p.fecha, p.tipo, p.valor, a.saldo AS saldo_post_movimiento, p.created_at
+FROM pagina p JOIN acumulado a ON a.id = p.id ORDER BY p.fecha DESC;
+
+-- ----------------------------------------------------------------------
+-- 3. Escritura: editar el valor del primer movimiento de la cuenta (peor caso)
+-- ----------------------------------------------------------------------
+SELECT id AS bench_primero, fecha AS bench_primero_fecha FROM bank.movimiento
+WHERE cuenta_id = '00000000-0000-0000-0000-00000000b003' ORDER BY fecha LIMIT 1 \gset
+
+SAVEPOINT escritura;
+
+\echo '== edición del primer movimiento: almacenado (SET_BASED, reescribe toda la cola)'
+EXPLAIN (ANALYZE, BUFFERS)
+UPDATE bank.movimiento SET saldo_post_movimiento = saldo_post_movimiento + 1.00
+WHERE cuenta_id = '00000000-0000-0000-0000-00000000b003' AND fecha > :'bench_primero_fecha'::timestamptz;
+
+ROLLBACK TO SAVEPOINT escritura;
+
+\echo '== edición del primer movimiento: DERIVED (una sola fila)'
+EXPLAIN (ANALYZE, BUFFERS)
+UPDATE bank.movimiento SET valor = valor + 1.00 WHERE id = :'bench_primero'::uuid;
+
+ROLLBACK;
@@ -0,0 +1,31 @@
+-- ======================================================================
+-- Reconstruye bank.saldo_diario a partir de los movimientos existentes.
+--
+-- Es idempotente: puede ejecutarse sobre una base con datos anteriores a la tabla o para
+-- corregir saldos de cierre desalineados. Calcula el neto de cada día y lo acumula sobre el
+-- saldo inicial de la cuenta; los días sin movimientos no generan fila.
+--
+-- El día de un movimiento es fecha::date en la zona horaria de la sesión, la misma regla que usan
+-- las escrituras de la aplicación (MovementRepository.insertApplyingBalance y
+-- DailyBalancePersistenceAdapter): ejecutarlo con la misma TimeZone que las conexiones de la app.
+-- ======================================================================
+
+BEGIN;
+
+LOCK TABLE bank.saldo_diario IN EXCLUSIVE MODE;
+
+DELETE FROM bank.saldo_diario s
+WHERE NOT EXISTS (SELECT 1 FROM bank.movimiento m
+                  WHERE m.cuenta_id = s.cuenta_id AND m.fecha::date = s.dia);
+
+INSERT INTO bank.saldo_diario (cuenta_id, dia, saldo_cierre)
+SELECT d.cuenta_id,
+       d.dia,
+       c.saldo_inicial + SUM(d.neto) OVER (PARTITION BY d.cuenta_id ORDER BY d.dia)
+FROM (SELECT cuenta_id, fecha::date AS dia, SUM(valor) AS neto
+      FROM bank.movimiento
+      GROUP BY cuenta_id, fecha::date) d
+JOIN bank.cuenta c ON c.id = d.cuenta_id
+ON CONFLICT (cuenta_id, dia) DO UPDATE SET saldo_cierre = EXCLUDED.saldo_cierre;
+
+COMMIT;
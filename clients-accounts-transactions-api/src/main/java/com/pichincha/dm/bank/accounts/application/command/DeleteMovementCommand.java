@@ -5,48 +5,81 @@ import com.pichincha.dm.bank.accounts.application.port.output.MovementOutputPort
 import com.pichincha.dm.bank.accounts.application.service.BalanceRecalculationService;
 import com.pichincha.dm.bank.accounts.domain.Account;
 import com.pichincha.dm.bank.accounts.domain.Movement;
+import com.pichincha.dm.bank.accounts.domain.exception.TransactionNotAllowedException;
 import java.math.BigDecimal;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 
 @Component
-@RequiredArgsConstructor
 public class DeleteMovementCommand implements MovementCommand {
 
     private final MovementOutputPort movementOutputPort;
     private final AccountOutputPort accountOutputPort;
     private final BalanceRecalculationService balanceRecalculationService;
-    private Movement movementToDelete;
-    private Account account;
 
-    public DeleteMovementCommand withMovementToDelete(Movement movementToDelete) {
+    private static final String INSUFFICIENT_BALANCE_MESSAGE =
+            "El saldo de la cuenta no permite revertir el movimiento";
+
+    private final Movement movementToDelete;
+    private final Account account;
+
+    @Autowired
+    public DeleteMovementCommand(
+            MovementOutputPort movementOutputPort,
+            AccountOutputPort accountOutputPort,
+            BalanceRecalculationService balanceRecalculationService) {
+        this(movementOutputPort, accountOutputPort, balanceRecalculationService, null, null);
+    }
+
+    private DeleteMovementCommand(
+            MovementOutputPort movementOutputPort,
+            AccountOutputPort accountOutputPort,
+            BalanceRecalculationService balanceRecalculationService,
+            Movement movementToDelete,
+            Account account) {
+        this.movementOutputPort = movementOutputPort;
+        this.accountOutputPort = accountOutputPort;
+        this.balanceRecalculationService = balanceRecalculationService;
         this.movementToDelete = movementToDelete;
-        return this;
+        this.account = account;
+    }
+
+    public DeleteMovementCommand withMovementToDelete(Movement movementToDelete) {
+        return new DeleteMovementCommand(
+                movementOutputPort,
+                accountOutputPort,
+                balanceRecalculationService,
+                movementToDelete,
+                account);
     }
 
     public DeleteMovementCommand withAccount(Account account) {
-        this.account = account;
-        return this;
+        return new DeleteMovementCommand(
+                movementOutputPort,
+                accountOutputPort,
+                balanceRecalculationService,
+                movementToDelete,
+                account);
     }
 
     @Override
     public Mono<Void> execute() {
-        BigDecimal newAccountBalance = calculateNewAccountBalance();
-
         BigDecimal balanceAdjustment = movementToDelete.getValue().negate();
 
         return accountOutputPort
-                .updateBalance(account.getId(), newAccountBalance)
-                .then(movementOutputPort.deleteById(movementToDelete.getId()))
-                .then(recalculateSubsequentMovements(balanceAdjustment));
-    }
-
-    private BigDecimal calculateNewAccountBalance() {
-        return account.getCurrentBalance().subtract(movementToDelete.getValue());
+                .applyBalanceDelta(account.getId(), balanceAdjustment)
+                .switchIfEmpty(
+                        Mono.error(
+                                () ->
+                                        new TransactionNotAllowedException(
+                                                INSUFFICIENT_BALANCE_MESSAGE)))
+                .then(Mono.defer(() -> movementOutputPort.deleteById(movementToDelete.getId())))
+                .then(Mono.defer(() -> recalculateSubsequentMovements(balanceAdjustment)))
+                .then();
     }
 
-    private Mono<Void> recalculateSubsequentMovements(BigDecimal balanceAdjustment) {
+    private Mono<Long> recalculateSubsequentMovements(BigDecimal balanceAdjustment) {
         return balanceRecalculationService.recalculatePostMovementBalances(
                 account.getId(), movementToDelete.getDate().plusNanos(1), balanceAdjustment);
     }
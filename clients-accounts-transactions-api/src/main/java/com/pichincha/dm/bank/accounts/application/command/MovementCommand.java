@@ -2,6 +2,11 @@ package com.pichincha.dm.bank.accounts.application.command;
 
 import reactor.core.publisher.Mono;
 
+/**
+ * Operación de escritura sobre movimientos. Los métodos {@code with*} de cada implementación
+ * devuelven una nueva instancia inmutable, por lo que cada invocación lleva su propio estado y
+ * puede ejecutarse en paralelo con otras.
+ */
 public interface MovementCommand {
 
     Mono<Void> execute();
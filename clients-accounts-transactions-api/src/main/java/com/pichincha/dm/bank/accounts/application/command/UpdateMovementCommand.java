@@ -5,35 +5,77 @@ import com.pichincha.dm.bank.accounts.application.port.output.MovementOutputPort
 import com.pichincha.dm.bank.accounts.application.service.BalanceRecalculationService;
 import com.pichincha.dm.bank.accounts.domain.Account;
 import com.pichincha.dm.bank.accounts.domain.Movement;
+import com.pichincha.dm.bank.accounts.domain.exception.TransactionNotAllowedException;
 import java.math.BigDecimal;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 
 @Component
-@RequiredArgsConstructor
 public class UpdateMovementCommand implements MovementCommand {
 
     private final MovementOutputPort movementOutputPort;
     private final AccountOutputPort accountOutputPort;
     private final BalanceRecalculationService balanceRecalculationService;
-    private Movement oldMovement;
-    private Movement newMovement;
-    private Account account;
 
-    public UpdateMovementCommand withOldMovement(Movement oldMovement) {
+    private static final String INSUFFICIENT_BALANCE_MESSAGE =
+            "El saldo de la cuenta no cubre el nuevo valor del movimiento";
+
+    private final Movement oldMovement;
+    private final Movement newMovement;
+    private final Account account;
+
+    @Autowired
+    public UpdateMovementCommand(
+            MovementOutputPort movementOutputPort,
+            AccountOutputPort accountOutputPort,
+            BalanceRecalculationService balanceRecalculationService) {
+        this(movementOutputPort, accountOutputPort, balanceRecalculationService, null, null, null);
+    }
+
+    private UpdateMovementCommand(
+            MovementOutputPort movementOutputPort,
+            AccountOutputPort accountOutputPort,
+            BalanceRecalculationService balanceRecalculationService,
+            Movement oldMovement,
+            Movement newMovement,
+            Account account) {
+        this.movementOutputPort = movementOutputPort;
+        this.accountOutputPort = accountOutputPort;
+        this.balanceRecalculationService = balanceRecalculationService;
         this.oldMovement = oldMovement;
-        return this;
+        this.newMovement = newMovement;
+        this.account = account;
+    }
+
+    public UpdateMovementCommand withOldMovement(Movement oldMovement) {
+        return new UpdateMovementCommand(
+                movementOutputPort,
+                accountOutputPort,
+                balanceRecalculationService,
+                oldMovement,
+                newMovement,
+                account);
     }
 
     public UpdateMovementCommand withNewMovement(Movement newMovement) {
-        this.newMovement = newMovement;
-        return this;
+        return new UpdateMovementCommand(
+                movementOutputPort,
+                accountOutputPort,
+                balanceRecalculationService,
+                oldMovement,
+                newMovement,
+                account);
     }
 
     public UpdateMovementCommand withAccount(Account account) {
-        this.account = account;
-        return this;
+        return new UpdateMovementCommand(
+                movementOutputPort,
+                accountOutputPort,
+                balanceRecalculationService,
+                oldMovement,
+                newMovement,
+                account);
     }
 
     @Override
@@ -41,27 +83,25 @@ public class UpdateMovementCommand implements MovementCommand {
 
         BigDecimal balanceAdjustment = calculateBalanceAdjustment();
 
-        BigDecimal newAccountBalance = calculateNewAccountBalance();
-
         BigDecimal newPostMovementBalance = calculateNewPostMovementBalance();
         newMovement.setPostMovementBalance(newPostMovementBalance);
 
         return accountOutputPort
-                .updateBalance(account.getId(), newAccountBalance)
-                .then(movementOutputPort.update(newMovement))
-                .then(recalculateSubsequentMovements(balanceAdjustment));
+                .applyBalanceDelta(account.getId(), balanceAdjustment)
+                .switchIfEmpty(
+                        Mono.error(
+                                () ->
+                                        new TransactionNotAllowedException(
+                                                INSUFFICIENT_BALANCE_MESSAGE)))
+                .then(Mono.defer(() -> movementOutputPort.update(newMovement)))
+                .then(Mono.defer(() -> recalculateSubsequentMovements(balanceAdjustment)))
+                .then();
     }
 
     private BigDecimal calculateBalanceAdjustment() {
         return newMovement.getValue().subtract(oldMovement.getValue());
     }
 
-    private BigDecimal calculateNewAccountBalance() {
-        return account.getCurrentBalance()
-                .subtract(oldMovement.getValue())
-                .add(newMovement.getValue());
-    }
-
     private BigDecimal calculateNewPostMovementBalance() {
 
         BigDecimal balanceBeforeMovement =
@@ -69,9 +109,9 @@ public class UpdateMovementCommand implements MovementCommand {
         return balanceBeforeMovement.add(newMovement.getValue());
     }
 
-    private Mono<Void> recalculateSubsequentMovements(BigDecimal balanceAdjustment) {
+    private Mono<Long> recalculateSubsequentMovements(BigDecimal balanceAdjustment) {
         if (balanceAdjustment.compareTo(BigDecimal.ZERO) == 0) {
-            return Mono.empty();
+            return Mono.just(0L);
         }
 
         return balanceRecalculationService.recalculatePostMovementBalances(
@@ -1,6 +1,10 @@
 package com.pichincha.dm.bank.accounts.application.port.input;
 
 import com.pichincha.dm.bank.accounts.domain.Account;
+import com.pichincha.dm.bank.accounts.domain.CursorPage;
+import com.pichincha.dm.bank.accounts.domain.PageCursor;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.UUID;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -11,9 +15,39 @@ public interface AccountInputPort {
 
     Mono<Account> getAccountByNumber(String accountNumber);
 
-    Flux<Account> listAccounts(UUID clientId, Integer page, Integer size);
+    /**
+     * Lista una página de cuentas. Con cursor continúa después de la última cuenta entregada; sin
+     * cursor usa el número de página.
+     */
+    Mono<CursorPage<Account>> listAccounts(
+            UUID clientId, Integer page, PageCursor after, Integer size);
+
+    /**
+     * Recorre todas las cuentas, sin paginar, a medida que el consumidor las pide. Con cursor
+     * empieza después de la cuenta indicada.
+     */
+    Flux<Account> streamAccounts(UUID clientId, PageCursor after);
 
     Mono<Account> updateAccount(Account account);
 
     Mono<Void> deleteAccount(String accountNumber);
+
+    /**
+     * Obtiene el saldo de la cuenta al cierre del día indicado.
+     *
+     * @param accountNumber Número de la cuenta
+     * @param date Día de consulta (inclusivo)
+     * @return Mono con el saldo, o error si la cuenta no existe
+     */
+    Mono<BigDecimal> getBalanceAsOf(String accountNumber, LocalDate date);
+
+    /**
+     * Obtiene el saldo de la cuenta al cierre del día indicado; antes del primer movimiento es el
+     * saldo inicial.
+     *
+     * @param account Cuenta a consultar
+     * @param date Día de consulta (inclusivo)
+     * @return Mono con el saldo
+     */
+    Mono<BigDecimal> getBalanceAsOf(Account account, LocalDate date);
 }
@@ -1,6 +1,8 @@
 package com.pichincha.dm.bank.accounts.application.port.input;
 
 import com.pichincha.dm.bank.accounts.domain.Client;
+import com.pichincha.dm.bank.accounts.domain.CursorPage;
+import com.pichincha.dm.bank.accounts.domain.PageCursor;
 import java.util.UUID;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -9,6 +11,12 @@ public interface ClientInputPort {
 
     Flux<Client> getAllClients();
 
+    /**
+     * Lista una página de clientes. Con cursor continúa después del último cliente entregado; sin
+     * cursor usa el número de página.
+     */
+    Mono<CursorPage<Client>> listClients(Integer page, PageCursor after, Integer size);
+
     Mono<Client> getClientById(UUID id);
 
     Mono<Client> createClient(Client client);
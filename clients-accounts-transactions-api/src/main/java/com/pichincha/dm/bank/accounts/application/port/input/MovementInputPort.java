@@ -1,6 +1,8 @@
 package com.pichincha.dm.bank.accounts.application.port.input;
 
+import com.pichincha.dm.bank.accounts.domain.CursorPage;
 import com.pichincha.dm.bank.accounts.domain.Movement;
+import com.pichincha.dm.bank.accounts.domain.PageCursor;
 import java.time.LocalDate;
 import java.util.UUID;
 import reactor.core.publisher.Flux;
@@ -12,14 +14,30 @@ public interface MovementInputPort {
 
     Mono<Movement> getMovementById(UUID id);
 
-    Flux<Movement> listMovements(
+    /**
+     * Lista una página de movimientos. Con cursor continúa después del último movimiento entregado;
+     * sin cursor usa el número de página.
+     */
+    Mono<CursorPage<Movement>> listMovements(
             UUID clientId,
             Long accountNumber,
             LocalDate startDate,
             LocalDate endDate,
             Integer page,
+            PageCursor after,
             Integer size);
 
+    /**
+     * Recorre todos los movimientos que cumplen los filtros, sin paginar, a medida que el
+     * consumidor los pide. Con cursor empieza después del movimiento indicado.
+     */
+    Flux<Movement> streamMovements(
+            UUID clientId,
+            Long accountNumber,
+            LocalDate startDate,
+            LocalDate endDate,
+            PageCursor after);
+
     Mono<Movement> updateMovement(Movement movement);
 
     Mono<Void> deleteMovement(UUID id);
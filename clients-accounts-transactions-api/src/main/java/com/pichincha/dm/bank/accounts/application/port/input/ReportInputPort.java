@@ -1,6 +1,7 @@
 package com.pichincha.dm.bank.accounts.application.port.input;
 
 import com.pichincha.dm.bank.accounts.domain.Report;
+import com.pichincha.dm.bank.accounts.domain.enums.ReportDetail;
 import java.time.LocalDate;
 import java.util.UUID;
 import reactor.core.publisher.Mono;
@@ -11,4 +12,29 @@ public interface ReportInputPort {
 
     Mono<String> generateFormattedReport(
             UUID clientId, LocalDate startDate, LocalDate endDate, String format);
+
+    /**
+     * Genera el reporte con el nivel de detalle indicado. En {@link ReportDetail#RESUMEN} las
+     * cuentas traen saldos, totales y cantidades por tipo, pero no sus movimientos.
+     */
+    Mono<Report> generateReport(
+            UUID clientId, LocalDate startDate, LocalDate endDate, ReportDetail detail);
+
+    Mono<String> generateFormattedReport(
+            UUID clientId,
+            LocalDate startDate,
+            LocalDate endDate,
+            String format,
+            ReportDetail detail);
+
+    /** Genera el PDF del reporte como bytes, para entregarlo como application/pdf sin Base64. */
+    Mono<byte[]> generatePdfDocument(
+            UUID clientId, LocalDate startDate, LocalDate endDate, ReportDetail detail);
+
+    /**
+     * Genera el reporte sin pasar por la caché ni compartir la generación, para procesos masivos
+     * que piden cada reporte una sola vez y no deben desalojar los reportes de uso interactivo.
+     */
+    Mono<Report> generateUncachedReport(
+            UUID clientId, LocalDate startDate, LocalDate endDate, ReportDetail detail);
 }
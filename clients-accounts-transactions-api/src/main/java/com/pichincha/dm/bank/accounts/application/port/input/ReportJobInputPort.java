@@ -0,0 +1,51 @@
+package com.pichincha.dm.bank.accounts.application.port.input;
+
+import com.pichincha.dm.bank.accounts.domain.ReportJob;
+import com.pichincha.dm.bank.accounts.domain.ReportJobResult;
+import com.pichincha.dm.bank.accounts.domain.enums.ReportDetail;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.UUID;
+import reactor.core.publisher.Mono;
+
+public interface ReportJobInputPort {
+
+    /**
+     * Encola la generación del reporte y responde de inmediato con el trabajo pendiente.
+     *
+     * @param clientId ID del cliente
+     * @param startDate Inicio del periodo
+     * @param endDate Fin del periodo
+     * @param format Formato del resultado (json o pdf)
+     * @param detail Nivel de detalle del reporte
+     * @return Mono con el trabajo creado
+     */
+    Mono<ReportJob> submitJob(
+            UUID clientId,
+            LocalDate startDate,
+            LocalDate endDate,
+            String format,
+            ReportDetail detail);
+
+    Mono<ReportJob> getJob(UUID jobId);
+
+    /**
+     * Devuelve el trabajo cuando termina, o su estado actual si no termina dentro de la espera.
+     *
+     * @param jobId ID del trabajo
+     * @param maxWait Espera máxima; cero responde de inmediato
+     * @return Mono con el trabajo
+     */
+    Mono<ReportJob> awaitJob(UUID jobId, Duration maxWait);
+
+    /** Archivo del resultado de un trabajo completado y aún vigente. */
+    Mono<ReportJobResult> getJobResult(UUID jobId);
+
+    /**
+     * Elimina los trabajos vencidos con sus resultados y los archivos que ya no pertenecen a ningún
+     * trabajo.
+     *
+     * @return Mono con la cantidad de trabajos eliminados
+     */
+    Mono<Long> purgeExpiredJobs();
+}
@@ -0,0 +1,19 @@
+package com.pichincha.dm.bank.accounts.application.port.input;
+
+import com.pichincha.dm.bank.accounts.domain.StatementBatchResult;
+import java.time.YearMonth;
+import reactor.core.publisher.Mono;
+
+public interface StatementBatchInputPort {
+
+    /**
+     * Genera y archiva el estado de cuenta del mes para todos los clientes. Los clientes ya
+     * archivados se omiten, así que una corrida interrumpida se retoma donde quedó.
+     *
+     * @param period Mes a cerrar
+     * @return Mono con el resumen de la corrida
+     */
+    Mono<StatementBatchResult> runMonthEnd(YearMonth period);
+
+    Mono<Boolean> isPeriodArchived(YearMonth period);
+}
@@ -0,0 +1,19 @@
+package com.pichincha.dm.bank.accounts.application.port.output;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+import reactor.core.publisher.Mono;
+
+public interface AccountLockOutputPort {
+
+    /**
+     * Ejecuta la operación en exclusión mutua con cualquier otra escritura sobre la misma cuenta,
+     * incluso entre réplicas distintas de la aplicación. El bloqueo se libera al finalizar la
+     * operación.
+     *
+     * @param accountId ID de la cuenta a bloquear
+     * @param operation Operación que realiza las escrituras de saldo y movimientos
+     * @return Mono con el resultado de la operación
+     */
+    <T> Mono<T> withAccountLock(UUID accountId, Supplier<Mono<T>> operation);
+}
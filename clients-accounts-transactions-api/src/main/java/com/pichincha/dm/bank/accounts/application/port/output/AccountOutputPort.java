@@ -1,6 +1,8 @@
 package com.pichincha.dm.bank.accounts.application.port.output;
 
 import com.pichincha.dm.bank.accounts.domain.Account;
+import com.pichincha.dm.bank.accounts.domain.PageCursor;
+import java.math.BigDecimal;
 import java.util.UUID;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -15,9 +17,39 @@ public interface AccountOutputPort {
 
     Flux<Account> findAll(UUID clientId, Integer page, Integer size);
 
+    /**
+     * Lista las cuentas creadas antes de la posición del cursor, de la más reciente a la más
+     * antigua.
+     *
+     * @param clientId ID del cliente, o null para todas las cuentas
+     * @param after Última cuenta entregada (created_at e id)
+     * @param size Tamaño de la página
+     * @return Flux con la página siguiente
+     */
+    Flux<Account> findAfter(UUID clientId, PageCursor after, Integer size);
+
+    /**
+     * Recorre todas las cuentas, de la más reciente a la más antigua, leyendo de la base solo a
+     * medida que el consumidor las pide.
+     *
+     * @param clientId ID del cliente, o null para todas las cuentas
+     * @param after Última cuenta ya entregada, o null para empezar por la más reciente
+     * @return Flux con las cuentas, sin límite de tamaño
+     */
+    Flux<Account> stream(UUID clientId, PageCursor after);
+
     Mono<Account> update(Account account);
 
-    Mono<Account> updateBalance(UUID accountId, java.math.BigDecimal newBalance);
+    /**
+     * Suma el ajuste indicado al saldo actual de la cuenta directamente en la base de datos. Los
+     * ajustes negativos solo se aplican si el saldo resultante no queda por debajo de cero.
+     *
+     * @param accountId ID de la cuenta
+     * @param delta Monto a sumar (positivo) o restar (negativo) del saldo actual
+     * @return Mono con la cuenta actualizada, o vacío si la cuenta no existe o el saldo resultante
+     *     sería negativo
+     */
+    Mono<Account> applyBalanceDelta(UUID accountId, BigDecimal delta);
 
     Mono<Void> deleteByAccountNumber(String accountNumber);
 }
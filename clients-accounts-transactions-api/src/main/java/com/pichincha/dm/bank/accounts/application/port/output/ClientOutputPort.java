@@ -1,6 +1,7 @@
 package com.pichincha.dm.bank.accounts.application.port.output;
 
 import com.pichincha.dm.bank.accounts.domain.Client;
+import com.pichincha.dm.bank.accounts.domain.PageCursor;
 import java.util.UUID;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -13,6 +14,20 @@ public interface ClientOutputPort {
 
     Flux<Client> findAll();
 
+    /** IDs de todos los clientes, sin leer sus datos ni los de la persona. */
+    Flux<UUID> findAllIds();
+
+    Flux<Client> findAll(Integer page, Integer size);
+
+    /**
+     * Lista los clientes creados antes de la posición del cursor, del más reciente al más antiguo.
+     *
+     * @param after Último cliente entregado (created_at e id)
+     * @param size Tamaño de la página
+     * @return Flux con la página siguiente
+     */
+    Flux<Client> findAfter(PageCursor after, Integer size);
+
     Mono<Client> update(Client client);
 
     Mono<Boolean> existsById(UUID id);
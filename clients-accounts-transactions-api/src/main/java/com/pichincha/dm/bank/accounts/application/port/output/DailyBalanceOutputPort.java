@@ -0,0 +1,34 @@
+package com.pichincha.dm.bank.accounts.application.port.output;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+import reactor.core.publisher.Mono;
+
+public interface DailyBalanceOutputPort {
+
+    /**
+     * Aplica el cambio de valor de un movimiento al saldo de cierre del día del movimiento y de
+     * todos los días posteriores con saldo registrado. Si el día aún no tiene saldo de cierre, lo
+     * crea con el saldo real a ese día: el cierre anterior registrado (o el saldo inicial de la
+     * cuenta) más los demás movimientos hasta ese día y el nuevo valor del movimiento. El día es
+     * {@code fecha::date} del movimiento almacenado, la misma regla que
+     * scripts/saldo_diario_backfill.sql.
+     *
+     * @param movementId ID del movimiento, que debe existir todavía
+     * @param previousValue Valor del movimiento antes de la escritura (cero si es nuevo)
+     * @param newValue Valor del movimiento después de la escritura (cero si se elimina)
+     * @return Mono que completa al actualizar los saldos de cierre
+     */
+    Mono<Void> applyMovement(UUID movementId, BigDecimal previousValue, BigDecimal newValue);
+
+    /**
+     * Obtiene el saldo de la cuenta al cierre del día indicado a partir del último saldo de cierre
+     * registrado hasta esa fecha.
+     *
+     * @param accountId ID de la cuenta
+     * @param day Día de consulta (inclusivo)
+     * @return Mono con el saldo, o vacío si la cuenta no tiene movimientos hasta esa fecha
+     */
+    Mono<BigDecimal> findClosingBalance(UUID accountId, LocalDate day);
+}
@@ -1,6 +1,8 @@
 package com.pichincha.dm.bank.accounts.application.port.output;
 
 import com.pichincha.dm.bank.accounts.domain.Movement;
+import com.pichincha.dm.bank.accounts.domain.PageCursor;
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -22,6 +24,36 @@ public interface MovementOutputPort {
             Integer page,
             Integer size);
 
+    /**
+     * Lista los movimientos anteriores a la posición del cursor, del más reciente al más antiguo,
+     * buscando directamente por fecha e id en lugar de descartar las páginas previas.
+     *
+     * @param after Último movimiento entregado (fecha e id)
+     * @param size Tamaño de la página
+     * @return Flux con la página siguiente
+     */
+    Flux<Movement> findAfter(
+            UUID clientId,
+            Long accountNumber,
+            LocalDate startDate,
+            LocalDate endDate,
+            PageCursor after,
+            Integer size);
+
+    /**
+     * Recorre todos los movimientos que cumplen los filtros, del más reciente al más antiguo,
+     * leyendo de la base solo a medida que el consumidor los pide.
+     *
+     * @param after Último movimiento ya entregado, o null para empezar por el más reciente
+     * @return Flux con los movimientos, sin límite de tamaño
+     */
+    Flux<Movement> stream(
+            UUID clientId,
+            Long accountNumber,
+            LocalDate startDate,
+            LocalDate endDate,
+            PageCursor after);
+
     Mono<Movement> update(Movement movement);
 
     Mono<Boolean> existsById(UUID id);
@@ -46,4 +78,48 @@ public interface MovementOutputPort {
      * @return Flux de movimientos actualizados
      */
     Flux<Movement> updateBatch(List<Movement> movements);
+
+    /**
+     * Suma el ajuste al saldo posterior de los movimientos de la cuenta dentro del rango de fechas,
+     * con una única sentencia y sin cargar los movimientos en memoria.
+     *
+     * @param accountId ID de la cuenta
+     * @param fromDateTime Inicio del rango (exclusivo)
+     * @param toDateTime Fin del rango (inclusivo), o null para no acotar el rango
+     * @param adjustment Monto a sumar al saldo posterior
+     * @return Mono con el número de movimientos actualizados
+     */
+    Mono<Long> shiftPostMovementBalances(
+            UUID accountId,
+            LocalDateTime fromDateTime,
+            LocalDateTime toDateTime,
+            BigDecimal adjustment);
+
+    /**
+     * Obtiene la fecha del movimiento más reciente de la cuenta.
+     *
+     * @param accountId ID de la cuenta
+     * @return Mono con la fecha, o vacío si la cuenta no tiene movimientos
+     */
+    Mono<LocalDateTime> findLatestMovementDate(UUID accountId);
+
+    /**
+     * Recalcula como saldo acumulado el saldo posterior de los movimientos de la cuenta registrados
+     * después de la fecha, partiendo del último movimiento anterior o del saldo inicial.
+     *
+     * @param accountId ID de la cuenta
+     * @param fromDateTime Fecha y hora desde la cual recalcular (exclusivo)
+     * @return Mono con el número de movimientos cuyo saldo cambió
+     */
+    Mono<Long> recomputePostMovementBalances(UUID accountId, LocalDateTime fromDateTime);
+
+    /**
+     * Registra el movimiento y aplica su valor al saldo actual de la cuenta en una única sentencia,
+     * sin lecturas previas ni posteriores.
+     *
+     * @param movement Movimiento a registrar
+     * @return Mono con el movimiento almacenado, o vacío si la cuenta no existe o el saldo
+     *     resultante sería negativo
+     */
+    Mono<Movement> saveApplyingBalance(Movement movement);
 }
@@ -0,0 +1,45 @@
+package com.pichincha.dm.bank.accounts.application.port.output;
+
+import com.pichincha.dm.bank.accounts.domain.PendingRecalculation;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface PendingRecalculationOutputPort {
+
+    /**
+     * Registra que los saldos posteriores de la cuenta deben recalcularse desde la fecha indicada.
+     * Los registros de una misma cuenta se combinan conservando la fecha más antigua.
+     *
+     * @param accountId ID de la cuenta
+     * @param fromDateTime Fecha y hora desde la cual recalcular (exclusivo)
+     * @return Mono vacío al completar el registro
+     */
+    Mono<Void> register(UUID accountId, LocalDateTime fromDateTime);
+
+    /**
+     * Obtiene los recálculos pendientes más antiguos.
+     *
+     * @param limit Número máximo de cuentas a retornar
+     * @return Flux de recálculos pendientes ordenados por fecha de registro
+     */
+    Flux<PendingRecalculation> findOldest(int limit);
+
+    /**
+     * Obtiene los recálculos pendientes de las cuentas indicadas.
+     *
+     * @param accountIds IDs de las cuentas
+     * @return Flux de recálculos pendientes
+     */
+    Flux<PendingRecalculation> findByAccountIds(Collection<UUID> accountIds);
+
+    /**
+     * Elimina el recálculo pendiente si no cambió desde que fue leído.
+     *
+     * @param pendingRecalculation Recálculo procesado
+     * @return Mono con true si se eliminó, false si recibió nuevos ajustes mientras se procesaba
+     */
+    Mono<Boolean> complete(PendingRecalculation pendingRecalculation);
+}
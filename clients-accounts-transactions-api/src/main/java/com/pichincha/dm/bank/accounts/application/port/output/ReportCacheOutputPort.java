@@ -0,0 +1,35 @@
+package com.pichincha.dm.bank.accounts.application.port.output;
+
+import com.pichincha.dm.bank.accounts.domain.ReportCacheKey;
+import java.util.UUID;
+import java.util.function.Supplier;
+import reactor.core.publisher.Mono;
+
+public interface ReportCacheOutputPort {
+
+    /**
+     * Devuelve el reporte guardado para la clave o lo genera con el loader y lo guarda. Un reporte
+     * cuyo cliente se invalida mientras se genera no se guarda.
+     *
+     * @param key Cliente, periodo, detalle y formato del reporte
+     * @param loader Generación del reporte cuando no está guardado
+     * @return Mono con el reporte
+     */
+    <T> Mono<T> getOrLoad(ReportCacheKey key, Supplier<Mono<T>> loader);
+
+    /**
+     * Descarta todos los reportes guardados del cliente, incluidos los que se están generando.
+     *
+     * @param clientId ID del cliente cuyas cuentas o movimientos cambiaron
+     * @return Mono vacío al terminar
+     */
+    Mono<Void> invalidateClient(UUID clientId);
+
+    /**
+     * Descarta los reportes guardados del cliente dueño de la cuenta, sin consultar la base.
+     *
+     * @param accountId ID de la cuenta cuyos movimientos cambiaron
+     * @return Mono vacío al terminar
+     */
+    Mono<Void> invalidateAccount(UUID accountId);
+}
@@ -0,0 +1,19 @@
+package com.pichincha.dm.bank.accounts.application.port.output;
+
+import com.pichincha.dm.bank.accounts.domain.ReportJob;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReportJobOutputPort {
+
+    Mono<ReportJob> save(ReportJob job);
+
+    Mono<ReportJob> findById(UUID jobId);
+
+    /** Trabajos terminados cuyo resultado venció en {@code now}. */
+    Flux<ReportJob> findExpired(LocalDateTime now);
+
+    Mono<Void> deleteById(UUID jobId);
+}
@@ -6,4 +6,12 @@ import reactor.core.publisher.Mono;
 public interface ReportOutputPort {
 
     Mono<String> generatePdfFromReport(Report report);
+
+    /**
+     * Genera el PDF del reporte como bytes, sin codificar en Base64.
+     *
+     * @param report Reporte a renderizar
+     * @return Mono con el contenido binario del PDF
+     */
+    Mono<byte[]> renderPdf(Report report);
 }
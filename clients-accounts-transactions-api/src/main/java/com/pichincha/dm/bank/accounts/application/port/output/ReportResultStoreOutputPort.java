@@ -0,0 +1,32 @@
+package com.pichincha.dm.bank.accounts.application.port.output;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.UUID;
+import reactor.core.publisher.Mono;
+
+public interface ReportResultStoreOutputPort {
+
+    /**
+     * Guarda el resultado del trabajo. El archivo solo es visible cuando está escrito completo.
+     *
+     * @param jobId ID del trabajo
+     * @param content Contenido del reporte
+     * @return Mono con la ruta del archivo guardado
+     */
+    Mono<Path> write(UUID jobId, byte[] content);
+
+    /** Ruta del resultado del trabajo, o vacío si no existe. */
+    Mono<Path> find(UUID jobId);
+
+    Mono<Void> delete(UUID jobId);
+
+    /**
+     * Elimina los resultados escritos hace más de {@code maxAge}, aunque ya no tengan trabajo
+     * asociado (por ejemplo, tras un reinicio).
+     *
+     * @param maxAge Antigüedad máxima de un resultado
+     * @return Mono con la cantidad de archivos eliminados
+     */
+    Mono<Long> deleteOlderThan(Duration maxAge);
+}
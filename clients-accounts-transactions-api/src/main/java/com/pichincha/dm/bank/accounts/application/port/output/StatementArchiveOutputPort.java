@@ -0,0 +1,37 @@
+package com.pichincha.dm.bank.accounts.application.port.output;
+
+import java.time.YearMonth;
+import java.util.UUID;
+import reactor.core.publisher.Mono;
+
+public interface StatementArchiveOutputPort {
+
+    /**
+     * Archiva el estado de cuenta PDF del cliente para el mes. El contenido se guarda una sola vez
+     * por su hash y el índice del mes apunta a él.
+     *
+     * @param clientId ID del cliente
+     * @param period Mes del estado de cuenta
+     * @param pdf Contenido del PDF
+     * @return Mono con el hash SHA-256 del contenido archivado
+     */
+    Mono<String> store(UUID clientId, YearMonth period, byte[] pdf);
+
+    /** PDF archivado del cliente para el mes, o vacío si no está archivado. */
+    Mono<byte[]> find(UUID clientId, YearMonth period);
+
+    Mono<Boolean> contains(UUID clientId, YearMonth period);
+
+    /** Registra que todos los clientes del mes quedaron archivados. */
+    Mono<Void> markPeriodComplete(YearMonth period);
+
+    Mono<Boolean> isPeriodComplete(YearMonth period);
+
+    /**
+     * Descarta los estados de cuenta archivados del cliente desde el mes indicado en adelante y
+     * quita la marca de mes completo de esos meses, de modo que dejen de servirse y el siguiente
+     * cierre los vuelva a generar. Un cambio en un mes altera también los saldos iniciales y
+     * acumulados de todos los meses siguientes.
+     */
+    Mono<Void> evictFrom(UUID clientId, YearMonth fromPeriod);
+}
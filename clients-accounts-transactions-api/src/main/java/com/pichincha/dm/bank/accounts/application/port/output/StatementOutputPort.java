@@ -0,0 +1,32 @@
+package com.pichincha.dm.bank.accounts.application.port.output;
+
+import com.pichincha.dm.bank.accounts.domain.AccountTotals;
+import com.pichincha.dm.bank.accounts.domain.StatementLine;
+import java.time.LocalDate;
+import java.util.UUID;
+import reactor.core.publisher.Flux;
+
+public interface StatementOutputPort {
+
+    /**
+     * Obtiene en una sola consulta todas las cuentas del cliente con todos sus movimientos del
+     * periodo, ordenados por número de cuenta y fecha, sin límite de filas.
+     *
+     * @param clientId ID del cliente
+     * @param startDate Fecha inicial del periodo (inclusivo)
+     * @param endDate Fecha final del periodo (inclusivo)
+     * @return Flux de filas agrupadas por cuenta
+     */
+    Flux<StatementLine> findStatementLines(UUID clientId, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Obtiene en una sola consulta agrupada los totales del periodo de cada cuenta del cliente,
+     * ordenados por número de cuenta, sin leer los movimientos individuales.
+     *
+     * @param clientId ID del cliente
+     * @param startDate Fecha inicial del periodo (inclusivo)
+     * @param endDate Fecha final del periodo (inclusivo)
+     * @return Flux con una fila por cuenta
+     */
+    Flux<AccountTotals> findAccountTotals(UUID clientId, LocalDate startDate, LocalDate endDate);
+}
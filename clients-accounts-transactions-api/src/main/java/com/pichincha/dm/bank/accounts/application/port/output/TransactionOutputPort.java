@@ -0,0 +1,17 @@
+package com.pichincha.dm.bank.accounts.application.port.output;
+
+import java.util.function.Supplier;
+import reactor.core.publisher.Mono;
+
+public interface TransactionOutputPort {
+
+    /**
+     * Ejecuta la operación en una transacción de base de datos: todas sus escrituras se confirman
+     * juntas o ninguna. Si ya hay una transacción en curso (por ejemplo, la del bloqueo de cuenta),
+     * la operación se une a ella.
+     *
+     * @param operation Operación que realiza las escrituras
+     * @return Mono con el resultado de la operación
+     */
+    <T> Mono<T> inTransaction(Supplier<Mono<T>> operation);
+}
@@ -4,11 +4,19 @@ import static com.pichincha.dm.bank.accounts.util.AccountNumberGenerator.generat
 
 import com.pichincha.dm.bank.accounts.application.port.input.AccountInputPort;
 import com.pichincha.dm.bank.accounts.application.port.output.AccountOutputPort;
+import com.pichincha.dm.bank.accounts.application.port.output.DailyBalanceOutputPort;
+import com.pichincha.dm.bank.accounts.application.port.output.ReportCacheOutputPort;
 import com.pichincha.dm.bank.accounts.domain.Account;
+import com.pichincha.dm.bank.accounts.domain.CursorPage;
+import com.pichincha.dm.bank.accounts.domain.PageCursor;
 import com.pichincha.dm.bank.accounts.domain.exception.DataAccessException;
 import com.pichincha.dm.bank.accounts.domain.exception.DataModifyException;
+import com.pichincha.dm.bank.accounts.domain.exception.GeneralApplicationException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -18,13 +26,18 @@ import reactor.core.publisher.Mono;
 public class AccountApplicationService implements AccountInputPort {
 
     private final AccountOutputPort accountOutputPort;
+    private final DailyBalanceOutputPort dailyBalanceOutputPort;
+    private final ReportCacheOutputPort reportCacheOutputPort;
 
     @Override
     public Mono<Account> createAccount(Account account) {
         account.setState(true);
         account.setAccountNumber(generateAccountNumberAsLong());
         account.setCurrentBalance(account.getInitBalance());
-        return accountOutputPort.save(account).onErrorMap(DataModifyException::new);
+        return accountOutputPort
+                .save(account)
+                .flatMap(saved -> invalidateReports(saved.getClientId()).thenReturn(saved))
+                .onErrorMap(DataModifyException::new);
     }
 
     @Override
@@ -35,19 +48,79 @@ public class AccountApplicationService implements AccountInputPort {
     }
 
     @Override
-    public Flux<Account> listAccounts(UUID clientId, Integer page, Integer size) {
-        return accountOutputPort.findAll(clientId, page, size).onErrorMap(DataAccessException::new);
+    public Mono<CursorPage<Account>> listAccounts(
+            UUID clientId, Integer page, PageCursor after, Integer size) {
+        Flux<Account> accounts =
+                after != null
+                        ? accountOutputPort.findAfter(clientId, after, size)
+                        : accountOutputPort.findAll(clientId, page, size);
+        return accounts.collectList()
+                .map(
+                        items ->
+                                CursorPage.of(
+                                        items,
+                                        size,
+                                        account ->
+                                                PageCursor.builder()
+                                                        .position(account.getCreatedAt())
+                                                        .id(account.getId())
+                                                        .build()))
+                .onErrorMap(DataAccessException::new);
+    }
+
+    @Override
+    public Flux<Account> streamAccounts(UUID clientId, PageCursor after) {
+        return accountOutputPort.stream(clientId, after).onErrorMap(DataAccessException::new);
     }
 
     @Override
     public Mono<Account> updateAccount(Account account) {
-        return accountOutputPort.update(account).onErrorMap(DataModifyException::new);
+        return accountOutputPort
+                .update(account)
+                .flatMap(updated -> invalidateReports(account.getClientId()).thenReturn(updated))
+                .onErrorMap(DataModifyException::new);
     }
 
     @Override
     public Mono<Void> deleteAccount(String accountNumber) {
         return accountOutputPort
-                .deleteByAccountNumber(accountNumber)
+                .findByAccountNumber(accountNumber)
+                .mapNotNull(Account::getClientId)
+                .singleOptional()
+                .flatMap(
+                        clientId ->
+                                accountOutputPort
+                                        .deleteByAccountNumber(accountNumber)
+                                        .then(
+                                                Mono.defer(
+                                                        () ->
+                                                                invalidateReports(
+                                                                        clientId.orElse(null)))))
                 .onErrorMap(DataModifyException::new);
     }
+
+    private Mono<Void> invalidateReports(UUID clientId) {
+        return clientId != null ? reportCacheOutputPort.invalidateClient(clientId) : Mono.empty();
+    }
+
+    @Override
+    public Mono<BigDecimal> getBalanceAsOf(String accountNumber, LocalDate date) {
+        return getAccountByNumber(accountNumber)
+                .switchIfEmpty(
+                        Mono.error(
+                                () ->
+                                        new GeneralApplicationException(
+                                                "Cuenta no encontrada con número: " + accountNumber,
+                                                "Cuenta no encontrada",
+                                                HttpStatus.NOT_FOUND)))
+                .flatMap(account -> getBalanceAsOf(account, date));
+    }
+
+    @Override
+    public Mono<BigDecimal> getBalanceAsOf(Account account, LocalDate date) {
+        return dailyBalanceOutputPort
+                .findClosingBalance(account.getId(), date)
+                .defaultIfEmpty(account.getInitBalance())
+                .onErrorMap(DataAccessException::new);
+    }
 }
@@ -0,0 +1,18 @@
+package com.pichincha.dm.bank.accounts.application.service;
+
+public enum BalanceRecalculationMode {
+    /** Carga los movimientos posteriores y reescribe cada uno por separado. */
+    ROW_BY_ROW,
+    /** Ajusta el saldo posterior de todos los movimientos afectados con sentencias UPDATE. */
+    SET_BASED,
+    /**
+     * Registra el ajuste como recálculo pendiente de la cuenta; un proceso en segundo plano combina
+     * los pendientes y reescribe los saldos una sola vez.
+     */
+    DEFERRED,
+    /**
+     * No mantiene el saldo posterior almacenado: se calcula al leer como saldo acumulado, por lo
+     * que editar o eliminar un movimiento no reescribe los movimientos posteriores.
+     */
+    DERIVED
+}
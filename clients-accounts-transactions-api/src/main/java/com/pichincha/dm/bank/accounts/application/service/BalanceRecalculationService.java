@@ -7,6 +7,24 @@ import reactor.core.publisher.Mono;
 
 public interface BalanceRecalculationService {
 
-    Mono<Void> recalculatePostMovementBalances(
+    /**
+     * Suma el ajuste al saldo posterior de los movimientos de la cuenta registrados después de la
+     * fecha indicada.
+     *
+     * @param accountId ID de la cuenta
+     * @param fromDateTime Fecha y hora desde la cual recalcular (exclusivo)
+     * @param balanceAdjustment Monto a sumar al saldo posterior de cada movimiento
+     * @return Mono con el número de movimientos reescritos
+     */
+    Mono<Long> recalculatePostMovementBalances(
             UUID accountId, LocalDateTime fromDateTime, BigDecimal balanceAdjustment);
+
+    /**
+     * Procesa los recálculos pendientes registrados en modo diferido, reescribiendo una sola vez
+     * los saldos posteriores de cada cuenta desde su fecha más antigua.
+     *
+     * @param batchSize Número máximo de cuentas a procesar
+     * @return Mono con el número total de movimientos reescritos
+     */
+    Mono<Long> processPendingRecalculations(int batchSize);
 }
@@ -3,6 +3,8 @@ package com.pichincha.dm.bank.accounts.application.service;
 import com.pichincha.dm.bank.accounts.application.port.input.ClientInputPort;
 import com.pichincha.dm.bank.accounts.application.port.output.ClientOutputPort;
 import com.pichincha.dm.bank.accounts.domain.Client;
+import com.pichincha.dm.bank.accounts.domain.CursorPage;
+import com.pichincha.dm.bank.accounts.domain.PageCursor;
 import com.pichincha.dm.bank.accounts.domain.exception.DataAccessException;
 import com.pichincha.dm.bank.accounts.domain.exception.DataModifyException;
 import java.util.UUID;
@@ -22,6 +24,26 @@ public class ClientApplicationService implements ClientInputPort {
         return clientOutputPort.findAll().onErrorMap(DataAccessException::new);
     }
 
+    @Override
+    public Mono<CursorPage<Client>> listClients(Integer page, PageCursor after, Integer size) {
+        Flux<Client> clients =
+                after != null
+                        ? clientOutputPort.findAfter(after, size)
+                        : clientOutputPort.findAll(page, size);
+        return clients.collectList()
+                .map(
+                        items ->
+                                CursorPage.of(
+                                        items,
+                                        size,
+                                        client ->
+                                                PageCursor.builder()
+                                                        .position(client.getCreatedAt())
+                                                        .id(client.getId())
+                                                        .build()))
+                .onErrorMap(DataAccessException::new);
+    }
+
     @Override
     public Mono<Client> getClientById(UUID id) {
         return clientOutputPort.findById(id).onErrorMap(DataAccessException::new);
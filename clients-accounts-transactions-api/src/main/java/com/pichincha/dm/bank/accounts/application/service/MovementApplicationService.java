@@ -3,12 +3,21 @@ package com.pichincha.dm.bank.accounts.application.service;
 import com.pichincha.dm.bank.accounts.application.command.DeleteMovementCommand;
 import com.pichincha.dm.bank.accounts.application.command.UpdateMovementCommand;
 import com.pichincha.dm.bank.accounts.application.port.input.MovementInputPort;
+import com.pichincha.dm.bank.accounts.application.port.output.AccountLockOutputPort;
 import com.pichincha.dm.bank.accounts.application.port.output.AccountOutputPort;
+import com.pichincha.dm.bank.accounts.application.port.output.DailyBalanceOutputPort;
 import com.pichincha.dm.bank.accounts.application.port.output.MovementOutputPort;
+import com.pichincha.dm.bank.accounts.application.port.output.PendingRecalculationOutputPort;
+import com.pichincha.dm.bank.accounts.application.port.output.ReportCacheOutputPort;
+import com.pichincha.dm.bank.accounts.application.port.output.StatementArchiveOutputPort;
+import com.pichincha.dm.bank.accounts.application.port.output.TransactionOutputPort;
 import com.pichincha.dm.bank.accounts.application.validation.MovementValidationChain;
 import com.pichincha.dm.bank.accounts.application.validation.MovementValidationStrategy;
 import com.pichincha.dm.bank.accounts.domain.Account;
+import com.pichincha.dm.bank.accounts.domain.CursorPage;
 import com.pichincha.dm.bank.accounts.domain.Movement;
+import com.pichincha.dm.bank.accounts.domain.PageCursor;
+import com.pichincha.dm.bank.accounts.domain.PendingRecalculation;
 import com.pichincha.dm.bank.accounts.domain.enums.MovementType;
 import com.pichincha.dm.bank.accounts.domain.exception.DataAccessException;
 import com.pichincha.dm.bank.accounts.domain.exception.DataModifyException;
@@ -16,8 +25,13 @@ import com.pichincha.dm.bank.accounts.domain.exception.TransactionNotAllowedExce
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -28,6 +42,12 @@ public class MovementApplicationService implements MovementInputPort {
 
     private final MovementOutputPort movementOutputPort;
     private final AccountOutputPort accountOutputPort;
+    private final AccountLockOutputPort accountLockOutputPort;
+    private final PendingRecalculationOutputPort pendingRecalculationOutputPort;
+    private final DailyBalanceOutputPort dailyBalanceOutputPort;
+    private final ReportCacheOutputPort reportCacheOutputPort;
+    private final TransactionOutputPort transactionOutputPort;
+    private final StatementArchiveOutputPort statementArchiveOutputPort;
     private final MovementValidationStrategy validationChain =
             MovementValidationChain.createDefaultChain().getValidationChain();
 
@@ -35,89 +55,239 @@ public class MovementApplicationService implements MovementInputPort {
 
     private final DeleteMovementCommand deleteMovementCommand;
 
+    // Movimientos por consulta de recálculos pendientes al recorrer un listado en streaming
+    private static final int STALE_CHECK_BATCH_SIZE = 100;
+
     private static final String INVALID_CREDIT_VALUE_MESSAGE =
             "Los créditos deben tener valores positivos";
 
     private static final String INVALID_DEBIT_VALUE_MESSAGE =
             "Los débitos deben tener valores negativos";
 
+    private static final String INSUFFICIENT_BALANCE_MESSAGE =
+            "No tienes saldo suficiente para realizar esta transacción";
+
+    @Value("${bank.movements.posting-mode:ATOMIC}")
+    private MovementPostingMode postingMode;
+
     @Override
     public Mono<Movement> createMovement(Movement movement) {
+        return accountLockOutputPort
+                .withAccountLock(movement.getAccountId(), () -> post(movement))
+                .flatMap(posted -> invalidateReports(posted.getAccountId()).thenReturn(posted))
+                .onErrorMap(MovementApplicationService::toModifyException);
+    }
+
+    // Ambos modos validan contra la cuenta leída bajo el bloqueo antes de escribir; la condición de
+    // saldo de la escritura queda como resguardo si otra instancia movió la cuenta entretanto
+    private Mono<Movement> post(Movement movement) {
+        return prepareMovement(movement)
+                .flatMap(this::validateAgainstAccount)
+                .flatMap(
+                        validatedMovement ->
+                                postingMode == MovementPostingMode.ATOMIC
+                                        ? postMovementAtomically(validatedMovement)
+                                        : postMovementInTransaction(validatedMovement));
+    }
+
+    private Mono<Movement> validateAgainstAccount(Movement movement) {
         return accountOutputPort
                 .findById(movement.getAccountId())
-                .flatMap(account -> processMovement(account, movement))
-                .onErrorMap(
-                        throwable -> {
-                            if (throwable instanceof TransactionNotAllowedException) {
-                                return throwable;
-                            }
-                            return new DataModifyException(throwable);
+                .map(
+                        account -> {
+                            validateMovement(account, movement);
+                            return movement;
                         });
     }
 
-    private Mono<Movement> processMovement(Account account, Movement movement) {
+    private Mono<Movement> postMovementInTransaction(Movement movement) {
+        return transactionOutputPort.inTransaction(
+                () ->
+                        postMovement(movement)
+                                .flatMap(
+                                        postedMovement ->
+                                                applyToDailyBalance(
+                                                                postedMovement.getId(),
+                                                                BigDecimal.ZERO,
+                                                                postedMovement.getValue())
+                                                        .thenReturn(postedMovement)));
+    }
+
+    private Mono<Movement> postMovement(Movement movement) {
+        return accountOutputPort
+                .applyBalanceDelta(movement.getAccountId(), movement.getValue())
+                .switchIfEmpty(Mono.defer(() -> resolveRejectedPosting(movement)))
+                .flatMap(account -> saveWithPostMovementBalance(movement, account));
+    }
+
+    private Mono<Movement> saveWithPostMovementBalance(Movement movement, Account account) {
+        movement.setPostMovementBalance(account.getCurrentBalance());
+        return movementOutputPort.save(movement);
+    }
+
+    // La misma sentencia ajusta también el saldo de cierre del día
+    private Mono<Movement> postMovementAtomically(Movement movement) {
+        return movementOutputPort
+                .saveApplyingBalance(movement)
+                .switchIfEmpty(Mono.defer(() -> resolveRejectedPosting(movement)));
+    }
+
+    private Mono<Movement> prepareMovement(Movement movement) {
+        return Mono.fromCallable(
+                () -> {
+                    validateMovementValue(movement);
+                    return enrichMovementWithTimestamps(movement);
+                });
+    }
+
+    private <T> Mono<T> resolveRejectedPosting(Movement movement) {
+        return accountOutputPort
+                .findById(movement.getAccountId())
+                .flatMap(
+                        account -> {
+                            validateMovement(account, movement);
+                            return Mono.error(
+                                    new TransactionNotAllowedException(
+                                            INSUFFICIENT_BALANCE_MESSAGE));
+                        });
+    }
 
+    private void validateMovementValue(Movement movement) {
         if (movement.getType() == MovementType.CREDITO
                 && movement.getValue().compareTo(BigDecimal.ZERO) <= 0) {
-            return Mono.error(new TransactionNotAllowedException(INVALID_CREDIT_VALUE_MESSAGE));
+            throw new TransactionNotAllowedException(INVALID_CREDIT_VALUE_MESSAGE);
         }
 
         if (movement.getType() == MovementType.DEBITO
                 && movement.getValue().compareTo(BigDecimal.ZERO) >= 0) {
-            return Mono.error(new TransactionNotAllowedException(INVALID_DEBIT_VALUE_MESSAGE));
+            throw new TransactionNotAllowedException(INVALID_DEBIT_VALUE_MESSAGE);
         }
-
-        validateMovement(account, movement);
-
-        BigDecimal newBalance =
-                calculateNewBalance(account.getCurrentBalance(), movement.getValue());
-        Movement enrichedMovement = enrichMovementWithTimestamps(movement, newBalance);
-
-        return executeTransaction(account, enrichedMovement, newBalance);
     }
 
     private void validateMovement(Account account, Movement movement) {
         validationChain.validate(account, movement);
     }
 
-    private Movement enrichMovementWithTimestamps(Movement movement, BigDecimal newBalance) {
+    private Movement enrichMovementWithTimestamps(Movement movement) {
         movement.setDate(LocalDateTime.now());
-        movement.setPostMovementBalance(newBalance);
         movement.setCreatedAt(LocalDateTime.now());
         return movement;
     }
 
-    private Mono<Movement> executeTransaction(
-            Account account, Movement movement, BigDecimal newBalance) {
-        return accountOutputPort
-                .updateBalance(account.getId(), newBalance)
-                .then(movementOutputPort.save(movement));
+    private Mono<Void> applyToDailyBalance(
+            UUID movementId, BigDecimal previousValue, BigDecimal newValue) {
+        if (previousValue.compareTo(newValue) == 0) {
+            return Mono.empty();
+        }
+        return dailyBalanceOutputPort.applyMovement(movementId, previousValue, newValue);
+    }
+
+    // Se invalida después de liberar el bloqueo para que ningún reporte generado antes de confirmar
+    // la escritura quede guardado
+    private Mono<Void> invalidateReports(UUID accountId) {
+        return reportCacheOutputPort.invalidateAccount(accountId);
     }
 
-    private BigDecimal calculateNewBalance(BigDecimal currentBalance, BigDecimal value) {
-        return currentBalance.add(value);
+    // Editar o borrar un movimiento de un mes ya cerrado deja desactualizados su estado de cuenta
+    // archivado y los de los meses siguientes, cuyos saldos arrastran el cambio; los movimientos
+    // nuevos siempre caen en el mes en curso, que no se archiva
+    private Mono<Void> evictArchivedStatements(Account account, LocalDateTime movementDate) {
+        return statementArchiveOutputPort.evictFrom(
+                account.getClientId(), YearMonth.from(movementDate));
+    }
+
+    private static Throwable toModifyException(Throwable throwable) {
+        if (throwable instanceof TransactionNotAllowedException) {
+            return throwable;
+        }
+        return new DataModifyException(throwable);
     }
 
     @Override
     public Mono<Movement> getMovementById(UUID id) {
-        return movementOutputPort.findById(id).onErrorMap(DataAccessException::new);
+        return movementOutputPort
+                .findById(id)
+                .flatMap(movement -> markStaleBalances(List.of(movement)).single())
+                .onErrorMap(DataAccessException::new);
     }
 
     @Override
-    public Flux<Movement> listMovements(
+    public Mono<CursorPage<Movement>> listMovements(
             UUID clientId,
             Long accountNumber,
             LocalDate startDate,
             LocalDate endDate,
             Integer page,
+            PageCursor after,
             Integer size) {
-        return movementOutputPort
-                .findAll(clientId, accountNumber, startDate, endDate, page, size)
+        Flux<Movement> movements =
+                after != null
+                        ? movementOutputPort.findAfter(
+                                clientId, accountNumber, startDate, endDate, after, size)
+                        : movementOutputPort.findAll(
+                                clientId, accountNumber, startDate, endDate, page, size);
+        return movements
+                .collectList()
+                .flatMap(items -> markStaleBalances(items).collectList())
+                .map(
+                        items ->
+                                CursorPage.of(
+                                        items,
+                                        size,
+                                        movement ->
+                                                PageCursor.builder()
+                                                        .position(movement.getDate())
+                                                        .id(movement.getId())
+                                                        .build()))
+                .onErrorMap(DataAccessException::new);
+    }
+
+    @Override
+    public Flux<Movement> streamMovements(
+            UUID clientId,
+            Long accountNumber,
+            LocalDate startDate,
+            LocalDate endDate,
+            PageCursor after) {
+        return movementOutputPort.stream(clientId, accountNumber, startDate, endDate, after)
+                .buffer(STALE_CHECK_BATCH_SIZE)
+                .concatMap(this::markStaleBalances)
                 .onErrorMap(DataAccessException::new);
     }
 
+    private Flux<Movement> markStaleBalances(List<Movement> movements) {
+        Set<UUID> accountIds =
+                movements.stream().map(Movement::getAccountId).collect(Collectors.toSet());
+
+        return pendingRecalculationOutputPort
+                .findByAccountIds(accountIds)
+                .collectMap(
+                        PendingRecalculation::getAccountId, PendingRecalculation::getFromDateTime)
+                .flatMapIterable(
+                        pendingSince -> {
+                            movements.forEach(
+                                    movement ->
+                                            markStaleBalance(
+                                                    movement,
+                                                    pendingSince.get(movement.getAccountId())));
+                            return movements;
+                        });
+    }
+
+    private void markStaleBalance(Movement movement, LocalDateTime pendingSince) {
+        movement.setPostMovementBalanceStale(
+                pendingSince != null && movement.getDate().isAfter(pendingSince));
+    }
+
     @Override
     public Mono<Movement> updateMovement(Movement movement) {
+        return accountLockOutputPort
+                .withAccountLock(movement.getAccountId(), () -> executeUpdate(movement))
+                .flatMap(updated -> invalidateReports(updated.getAccountId()).thenReturn(updated))
+                .onErrorMap(MovementApplicationService::toModifyException);
+    }
+
+    private Mono<Movement> executeUpdate(Movement movement) {
         return accountOutputPort
                 .findById(movement.getAccountId())
                 .zipWith(movementOutputPort.findById(movement.getId()))
@@ -126,31 +296,82 @@ public class MovementApplicationService implements MovementInputPort {
                             Account account = tuple.getT1();
                             Movement existingMovement = tuple.getT2();
 
-                            updateMovementCommand
-                                    .withNewMovement(movement)
-                                    .withOldMovement(existingMovement)
-                                    .withAccount(account);
+                            return applyUpdate(movement, existingMovement, account);
+                        });
+    }
 
-                            return updateMovementCommand.execute().thenReturn(movement);
-                        })
-                .onErrorMap(DataModifyException::new);
+    private Mono<Movement> applyUpdate(
+            Movement movement, Movement existingMovement, Account account) {
+        return transactionOutputPort
+                .inTransaction(
+                        () ->
+                                updateMovementCommand
+                                        .withNewMovement(movement)
+                                        .withOldMovement(existingMovement)
+                                        .withAccount(account)
+                                        .execute()
+                                        .then(
+                                                Mono.defer(
+                                                        () ->
+                                                                applyToDailyBalance(
+                                                                        existingMovement.getId(),
+                                                                        existingMovement.getValue(),
+                                                                        movement.getValue()))))
+                .then(
+                        Mono.defer(
+                                () -> evictArchivedStatements(account, existingMovement.getDate())))
+                .thenReturn(movement);
     }
 
     @Override
     public Mono<Void> deleteMovement(UUID id) {
+        return movementOutputPort
+                .findById(id)
+                .flatMap(
+                        movement ->
+                                accountLockOutputPort
+                                        .withAccountLock(
+                                                movement.getAccountId(), () -> executeDelete(id))
+                                        .then(
+                                                Mono.defer(
+                                                        () ->
+                                                                invalidateReports(
+                                                                        movement.getAccountId()))))
+                .onErrorMap(MovementApplicationService::toModifyException);
+    }
+
+    private Mono<Void> executeDelete(UUID id) {
         return movementOutputPort
                 .findById(id)
                 .flatMap(
                         movementToDelete ->
                                 accountOutputPort
                                         .findById(movementToDelete.getAccountId())
-                                        .map(
-                                                account ->
-                                                        deleteMovementCommand
-                                                                .withMovementToDelete(
-                                                                        movementToDelete)
-                                                                .withAccount(account)))
-                .flatMap(DeleteMovementCommand::execute)
-                .onErrorMap(DataModifyException::new);
+                                        .flatMap(
+                                                account -> applyDelete(movementToDelete, account)));
+    }
+
+    // El saldo de cierre se ajusta antes de borrar: el día sale del movimiento almacenado
+    private Mono<Void> applyDelete(Movement movementToDelete, Account account) {
+        return transactionOutputPort
+                .inTransaction(
+                        () ->
+                                applyToDailyBalance(
+                                                movementToDelete.getId(),
+                                                movementToDelete.getValue(),
+                                                BigDecimal.ZERO)
+                                        .then(
+                                                Mono.defer(
+                                                        () ->
+                                                                deleteMovementCommand
+                                                                        .withMovementToDelete(
+                                                                                movementToDelete)
+                                                                        .withAccount(account)
+                                                                        .execute())))
+                .then(
+                        Mono.defer(
+                                () ->
+                                        evictArchivedStatements(
+                                                account, movementToDelete.getDate())));
     }
 }
@@ -1,34 +1,126 @@
 package com.pichincha.dm.bank.accounts.application.service;
 
+import com.pichincha.dm.bank.accounts.application.port.output.AccountLockOutputPort;
 import com.pichincha.dm.bank.accounts.application.port.output.MovementOutputPort;
+import com.pichincha.dm.bank.accounts.application.port.output.PendingRecalculationOutputPort;
 import com.pichincha.dm.bank.accounts.domain.Movement;
+import com.pichincha.dm.bank.accounts.domain.PendingRecalculation;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class MovementBalanceRecalculationService implements BalanceRecalculationService {
 
     private final MovementOutputPort movementOutputPort;
+    private final PendingRecalculationOutputPort pendingRecalculationOutputPort;
+    private final AccountLockOutputPort accountLockOutputPort;
+
+    @Value("${bank.movements.recalculation.mode:ROW_BY_ROW}")
+    private BalanceRecalculationMode recalculationMode;
+
+    @Value("${bank.movements.recalculation.chunk-days:0}")
+    private int chunkDays;
 
     @Override
-    public Mono<Void> recalculatePostMovementBalances(
+    public Mono<Long> recalculatePostMovementBalances(
             UUID accountId, LocalDateTime fromDateTime, BigDecimal balanceAdjustment) {
 
-        if (balanceAdjustment.compareTo(BigDecimal.ZERO) == 0) {
-            return Mono.empty();
+        if (recalculationMode == BalanceRecalculationMode.DERIVED
+                || balanceAdjustment.compareTo(BigDecimal.ZERO) == 0) {
+            return Mono.just(0L);
+        }
+
+        if (recalculationMode == BalanceRecalculationMode.DEFERRED) {
+            return pendingRecalculationOutputPort.register(accountId, fromDateTime).thenReturn(0L);
         }
 
+        Mono<Long> recalculation =
+                recalculationMode == BalanceRecalculationMode.SET_BASED
+                        ? shiftBalances(accountId, fromDateTime, balanceAdjustment)
+                        : rewriteMovements(accountId, fromDateTime, balanceAdjustment);
+
+        return recalculation.doOnNext(
+                rows ->
+                        log.debug(
+                                "Recalculated {} post-movement balances for account {}",
+                                rows,
+                                accountId));
+    }
+
+    @Override
+    public Mono<Long> processPendingRecalculations(int batchSize) {
+        return pendingRecalculationOutputPort
+                .findOldest(batchSize)
+                .concatMap(
+                        pending ->
+                                accountLockOutputPort.withAccountLock(
+                                        pending.getAccountId(),
+                                        () -> recomputePendingAccount(pending)))
+                .reduce(0L, Long::sum);
+    }
+
+    private Mono<Long> recomputePendingAccount(PendingRecalculation pending) {
+        return movementOutputPort
+                .recomputePostMovementBalances(pending.getAccountId(), pending.getFromDateTime())
+                .flatMap(rows -> pendingRecalculationOutputPort.complete(pending).thenReturn(rows))
+                .doOnNext(
+                        rows ->
+                                log.debug(
+                                        "Recomputed {} post-movement balances for account {}",
+                                        rows,
+                                        pending.getAccountId()));
+    }
+
+    private Mono<Long> rewriteMovements(
+            UUID accountId, LocalDateTime fromDateTime, BigDecimal balanceAdjustment) {
         return movementOutputPort
                 .findMovementsAfterDate(accountId, fromDateTime)
                 .map(movement -> adjustMovementBalance(movement, balanceAdjustment))
                 .collectList()
                 .flatMapMany(movementOutputPort::updateBatch)
-                .then();
+                .count();
+    }
+
+    private Mono<Long> shiftBalances(
+            UUID accountId, LocalDateTime fromDateTime, BigDecimal balanceAdjustment) {
+        if (chunkDays <= 0) {
+            return movementOutputPort.shiftPostMovementBalances(
+                    accountId, fromDateTime, null, balanceAdjustment);
+        }
+
+        return movementOutputPort
+                .findLatestMovementDate(accountId)
+                .flatMapMany(latestDate -> chunkBoundaries(fromDateTime, latestDate))
+                .concatMap(
+                        chunkStart ->
+                                movementOutputPort.shiftPostMovementBalances(
+                                        accountId,
+                                        chunkStart,
+                                        chunkStart.plusDays(chunkDays),
+                                        balanceAdjustment))
+                .reduce(0L, Long::sum);
+    }
+
+    private Flux<LocalDateTime> chunkBoundaries(LocalDateTime fromDateTime, LocalDateTime latest) {
+        return Flux.generate(
+                () -> fromDateTime,
+                (chunkStart, sink) -> {
+                    if (chunkStart.isBefore(latest)) {
+                        sink.next(chunkStart);
+                    } else {
+                        sink.complete();
+                    }
+                    return chunkStart.plusDays(chunkDays);
+                });
     }
 
     private Movement adjustMovementBalance(Movement movement, BigDecimal adjustment) {
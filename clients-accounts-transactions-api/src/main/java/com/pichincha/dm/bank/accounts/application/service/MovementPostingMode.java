@@ -0,0 +1,8 @@
+package com.pichincha.dm.bank.accounts.application.service;
+
+public enum MovementPostingMode {
+    /** Lee la cuenta, actualiza el saldo y registra el movimiento en operaciones separadas. */
+    STANDARD,
+    /** Actualiza el saldo y registra el movimiento en una única sentencia y transacción. */
+    ATOMIC
+}
@@ -1,19 +1,28 @@
 package com.pichincha.dm.bank.accounts.application.service;
 
-import com.pichincha.dm.bank.accounts.application.port.input.AccountInputPort;
 import com.pichincha.dm.bank.accounts.application.port.input.ClientInputPort;
-import com.pichincha.dm.bank.accounts.application.port.input.MovementInputPort;
 import com.pichincha.dm.bank.accounts.application.port.input.ReportInputPort;
+import com.pichincha.dm.bank.accounts.application.port.output.ReportCacheOutputPort;
+import com.pichincha.dm.bank.accounts.application.port.output.ReportOutputPort;
+import com.pichincha.dm.bank.accounts.application.port.output.StatementArchiveOutputPort;
+import com.pichincha.dm.bank.accounts.application.port.output.StatementOutputPort;
 import com.pichincha.dm.bank.accounts.application.strategy.ReportGeneratorStrategyFactory;
-import com.pichincha.dm.bank.accounts.domain.Account;
-import com.pichincha.dm.bank.accounts.domain.Movement;
+import com.pichincha.dm.bank.accounts.domain.AccountTotals;
 import com.pichincha.dm.bank.accounts.domain.Person;
 import com.pichincha.dm.bank.accounts.domain.Report;
+import com.pichincha.dm.bank.accounts.domain.ReportCacheKey;
+import com.pichincha.dm.bank.accounts.domain.StatementLine;
+import com.pichincha.dm.bank.accounts.domain.enums.MovementType;
+import com.pichincha.dm.bank.accounts.domain.enums.ReportDetail;
 import com.pichincha.dm.bank.accounts.domain.exception.GeneralApplicationException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Base64;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -23,13 +32,125 @@ import reactor.core.publisher.Mono;
 @RequiredArgsConstructor
 public class ReportApplicationService implements ReportInputPort {
 
+    private static final String PDF_DOCUMENT_FORMAT = "application/pdf";
+    private static final String PDF_FORMAT = "pdf";
+
     private final ClientInputPort clientInputPort;
-    private final AccountInputPort accountInputPort;
-    private final MovementInputPort movementInputPort;
+    private final StatementOutputPort statementOutputPort;
     private final ReportGeneratorStrategyFactory strategyFactory;
+    private final ReportCacheOutputPort reportCacheOutputPort;
+    private final ReportSingleFlight reportSingleFlight;
+    private final ReportOutputPort reportOutputPort;
+    private final StatementArchiveOutputPort statementArchiveOutputPort;
 
     @Override
     public Mono<Report> generateReport(UUID clientId, LocalDate startDate, LocalDate endDate) {
+        return generateReport(clientId, startDate, endDate, ReportDetail.COMPLETO);
+    }
+
+    @Override
+    public Mono<String> generateFormattedReport(
+            UUID clientId, LocalDate startDate, LocalDate endDate, String format) {
+        return generateFormattedReport(clientId, startDate, endDate, format, ReportDetail.COMPLETO);
+    }
+
+    @Override
+    public Mono<Report> generateReport(
+            UUID clientId, LocalDate startDate, LocalDate endDate, ReportDetail detail) {
+        ReportCacheKey key = cacheKey(clientId, startDate, endDate, detail, null);
+        return loadShared(key, () -> loadReport(clientId, startDate, endDate, detail));
+    }
+
+    @Override
+    public Mono<String> generateFormattedReport(
+            UUID clientId,
+            LocalDate startDate,
+            LocalDate endDate,
+            String format,
+            ReportDetail detail) {
+        ReportCacheKey key = cacheKey(clientId, startDate, endDate, detail, format.toLowerCase());
+        Mono<String> generated =
+                loadShared(
+                        key,
+                        () ->
+                                generateReport(clientId, startDate, endDate, detail)
+                                        .flatMap(
+                                                report ->
+                                                        strategyFactory.generateReport(
+                                                                report, format)));
+        if (!PDF_FORMAT.equals(key.getFormat())) {
+            return generated;
+        }
+        return findArchivedStatement(clientId, startDate, endDate, detail)
+                .map(Base64.getEncoder()::encodeToString)
+                .switchIfEmpty(generated);
+    }
+
+    @Override
+    public Mono<byte[]> generatePdfDocument(
+            UUID clientId, LocalDate startDate, LocalDate endDate, ReportDetail detail) {
+        ReportCacheKey key = cacheKey(clientId, startDate, endDate, detail, PDF_DOCUMENT_FORMAT);
+        Mono<byte[]> generated =
+                loadShared(
+                        key,
+                        () ->
+                                generateReport(clientId, startDate, endDate, detail)
+                                        .flatMap(reportOutputPort::renderPdf));
+        return findArchivedStatement(clientId, startDate, endDate, detail).switchIfEmpty(generated);
+    }
+
+    @Override
+    public Mono<Report> generateUncachedReport(
+            UUID clientId, LocalDate startDate, LocalDate endDate, ReportDetail detail) {
+        return loadReport(clientId, startDate, endDate, detail);
+    }
+
+    /** Generación compartida entre solicitudes idénticas y guardada en la caché de reportes. */
+    private <T> Mono<T> loadShared(ReportCacheKey key, Supplier<Mono<T>> loader) {
+        return Mono.defer(
+                () ->
+                        reportSingleFlight.execute(
+                                key, () -> reportCacheOutputPort.getOrLoad(key, loader)));
+    }
+
+    /**
+     * Estado de cuenta ya emitido por el cierre mensual, si la solicitud corresponde exactamente a
+     * un mes calendario completo con detalle completo.
+     */
+    private Mono<byte[]> findArchivedStatement(
+            UUID clientId, LocalDate startDate, LocalDate endDate, ReportDetail detail) {
+        return statementPeriod(startDate, endDate, detail)
+                .map(period -> statementArchiveOutputPort.find(clientId, period))
+                .orElseGet(Mono::empty);
+    }
+
+    private Optional<YearMonth> statementPeriod(
+            LocalDate startDate, LocalDate endDate, ReportDetail detail) {
+        YearMonth period = YearMonth.from(startDate);
+        boolean fullMonth =
+                startDate.equals(period.atDay(1)) && endDate.equals(period.atEndOfMonth());
+        return detail == ReportDetail.COMPLETO && fullMonth
+                ? Optional.of(period)
+                : Optional.empty();
+    }
+
+    private ReportCacheKey cacheKey(
+            UUID clientId,
+            LocalDate startDate,
+            LocalDate endDate,
+            ReportDetail detail,
+            String format) {
+        return ReportCacheKey.builder()
+                .clientId(clientId)
+                .startDate(startDate)
+                .endDate(endDate)
+                .detail(detail)
+                .format(format)
+                .build();
+    }
+
+    private Mono<Report> loadReport(
+            UUID clientId, LocalDate startDate, LocalDate endDate, ReportDetail detail) {
         return validateDateRange(startDate, endDate)
                 .then(clientInputPort.getClientById(clientId))
                 .switchIfEmpty(
@@ -38,14 +159,11 @@ public class ReportApplicationService implements ReportInputPort {
                                         "Cliente no encontrado con ID: " + clientId,
                                         "Cliente no encontrado",
                                         HttpStatus.NOT_FOUND)))
-                .flatMap(client -> buildReport(client, clientId, startDate, endDate));
-    }
-
-    @Override
-    public Mono<String> generateFormattedReport(
-            UUID clientId, LocalDate startDate, LocalDate endDate, String format) {
-        return generateReport(clientId, startDate, endDate)
-                .flatMap(report -> strategyFactory.generateReport(report, format));
+                .flatMap(
+                        client ->
+                                detail == ReportDetail.RESUMEN
+                                        ? buildSummaryReport(client, clientId, startDate, endDate)
+                                        : buildReport(client, clientId, startDate, endDate));
     }
 
     private Mono<Void> validateDateRange(LocalDate startDate, LocalDate endDate) {
@@ -61,9 +179,29 @@ public class ReportApplicationService implements ReportInputPort {
             Object clientObj, UUID clientId, LocalDate startDate, LocalDate endDate) {
         String clientName = extractClientName(clientObj);
 
-        return accountInputPort
-                .listAccounts(clientId, null, null)
-                .flatMap(account -> buildAccountSummary(account, startDate, endDate))
+        return statementOutputPort
+                .findStatementLines(clientId, startDate, endDate)
+                .bufferUntilChanged(StatementLine::getAccountId)
+                .map(this::buildAccountSummary)
+                .collectList()
+                .map(
+                        accountSummaries ->
+                                createReport(
+                                        clientId,
+                                        clientName,
+                                        startDate,
+                                        endDate,
+                                        ReportDetail.COMPLETO,
+                                        accountSummaries));
+    }
+
+    private Mono<Report> buildSummaryReport(
+            Object clientObj, UUID clientId, LocalDate startDate, LocalDate endDate) {
+        String clientName = extractClientName(clientObj);
+
+        return statementOutputPort
+                .findAccountTotals(clientId, startDate, endDate)
+                .map(this::toAccountSummary)
                 .collectList()
                 .map(
                         accountSummaries ->
@@ -72,6 +210,7 @@ public class ReportApplicationService implements ReportInputPort {
                                         clientName,
                                         startDate,
                                         endDate,
+                                        ReportDetail.RESUMEN,
                                         accountSummaries));
     }
 
@@ -92,6 +231,7 @@ public class ReportApplicationService implements ReportInputPort {
             String clientName,
             LocalDate startDate,
             LocalDate endDate,
+            ReportDetail detail,
             List<Report.AccountSummary> accountSummaries) {
         BigDecimal totalDebits =
                 accountSummaries.stream()
@@ -108,55 +248,65 @@ public class ReportApplicationService implements ReportInputPort {
                 .clientName(clientName)
                 .startDate(startDate)
                 .endDate(endDate)
+                .detail(detail)
                 .accounts(accountSummaries)
                 .totalDebits(totalDebits)
                 .totalCredits(totalCredits)
                 .build();
     }
 
-    private Mono<Report.AccountSummary> buildAccountSummary(
-            Account account, LocalDate startDate, LocalDate endDate) {
-        return movementInputPort
-                .listMovements(null, account.getAccountNumber(), startDate, endDate, null, null)
-                .collectList()
-                .map(movements -> buildAccountSummaryFromMovements(account, movements));
+    private Report.AccountSummary buildAccountSummary(List<StatementLine> accountLines) {
+        StatementLine account = accountLines.get(0);
+        List<StatementLine> movements =
+                accountLines.stream().filter(StatementLine::hasMovement).toList();
+
+        return Report.AccountSummary.builder()
+                .accountId(account.getAccountId())
+                .accountNumber(account.getAccountNumber())
+                .accountType(account.getAccountType().toString())
+                .initialBalance(account.getOpeningBalance())
+                .currentBalance(account.getClosingBalance())
+                .totalDebits(sumByType(movements, MovementType.DEBITO))
+                .totalCredits(sumByType(movements, MovementType.CREDITO))
+                .debitCount(countByType(movements, MovementType.DEBITO))
+                .creditCount(countByType(movements, MovementType.CREDITO))
+                .movements(movements.stream().map(this::toMovementSummary).toList())
+                .build();
     }
 
-    private Report.AccountSummary buildAccountSummaryFromMovements(
-            Account account, List<Movement> movements) {
-        BigDecimal totalDebits =
-                movements.stream()
-                        .filter(m -> "DEBITO".equals(m.getType().toString()))
-                        .map(Movement::getValue)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private Report.AccountSummary toAccountSummary(AccountTotals totals) {
+        return Report.AccountSummary.builder()
+                .accountId(totals.getAccountId())
+                .accountNumber(totals.getAccountNumber())
+                .accountType(totals.getAccountType().toString())
+                .initialBalance(totals.getOpeningBalance())
+                .currentBalance(totals.getClosingBalance())
+                .totalDebits(totals.getTotalDebits())
+                .totalCredits(totals.getTotalCredits())
+                .debitCount(totals.getDebitCount())
+                .creditCount(totals.getCreditCount())
+                .movements(List.of())
+                .build();
+    }
 
-        BigDecimal totalCredits =
-                movements.stream()
-                        .filter(m -> "CREDITO".equals(m.getType().toString()))
-                        .map(Movement::getValue)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private BigDecimal sumByType(List<StatementLine> movements, MovementType type) {
+        return movements.stream()
+                .filter(line -> line.getMovementType() == type)
+                .map(StatementLine::getMovementValue)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
 
-        List<Report.MovementSummary> movementSummaries =
-                movements.stream()
-                        .map(
-                                m ->
-                                        Report.MovementSummary.builder()
-                                                .id(m.getId())
-                                                .date(m.getDate().toLocalDate())
-                                                .type(m.getType().toString())
-                                                .amount(m.getValue())
-                                                .balanceAfterTransaction(m.getPostMovementBalance())
-                                                .build())
-                        .toList();
+    private long countByType(List<StatementLine> movements, MovementType type) {
+        return movements.stream().filter(line -> line.getMovementType() == type).count();
+    }
 
-        return Report.AccountSummary.builder()
-                .accountNumber(account.getAccountNumber())
-                .accountType(account.getType().toString())
-                .initialBalance(account.getInitBalance())
-                .currentBalance(account.getCurrentBalance())
-                .totalDebits(totalDebits)
-                .totalCredits(totalCredits)
-                .movements(movementSummaries)
+    private Report.MovementSummary toMovementSummary(StatementLine line) {
+        return Report.MovementSummary.builder()
+                .id(line.getMovementId())
+                .date(line.getMovementDate().toLocalDate())
+                .type(line.getMovementType().toString())
+                .amount(line.getMovementValue())
+                .balanceAfterTransaction(line.getBalanceAfterMovement())
                 .build();
     }
 }
@@ -0,0 +1,353 @@
+package com.pichincha.dm.bank.accounts.application.service;
+
+import com.pichincha.dm.bank.accounts.application.port.input.ReportInputPort;
+import com.pichincha.dm.bank.accounts.application.port.input.ReportJobInputPort;
+import com.pichincha.dm.bank.accounts.application.port.output.ReportJobOutputPort;
+import com.pichincha.dm.bank.accounts.application.port.output.ReportResultStoreOutputPort;
+import com.pichincha.dm.bank.accounts.application.strategy.ReportGeneratorStrategy;
+import com.pichincha.dm.bank.accounts.application.strategy.ReportGeneratorStrategyFactory;
+import com.pichincha.dm.bank.accounts.domain.ReportJob;
+import com.pichincha.dm.bank.accounts.domain.ReportJobResult;
+import com.pichincha.dm.bank.accounts.domain.enums.ReportDetail;
+import com.pichincha.dm.bank.accounts.domain.enums.ReportJobStatus;
+import com.pichincha.dm.bank.accounts.domain.exception.GeneralApplicationException;
+import com.pichincha.dm.bank.accounts.domain.exception.ReportRenderRejectedException;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+/**
+ * Genera reportes en segundo plano. Los trabajos esperan en una cola acotada y se procesan con una
+ * cantidad fija de trabajos simultáneos; si la cola está llena o el cliente ya tiene el máximo de
+ * trabajos en curso, la solicitud se rechaza en lugar de acumularse. El resultado se guarda en el
+ * almacén de resultados y vence después del TTL configurado. Los trabajos generan el reporte sin
+ * caché ni el plazo de las solicitudes en línea, y si el pool de renderizado está lleno reintentan
+ * con espera en lugar de fallar.
+ */
+@Slf4j
+@Service
+public class ReportJobApplicationService implements ReportJobInputPort {
+
+    private static final int RENDER_RETRIES = 3;
+
+    private final ReportInputPort reportInputPort;
+    private final ReportGeneratorStrategyFactory strategyFactory;
+    private final ReportJobOutputPort reportJobOutputPort;
+    private final ReportResultStoreOutputPort reportResultStoreOutputPort;
+    private final int maxJobsPerClient;
+    private final Duration ttl;
+    private final Duration retryAfter;
+    private final Duration renderRetryBackoff;
+    private final Duration maxWait;
+
+    private final Sinks.Many<ReportJob> queue;
+    private final Map<UUID, AtomicInteger> activeJobsByClient = new ConcurrentHashMap<>();
+    private final Map<UUID, Sinks.One<ReportJob>> completions = new ConcurrentHashMap<>();
+    private final Disposable workers;
+
+    public ReportJobApplicationService(
+            ReportInputPort reportInputPort,
+            ReportGeneratorStrategyFactory strategyFactory,
+            ReportJobOutputPort reportJobOutputPort,
+            ReportResultStoreOutputPort reportResultStoreOutputPort,
+            @Value("${bank.reports.jobs.workers:2}") int workers,
+            @Value("${bank.reports.jobs.queue-capacity:32}") int queueCapacity,
+            @Value("${bank.reports.jobs.max-per-client:2}") int maxJobsPerClient,
+            @Value("${bank.reports.jobs.ttl:1h}") Duration ttl,
+            @Value("${bank.reports.jobs.retry-after:10s}") Duration retryAfter,
+            @Value("${bank.reports.jobs.render-retry-backoff:2s}") Duration renderRetryBackoff,
+            @Value("${bank.reports.jobs.max-wait:60s}") Duration maxWait) {
+        this.reportInputPort = reportInputPort;
+        this.strategyFactory = strategyFactory;
+        this.reportJobOutputPort = reportJobOutputPort;
+        this.reportResultStoreOutputPort = reportResultStoreOutputPort;
+        this.maxJobsPerClient = maxJobsPerClient;
+        this.ttl = ttl;
+        this.retryAfter = retryAfter;
+        this.renderRetryBackoff = renderRetryBackoff;
+        this.maxWait = maxWait;
+        this.queue =
+                Sinks.many()
+                        .unicast()
+                        .onBackpressureBuffer(new ArrayBlockingQueue<>(queueCapacity));
+        this.workers = queue.asFlux().flatMap(this::runJob, workers).subscribe();
+    }
+
+    @Override
+    public Mono<ReportJob> submitJob(
+            UUID clientId,
+            LocalDate startDate,
+            LocalDate endDate,
+            String format,
+            ReportDetail detail) {
+        if (startDate.isAfter(endDate)) {
+            return Mono.error(
+                    new IllegalArgumentException(
+                            "La fecha de inicio no puede ser posterior a la fecha fin"));
+        }
+
+        return strategyFactory
+                .getStrategy(format)
+                .flatMap(
+                        strategy -> {
+                            acquireClientSlot(clientId);
+                            ReportJob job =
+                                    ReportJob.builder()
+                                            .id(UUID.randomUUID())
+                                            .clientId(clientId)
+                                            .startDate(startDate)
+                                            .endDate(endDate)
+                                            .format(strategy.getFormatType())
+                                            .detail(detail)
+                                            .status(ReportJobStatus.PENDIENTE)
+                                            .createdAt(LocalDateTime.now())
+                                            .build();
+                            return reportJobOutputPort
+                                    .save(job)
+                                    .flatMap(this::enqueue)
+                                    .doOnError(error -> releaseClientSlot(clientId));
+                        });
+    }
+
+    @Override
+    public Mono<ReportJob> getJob(UUID jobId) {
+        return reportJobOutputPort
+                .findById(jobId)
+                .filter(job -> !job.isExpired(LocalDateTime.now()))
+                .switchIfEmpty(Mono.error(() -> jobNotFound(jobId)));
+    }
+
+    @Override
+    public Mono<ReportJob> awaitJob(UUID jobId, Duration requestedWait) {
+        // La espera retiene la conexión: se acota al máximo configurado
+        Duration wait = requestedWait.isNegative() ? Duration.ZERO : min(requestedWait, maxWait);
+        return getJob(jobId)
+                .flatMap(
+                        job -> {
+                            if (job.isFinished() || wait.isZero()) {
+                                return Mono.just(job);
+                            }
+                            Sinks.One<ReportJob> completion = completions.get(jobId);
+                            if (completion == null) {
+                                // Terminó entre la lectura del trabajo y la consulta de la espera
+                                return getJob(jobId);
+                            }
+                            return completion.asMono().timeout(wait, getJob(jobId));
+                        });
+    }
+
+    @Override
+    public Mono<ReportJobResult> getJobResult(UUID jobId) {
+        return getJob(jobId)
+                .flatMap(
+                        job -> {
+                            if (job.getStatus() != ReportJobStatus.COMPLETADO) {
+                                return Mono.error(jobNotReady(job));
+                            }
+                            return reportResultStoreOutputPort
+                                    .find(jobId)
+                                    .switchIfEmpty(Mono.error(() -> jobNotFound(jobId)))
+                                    .map(
+                                            file ->
+                                                    ReportJobResult.builder()
+                                                            .file(file)
+                                                            .fileName(resultFileName(job))
+                                                            .contentType(job.getContentType())
+                                                            .sizeBytes(job.getSizeBytes())
+                                                            .build());
+                        });
+    }
+
+    @Override
+    public Mono<Long> purgeExpiredJobs() {
+        return reportJobOutputPort
+                .findExpired(LocalDateTime.now())
+                .concatMap(
+                        job ->
+                                reportResultStoreOutputPort
+                                        .delete(job.getId())
+                                        .then(reportJobOutputPort.deleteById(job.getId()))
+                                        .thenReturn(job))
+                .count()
+                .flatMap(
+                        purged ->
+                                reportResultStoreOutputPort
+                                        .deleteOlderThan(ttl)
+                                        .doOnNext(
+                                                orphans -> {
+                                                    if (orphans > 0) {
+                                                        log.info(
+                                                                "Deleted {} orphan report results",
+                                                                orphans);
+                                                    }
+                                                })
+                                        .thenReturn(purged));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.dispose();
+    }
+
+    private Mono<ReportJob> enqueue(ReportJob job) {
+        completions.put(job.getId(), Sinks.one());
+        Sinks.EmitResult result;
+        // La cola admite un solo productor a la vez
+        synchronized (queue) {
+            result = queue.tryEmitNext(job);
+        }
+        if (result.isSuccess()) {
+            log.debug("Queued report job {} for client {}", job.getId(), job.getClientId());
+            return Mono.just(job);
+        }
+
+        completions.remove(job.getId());
+        return reportJobOutputPort
+                .deleteById(job.getId())
+                .then(
+                        Mono.error(
+                                new ReportRenderRejectedException(
+                                        "La cola de trabajos de reportes está llena", retryAfter)));
+    }
+
+    /** Nunca termina con error: un fallo de generación queda registrado en el trabajo. */
+    private Mono<ReportJob> runJob(ReportJob job) {
+        return reportJobOutputPort
+                .save(job.toBuilder().status(ReportJobStatus.EN_PROCESO).build())
+                .flatMap(
+                        running ->
+                                strategyFactory
+                                        .getStrategy(job.getFormat())
+                                        .flatMap(strategy -> generateResult(running, strategy)))
+                .onErrorResume(error -> Mono.just(failed(job, error)))
+                .flatMap(reportJobOutputPort::save)
+                .onErrorResume(
+                        error -> {
+                            log.error("Could not record report job {}", job.getId(), error);
+                            return Mono.just(failed(job, error));
+                        })
+                .doOnNext(this::publishCompletion)
+                .doFinally(signal -> releaseClientSlot(job.getClientId()));
+    }
+
+    private Mono<ReportJob> generateResult(ReportJob job, ReportGeneratorStrategy strategy) {
+        return reportInputPort
+                .generateUncachedReport(
+                        job.getClientId(), job.getStartDate(), job.getEndDate(), job.getDetail())
+                .flatMap(
+                        report ->
+                                Mono.defer(() -> strategy.generateDocument(report))
+                                        .retryWhen(
+                                                Retry.backoff(RENDER_RETRIES, renderRetryBackoff)
+                                                        .filter(
+                                                                ReportRenderRejectedException.class
+                                                                        ::isInstance)))
+                .flatMap(
+                        content ->
+                                reportResultStoreOutputPort
+                                        .write(job.getId(), content)
+                                        .thenReturn(
+                                                completed(
+                                                        job,
+                                                        strategy.getContentType(),
+                                                        content.length)));
+    }
+
+    private static Duration min(Duration first, Duration second) {
+        return first.compareTo(second) <= 0 ? first : second;
+    }
+
+    private ReportJob completed(ReportJob job, String contentType, long sizeBytes) {
+        LocalDateTime now = LocalDateTime.now();
+        log.info("Report job {} completed with {} bytes", job.getId(), sizeBytes);
+        return job.toBuilder()
+                .status(ReportJobStatus.COMPLETADO)
+                .contentType(contentType)
+                .sizeBytes(sizeBytes)
+                .completedAt(now)
+                .expiresAt(now.plus(ttl))
+                .build();
+    }
+
+    private ReportJob failed(ReportJob job, Throwable error) {
+        LocalDateTime now = LocalDateTime.now();
+        log.warn("Report job {} failed: {}", job.getId(), error.getMessage());
+        return job.toBuilder()
+                .status(ReportJobStatus.FALLIDO)
+                .errorMessage(
+                        error instanceof GeneralApplicationException applicationException
+                                ? applicationException.getBusinessMessage()
+                                : error.getMessage())
+                .completedAt(now)
+                .expiresAt(now.plus(ttl))
+                .build();
+    }
+
+    private void publishCompletion(ReportJob job) {
+        Sinks.One<ReportJob> completion = completions.remove(job.getId());
+        if (completion != null) {
+            completion.tryEmitValue(job);
+        }
+    }
+
+    private void acquireClientSlot(UUID clientId) {
+        AtomicInteger active =
+                activeJobsByClient.computeIfAbsent(clientId, id -> new AtomicInteger());
+        if (active.incrementAndGet() > maxJobsPerClient) {
+            releaseClientSlot(clientId);
+            throw new GeneralApplicationException(
+                    "El cliente "
+                            + clientId
+                            + " ya tiene "
+                            + maxJobsPerClient
+                            + " reportes en proceso",
+                    "Ya hay reportes en proceso para el cliente, espere a que terminen",
+                    HttpStatus.TOO_MANY_REQUESTS);
+        }
+    }
+
+    private void releaseClientSlot(UUID clientId) {
+        activeJobsByClient.computeIfPresent(
+                clientId, (id, active) -> active.decrementAndGet() <= 0 ? null : active);
+    }
+
+    private String resultFileName(ReportJob job) {
+        return "estado-cuenta-"
+                + job.getClientId()
+                + "-"
+                + job.getStartDate()
+                + "-"
+                + job.getEndDate()
+                + ("pdf".equals(job.getFormat()) ? ".pdf" : ".json");
+    }
+
+    private GeneralApplicationException jobNotFound(UUID jobId) {
+        return new GeneralApplicationException(
+                "Trabajo de reporte no encontrado con ID: " + jobId,
+                "Trabajo de reporte no encontrado",
+                HttpStatus.NOT_FOUND);
+    }
+
+    private GeneralApplicationException jobNotReady(ReportJob job) {
+        return new GeneralApplicationException(
+                "El trabajo de reporte " + job.getId() + " está en estado " + job.getStatus(),
+                job.getStatus() == ReportJobStatus.FALLIDO
+                        ? "El reporte no se pudo generar: " + job.getErrorMessage()
+                        : "El reporte aún se está generando",
+                HttpStatus.CONFLICT);
+    }
+}
@@ -0,0 +1,62 @@
+package com.pichincha.dm.bank.accounts.application.service;
+
+import com.pichincha.dm.bank.accounts.domain.ReportCacheKey;
+import com.pichincha.dm.bank.accounts.domain.exception.GeneralApplicationException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Comparte una sola generación entre las solicitudes idénticas de reporte que llegan mientras otra
+ * está en curso. La generación corre desacoplada de quien la inició: si un suscriptor cancela, los
+ * demás siguen esperando el mismo resultado y la generación termina o vence por su propio tiempo
+ * máximo.
+ */
+@Slf4j
+@Component
+public class ReportSingleFlight {
+
+    private final Map<ReportCacheKey, Sinks.One<Object>> inFlight = new ConcurrentHashMap<>();
+
+    @Value("${bank.reports.single-flight.timeout:60s}")
+    private Duration timeout;
+
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> execute(ReportCacheKey key, Supplier<Mono<T>> generation) {
+        return Mono.deferContextual(
+                context -> {
+                    Sinks.One<Object> started = Sinks.one();
+                    Sinks.One<Object> shared = inFlight.putIfAbsent(key, started);
+                    if (shared != null) {
+                        log.debug("Joining in-flight report generation for {}", key);
+                        return (Mono<T>) shared.asMono();
+                    }
+
+                    Mono.defer(generation)
+                            .timeout(timeout)
+                            .onErrorMap(TimeoutException.class, this::toTimeoutException)
+                            .contextWrite(context)
+                            .doOnTerminate(() -> inFlight.remove(key, started))
+                            .subscribe(
+                                    started::tryEmitValue,
+                                    started::tryEmitError,
+                                    started::tryEmitEmpty);
+                    return (Mono<T>) started.asMono();
+                });
+    }
+
+    private Throwable toTimeoutException(TimeoutException ex) {
+        return new GeneralApplicationException(
+                "La generación del reporte superó el tiempo máximo de " + timeout,
+                "Reporte no disponible, intente nuevamente",
+                HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
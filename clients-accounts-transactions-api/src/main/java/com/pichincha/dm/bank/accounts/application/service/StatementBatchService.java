@@ -0,0 +1,180 @@
+package com.pichincha.dm.bank.accounts.application.service;
+
+import com.pichincha.dm.bank.accounts.application.port.input.ReportInputPort;
+import com.pichincha.dm.bank.accounts.application.port.input.StatementBatchInputPort;
+import com.pichincha.dm.bank.accounts.application.port.output.ClientOutputPort;
+import com.pichincha.dm.bank.accounts.application.port.output.ReportOutputPort;
+import com.pichincha.dm.bank.accounts.application.port.output.StatementArchiveOutputPort;
+import com.pichincha.dm.bank.accounts.domain.Report;
+import com.pichincha.dm.bank.accounts.domain.StatementBatchResult;
+import com.pichincha.dm.bank.accounts.domain.enums.ReportDetail;
+import com.pichincha.dm.bank.accounts.domain.exception.ReportRenderRejectedException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Cierre mensual: genera el estado de cuenta de cada cliente y lo archiva. Los reportes se arman
+ * con una cantidad acotada de consultas simultáneas y se renderizan con otra, de modo que el cierre
+ * no acapare la base ni el pool de renderizado que comparte con las solicitudes en línea. Un fallo
+ * en un cliente no detiene la corrida; el mes solo se marca completo cuando no quedan fallos.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StatementBatchService implements StatementBatchInputPort {
+
+    private static final int RENDER_RETRIES = 3;
+
+    private final ClientOutputPort clientOutputPort;
+    private final ReportInputPort reportInputPort;
+    private final ReportOutputPort reportOutputPort;
+    private final StatementArchiveOutputPort statementArchiveOutputPort;
+
+    @Value("${bank.reports.batch.db-concurrency:4}")
+    private int dbConcurrency;
+
+    @Value("${bank.reports.batch.render-concurrency:2}")
+    private int renderConcurrency;
+
+    @Value("${bank.reports.batch.render-retry-backoff:2s}")
+    private Duration renderRetryBackoff;
+
+    @Value("${bank.reports.batch.progress-every:500}")
+    private int progressEvery;
+
+    @Override
+    public Mono<StatementBatchResult> runMonthEnd(YearMonth period) {
+        return Mono.defer(
+                () -> {
+                    long startNanos = System.nanoTime();
+                    Progress progress = new Progress(period, startNanos);
+                    log.info("Starting month-end statements for {}", period);
+
+                    // Los IDs se leen primero para no mantener abierto el cursor de clientes
+                    // durante toda la corrida
+                    return clientOutputPort
+                            .findAllIds()
+                            .collectList()
+                            .flatMapMany(Flux::fromIterable)
+                            .filterWhen(clientId -> isPending(clientId, period, progress))
+                            .flatMap(
+                                    clientId -> buildStatement(clientId, period, progress),
+                                    dbConcurrency)
+                            .flatMap(
+                                    report -> archiveStatement(report, period, progress),
+                                    renderConcurrency)
+                            .then(Mono.fromSupplier(progress::toResult))
+                            .flatMap(this::completePeriod);
+                });
+    }
+
+    @Override
+    public Mono<Boolean> isPeriodArchived(YearMonth period) {
+        return statementArchiveOutputPort.isPeriodComplete(period);
+    }
+
+    private Mono<Boolean> isPending(UUID clientId, YearMonth period, Progress progress) {
+        return statementArchiveOutputPort
+                .contains(clientId, period)
+                .map(
+                        archived -> {
+                            if (archived) {
+                                progress.skipped.incrementAndGet();
+                            }
+                            return !archived;
+                        });
+    }
+
+    private Mono<Report> buildStatement(UUID clientId, YearMonth period, Progress progress) {
+        LocalDate startDate = period.atDay(1);
+        LocalDate endDate = period.atEndOfMonth();
+        return reportInputPort
+                .generateUncachedReport(clientId, startDate, endDate, ReportDetail.COMPLETO)
+                .onErrorResume(error -> progress.fail(clientId, error));
+    }
+
+    private Mono<Void> archiveStatement(Report report, YearMonth period, Progress progress) {
+        UUID clientId = report.getClientId();
+        return reportOutputPort
+                .renderPdf(report)
+                // El pool de renderizado es compartido: si está lleno se espera en lugar de fallar
+                .retryWhen(
+                        Retry.backoff(RENDER_RETRIES, renderRetryBackoff)
+                                .filter(ReportRenderRejectedException.class::isInstance))
+                .flatMap(pdf -> statementArchiveOutputPort.store(clientId, period, pdf))
+                .doOnNext(digest -> progress.archived(progressEvery))
+                .onErrorResume(error -> progress.fail(clientId, error))
+                .then();
+    }
+
+    private Mono<StatementBatchResult> completePeriod(StatementBatchResult result) {
+        log.info(
+                "Month-end statements for {}: {} archived, {} already archived, {} failed in {}"
+                        + " ({} per second)",
+                result.getPeriod(),
+                result.getArchived(),
+                result.getSkipped(),
+                result.getFailed(),
+                result.getElapsed(),
+                String.format("%.1f", result.getThroughput()));
+        if (!result.isComplete()) {
+            return Mono.just(result);
+        }
+        return statementArchiveOutputPort.markPeriodComplete(result.getPeriod()).thenReturn(result);
+    }
+
+    private static final class Progress {
+
+        private final YearMonth period;
+        private final long startNanos;
+        private final AtomicLong archived = new AtomicLong();
+        private final AtomicLong skipped = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+
+        private Progress(YearMonth period, long startNanos) {
+            this.period = period;
+            this.startNanos = startNanos;
+        }
+
+        private void archived(int progressEvery) {
+            long count = archived.incrementAndGet();
+            if (progressEvery > 0 && count % progressEvery == 0) {
+                log.info(
+                        "Month-end statements for {}: {} archived ({} per second)",
+                        period,
+                        count,
+                        String.format("%.1f", toResult().getThroughput()));
+            }
+        }
+
+        private <T> Mono<T> fail(UUID clientId, Throwable error) {
+            failed.incrementAndGet();
+            log.warn(
+                    "Month-end statement for client {} in {} failed: {}",
+                    clientId,
+                    period,
+                    error.getMessage());
+            return Mono.empty();
+        }
+
+        private StatementBatchResult toResult() {
+            return StatementBatchResult.builder()
+                    .period(period)
+                    .archived(archived.get())
+                    .skipped(skipped.get())
+                    .failed(failed.get())
+                    .elapsed(Duration.ofNanos(System.nanoTime() - startNanos))
+                    .build();
+        }
+    }
+}
@@ -21,4 +21,14 @@ public class PdfReportGeneratorStrategy implements ReportGeneratorStrategy {
     public String getFormatType() {
         return "pdf";
     }
+
+    @Override
+    public Mono<byte[]> generateDocument(Report report) {
+        return reportOutputPort.renderPdf(report);
+    }
+
+    @Override
+    public String getContentType() {
+        return "application/pdf";
+    }
 }
@@ -1,6 +1,7 @@
 package com.pichincha.dm.bank.accounts.application.strategy;
 
 import com.pichincha.dm.bank.accounts.domain.Report;
+import java.nio.charset.StandardCharsets;
 import reactor.core.publisher.Mono;
 
 public interface ReportGeneratorStrategy {
@@ -8,4 +9,14 @@ public interface ReportGeneratorStrategy {
     Mono<String> generateReport(Report report);
 
     String getFormatType();
+
+    /** Contenido del reporte como bytes, para guardarlo o entregarlo tal cual sin re-codificar. */
+    default Mono<byte[]> generateDocument(Report report) {
+        return generateReport(report).map(content -> content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Tipo de contenido de {@link #generateDocument(Report)}. */
+    default String getContentType() {
+        return "application/json";
+    }
 }
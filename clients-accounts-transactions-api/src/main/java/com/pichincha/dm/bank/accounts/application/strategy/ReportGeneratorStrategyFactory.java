@@ -19,7 +19,13 @@ public class ReportGeneratorStrategyFactory {
         return getStrategy(format).flatMap(strategy -> strategy.generateReport(report));
     }
 
-    private Mono<ReportGeneratorStrategy> getStrategy(String format) {
+    /**
+     * Estrategia registrada para el formato, o error si el formato no está soportado.
+     *
+     * @param format Formato solicitado, sin distinguir mayúsculas
+     * @return Mono con la estrategia del formato
+     */
+    public Mono<ReportGeneratorStrategy> getStrategy(String format) {
         Map<String, ReportGeneratorStrategy> strategyMap =
                 strategies.stream()
                         .collect(
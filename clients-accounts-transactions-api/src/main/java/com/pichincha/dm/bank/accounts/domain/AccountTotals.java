@@ -0,0 +1,26 @@
+package com.pichincha.dm.bank.accounts.domain;
+
+import com.pichincha.dm.bank.accounts.domain.enums.AccountType;
+import java.math.BigDecimal;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Totales de una cuenta en un periodo: saldos de apertura y cierre, y suma y cantidad de
+ * movimientos por tipo, sin los movimientos individuales.
+ */
+@Data
+@Builder
+public class AccountTotals {
+
+    private UUID accountId;
+    private Long accountNumber;
+    private AccountType accountType;
+    private BigDecimal openingBalance;
+    private BigDecimal closingBalance;
+    private BigDecimal totalDebits;
+    private BigDecimal totalCredits;
+    private long debitCount;
+    private long creditCount;
+}
@@ -0,0 +1,31 @@
+package com.pichincha.dm.bank.accounts.domain;
+
+import java.util.List;
+import java.util.function.Function;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Página de un listado con el cursor para pedir la siguiente. El cursor es nulo cuando la página no
+ * llegó a llenarse, es decir, cuando ya no quedan elementos.
+ */
+@Data
+@Builder
+public class CursorPage<T> {
+
+    private List<T> items;
+    private PageCursor next;
+
+    public static <T> CursorPage<T> of(
+            List<T> items, Integer size, Function<T, PageCursor> cursorOf) {
+        boolean full = size != null && !items.isEmpty() && items.size() >= size;
+        return CursorPage.<T>builder()
+                .items(items)
+                .next(full ? cursorOf.apply(items.get(items.size() - 1)) : null)
+                .build();
+    }
+
+    public boolean hasNext() {
+        return next != null;
+    }
+}
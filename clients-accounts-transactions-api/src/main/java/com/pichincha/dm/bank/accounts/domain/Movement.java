@@ -18,4 +18,5 @@ public class Movement {
     private BigDecimal postMovementBalance;
     private LocalDateTime createdAt;
     private Account account;
+    private Boolean postMovementBalanceStale;
 }
@@ -0,0 +1,18 @@
+package com.pichincha.dm.bank.accounts.domain;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Posición del último elemento entregado en un listado ordenado de forma descendente por fecha e
+ * id. La página siguiente empieza en el primer elemento estrictamente anterior a esa posición.
+ */
+@Data
+@Builder
+public class PageCursor {
+
+    private LocalDateTime position;
+    private UUID id;
+}
@@ -0,0 +1,16 @@
+package com.pichincha.dm.bank.accounts.domain;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class PendingRecalculation {
+
+    private UUID accountId;
+    private LocalDateTime fromDateTime;
+    private Long version;
+    private LocalDateTime registeredAt;
+}
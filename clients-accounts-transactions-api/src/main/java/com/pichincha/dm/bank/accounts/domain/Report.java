@@ -1,5 +1,6 @@
 package com.pichincha.dm.bank.accounts.domain;
 
+import com.pichincha.dm.bank.accounts.domain.enums.ReportDetail;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
@@ -15,6 +16,7 @@ public class Report {
     private String clientName;
     private LocalDate startDate;
     private LocalDate endDate;
+    private ReportDetail detail;
     private List<AccountSummary> accounts;
     private BigDecimal totalDebits;
     private BigDecimal totalCredits;
@@ -22,12 +24,15 @@ public class Report {
     @Data
     @Builder
     public static class AccountSummary {
+        private UUID accountId;
         private Long accountNumber;
         private String accountType;
         private BigDecimal initialBalance;
         private BigDecimal currentBalance;
         private BigDecimal totalDebits;
         private BigDecimal totalCredits;
+        private long debitCount;
+        private long creditCount;
         private List<MovementSummary> movements;
     }
 
@@ -0,0 +1,22 @@
+package com.pichincha.dm.bank.accounts.domain;
+
+import com.pichincha.dm.bank.accounts.domain.enums.ReportDetail;
+import java.time.LocalDate;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Identifica un reporte generado: cliente, periodo, nivel de detalle y formato. Un formato nulo
+ * identifica el reporte de dominio sin formatear.
+ */
+@Data
+@Builder(toBuilder = true)
+public class ReportCacheKey {
+
+    private UUID clientId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private ReportDetail detail;
+    private String format;
+}
@@ -0,0 +1,40 @@
+package com.pichincha.dm.bank.accounts.domain;
+
+import com.pichincha.dm.bank.accounts.domain.enums.ReportDetail;
+import com.pichincha.dm.bank.accounts.domain.enums.ReportJobStatus;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Generación asíncrona de un reporte. El resultado se guarda fuera del heap y se puede descargar
+ * hasta {@code expiresAt}.
+ */
+@Data
+@Builder(toBuilder = true)
+public class ReportJob {
+
+    private UUID id;
+    private UUID clientId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private String format;
+    private ReportDetail detail;
+    private ReportJobStatus status;
+    private String contentType;
+    private Long sizeBytes;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+    private LocalDateTime expiresAt;
+
+    public boolean isFinished() {
+        return status == ReportJobStatus.COMPLETADO || status == ReportJobStatus.FALLIDO;
+    }
+
+    public boolean isExpired(LocalDateTime now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
@@ -0,0 +1,16 @@
+package com.pichincha.dm.bank.accounts.domain;
+
+import java.nio.file.Path;
+import lombok.Builder;
+import lombok.Data;
+
+/** Resultado descargable de un trabajo de reporte completado. */
+@Data
+@Builder
+public class ReportJobResult {
+
+    private Path file;
+    private String fileName;
+    private String contentType;
+    private long sizeBytes;
+}
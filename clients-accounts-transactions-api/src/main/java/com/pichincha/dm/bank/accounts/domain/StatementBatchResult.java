@@ -0,0 +1,28 @@
+package com.pichincha.dm.bank.accounts.domain;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import lombok.Builder;
+import lombok.Data;
+
+/** Resumen de una corrida del cierre mensual de estados de cuenta. */
+@Data
+@Builder
+public class StatementBatchResult {
+
+    private YearMonth period;
+    private long archived;
+    private long skipped;
+    private long failed;
+    private Duration elapsed;
+
+    /** Estados de cuenta archivados por segundo en esta corrida. */
+    public double getThroughput() {
+        long millis = elapsed != null ? elapsed.toMillis() : 0;
+        return millis > 0 ? archived * 1000.0 / millis : 0;
+    }
+
+    public boolean isComplete() {
+        return failed == 0;
+    }
+}
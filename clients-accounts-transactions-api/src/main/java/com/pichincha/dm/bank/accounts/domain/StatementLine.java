@@ -0,0 +1,34 @@
+package com.pichincha.dm.bank.accounts.domain;
+
+import com.pichincha.dm.bank.accounts.domain.enums.AccountType;
+import com.pichincha.dm.bank.accounts.domain.enums.MovementType;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Fila del estado de cuenta de un cliente en un periodo: los datos de la cuenta con los saldos de
+ * apertura y cierre del periodo, y uno de sus movimientos. Una cuenta sin movimientos en el periodo
+ * aparece en una única fila sin datos de movimiento.
+ */
+@Data
+@Builder
+public class StatementLine {
+
+    private UUID accountId;
+    private Long accountNumber;
+    private AccountType accountType;
+    private BigDecimal openingBalance;
+    private BigDecimal closingBalance;
+    private UUID movementId;
+    private LocalDateTime movementDate;
+    private MovementType movementType;
+    private BigDecimal movementValue;
+    private BigDecimal balanceAfterMovement;
+
+    public boolean hasMovement() {
+        return movementId != null;
+    }
+}
@@ -0,0 +1,6 @@
+package com.pichincha.dm.bank.accounts.domain.enums;
+
+public enum ReportDetail {
+    COMPLETO,
+    RESUMEN
+}
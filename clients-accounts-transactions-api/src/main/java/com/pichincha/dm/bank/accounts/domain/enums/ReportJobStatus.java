@@ -0,0 +1,8 @@
+package com.pichincha.dm.bank.accounts.domain.enums;
+
+public enum ReportJobStatus {
+    PENDIENTE,
+    EN_PROCESO,
+    COMPLETADO,
+    FALLIDO
+}
@@ -0,0 +1,24 @@
+package com.pichincha.dm.bank.accounts.domain.exception;
+
+import java.time.Duration;
+import lombok.Getter;
+import org.springframework.http.HttpStatusCode;
+
+@Getter
+public class ReportRenderRejectedException extends GeneralApplicationException {
+
+    private static final HttpStatusCode STATUS_CODE = HttpStatusCode.valueOf(503);
+    private static final String BUSINESS_MESSAGE =
+            "Hay demasiados reportes en generación, intente nuevamente en unos segundos";
+
+    private final Duration retryAfter;
+
+    public ReportRenderRejectedException(Duration retryAfter) {
+        this("La cola de generación de PDF está llena", retryAfter);
+    }
+
+    public ReportRenderRejectedException(String message, Duration retryAfter) {
+        super(message, BUSINESS_MESSAGE, STATUS_CODE);
+        this.retryAfter = retryAfter;
+    }
+}
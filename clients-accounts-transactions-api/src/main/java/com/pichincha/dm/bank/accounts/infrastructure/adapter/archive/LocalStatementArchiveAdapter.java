@@ -0,0 +1,214 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.archive;
+
+import com.pichincha.dm.bank.accounts.application.port.output.StatementArchiveOutputPort;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Archivo de estados de cuenta en disco local, direccionado por contenido:
+ *
+ * <pre>
+ *   objects/ab/abcdef…pdf          PDF guardado con el nombre de su SHA-256
+ *   index/2025-01/{clienteId}      hash del PDF del cliente para el mes
+ *   index/2025-01/_COMPLETE        el mes quedó archivado para todos los clientes
+ * </pre>
+ *
+ * Cada archivo se escribe completo en un temporal, se sincroniza a disco y se mueve a su nombre
+ * final de forma atómica. El PDF se escribe antes que su entrada del índice, así que tras una caída
+ * el índice nunca apunta a un PDF incompleto y la corrida se retoma con los clientes sin entrada.
+ */
+@Slf4j
+@Component
+public class LocalStatementArchiveAdapter implements StatementArchiveOutputPort {
+
+    private static final String COMPLETE_MARKER = "_COMPLETE";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path objectsDirectory;
+    private final Path indexDirectory;
+
+    public LocalStatementArchiveAdapter(
+            @Value("${bank.reports.archive.dir:data/statement-archive}") Path directory) {
+        this.objectsDirectory = directory.resolve("objects");
+        this.indexDirectory = directory.resolve("index");
+    }
+
+    @Override
+    public Mono<String> store(UUID clientId, YearMonth period, byte[] pdf) {
+        return Mono.fromCallable(
+                        () -> {
+                            String digest = sha256(pdf);
+                            Path object = objectPath(digest);
+                            // Mismo contenido, mismo archivo: no se reescribe
+                            if (!Files.exists(object)) {
+                                writeAtomically(object, pdf);
+                            }
+                            writeAtomically(
+                                    indexPath(clientId, period),
+                                    digest.getBytes(StandardCharsets.US_ASCII));
+                            return digest;
+                        })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<byte[]> find(UUID clientId, YearMonth period) {
+        return Mono.fromCallable(() -> readArchived(clientId, period))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<Boolean> contains(UUID clientId, YearMonth period) {
+        return Mono.fromCallable(() -> Files.exists(indexPath(clientId, period)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<Void> markPeriodComplete(YearMonth period) {
+        return Mono.<Void>fromCallable(
+                        () -> {
+                            writeAtomically(
+                                    periodDirectory(period).resolve(COMPLETE_MARKER),
+                                    Instant.now().toString().getBytes(StandardCharsets.US_ASCII));
+                            return null;
+                        })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<Boolean> isPeriodComplete(YearMonth period) {
+        return Mono.fromCallable(
+                        () -> Files.exists(periodDirectory(period).resolve(COMPLETE_MARKER)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<Void> evictFrom(UUID clientId, YearMonth fromPeriod) {
+        return Mono.<Void>fromCallable(
+                        () -> {
+                            for (YearMonth period : archivedPeriodsFrom(fromPeriod)) {
+                                // El PDF se conserva: otro cliente puede apuntar al mismo contenido
+                                if (Files.deleteIfExists(indexPath(clientId, period))) {
+                                    log.info(
+                                            "Evicted archived statement for client {} in {}",
+                                            clientId,
+                                            period);
+                                }
+                                Files.deleteIfExists(
+                                        periodDirectory(period).resolve(COMPLETE_MARKER));
+                            }
+                            return null;
+                        })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private List<YearMonth> archivedPeriodsFrom(YearMonth fromPeriod) throws IOException {
+        if (!Files.isDirectory(indexDirectory)) {
+            return List.of();
+        }
+        try (Stream<Path> periods = Files.list(indexDirectory)) {
+            return periods.filter(Files::isDirectory)
+                    .map(directory -> parsePeriod(directory.getFileName().toString()))
+                    .filter(period -> period != null && !period.isBefore(fromPeriod))
+                    .toList();
+        }
+    }
+
+    private static YearMonth parsePeriod(String name) {
+        try {
+            return YearMonth.parse(name);
+        } catch (DateTimeParseException ex) {
+            return null;
+        }
+    }
+
+    private byte[] readArchived(UUID clientId, YearMonth period) throws IOException {
+        Path index = indexPath(clientId, period);
+        if (!Files.exists(index)) {
+            return null;
+        }
+        String digest = Files.readString(index, StandardCharsets.US_ASCII).trim();
+        Path object = objectPath(digest);
+        if (!Files.exists(object)) {
+            log.warn(
+                    "Archived statement {} for client {} in {} is missing",
+                    digest,
+                    clientId,
+                    period);
+            return null;
+        }
+        byte[] pdf = Files.readAllBytes(object);
+        if (!digest.equals(sha256(pdf))) {
+            log.warn(
+                    "Archived statement {} for client {} in {} is corrupt",
+                    digest,
+                    clientId,
+                    period);
+            return null;
+        }
+        return pdf;
+    }
+
+    private void writeAtomically(Path target, byte[] content) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp =
+                target.resolveSibling(target.getFileName() + "." + UUID.randomUUID() + TEMP_SUFFIX);
+        try (FileChannel channel =
+                FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        try {
+            Files.move(
+                    temp,
+                    target,
+                    StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Path objectPath(String digest) {
+        return objectsDirectory.resolve(digest.substring(0, 2)).resolve(digest + ".pdf");
+    }
+
+    private Path indexPath(UUID clientId, YearMonth period) {
+        return periodDirectory(period).resolve(clientId.toString());
+    }
+
+    private Path periodDirectory(YearMonth period) {
+        return indexDirectory.resolve(period.toString());
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
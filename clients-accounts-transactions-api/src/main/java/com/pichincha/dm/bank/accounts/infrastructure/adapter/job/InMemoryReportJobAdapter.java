@@ -0,0 +1,52 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.job;
+
+import com.pichincha.dm.bank.accounts.application.port.output.ReportJobOutputPort;
+import com.pichincha.dm.bank.accounts.domain.ReportJob;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Registro en memoria de los trabajos de reporte. Los trabajos no sobreviven a un reinicio; sus
+ * archivos huérfanos los elimina la limpieza del almacén de resultados.
+ */
+@Component
+public class InMemoryReportJobAdapter implements ReportJobOutputPort {
+
+    private final Map<UUID, ReportJob> jobs = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<ReportJob> save(ReportJob job) {
+        return Mono.fromSupplier(
+                () -> {
+                    jobs.put(job.getId(), job);
+                    return job;
+                });
+    }
+
+    @Override
+    public Mono<ReportJob> findById(UUID jobId) {
+        return Mono.fromSupplier(() -> jobs.get(jobId));
+    }
+
+    @Override
+    public Flux<ReportJob> findExpired(LocalDateTime now) {
+        return Flux.defer(
+                () ->
+                        Flux.fromStream(
+                                jobs.values().stream()
+                                        .filter(ReportJob::isFinished)
+                                        .filter(job -> job.isExpired(now))
+                                        .toList()
+                                        .stream()));
+    }
+
+    @Override
+    public Mono<Void> deleteById(UUID jobId) {
+        return Mono.fromRunnable(() -> jobs.remove(jobId));
+    }
+}
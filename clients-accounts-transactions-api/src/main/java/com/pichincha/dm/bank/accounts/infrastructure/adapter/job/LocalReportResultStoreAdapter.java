@@ -0,0 +1,112 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.job;
+
+import com.pichincha.dm.bank.accounts.application.port.output.ReportResultStoreOutputPort;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Guarda los resultados de los trabajos de reporte como archivos en un directorio local, uno por
+ * trabajo. Cada resultado se escribe primero en un archivo temporal y se mueve a su nombre final de
+ * forma atómica, así una descarga nunca ve un archivo a medio escribir. Las operaciones de disco
+ * corren en boundedElastic para no bloquear el event loop.
+ */
+@Slf4j
+@Component
+public class LocalReportResultStoreAdapter implements ReportResultStoreOutputPort {
+
+    private static final String RESULT_SUFFIX = ".result";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+
+    public LocalReportResultStoreAdapter(
+            @Value("${bank.reports.jobs.storage-dir:${java.io.tmpdir}/bank-report-jobs}")
+                    Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public Mono<Path> write(UUID jobId, byte[] content) {
+        return Mono.fromCallable(
+                        () -> {
+                            Files.createDirectories(directory);
+                            Path temp = directory.resolve(jobId + TEMP_SUFFIX);
+                            Path target = resultPath(jobId);
+                            Files.write(temp, content);
+                            return Files.move(
+                                    temp,
+                                    target,
+                                    StandardCopyOption.ATOMIC_MOVE,
+                                    StandardCopyOption.REPLACE_EXISTING);
+                        })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<Path> find(UUID jobId) {
+        return Mono.fromCallable(
+                        () -> {
+                            Path path = resultPath(jobId);
+                            return Files.isRegularFile(path) ? path : null;
+                        })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<Void> delete(UUID jobId) {
+        return Mono.<Void>fromCallable(
+                        () -> {
+                            Files.deleteIfExists(resultPath(jobId));
+                            return null;
+                        })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<Long> deleteOlderThan(Duration maxAge) {
+        return Mono.fromCallable(() -> deleteFilesOlderThan(Instant.now().minus(maxAge)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private long deleteFilesOlderThan(Instant cutoff) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return 0L;
+        }
+        long deleted = 0;
+        try (DirectoryStream<Path> files =
+                Files.newDirectoryStream(
+                        directory, "*{" + RESULT_SUFFIX + "," + TEMP_SUFFIX + "}")) {
+            for (Path file : files) {
+                if (isOlderThan(file, cutoff) && Files.deleteIfExists(file)) {
+                    deleted++;
+                }
+            }
+        }
+        return deleted;
+    }
+
+    private boolean isOlderThan(Path file, Instant cutoff) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant().isBefore(cutoff);
+        } catch (IOException e) {
+            // Otro proceso de limpieza pudo eliminarlo mientras se recorría el directorio
+            log.debug("Could not read modification time of {}", file, e);
+            return false;
+        }
+    }
+
+    private Path resultPath(UUID jobId) {
+        return directory.resolve(jobId + RESULT_SUFFIX);
+    }
+}
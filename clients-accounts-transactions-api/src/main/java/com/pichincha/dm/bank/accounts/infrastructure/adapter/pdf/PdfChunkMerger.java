@@ -0,0 +1,83 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.pdf;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.multipdf.PDFMergerUtility;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+
+/**
+ * Une los fragmentos renderizados de un estado de cuenta en un solo PDF y estampa en cada página el
+ * mismo encabezado y la numeración "Página X de Y" sobre el total del documento unido. Los
+ * documentos intermedios se mantienen en archivos temporales y no en el heap.
+ */
+public final class PdfChunkMerger {
+
+    private static final PDFont FONT = PDType1Font.HELVETICA;
+    private static final float FONT_SIZE = 8;
+    private static final float MARGIN = 20;
+
+    private PdfChunkMerger() {}
+
+    public static byte[] merge(List<byte[]> chunks, String runningHeader) throws IOException {
+        PDFMergerUtility merger = new PDFMergerUtility();
+        List<PDDocument> sources = new ArrayList<>(chunks.size());
+        try (PDDocument merged = new PDDocument(MemoryUsageSetting.setupTempFileOnly())) {
+            // Los fragmentos deben seguir abiertos hasta guardar el documento unido
+            for (byte[] chunk : chunks) {
+                PDDocument source =
+                        PDDocument.load(
+                                new ByteArrayInputStream(chunk),
+                                MemoryUsageSetting.setupTempFileOnly());
+                sources.add(source);
+                merger.appendDocument(merged, source);
+            }
+
+            stampPages(merged, runningHeader);
+
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            merged.save(outputStream);
+            return outputStream.toByteArray();
+        } finally {
+            for (PDDocument source : sources) {
+                source.close();
+            }
+        }
+    }
+
+    private static void stampPages(PDDocument document, String runningHeader) throws IOException {
+        int totalPages = document.getNumberOfPages();
+        int pageNumber = 0;
+        for (PDPage page : document.getPages()) {
+            pageNumber++;
+            PDRectangle box = page.getMediaBox();
+            String footer = "Página " + pageNumber + " de " + totalPages;
+            float footerWidth = FONT.getStringWidth(footer) / 1000 * FONT_SIZE;
+
+            try (PDPageContentStream content =
+                    new PDPageContentStream(
+                            document, page, PDPageContentStream.AppendMode.APPEND, true, true)) {
+                content.setNonStrokingColor(15 / 255f, 37 / 255f, 94 / 255f);
+                writeText(content, runningHeader, MARGIN, box.getHeight() - MARGIN);
+                writeText(content, footer, box.getWidth() - MARGIN - footerWidth, MARGIN);
+            }
+        }
+    }
+
+    private static void writeText(PDPageContentStream content, String text, float x, float y)
+            throws IOException {
+        content.beginText();
+        content.setFont(FONT, FONT_SIZE);
+        content.newLineAtOffset(x, y);
+        content.showText(text);
+        content.endText();
+    }
+}
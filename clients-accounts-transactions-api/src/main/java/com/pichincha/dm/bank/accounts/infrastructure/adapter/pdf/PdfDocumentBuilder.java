@@ -4,35 +4,11 @@ import java.text.NumberFormat;
 import java.time.format.DateTimeFormatter;
 import java.util.Locale;
 
-public class PdfDocumentBuilder {
+public class PdfDocumentBuilder implements PdfLayoutBuilder<String> {
 
-    private static final DateTimeFormatter DATE_FORMATTER =
-            DateTimeFormatter.ofPattern("dd/MM/yyyy");
-    private static final NumberFormat CURRENCY_FORMATTER =
-            NumberFormat.getCurrencyInstance(new Locale("es", "EC"));
-
-    private final StringBuilder content;
-
-    public PdfDocumentBuilder() {
-        this.content = new StringBuilder();
-        initializeDocument();
-    }
-
-    private void initializeDocument() {
-        content.append("<!DOCTYPE html>");
-        content.append("<html>");
-        content.append("<head>");
-        content.append("<meta charset=\"UTF-8\"/>");
-        content.append("<title>Estado de Cuenta</title>");
-        addDefaultStyles();
-        content.append("</head>");
-        content.append("<body>");
-    }
-
-    private void addDefaultStyles() {
-        content.append("<style>");
-        content.append(
-                """
+    /** Hoja de estilos compartida por todos los documentos de reporte, en texto o en DOM. */
+    static final String STYLESHEET =
+            """
             body {
                 font-family: Arial, sans-serif;
                 margin: 20px;
@@ -129,10 +105,38 @@ public class PdfDocumentBuilder {
             tr:hover {
                 background-color: #fff8dc;
             }
-            """);
+            """;
+
+    private static final DateTimeFormatter DATE_FORMATTER =
+            DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final NumberFormat CURRENCY_FORMATTER =
+            NumberFormat.getCurrencyInstance(new Locale("es", "EC"));
+
+    private final StringBuilder content;
+
+    public PdfDocumentBuilder() {
+        this.content = new StringBuilder();
+        initializeDocument();
+    }
+
+    private void initializeDocument() {
+        content.append("<!DOCTYPE html>");
+        content.append("<html>");
+        content.append("<head>");
+        content.append("<meta charset=\"UTF-8\"/>");
+        content.append("<title>Estado de Cuenta</title>");
+        addDefaultStyles();
+        content.append("</head>");
+        content.append("<body>");
+    }
+
+    private void addDefaultStyles() {
+        content.append("<style>");
+        content.append(STYLESHEET);
         content.append("</style>");
     }
 
+    @Override
     public PdfDocumentBuilder addBankHeader(String bankName, String documentTitle) {
         content.append("<div class='header'>");
         content.append("<h1>").append(bankName).append("</h1>");
@@ -141,27 +145,32 @@ public class PdfDocumentBuilder {
         return this;
     }
 
+    @Override
     public PdfDocumentBuilder addSection(String title) {
         content.append("<div class='section'>");
         content.append("<h3>").append(title).append("</h3>");
         return this;
     }
 
+    @Override
     public PdfDocumentBuilder closeSection() {
         content.append("</div>");
         return this;
     }
 
+    @Override
     public PdfDocumentBuilder addSubsection(String title) {
         content.append("<h4>").append(title).append("</h4>");
         return this;
     }
 
+    @Override
     public PdfDocumentBuilder addInfoTable() {
         content.append("<table class='client-info'>");
         return this;
     }
 
+    @Override
     public PdfDocumentBuilder addDataTable(String... headers) {
         content.append("<table>");
         if (headers != null && headers.length > 0) {
@@ -174,11 +183,13 @@ public class PdfDocumentBuilder {
         return this;
     }
 
+    @Override
     public PdfDocumentBuilder addSummaryTable() {
         content.append("<table class='summary-info'>");
         return this;
     }
 
+    @Override
     public PdfDocumentBuilder addInfoRow(String label, String value) {
         content.append("<tr>");
         content.append("<td><b>").append(label).append("</b></td>");
@@ -187,6 +198,7 @@ public class PdfDocumentBuilder {
         return this;
     }
 
+    @Override
     public PdfDocumentBuilder addDataRow(String... values) {
         content.append("<tr>");
         if (values != null) {
@@ -198,6 +210,7 @@ public class PdfDocumentBuilder {
         return this;
     }
 
+    @Override
     public PdfDocumentBuilder addAmountRow(String... values) {
         content.append("<tr>");
         if (values != null) {
@@ -212,6 +225,7 @@ public class PdfDocumentBuilder {
         return this;
     }
 
+    @Override
     public PdfDocumentBuilder addColoredAmountRow(String label, String amount, boolean isPositive) {
         content.append("<tr>");
         content.append("<td><b>").append(label).append("</b></td>");
@@ -222,21 +236,33 @@ public class PdfDocumentBuilder {
         return this;
     }
 
+    @Override
     public PdfDocumentBuilder closeTable() {
         content.append("</table>");
         return this;
     }
 
+    @Override
     public PdfDocumentBuilder addParagraph(String text) {
         content.append("<p>").append(text).append("</p>");
         return this;
     }
 
+    @Override
     public PdfDocumentBuilder addEmptyMessage(String message) {
         content.append("<p><i>").append(message).append("</i></p>");
         return this;
     }
 
+    @Override
+    public PdfDocumentBuilder addMovementRow(
+            String date, String type, String amount, boolean isPositive, String balance) {
+        String colorClass = isPositive ? "positive" : "negative";
+        return addDataRow(
+                date, type, "<span class='" + colorClass + "'>" + amount + "</span>", balance);
+    }
+
+    @Override
     public String build() {
         content.append("</body>");
         content.append("</html>");
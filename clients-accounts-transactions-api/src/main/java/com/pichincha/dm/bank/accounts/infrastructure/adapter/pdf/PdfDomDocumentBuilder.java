@@ -0,0 +1,217 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.pdf;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import org.w3c.dom.DOMImplementation;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * Construye el documento del reporte directamente como árbol DOM para el renderizador, sin pasar
+ * por texto HTML que luego haya que volver a analizar. El encabezado con la hoja de estilos se arma
+ * una sola vez como plantilla y cada documento importa una copia.
+ */
+public class PdfDomDocumentBuilder implements PdfLayoutBuilder<Document> {
+
+    private static final String XHTML_NAMESPACE = "http://www.w3.org/1999/xhtml";
+    private static final DOMImplementation DOM = createDomImplementation();
+    private static final Document TEMPLATE = createTemplate();
+
+    private final Document document;
+    private Element current;
+
+    public PdfDomDocumentBuilder() {
+        this.document = DOM.createDocument(XHTML_NAMESPACE, "html", null);
+        Element html = document.getDocumentElement();
+        // Los nodos DOM no garantizan lecturas concurrentes seguras, aunque solo se copien
+        synchronized (TEMPLATE) {
+            for (Node node = TEMPLATE.getDocumentElement().getFirstChild();
+                    node != null;
+                    node = node.getNextSibling()) {
+                html.appendChild(document.importNode(node, true));
+            }
+        }
+        this.current = (Element) html.getLastChild();
+    }
+
+    @Override
+    public PdfDomDocumentBuilder addBankHeader(String bankName, String documentTitle) {
+        Element header = appendElement(current, "div");
+        header.setAttribute("class", "header");
+        appendText(header, "h1", bankName);
+        appendText(header, "h2", documentTitle);
+        return this;
+    }
+
+    @Override
+    public PdfDomDocumentBuilder addSection(String title) {
+        current = appendElement(current, "div");
+        current.setAttribute("class", "section");
+        appendText(current, "h3", title);
+        return this;
+    }
+
+    @Override
+    public PdfDomDocumentBuilder closeSection() {
+        return closeCurrent();
+    }
+
+    @Override
+    public PdfDomDocumentBuilder addSubsection(String title) {
+        appendText(current, "h4", title);
+        return this;
+    }
+
+    @Override
+    public PdfDomDocumentBuilder addInfoTable() {
+        current = appendElement(current, "table");
+        current.setAttribute("class", "client-info");
+        return this;
+    }
+
+    @Override
+    public PdfDomDocumentBuilder addDataTable(String... headers) {
+        current = appendElement(current, "table");
+        if (headers != null && headers.length > 0) {
+            Element row = appendElement(current, "tr");
+            for (String header : headers) {
+                appendText(row, "th", header);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public PdfDomDocumentBuilder addSummaryTable() {
+        current = appendElement(current, "table");
+        current.setAttribute("class", "summary-info");
+        return this;
+    }
+
+    @Override
+    public PdfDomDocumentBuilder addInfoRow(String label, String value) {
+        Element row = appendElement(current, "tr");
+        appendText(appendElement(row, "td"), "b", label);
+        appendText(row, "td", value);
+        return this;
+    }
+
+    @Override
+    public PdfDomDocumentBuilder addDataRow(String... values) {
+        Element row = appendElement(current, "tr");
+        if (values != null) {
+            for (String value : values) {
+                appendText(row, "td", value);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public PdfDomDocumentBuilder addAmountRow(String... values) {
+        Element row = appendElement(current, "tr");
+        if (values != null) {
+            for (int i = 0; i < values.length; i++) {
+                Element cell = appendText(row, "td", values[i]);
+                if (i == values.length - 1) {
+                    cell.setAttribute("class", "amount");
+                }
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public PdfDomDocumentBuilder addColoredAmountRow(
+            String label, String amount, boolean isPositive) {
+        Element row = appendElement(current, "tr");
+        appendText(appendElement(row, "td"), "b", label);
+        Element cell = appendText(row, "td", amount);
+        cell.setAttribute("class", isPositive ? "amount positive" : "amount negative");
+        return this;
+    }
+
+    @Override
+    public PdfDomDocumentBuilder addMovementRow(
+            String date, String type, String amount, boolean isPositive, String balance) {
+        Element row = appendElement(current, "tr");
+        appendText(row, "td", date);
+        appendText(row, "td", type);
+        Element amountSpan = appendText(appendElement(row, "td"), "span", amount);
+        amountSpan.setAttribute("class", isPositive ? "positive" : "negative");
+        appendText(row, "td", balance);
+        return this;
+    }
+
+    @Override
+    public PdfDomDocumentBuilder closeTable() {
+        return closeCurrent();
+    }
+
+    @Override
+    public PdfDomDocumentBuilder addParagraph(String text) {
+        appendText(current, "p", text);
+        return this;
+    }
+
+    @Override
+    public PdfDomDocumentBuilder addEmptyMessage(String message) {
+        appendText(appendElement(current, "p"), "i", message);
+        return this;
+    }
+
+    @Override
+    public Document build() {
+        return document;
+    }
+
+    private PdfDomDocumentBuilder closeCurrent() {
+        current = (Element) current.getParentNode();
+        return this;
+    }
+
+    private Element appendElement(Element parent, String name) {
+        Element element = parent.getOwnerDocument().createElementNS(XHTML_NAMESPACE, name);
+        parent.appendChild(element);
+        return element;
+    }
+
+    private Element appendText(Element parent, String name, String text) {
+        Element element = appendElement(parent, name);
+        if (text != null) {
+            element.appendChild(parent.getOwnerDocument().createTextNode(text));
+        }
+        return element;
+    }
+
+    private static DOMImplementation createDomImplementation() {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        try {
+            return factory.newDocumentBuilder().getDOMImplementation();
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException("XML DOM implementation not available", e);
+        }
+    }
+
+    private static Document createTemplate() {
+        Document template = DOM.createDocument(XHTML_NAMESPACE, "html", null);
+        Element html = template.getDocumentElement();
+
+        Element head = template.createElementNS(XHTML_NAMESPACE, "head");
+        html.appendChild(head);
+        Element meta = template.createElementNS(XHTML_NAMESPACE, "meta");
+        meta.setAttribute("charset", "UTF-8");
+        head.appendChild(meta);
+        Element title = template.createElementNS(XHTML_NAMESPACE, "title");
+        title.appendChild(template.createTextNode("Estado de Cuenta"));
+        head.appendChild(title);
+        Element style = template.createElementNS(XHTML_NAMESPACE, "style");
+        style.appendChild(template.createTextNode(PdfDocumentBuilder.STYLESHEET));
+        head.appendChild(style);
+
+        html.appendChild(template.createElementNS(XHTML_NAMESPACE, "body"));
+        return template;
+    }
+}
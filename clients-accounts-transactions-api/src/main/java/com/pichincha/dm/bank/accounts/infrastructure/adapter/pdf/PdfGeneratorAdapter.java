@@ -3,52 +3,178 @@ package com.pichincha.dm.bank.accounts.infrastructure.adapter.pdf;
 import com.openhtmltopdf.pdfboxout.PdfRendererBuilder;
 import com.pichincha.dm.bank.accounts.application.port.output.ReportOutputPort;
 import com.pichincha.dm.bank.accounts.domain.Report;
+import com.pichincha.dm.bank.accounts.domain.enums.ReportDetail;
+import com.pichincha.dm.bank.accounts.domain.exception.ReportRenderRejectedException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import java.io.ByteArrayOutputStream;
 import java.util.Base64;
+import java.util.List;
+import java.util.function.Consumer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.w3c.dom.Document;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 @Component
 @Slf4j
 public class PdfGeneratorAdapter implements ReportOutputPort {
 
+    private final PdfRenderPool pdfRenderPool;
+    private final PdfRendererResources rendererResources;
+    private final DistributionSummary pdfSize;
+
+    @Value("${bank.reports.pdf.markup:DOM}")
+    private PdfMarkupMode markupMode;
+
+    @Value("${bank.reports.pdf.chunked.threshold-rows:10000}")
+    private int chunkedThresholdRows;
+
+    @Value("${bank.reports.pdf.chunked.rows-per-chunk:2500}")
+    private int rowsPerChunk;
+
+    public PdfGeneratorAdapter(
+            PdfRenderPool pdfRenderPool,
+            PdfRendererResources rendererResources,
+            MeterRegistry meterRegistry) {
+        this.pdfRenderPool = pdfRenderPool;
+        this.rendererResources = rendererResources;
+        this.pdfSize =
+                DistributionSummary.builder("bank.reports.pdf.size")
+                        .description("Size of the rendered PDF")
+                        .baseUnit("bytes")
+                        .publishPercentileHistogram()
+                        .register(meterRegistry);
+    }
+
+    /** Falla el arranque con un tamaño de fragmento inválido en lugar de al primer reporte. */
+    @PostConstruct
+    void validateChunking() {
+        if (rowsPerChunk < 1) {
+            throw new IllegalArgumentException(
+                    "bank.reports.pdf.chunked.rows-per-chunk must be at least 1, was "
+                            + rowsPerChunk);
+        }
+    }
+
     @Override
     public Mono<String> generatePdfFromReport(Report report) {
-        return Mono.fromCallable(() -> generatePdfContent(report))
+        return renderPdf(report).map(pdfBytes -> Base64.getEncoder().encodeToString(pdfBytes));
+    }
+
+    @Override
+    public Mono<byte[]> renderPdf(Report report) {
+        Mono<byte[]> rendering =
+                isChunked(report)
+                        ? renderChunked(report)
+                        : pdfRenderPool.render(() -> generatePdfContent(report));
+        return rendering
+                .doOnNext(pdfBytes -> pdfSize.record(pdfBytes.length))
                 .onErrorMap(
+                        ex -> !(ex instanceof ReportRenderRejectedException),
                         ex -> new RuntimeException("Error generating PDF: " + ex.getMessage(), ex));
     }
 
-    private String generatePdfContent(Report report) throws Exception {
-        String htmlContent = ReportPdfFactory.createAccountStatementPdf(report);
-        return convertHtmlToPdfBase64(htmlContent, "Complete Account Statement");
+    /**
+     * Renderiza fuera del pool y sin registrar métricas. Lo usa el calentamiento al arrancar para
+     * que sus renderizados no se sumen a los tiempos, la espera en cola ni los tamaños de los
+     * estados de cuenta reales.
+     */
+    Mono<byte[]> renderWithoutMetrics(Report report) {
+        return Mono.fromCallable(() -> generatePdfContent(report))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private boolean isChunked(Report report) {
+        if (chunkedThresholdRows <= 0
+                || report.getDetail() == ReportDetail.RESUMEN
+                || report.getAccounts() == null) {
+            return false;
+        }
+        long rows =
+                report.getAccounts().stream()
+                        .filter(account -> account.getMovements() != null)
+                        .mapToLong(account -> account.getMovements().size())
+                        .sum();
+        return rows > chunkedThresholdRows;
     }
 
-    private String convertHtmlToPdfBase64(String htmlContent, String reportType) throws Exception {
-        // Log para debug
-        log.info(
-                "Generating {} - HTML content length: {} characters",
-                reportType,
-                htmlContent.length());
-        log.debug(
-                "HTML content preview: {}",
-                htmlContent.substring(0, Math.min(500, htmlContent.length())));
+    /**
+     * Renderiza cada fragmento del estado de cuenta como documento independiente y los une en
+     * orden. Los fragmentos se envían al pool de a uno: un reporte grande ocupa un solo lugar de la
+     * cola compartida a la vez y no puede ser rechazado a mitad de camino por competir consigo
+     * mismo. El árbol DOM de cada fragmento se arma dentro de su propia tarea, de modo que la
+     * memoria de maquetación es por fragmento y no por documento. Los fragmentos siempre usan el
+     * armado DOM.
+     */
+    private Mono<byte[]> renderChunked(Report report) {
+        List<PdfStatementChunk> chunks =
+                ReportPdfFactory.splitAccountStatement(report, rowsPerChunk);
+        log.info("Generating Complete Account Statement in {} chunks", chunks.size());
 
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-            PdfRendererBuilder builder = new PdfRendererBuilder();
-            builder.withHtmlContent(htmlContent, null);
-            builder.toStream(outputStream);
+        return Flux.fromIterable(chunks)
+                .concatMap(chunk -> pdfRenderPool.render(() -> renderChunk(report, chunk)))
+                .collectList()
+                .flatMap(
+                        parts ->
+                                pdfRenderPool.render(
+                                        () -> PdfChunkMerger.merge(parts, runningHeader(report))));
+    }
+
+    private byte[] renderChunk(Report report, PdfStatementChunk chunk) throws Exception {
+        Document document = ReportPdfFactory.createAccountStatementChunkDocument(report, chunk);
+        return convertToPdf(builder -> builder.withW3cDocument(document, null), "Statement Chunk");
+    }
 
-            builder.useFastMode();
-            builder.testMode(false);
+    private String runningHeader(Report report) {
+        return "BANCO DEL PICHINCHA - Estado de Cuenta - "
+                + PdfDocumentBuilder.formatDateRange(report.getStartDate(), report.getEndDate());
+    }
 
+    private byte[] generatePdfContent(Report report) throws Exception {
+        boolean summary = report.getDetail() == ReportDetail.RESUMEN;
+        String reportType = summary ? "Account Summary" : "Complete Account Statement";
+
+        if (markupMode == PdfMarkupMode.HTML) {
+            String htmlContent =
+                    summary
+                            ? ReportPdfFactory.createAccountSummaryPdf(report)
+                            : ReportPdfFactory.createAccountStatementPdf(report);
+            // Log para debug
+            log.info(
+                    "Generating {} - HTML content length: {} characters",
+                    reportType,
+                    htmlContent.length());
+            log.debug(
+                    "HTML content preview: {}",
+                    htmlContent.substring(0, Math.min(500, htmlContent.length())));
+            return convertToPdf(builder -> builder.withHtmlContent(htmlContent, null), reportType);
+        }
+
+        Document document =
+                summary
+                        ? ReportPdfFactory.createAccountSummaryDocument(report)
+                        : ReportPdfFactory.createAccountStatementDocument(report);
+        log.info("Generating {} from DOM markup", reportType);
+        return convertToPdf(builder -> builder.withW3cDocument(document, null), reportType);
+    }
+
+    private byte[] convertToPdf(Consumer<PdfRendererBuilder> source, String reportType)
+            throws Exception {
+        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            PdfRendererBuilder builder = rendererResources.newBuilder();
+            source.accept(builder);
+            builder.toStream(outputStream);
             builder.run();
 
             byte[] pdfBytes = outputStream.toByteArray();
             log.info("Generated {} PDF size: {} bytes", reportType, pdfBytes.length);
 
-            return Base64.getEncoder().encodeToString(pdfBytes);
+            return pdfBytes;
         }
     }
 }
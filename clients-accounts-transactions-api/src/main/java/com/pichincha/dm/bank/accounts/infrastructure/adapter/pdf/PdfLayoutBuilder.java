@@ -0,0 +1,45 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.pdf;
+
+/**
+ * Estructura común de los documentos de reporte. ReportPdfFactory describe el contenido una sola
+ * vez y cada implementación decide la representación que recibe el renderizador: texto HTML o un
+ * árbol DOM.
+ *
+ * @param <T> Tipo del documento construido
+ */
+public interface PdfLayoutBuilder<T> {
+
+    PdfLayoutBuilder<T> addBankHeader(String bankName, String documentTitle);
+
+    PdfLayoutBuilder<T> addSection(String title);
+
+    PdfLayoutBuilder<T> closeSection();
+
+    PdfLayoutBuilder<T> addSubsection(String title);
+
+    PdfLayoutBuilder<T> addInfoTable();
+
+    PdfLayoutBuilder<T> addDataTable(String... headers);
+
+    PdfLayoutBuilder<T> addSummaryTable();
+
+    PdfLayoutBuilder<T> addInfoRow(String label, String value);
+
+    PdfLayoutBuilder<T> addDataRow(String... values);
+
+    PdfLayoutBuilder<T> addAmountRow(String... values);
+
+    PdfLayoutBuilder<T> addColoredAmountRow(String label, String amount, boolean isPositive);
+
+    /** Fila de movimiento con el valor coloreado según su signo. */
+    PdfLayoutBuilder<T> addMovementRow(
+            String date, String type, String amount, boolean isPositive, String balance);
+
+    PdfLayoutBuilder<T> closeTable();
+
+    PdfLayoutBuilder<T> addParagraph(String text);
+
+    PdfLayoutBuilder<T> addEmptyMessage(String message);
+
+    T build();
+}
@@ -0,0 +1,8 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.pdf;
+
+public enum PdfMarkupMode {
+    /** Arma el documento como texto HTML que el renderizador vuelve a analizar. */
+    HTML,
+    /** Entrega al renderizador el árbol DOM ya construido, sin texto intermedio. */
+    DOM
+}
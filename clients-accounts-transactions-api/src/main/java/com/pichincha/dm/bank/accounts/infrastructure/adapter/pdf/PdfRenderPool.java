@@ -0,0 +1,130 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.pdf;
+
+import com.pichincha.dm.bank.accounts.domain.exception.ReportRenderRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Hilos dedicados al renderizado de PDF, fuera de los event loops de Netty. El número de hilos y la
+ * cola son acotados: cuando la cola está llena el renderizado se rechaza de inmediato con {@link
+ * ReportRenderRejectedException} en lugar de acumular trabajo.
+ */
+@Slf4j
+@Component
+public class PdfRenderPool {
+
+    private final ThreadPoolExecutor executor;
+    private final Duration retryAfter;
+    private final Timer queueWaitTimer;
+    private final Timer renderTimer;
+    private final Counter rejections;
+
+    public PdfRenderPool(
+            MeterRegistry meterRegistry,
+            @Value("${bank.reports.pdf.render.threads:0}") int threads,
+            @Value("${bank.reports.pdf.render.queue-capacity:32}") int queueCapacity,
+            @Value("${bank.reports.pdf.render.retry-after:5s}") Duration retryAfter) {
+        int poolSize = threads > 0 ? threads : defaultThreads();
+        this.executor =
+                new ThreadPoolExecutor(
+                        poolSize,
+                        poolSize,
+                        0L,
+                        TimeUnit.MILLISECONDS,
+                        new LinkedBlockingQueue<>(queueCapacity),
+                        renderThreadFactory());
+        this.retryAfter = retryAfter;
+        this.queueWaitTimer =
+                Timer.builder("bank.reports.pdf.queue.wait")
+                        .description("Time a PDF render waits for a render thread")
+                        .publishPercentileHistogram()
+                        .register(meterRegistry);
+        this.renderTimer =
+                Timer.builder("bank.reports.pdf.render")
+                        .description("Time spent rendering a PDF on a render thread")
+                        .publishPercentileHistogram()
+                        .register(meterRegistry);
+        this.rejections =
+                Counter.builder("bank.reports.pdf.rejected")
+                        .description("PDF renders rejected because the render queue was full")
+                        .register(meterRegistry);
+        Gauge.builder("bank.reports.pdf.queue.depth", executor, e -> e.getQueue().size())
+                .description("PDF renders waiting for a render thread")
+                .register(meterRegistry);
+        log.info(
+                "PDF render pool started with {} threads and queue of {}", poolSize, queueCapacity);
+    }
+
+    public <T> Mono<T> render(Callable<T> task) {
+        return Mono.create(
+                sink -> {
+                    long enqueuedAt = System.nanoTime();
+                    Future<?> future;
+                    try {
+                        future =
+                                executor.submit(
+                                        () -> {
+                                            queueWaitTimer.record(
+                                                    Duration.ofNanos(
+                                                            System.nanoTime() - enqueuedAt));
+                                            try {
+                                                sink.success(renderTimer.recordCallable(task));
+                                            } catch (Throwable ex) {
+                                                sink.error(ex);
+                                            }
+                                        });
+                    } catch (RejectedExecutionException ex) {
+                        rejections.increment();
+                        sink.error(new ReportRenderRejectedException(retryAfter));
+                        return;
+                    }
+                    // Un renderizado en curso no se interrumpe; uno en cola se descarta
+                    sink.onCancel(
+                            () -> {
+                                if (future.cancel(false)) {
+                                    executor.remove((Runnable) future);
+                                }
+                            });
+                });
+    }
+
+    /** Renderizados que pueden ejecutarse a la vez. */
+    public int parallelism() {
+        return executor.getMaximumPoolSize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // La mitad de los núcleos deja CPU libre a los event loops que atienden los movimientos
+    private static int defaultThreads() {
+        return Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    }
+
+    private static ThreadFactory renderThreadFactory() {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "pdf-render-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
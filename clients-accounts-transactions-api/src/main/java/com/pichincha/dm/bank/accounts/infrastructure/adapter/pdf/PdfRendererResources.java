@@ -0,0 +1,36 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.pdf;
+
+import com.openhtmltopdf.extend.FSCacheEx;
+import com.openhtmltopdf.extend.FSCacheValue;
+import com.openhtmltopdf.extend.impl.FSDefaultCacheStore;
+import com.openhtmltopdf.pdfboxout.PdfRendererBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.TransformerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recursos del renderizador que se comparten entre todos los PDF en lugar de resolverse en cada
+ * uno: la caché de métricas de fuentes (segura entre hilos) y las implementaciones XML, que de otro
+ * modo se buscan con ServiceLoader en cada renderizado. La hoja de estilos se comparte como
+ * plantilla DOM en {@link PdfDomDocumentBuilder}.
+ */
+@Component
+public class PdfRendererResources {
+
+    private final FSCacheEx<String, FSCacheValue> fontMetricsCache = new FSDefaultCacheStore();
+    private final String documentBuilderFactoryClass =
+            DocumentBuilderFactory.newInstance().getClass().getName();
+    private final String transformerFactoryClass =
+            TransformerFactory.newInstance().getClass().getName();
+
+    /** Constructor del renderizador ya configurado con los recursos compartidos. */
+    public PdfRendererBuilder newBuilder() {
+        PdfRendererBuilder builder = new PdfRendererBuilder();
+        builder.useCacheStore(PdfRendererBuilder.CacheStore.PDF_FONT_METRICS, fontMetricsCache);
+        builder.useDocumentBuilderFactoryImplementationClass(documentBuilderFactoryClass);
+        builder.useTransformerFactoryImplementationClass(transformerFactoryClass);
+        builder.useFastMode();
+        builder.testMode(false);
+        return builder;
+    }
+}
@@ -0,0 +1,126 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.pdf;
+
+import com.pichincha.dm.bank.accounts.domain.Report;
+import com.pichincha.dm.bank.accounts.domain.enums.ReportDetail;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Renderiza reportes sintéticos al arrancar para que la carga de clases, la inicialización de
+ * PDFBox y de las fuentes base y la compilación JIT no recaigan en los primeros estados de cuenta
+ * reales. Corre como fase de ciclo de vida anterior a la que levanta el servidor web, así Netty no
+ * acepta conexiones (ni la sonda de readiness responde) hasta que termina; un fallo solo se
+ * registra y no impide el arranque. Renderiza sin pasar por el pool instrumentado, así las métricas
+ * de PDF solo reflejan reportes reales.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "bank.reports.pdf.warm-up.enabled", havingValue = "true")
+public class PdfRendererWarmup implements SmartLifecycle {
+
+    private static final int WARM_UP_MOVEMENTS = 200;
+
+    /** El servidor web reactivo arranca en {@code DEFAULT_PHASE - 2048}; esta fase va antes. */
+    static final int WARM_UP_PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final PdfGeneratorAdapter pdfGeneratorAdapter;
+
+    @Value("${bank.reports.pdf.warm-up.iterations:5}")
+    private int iterations;
+
+    @Value("${bank.reports.pdf.warm-up.timeout:60s}")
+    private Duration timeout;
+
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        warmUp();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return WARM_UP_PHASE;
+    }
+
+    void warmUp() {
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < iterations; i++) {
+                for (ReportDetail detail : ReportDetail.values()) {
+                    pdfGeneratorAdapter
+                            .renderWithoutMetrics(syntheticReport(detail))
+                            .block(timeout);
+                }
+            }
+            log.info(
+                    "PDF renderer warmed up with {} iterations in {} ms",
+                    iterations,
+                    Duration.ofNanos(System.nanoTime() - start).toMillis());
+        } catch (RuntimeException ex) {
+            log.warn("PDF renderer warm-up failed; first reports may be slower", ex);
+        }
+    }
+
+    Report syntheticReport(ReportDetail detail) {
+        LocalDate startDate = LocalDate.of(2024, 1, 1);
+        List<Report.MovementSummary> movements = new ArrayList<>(WARM_UP_MOVEMENTS);
+        BigDecimal balance = new BigDecimal("1000.00");
+        for (int i = 0; i < WARM_UP_MOVEMENTS; i++) {
+            BigDecimal amount = i % 2 == 0 ? new BigDecimal("10.00") : new BigDecimal("-5.00");
+            balance = balance.add(amount);
+            movements.add(
+                    Report.MovementSummary.builder()
+                            .date(startDate.plusDays(i % 28))
+                            .type(i % 2 == 0 ? "CREDITO" : "DEBITO")
+                            .amount(amount)
+                            .balanceAfterTransaction(balance)
+                            .build());
+        }
+
+        return Report.builder()
+                .clientId(new UUID(0, 0))
+                .clientName("Warm-up")
+                .startDate(startDate)
+                .endDate(startDate.plusDays(27))
+                .detail(detail)
+                .accounts(
+                        List.of(
+                                Report.AccountSummary.builder()
+                                        .accountId(new UUID(0, 1))
+                                        .accountNumber(0L)
+                                        .accountType("AHORROS")
+                                        .initialBalance(new BigDecimal("1000.00"))
+                                        .currentBalance(balance)
+                                        .movements(
+                                                detail == ReportDetail.RESUMEN
+                                                        ? List.of()
+                                                        : movements)
+                                        .build()))
+                .totalDebits(new BigDecimal("500.00"))
+                .totalCredits(new BigDecimal("1000.00"))
+                .build();
+    }
+}
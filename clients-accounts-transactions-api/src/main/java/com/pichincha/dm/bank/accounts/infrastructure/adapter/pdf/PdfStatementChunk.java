@@ -0,0 +1,27 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.pdf;
+
+import com.pichincha.dm.bank.accounts.domain.Report;
+import java.util.List;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Parte de un estado de cuenta que se renderiza como documento independiente. El primer fragmento
+ * lleva el encabezado y el resumen de cuentas; el último, el resumen del período.
+ */
+@Data
+@Builder
+public class PdfStatementChunk {
+    private boolean first;
+    private boolean last;
+    private List<AccountSlice> slices;
+
+    /** Tramo consecutivo de los movimientos de una cuenta. */
+    @Data
+    @Builder
+    public static class AccountSlice {
+        private Report.AccountSummary account;
+        private List<Report.MovementSummary> movements;
+        private boolean continuation;
+    }
+}
@@ -1,42 +1,106 @@
 package com.pichincha.dm.bank.accounts.infrastructure.adapter.pdf;
 
 import com.pichincha.dm.bank.accounts.domain.Report;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import org.w3c.dom.Document;
 
 public class ReportPdfFactory {
 
     public static String createAccountStatementPdf(Report report) {
-        PdfDocumentBuilder builder = new PdfDocumentBuilder();
-
-        builder.addBankHeader("BANCO DEL PICHINCHA", "Estado de Cuenta");
+        return layoutAccountStatement(report, new PdfDocumentBuilder());
+    }
 
-        builder.addSection("Información del Cliente")
-                .addInfoTable()
-                .addInfoRow("Cliente:", report.getClientName())
-                .addInfoRow(
-                        "Período:",
-                        PdfDocumentBuilder.formatDateRange(
-                                report.getStartDate(), report.getEndDate()))
-                .closeTable()
-                .closeSection();
+    /** Igual que {@link #createAccountStatementPdf(Report)}, pero como árbol DOM. */
+    public static Document createAccountStatementDocument(Report report) {
+        return layoutAccountStatement(report, new PdfDomDocumentBuilder());
+    }
 
-        builder.addSection("Resumen de Cuentas");
+    public static String createAccountSummaryPdf(Report report) {
+        return layoutAccountSummary(report, new PdfDocumentBuilder());
+    }
 
-        if (report.getAccounts() != null && !report.getAccounts().isEmpty()) {
-            builder.addDataTable("Número de Cuenta", "Tipo", "Saldo Inicial", "Saldo Actual");
+    /** Igual que {@link #createAccountSummaryPdf(Report)}, pero como árbol DOM. */
+    public static Document createAccountSummaryDocument(Report report) {
+        return layoutAccountSummary(report, new PdfDomDocumentBuilder());
+    }
 
-            for (Report.AccountSummary account : report.getAccounts()) {
-                builder.addAmountRow(
-                        String.valueOf(account.getAccountNumber()),
-                        account.getAccountType(),
-                        PdfDocumentBuilder.formatMoney(account.getInitialBalance()),
-                        PdfDocumentBuilder.formatMoney(account.getCurrentBalance()));
+    /**
+     * Divide el estado de cuenta en fragmentos de hasta {@code maxRowsPerChunk} movimientos, que
+     * debe ser al menos 1. Los movimientos de una cuenta pueden quedar repartidos entre fragmentos
+     * consecutivos y cuentas pequeñas comparten fragmento.
+     */
+    public static List<PdfStatementChunk> splitAccountStatement(
+            Report report, int maxRowsPerChunk) {
+        if (maxRowsPerChunk < 1) {
+            throw new IllegalArgumentException(
+                    "maxRowsPerChunk must be at least 1, was " + maxRowsPerChunk);
+        }
+        List<PdfStatementChunk> chunks = new ArrayList<>();
+        List<PdfStatementChunk.AccountSlice> slices = new ArrayList<>();
+        int rowsInChunk = 0;
+
+        for (Report.AccountSummary account : accountsOf(report)) {
+            List<Report.MovementSummary> movements =
+                    account.getMovements() != null ? account.getMovements() : List.of();
+            int from = 0;
+            while (from < movements.size()) {
+                if (rowsInChunk == maxRowsPerChunk) {
+                    chunks.add(chunk(chunks.isEmpty(), false, slices));
+                    slices = new ArrayList<>();
+                    rowsInChunk = 0;
+                }
+                int to = Math.min(movements.size(), from + maxRowsPerChunk - rowsInChunk);
+                slices.add(
+                        PdfStatementChunk.AccountSlice.builder()
+                                .account(account)
+                                .movements(movements.subList(from, to))
+                                .continuation(from > 0)
+                                .build());
+                rowsInChunk += to - from;
+                from = to;
             }
-            builder.closeTable();
-        } else {
-            builder.addEmptyMessage("No hay cuentas para mostrar");
+        }
+        chunks.add(chunk(chunks.isEmpty(), true, slices));
+        return chunks;
+    }
+
+    /** Documento DOM de un fragmento obtenido con {@link #splitAccountStatement(Report, int)}. */
+    public static Document createAccountStatementChunkDocument(
+            Report report, PdfStatementChunk chunk) {
+        PdfDomDocumentBuilder builder = new PdfDomDocumentBuilder();
+        if (chunk.isFirst()) {
+            layoutStatementHeader(report, builder, "Estado de Cuenta");
+            layoutAccountsOverview(report, builder);
+        }
+
+        builder.addSection(
+                chunk.isFirst()
+                        ? "Movimientos del Período"
+                        : "Movimientos del Período (continuación)");
+        if (chunk.getSlices().isEmpty()) {
+            builder.addEmptyMessage("No hay movimientos para mostrar en el período seleccionado");
+        }
+        for (PdfStatementChunk.AccountSlice slice : chunk.getSlices()) {
+            String title = "Cuenta: " + slice.getAccount().getAccountNumber();
+            layoutMovementTable(
+                    builder,
+                    slice.isContinuation() ? title + " (continuación)" : title,
+                    slice.getMovements());
         }
         builder.closeSection();
 
+        if (chunk.isLast()) {
+            layoutPeriodSummary(report, builder);
+        }
+        return builder.build();
+    }
+
+    private static <T> T layoutAccountStatement(Report report, PdfLayoutBuilder<T> builder) {
+        layoutStatementHeader(report, builder, "Estado de Cuenta");
+        layoutAccountsOverview(report, builder);
+
         builder.addSection("Movimientos del Período");
 
         if (report.getAccounts() != null && !report.getAccounts().isEmpty()) {
@@ -45,22 +109,10 @@ public class ReportPdfFactory {
             for (Report.AccountSummary account : report.getAccounts()) {
                 if (account.getMovements() != null && !account.getMovements().isEmpty()) {
                     hasMovements = true;
-
-                    builder.addSubsection("Cuenta: " + account.getAccountNumber())
-                            .addDataTable("Fecha", "Tipo", "Movimiento", "Saldo Después");
-
-                    for (Report.MovementSummary movement : account.getMovements()) {
-                        boolean isPositive =
-                                movement.getAmount().compareTo(java.math.BigDecimal.ZERO) >= 0;
-
-                        builder.addDataRow(
-                                PdfDocumentBuilder.formatDate(movement.getDate()),
-                                movement.getType(),
-                                formatMovementAmount(movement.getAmount(), isPositive),
-                                PdfDocumentBuilder.formatMoney(
-                                        movement.getBalanceAfterTransaction()));
-                    }
-                    builder.closeTable();
+                    layoutMovementTable(
+                            builder,
+                            "Cuenta: " + account.getAccountNumber(),
+                            account.getMovements());
                 }
             }
 
@@ -73,27 +125,16 @@ public class ReportPdfFactory {
         }
         builder.closeSection();
 
-        builder.addSection("Resumen del Período")
-                .addSummaryTable()
-                .addColoredAmountRow(
-                        "Total Débitos:",
-                        PdfDocumentBuilder.formatMoney(report.getTotalDebits()),
-                        false)
-                .addColoredAmountRow(
-                        "Total Créditos:",
-                        PdfDocumentBuilder.formatMoney(report.getTotalCredits()),
-                        true)
-                .closeTable()
-                .closeSection();
+        layoutPeriodSummary(report, builder);
 
         return builder.build();
     }
 
-    public static String createAccountSummaryPdf(Report report) {
-        PdfDocumentBuilder builder = new PdfDocumentBuilder();
+    private static void layoutStatementHeader(
+            Report report, PdfLayoutBuilder<?> builder, String documentTitle) {
+        builder.addBankHeader("BANCO DEL PICHINCHA", documentTitle);
 
-        builder.addBankHeader("BANCO DEL PICHINCHA", "Resumen de Cuentas")
-                .addSection("Información del Cliente")
+        builder.addSection("Información del Cliente")
                 .addInfoTable()
                 .addInfoRow("Cliente:", report.getClientName())
                 .addInfoRow(
@@ -101,25 +142,48 @@ public class ReportPdfFactory {
                         PdfDocumentBuilder.formatDateRange(
                                 report.getStartDate(), report.getEndDate()))
                 .closeTable()
-                .closeSection()
-                .addSection("Resumen de Cuentas");
+                .closeSection();
+    }
+
+    private static void layoutAccountsOverview(Report report, PdfLayoutBuilder<?> builder) {
+        builder.addSection("Resumen de Cuentas");
 
         if (report.getAccounts() != null && !report.getAccounts().isEmpty()) {
-            builder.addDataTable("Número de Cuenta", "Tipo", "Saldo Actual");
+            builder.addDataTable("Número de Cuenta", "Tipo", "Saldo Inicial", "Saldo Actual");
 
             for (Report.AccountSummary account : report.getAccounts()) {
                 builder.addAmountRow(
                         String.valueOf(account.getAccountNumber()),
                         account.getAccountType(),
+                        PdfDocumentBuilder.formatMoney(account.getInitialBalance()),
                         PdfDocumentBuilder.formatMoney(account.getCurrentBalance()));
             }
             builder.closeTable();
         } else {
             builder.addEmptyMessage("No hay cuentas para mostrar");
         }
+        builder.closeSection();
+    }
+
+    private static void layoutMovementTable(
+            PdfLayoutBuilder<?> builder, String title, List<Report.MovementSummary> movements) {
+        builder.addSubsection(title).addDataTable("Fecha", "Tipo", "Movimiento", "Saldo Después");
+
+        for (Report.MovementSummary movement : movements) {
+            boolean isPositive = movement.getAmount().compareTo(BigDecimal.ZERO) >= 0;
+
+            builder.addMovementRow(
+                    PdfDocumentBuilder.formatDate(movement.getDate()),
+                    movement.getType(),
+                    PdfDocumentBuilder.formatMoney(movement.getAmount()),
+                    isPositive,
+                    PdfDocumentBuilder.formatMoney(movement.getBalanceAfterTransaction()));
+        }
+        builder.closeTable();
+    }
 
-        builder.closeSection()
-                .addSection("Resumen del Período")
+    private static void layoutPeriodSummary(Report report, PdfLayoutBuilder<?> builder) {
+        builder.addSection("Resumen del Período")
                 .addSummaryTable()
                 .addColoredAmountRow(
                         "Total Débitos:",
@@ -131,13 +195,38 @@ public class ReportPdfFactory {
                         true)
                 .closeTable()
                 .closeSection();
+    }
+
+    private static <T> T layoutAccountSummary(Report report, PdfLayoutBuilder<T> builder) {
+        layoutStatementHeader(report, builder, "Resumen de Cuentas");
+        builder.addSection("Resumen de Cuentas");
+
+        if (report.getAccounts() != null && !report.getAccounts().isEmpty()) {
+            builder.addDataTable("Número de Cuenta", "Tipo", "Saldo Actual");
+
+            for (Report.AccountSummary account : report.getAccounts()) {
+                builder.addAmountRow(
+                        String.valueOf(account.getAccountNumber()),
+                        account.getAccountType(),
+                        PdfDocumentBuilder.formatMoney(account.getCurrentBalance()));
+            }
+            builder.closeTable();
+        } else {
+            builder.addEmptyMessage("No hay cuentas para mostrar");
+        }
+        builder.closeSection();
+
+        layoutPeriodSummary(report, builder);
 
         return builder.build();
     }
 
-    private static String formatMovementAmount(java.math.BigDecimal amount, boolean isPositive) {
-        String formatted = PdfDocumentBuilder.formatMoney(amount);
-        String colorClass = isPositive ? "positive" : "negative";
-        return "<span class='" + colorClass + "'>" + formatted + "</span>";
+    private static List<Report.AccountSummary> accountsOf(Report report) {
+        return report.getAccounts() != null ? report.getAccounts() : List.of();
+    }
+
+    private static PdfStatementChunk chunk(
+            boolean first, boolean last, List<PdfStatementChunk.AccountSlice> slices) {
+        return PdfStatementChunk.builder().first(first).last(last).slices(slices).build();
     }
 }
@@ -0,0 +1,59 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence;
+
+import com.pichincha.dm.bank.accounts.application.port.output.AccountLockOutputPort;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.UUID;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+@Repository
+@RequiredArgsConstructor
+public class AccountAdvisoryLockAdapter implements AccountLockOutputPort {
+
+    private static final String LOCK_WAIT_METRIC = "bank.movements.advisory-lock.wait";
+
+    private static final String ADVISORY_LOCK_SQL =
+            "SELECT pg_advisory_xact_lock(hashtextextended(:accountId, 0))";
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${bank.movements.advisory-lock.enabled:false}")
+    private boolean enabled;
+
+    @Override
+    public <T> Mono<T> withAccountLock(UUID accountId, Supplier<Mono<T>> operation) {
+        if (!enabled) {
+            return Mono.defer(operation);
+        }
+
+        return transactionalOperator.transactional(
+                acquireLock(accountId).then(Mono.defer(operation)));
+    }
+
+    private Mono<Void> acquireLock(UUID accountId) {
+        return Mono.defer(
+                () -> {
+                    Timer.Sample sample = Timer.start(meterRegistry);
+                    return databaseClient
+                            .sql(ADVISORY_LOCK_SQL)
+                            .bind("accountId", accountId.toString())
+                            .then()
+                            .doOnTerminate(() -> sample.stop(lockWaitTimer()));
+                });
+    }
+
+    private Timer lockWaitTimer() {
+        return Timer.builder(LOCK_WAIT_METRIC)
+                .description("Time spent waiting for the account advisory lock")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
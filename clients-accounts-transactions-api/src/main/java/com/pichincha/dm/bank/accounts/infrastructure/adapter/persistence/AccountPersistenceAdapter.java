@@ -2,13 +2,21 @@ package com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence;
 
 import com.pichincha.dm.bank.accounts.application.port.output.AccountOutputPort;
 import com.pichincha.dm.bank.accounts.domain.Account;
+import com.pichincha.dm.bank.accounts.domain.PageCursor;
+import com.pichincha.dm.bank.accounts.domain.enums.AccountType;
+import com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.entity.AccountEntity;
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.mapper.AccountEntityMapper;
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.repository.AccountRepository;
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.service.AccountTransactionService;
+import io.r2dbc.spi.Readable;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -20,6 +28,14 @@ public class AccountPersistenceAdapter implements AccountOutputPort {
     private final AccountRepository accountRepository;
     private final AccountEntityMapper accountMapper;
     private final AccountTransactionService transactionService;
+    private final DatabaseClient databaseClient;
+
+    private static final String SELECT_ACCOUNTS_SQL =
+            "SELECT id, cliente_id, numero_cuenta, tipo, saldo_inicial, saldo_actual, estado,"
+                    + " created_at, updated_at FROM bank.cuenta";
+
+    @Value("${bank.listings.stream.fetch-size:250}")
+    private int streamFetchSize;
 
     @Override
     public Mono<Account> save(Account account) {
@@ -50,6 +66,42 @@ public class AccountPersistenceAdapter implements AccountOutputPort {
                 .map(accountMapper::toDomain);
     }
 
+    @Override
+    public Flux<Account> findAfter(UUID clientId, PageCursor after, Integer size) {
+        int pageSize = size != null ? size : 20;
+
+        return accountRepository
+                .findAfter(clientId, after.getPosition(), after.getId(), pageSize)
+                .map(accountMapper::toDomain);
+    }
+
+    @Override
+    public Flux<Account> stream(UUID clientId, PageCursor after) {
+        List<String> predicates = new ArrayList<>();
+        if (clientId != null) {
+            predicates.add("cliente_id = :clientId");
+        }
+        if (after != null) {
+            predicates.add("(created_at, id) < (:afterCreatedAt, :afterId)");
+        }
+        String sql =
+                SELECT_ACCOUNTS_SQL
+                        + (predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates))
+                        + " ORDER BY created_at DESC, id DESC";
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql);
+        if (clientId != null) {
+            spec = spec.bind("clientId", clientId);
+        }
+        if (after != null) {
+            spec = spec.bind("afterCreatedAt", after.getPosition()).bind("afterId", after.getId());
+        }
+        return spec.filter((statement, next) -> next.execute(statement.fetchSize(streamFetchSize)))
+                .map(AccountPersistenceAdapter::toEntity)
+                .all()
+                .map(accountMapper::toDomain);
+    }
+
     @Override
     public Mono<Account> update(Account account) {
         account.setUpdatedAt(LocalDateTime.now());
@@ -57,17 +109,25 @@ public class AccountPersistenceAdapter implements AccountOutputPort {
     }
 
     @Override
-    public Mono<Account> updateBalance(UUID accountId, BigDecimal newBalance) {
-        return findById(accountId)
-                .flatMap(
-                        account -> {
-                            account.setCurrentBalance(newBalance);
-                            return transactionService.updateAccount(account);
-                        });
+    public Mono<Account> applyBalanceDelta(UUID accountId, BigDecimal delta) {
+        return accountRepository.applyBalanceDelta(accountId, delta).map(accountMapper::toDomain);
     }
 
     @Override
     public Mono<Void> deleteByAccountNumber(String accountNumber) {
         return accountRepository.deleteByAccountNumber(Long.valueOf(accountNumber));
     }
+
+    private static AccountEntity toEntity(Readable row) {
+        return new AccountEntity(
+                row.get("id", UUID.class),
+                row.get("cliente_id", UUID.class),
+                row.get("numero_cuenta", Long.class),
+                AccountType.valueOf(row.get("tipo", String.class)),
+                row.get("saldo_inicial", BigDecimal.class),
+                row.get("saldo_actual", BigDecimal.class),
+                row.get("estado", Boolean.class),
+                row.get("created_at", LocalDateTime.class),
+                row.get("updated_at", LocalDateTime.class));
+    }
 }
@@ -2,12 +2,18 @@ package com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence;
 
 import com.pichincha.dm.bank.accounts.application.port.output.ClientOutputPort;
 import com.pichincha.dm.bank.accounts.domain.Client;
+import com.pichincha.dm.bank.accounts.domain.PageCursor;
+import com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.entity.ClientEntity;
+import com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.entity.PersonEntity;
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.mapper.ClientEntityMapper;
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.repository.ClientRepository;
-import com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.repository.PersonRepository;
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.service.ClientTransactionService;
+import io.r2dbc.spi.Readable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -16,10 +22,33 @@ import reactor.core.publisher.Mono;
 @RequiredArgsConstructor
 public class ClientPersistenceAdapter implements ClientOutputPort {
 
+    // Cliente y persona llegan en la misma fila: una sola consulta por lectura, sin importar
+    // cuántos clientes se devuelvan
+    private static final String CLIENT_PERSON_SQL =
+            "SELECT c.id, c.persona_id, c.username, c.password, c.estado, c.created_at,"
+                    + " c.updated_at, p.nombre, p.apellido, p.genero, p.fecha_nacimiento,"
+                    + " p.identificacion, p.telefono, p.direccion, p.estado AS persona_estado,"
+                    + " p.created_at AS persona_created_at, p.updated_at AS persona_updated_at"
+                    + " FROM bank.cliente c JOIN bank.persona p ON p.id = c.persona_id";
+
+    private static final String FIND_BY_ID_SQL = CLIENT_PERSON_SQL + " WHERE c.id = :id";
+
+    // id desempata los created_at iguales; el orden lo resuelve idx_cliente_creacion
+    private static final String FIND_PAGE_SQL =
+            CLIENT_PERSON_SQL + " ORDER BY c.created_at DESC, c.id DESC LIMIT :size OFFSET :offset";
+
+    // Continúa después del último cliente entregado sin recorrer las páginas anteriores
+    private static final String FIND_AFTER_SQL =
+            CLIENT_PERSON_SQL
+                    + " WHERE (c.created_at, c.id) < (:afterCreatedAt, :afterId)"
+                    + " ORDER BY c.created_at DESC, c.id DESC LIMIT :size";
+
+    private static final String FIND_ALL_IDS_SQL = "SELECT id FROM bank.cliente ORDER BY id";
+
     private final ClientRepository clientRepository;
-    private final PersonRepository personRepository;
     private final ClientEntityMapper clientMapper;
     private final ClientTransactionService transactionService;
+    private final DatabaseClient databaseClient;
 
     @Override
     public Mono<Client> save(Client client) {
@@ -30,30 +59,43 @@ public class ClientPersistenceAdapter implements ClientOutputPort {
 
     @Override
     public Mono<Client> findById(UUID id) {
-        return clientRepository
-                .findById(id)
-                .flatMap(
-                        clientEntity ->
-                                personRepository
-                                        .findById(clientEntity.getPersonId())
-                                        .map(
-                                                personEntity ->
-                                                        clientMapper.toDomain(
-                                                                clientEntity, personEntity)));
+        return databaseClient.sql(FIND_BY_ID_SQL).bind("id", id).map(this::toDomain).one();
     }
 
     @Override
     public Flux<Client> findAll() {
-        return clientRepository
-                .findAll()
-                .flatMap(
-                        clientEntity ->
-                                personRepository
-                                        .findById(clientEntity.getPersonId())
-                                        .map(
-                                                personEntity ->
-                                                        clientMapper.toDomain(
-                                                                clientEntity, personEntity)));
+        return databaseClient.sql(CLIENT_PERSON_SQL).map(this::toDomain).all();
+    }
+
+    @Override
+    public Flux<UUID> findAllIds() {
+        return databaseClient.sql(FIND_ALL_IDS_SQL).map(row -> row.get("id", UUID.class)).all();
+    }
+
+    @Override
+    public Flux<Client> findAll(Integer page, Integer size) {
+        int pageSize = size != null ? size : 20;
+        long offset = page != null ? (long) page * pageSize : 0;
+
+        return databaseClient
+                .sql(FIND_PAGE_SQL)
+                .bind("size", pageSize)
+                .bind("offset", offset)
+                .map(this::toDomain)
+                .all();
+    }
+
+    @Override
+    public Flux<Client> findAfter(PageCursor after, Integer size) {
+        int pageSize = size != null ? size : 20;
+
+        return databaseClient
+                .sql(FIND_AFTER_SQL)
+                .bind("afterCreatedAt", after.getPosition())
+                .bind("afterId", after.getId())
+                .bind("size", pageSize)
+                .map(this::toDomain)
+                .all();
     }
 
     @Override
@@ -72,4 +114,34 @@ public class ClientPersistenceAdapter implements ClientOutputPort {
     public Mono<Void> deleteById(UUID id) {
         return transactionService.deleteClient(id);
     }
+
+    private Client toDomain(Readable row) {
+        return clientMapper.toDomain(toClientEntity(row), toPersonEntity(row));
+    }
+
+    private static ClientEntity toClientEntity(Readable row) {
+        return new ClientEntity(
+                row.get("id", UUID.class),
+                row.get("persona_id", UUID.class),
+                row.get("username", String.class),
+                row.get("password", String.class),
+                row.get("estado", Boolean.class),
+                row.get("created_at", LocalDateTime.class),
+                row.get("updated_at", LocalDateTime.class));
+    }
+
+    private static PersonEntity toPersonEntity(Readable row) {
+        return new PersonEntity(
+                row.get("persona_id", UUID.class),
+                row.get("nombre", String.class),
+                row.get("apellido", String.class),
+                row.get("genero", String.class),
+                row.get("fecha_nacimiento", LocalDate.class),
+                row.get("identificacion", String.class),
+                row.get("telefono", String.class),
+                row.get("direccion", String.class),
+                row.get("persona_estado", Boolean.class),
+                row.get("persona_created_at", LocalDateTime.class),
+                row.get("persona_updated_at", LocalDateTime.class));
+    }
 }
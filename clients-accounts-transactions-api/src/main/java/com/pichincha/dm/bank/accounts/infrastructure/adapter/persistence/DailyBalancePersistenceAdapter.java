@@ -0,0 +1,61 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence;
+
+import com.pichincha.dm.bank.accounts.application.port.output.DailyBalanceOutputPort;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+@RequiredArgsConstructor
+public class DailyBalancePersistenceAdapter implements DailyBalanceOutputPort {
+
+    // El día del movimiento se crea o se ajusta con un único upsert, sin perder deltas entre
+    // escritores concurrentes; los días posteriores se ajustan en la misma sentencia. Un día nuevo
+    // parte del cierre anterior registrado y suma los demás movimientos hasta ese día, de modo que
+    // la historia sin saldos de cierre también cuenta
+    private static final String APPLY_MOVEMENT_SQL =
+            "WITH movimiento AS (SELECT id, cuenta_id, fecha::date AS dia FROM bank.movimiento"
+                    + " WHERE id = :movementId), cierre_dia AS (INSERT INTO bank.saldo_diario AS sd"
+                    + " (cuenta_id, dia, saldo_cierre) SELECT m.cuenta_id, m.dia,"
+                    + " COALESCE(p.saldo_cierre, c.saldo_inicial) + COALESCE((SELECT SUM(o.valor)"
+                    + " FROM bank.movimiento o WHERE o.cuenta_id = m.cuenta_id AND o.id <> m.id AND"
+                    + " o.fecha >= COALESCE(p.dia + 1, '-infinity'::date) AND o.fecha < m.dia + 1),"
+                    + " 0) + :newValue FROM movimiento m JOIN bank.cuenta c ON c.id = m.cuenta_id"
+                    + " LEFT JOIN LATERAL (SELECT s.dia, s.saldo_cierre FROM bank.saldo_diario s"
+                    + " WHERE s.cuenta_id = m.cuenta_id AND s.dia < m.dia ORDER BY s.dia DESC LIMIT"
+                    + " 1) p ON true ON CONFLICT (cuenta_id, dia) DO UPDATE SET saldo_cierre ="
+                    + " sd.saldo_cierre + :delta) UPDATE bank.saldo_diario s SET saldo_cierre ="
+                    + " s.saldo_cierre + :delta FROM movimiento m WHERE s.cuenta_id = m.cuenta_id"
+                    + " AND s.dia > m.dia";
+
+    private static final String CLOSING_BALANCE_SQL =
+            "SELECT saldo_cierre FROM bank.saldo_diario WHERE cuenta_id = :accountId AND dia <="
+                    + " :day ORDER BY dia DESC LIMIT 1";
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Mono<Void> applyMovement(
+            UUID movementId, BigDecimal previousValue, BigDecimal newValue) {
+        return databaseClient
+                .sql(APPLY_MOVEMENT_SQL)
+                .bind("movementId", movementId)
+                .bind("newValue", newValue)
+                .bind("delta", newValue.subtract(previousValue))
+                .then();
+    }
+
+    @Override
+    public Mono<BigDecimal> findClosingBalance(UUID accountId, LocalDate day) {
+        return databaseClient
+                .sql(CLOSING_BALANCE_SQL)
+                .bind("accountId", accountId)
+                .bind("day", day)
+                .map(row -> row.get("saldo_cierre", BigDecimal.class))
+                .one();
+    }
+}
@@ -1,15 +1,23 @@
 package com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence;
 
 import com.pichincha.dm.bank.accounts.application.port.output.MovementOutputPort;
+import com.pichincha.dm.bank.accounts.application.service.BalanceRecalculationMode;
 import com.pichincha.dm.bank.accounts.domain.Movement;
+import com.pichincha.dm.bank.accounts.domain.PageCursor;
+import com.pichincha.dm.bank.accounts.domain.enums.MovementType;
+import com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.entity.MovementEntity;
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.mapper.MovementEntityMapper;
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.repository.MovementRepository;
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.service.MovementTransactionService;
+import io.r2dbc.spi.Readable;
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -21,6 +29,13 @@ public class MovementPersistenceAdapter implements MovementOutputPort {
     private final MovementRepository movementRepository;
     private final MovementEntityMapper movementMapper;
     private final MovementTransactionService transactionService;
+    private final DatabaseClient databaseClient;
+
+    @Value("${bank.movements.recalculation.mode:ROW_BY_ROW}")
+    private BalanceRecalculationMode recalculationMode;
+
+    @Value("${bank.listings.stream.fetch-size:250}")
+    private int streamFetchSize;
 
     @Override
     public Mono<Movement> save(Movement movement) {
@@ -31,7 +46,11 @@ public class MovementPersistenceAdapter implements MovementOutputPort {
 
     @Override
     public Mono<Movement> findById(UUID id) {
-        return movementRepository.findById(id).map(movementMapper::toDomain);
+        Mono<MovementEntity> movement =
+                derivesBalances()
+                        ? movementRepository.findByIdDerivingBalance(id)
+                        : movementRepository.findById(id);
+        return movement.map(movementMapper::toDomain);
     }
 
     @Override
@@ -42,15 +61,64 @@ public class MovementPersistenceAdapter implements MovementOutputPort {
             LocalDate endDate,
             Integer page,
             Integer size) {
-        LocalDateTime startDateTime = startDate != null ? startDate.atStartOfDay() : null;
-        LocalDateTime endDateTime = endDate != null ? endDate.atTime(23, 59, 59, 999999999) : null;
+        int pageSize = size != null ? size : 50;
+        long offset = page != null ? (long) page * pageSize : 0;
 
+        return findPage(
+                filtered(clientId, accountNumber, startDate, endDate)
+                        .size(pageSize)
+                        .offset(offset));
+    }
+
+    @Override
+    public Flux<Movement> findAfter(
+            UUID clientId,
+            Long accountNumber,
+            LocalDate startDate,
+            LocalDate endDate,
+            PageCursor after,
+            Integer size) {
         int pageSize = size != null ? size : 50;
-        int offset = page != null ? page * pageSize : 0;
 
-        return movementRepository
-                .findWithFilters(
-                        clientId, accountNumber, startDateTime, endDateTime, pageSize, offset)
+        return findPage(
+                filtered(clientId, accountNumber, startDate, endDate).after(after).size(pageSize));
+    }
+
+    @Override
+    public Flux<Movement> stream(
+            UUID clientId,
+            Long accountNumber,
+            LocalDate startDate,
+            LocalDate endDate,
+            PageCursor after) {
+        // Con tamaño de lectura el driver trae las filas por tandas según la demanda, en lugar de
+        // recibir el resultado completo de una vez
+        return filtered(clientId, accountNumber, startDate, endDate)
+                .after(after)
+                .size(null)
+                .build()
+                .bindTo(databaseClient)
+                .filter((statement, next) -> next.execute(statement.fetchSize(streamFetchSize)))
+                .map(MovementPersistenceAdapter::toEntity)
+                .all()
+                .map(movementMapper::toDomain);
+    }
+
+    private MovementQueryBuilder filtered(
+            UUID clientId, Long accountNumber, LocalDate startDate, LocalDate endDate) {
+        return MovementQueryBuilder.create()
+                .clientId(clientId)
+                .accountNumber(accountNumber)
+                .startDate(startDate != null ? startDate.atStartOfDay() : null)
+                .endDate(endDate != null ? endDate.atTime(23, 59, 59, 999999999) : null)
+                .derivingBalance(derivesBalances());
+    }
+
+    private Flux<Movement> findPage(MovementQueryBuilder query) {
+        return query.build()
+                .bindTo(databaseClient)
+                .map(MovementPersistenceAdapter::toEntity)
+                .all()
                 .map(movementMapper::toDomain);
     }
 
@@ -85,4 +153,51 @@ public class MovementPersistenceAdapter implements MovementOutputPort {
                 .flatMap(movementRepository::save)
                 .map(movementMapper::toDomain);
     }
+
+    @Override
+    public Mono<Long> shiftPostMovementBalances(
+            UUID accountId,
+            LocalDateTime fromDateTime,
+            LocalDateTime toDateTime,
+            BigDecimal adjustment) {
+        return movementRepository.shiftPostMovementBalances(
+                accountId, fromDateTime, toDateTime, adjustment);
+    }
+
+    @Override
+    public Mono<LocalDateTime> findLatestMovementDate(UUID accountId) {
+        return movementRepository.findLatestDateByAccountId(accountId);
+    }
+
+    @Override
+    public Mono<Long> recomputePostMovementBalances(UUID accountId, LocalDateTime fromDateTime) {
+        return movementRepository.recomputePostMovementBalances(accountId, fromDateTime);
+    }
+
+    @Override
+    public Mono<Movement> saveApplyingBalance(Movement movement) {
+        return movementRepository
+                .insertApplyingBalance(
+                        movement.getAccountId(),
+                        movement.getDate(),
+                        movement.getType().name(),
+                        movement.getValue(),
+                        movement.getCreatedAt())
+                .map(movementMapper::toDomain);
+    }
+
+    private boolean derivesBalances() {
+        return recalculationMode == BalanceRecalculationMode.DERIVED;
+    }
+
+    private static MovementEntity toEntity(Readable row) {
+        return new MovementEntity(
+                row.get("id", UUID.class),
+                row.get("cuenta_id", UUID.class),
+                row.get("fecha", LocalDateTime.class),
+                MovementType.valueOf(row.get("tipo", String.class)),
+                row.get("valor", BigDecimal.class),
+                row.get("saldo_post_movimiento", BigDecimal.class),
+                row.get("created_at", LocalDateTime.class));
+    }
 }
@@ -0,0 +1,181 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence;
+
+import com.pichincha.dm.bank.accounts.domain.PageCursor;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Arma la consulta del listado de movimientos con solo los filtros y joins pedidos, para que
+ * PostgreSQL planifique cada combinación por separado en lugar de un único plan genérico con {@code
+ * (:x IS NULL OR ...)}:
+ *
+ * <ul>
+ *   <li>Por cuenta, el id de la cuenta se resuelve en una subconsulta y la página se lee de
+ *       idx_movimiento_cuenta_fecha.
+ *   <li>Solo por cliente, se une bank.cuenta por idx_cuenta_cliente.
+ *   <li>Sin cliente ni cuenta no se toca bank.cuenta; el orden por fecha sale de
+ *       idx_movimiento_fecha.
+ * </ul>
+ */
+public final class MovementQueryBuilder {
+
+    private static final String COLUMNS =
+            "m.id, m.cuenta_id, m.fecha, m.tipo, m.valor, m.saldo_post_movimiento, m.created_at";
+
+    // Saldo acumulado al leer (modo DERIVED) sobre la página ya filtrada; ver
+    // MovementRepository.findByIdDerivingBalance para el cálculo de un solo movimiento. La semilla
+    // se materializa para sumar una sola vez por cuenta y no una vez por fila de la página, y su
+    // rango acotado por ambos lados usa idx_movimiento_cuenta_orden
+    private static final String DERIVED_BALANCE_SQL =
+            ", limites AS (SELECT cuenta_id, MIN(fecha) AS desde, MAX(fecha) AS hasta FROM pagina"
+                + " GROUP BY cuenta_id), semilla AS MATERIALIZED (SELECT l.cuenta_id, l.desde,"
+                + " l.hasta, COALESCE(sd.saldo_cierre, c.saldo_inicial) + COALESCE((SELECT"
+                + " SUM(a.valor) FROM bank.movimiento a WHERE a.cuenta_id = l.cuenta_id AND a.fecha"
+                + " >= COALESCE((sd.dia + 1)::timestamp, '-infinity') AND a.fecha < l.desde), 0) AS"
+                + " saldo FROM limites l JOIN bank.cuenta c ON c.id = l.cuenta_id LEFT JOIN LATERAL"
+                + " (SELECT s.dia, s.saldo_cierre FROM bank.saldo_diario s WHERE s.cuenta_id ="
+                + " l.cuenta_id AND s.dia < l.desde::date ORDER BY s.dia DESC LIMIT 1) sd ON true),"
+                + " acumulado AS (SELECT m.id, s.saldo + SUM(m.valor) OVER (PARTITION BY"
+                + " m.cuenta_id ORDER BY m.fecha, m.created_at, m.id) AS saldo FROM semilla s JOIN"
+                + " bank.movimiento m ON m.cuenta_id = s.cuenta_id AND m.fecha >= s.desde AND"
+                + " m.fecha <= s.hasta) SELECT p.id, p.cuenta_id, p.fecha, p.tipo, p.valor, a.saldo"
+                + " AS saldo_post_movimiento, p.created_at FROM pagina p JOIN acumulado a ON a.id ="
+                + " p.id ORDER BY p.fecha DESC, p.id DESC";
+
+    private UUID clientId;
+    private Long accountNumber;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private PageCursor after;
+    private Integer size = 50;
+    private long offset;
+    private boolean derivingBalance;
+
+    private MovementQueryBuilder() {}
+
+    public static MovementQueryBuilder create() {
+        return new MovementQueryBuilder();
+    }
+
+    public MovementQueryBuilder clientId(UUID clientId) {
+        this.clientId = clientId;
+        return this;
+    }
+
+    public MovementQueryBuilder accountNumber(Long accountNumber) {
+        this.accountNumber = accountNumber;
+        return this;
+    }
+
+    public MovementQueryBuilder startDate(LocalDateTime startDate) {
+        this.startDate = startDate;
+        return this;
+    }
+
+    public MovementQueryBuilder endDate(LocalDateTime endDate) {
+        this.endDate = endDate;
+        return this;
+    }
+
+    /** Continúa después del movimiento indicado; reemplaza al desplazamiento. */
+    public MovementQueryBuilder after(PageCursor after) {
+        this.after = after;
+        return this;
+    }
+
+    /** Sin tamaño la consulta no se limita; lo usa el recorrido completo en streaming. */
+    public MovementQueryBuilder size(Integer size) {
+        this.size = size;
+        return this;
+    }
+
+    public MovementQueryBuilder offset(long offset) {
+        this.offset = offset;
+        return this;
+    }
+
+    public MovementQueryBuilder derivingBalance(boolean derivingBalance) {
+        this.derivingBalance = derivingBalance;
+        return this;
+    }
+
+    public Query build() {
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        List<String> predicates = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNS);
+        sql.append(" FROM bank.movimiento m");
+
+        if (accountNumber != null) {
+            // El número de cuenta es único: la subconsulta devuelve a lo sumo un id
+            String account = "SELECT id FROM bank.cuenta WHERE numero_cuenta = :accountNumber";
+            bindings.put("accountNumber", accountNumber);
+            if (clientId != null) {
+                account += " AND cliente_id = :clientId";
+                bindings.put("clientId", clientId);
+            }
+            predicates.add("m.cuenta_id = (" + account + ")");
+        } else if (clientId != null) {
+            sql.append(" JOIN bank.cuenta c ON c.id = m.cuenta_id");
+            predicates.add("c.cliente_id = :clientId");
+            bindings.put("clientId", clientId);
+        }
+        if (startDate != null) {
+            predicates.add("m.fecha >= :startDate");
+            bindings.put("startDate", startDate);
+        }
+        if (endDate != null) {
+            predicates.add("m.fecha <= :endDate");
+            bindings.put("endDate", endDate);
+        }
+        if (after != null) {
+            // La condición sobre fecha sola acota el recorrido del índice; la de fila desempata
+            predicates.add("m.fecha <= :afterDate");
+            predicates.add("(m.fecha, m.id) < (:afterDate, :afterId)");
+            bindings.put("afterDate", after.getPosition());
+            bindings.put("afterId", after.getId());
+        }
+
+        if (!predicates.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", predicates));
+        }
+        sql.append(" ORDER BY m.fecha DESC, m.id DESC");
+        if (size != null) {
+            sql.append(" LIMIT :size");
+            bindings.put("size", size);
+        }
+        if (after == null && offset > 0) {
+            sql.append(" OFFSET :offset");
+            bindings.put("offset", offset);
+        }
+
+        String page = sql.toString();
+        return new Query(
+                derivingBalance ? "WITH pagina AS (" + page + ")" + DERIVED_BALANCE_SQL : page,
+                bindings);
+    }
+
+    /** Sentencia armada con sus parámetros, en el orden en que aparecen. */
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Query {
+
+        private final String sql;
+        private final Map<String, Object> bindings;
+
+        public DatabaseClient.GenericExecuteSpec bindTo(DatabaseClient databaseClient) {
+            DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql);
+            for (Map.Entry<String, Object> binding : bindings.entrySet()) {
+                spec = spec.bind(binding.getKey(), binding.getValue());
+            }
+            return spec;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence;
+
+import com.pichincha.dm.bank.accounts.application.port.output.PendingRecalculationOutputPort;
+import com.pichincha.dm.bank.accounts.domain.PendingRecalculation;
+import com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.mapper.PendingRecalculationEntityMapper;
+import com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.repository.PendingRecalculationRepository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+@RequiredArgsConstructor
+public class PendingRecalculationPersistenceAdapter implements PendingRecalculationOutputPort {
+
+    private final PendingRecalculationRepository pendingRecalculationRepository;
+    private final PendingRecalculationEntityMapper pendingRecalculationMapper;
+
+    @Override
+    public Mono<Void> register(UUID accountId, LocalDateTime fromDateTime) {
+        return pendingRecalculationRepository.upsertEarliest(accountId, fromDateTime).then();
+    }
+
+    @Override
+    public Flux<PendingRecalculation> findOldest(int limit) {
+        return pendingRecalculationRepository
+                .findOldest(limit)
+                .map(pendingRecalculationMapper::toDomain);
+    }
+
+    @Override
+    public Flux<PendingRecalculation> findByAccountIds(Collection<UUID> accountIds) {
+        if (accountIds.isEmpty()) {
+            return Flux.empty();
+        }
+        return pendingRecalculationRepository
+                .findByAccountIdIn(accountIds)
+                .map(pendingRecalculationMapper::toDomain);
+    }
+
+    @Override
+    public Mono<Boolean> complete(PendingRecalculation pendingRecalculation) {
+        return pendingRecalculationRepository
+                .deleteByAccountIdAndVersion(
+                        pendingRecalculation.getAccountId(), pendingRecalculation.getVersion())
+                .map(deletedRows -> deletedRows > 0);
+    }
+}
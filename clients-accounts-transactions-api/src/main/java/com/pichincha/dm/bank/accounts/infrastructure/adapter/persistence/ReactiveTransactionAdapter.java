@@ -0,0 +1,20 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence;
+
+import com.pichincha.dm.bank.accounts.application.port.output.TransactionOutputPort;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+@Repository
+@RequiredArgsConstructor
+public class ReactiveTransactionAdapter implements TransactionOutputPort {
+
+    private final TransactionalOperator transactionalOperator;
+
+    @Override
+    public <T> Mono<T> inTransaction(Supplier<Mono<T>> operation) {
+        return transactionalOperator.transactional(Mono.defer(operation));
+    }
+}
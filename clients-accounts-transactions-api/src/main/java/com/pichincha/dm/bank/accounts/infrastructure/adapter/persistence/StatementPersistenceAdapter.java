@@ -0,0 +1,119 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence;
+
+import com.pichincha.dm.bank.accounts.application.port.output.StatementOutputPort;
+import com.pichincha.dm.bank.accounts.domain.AccountTotals;
+import com.pichincha.dm.bank.accounts.domain.StatementLine;
+import com.pichincha.dm.bank.accounts.domain.enums.AccountType;
+import com.pichincha.dm.bank.accounts.domain.enums.MovementType;
+import io.r2dbc.spi.Readable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+@RequiredArgsConstructor
+public class StatementPersistenceAdapter implements StatementOutputPort {
+
+    // El saldo posterior se acumula desde el saldo de apertura del periodo, por lo que no depende
+    // de que saldo_post_movimiento esté al día (modos DEFERRED y DERIVED)
+    private static final String STATEMENT_SQL =
+            "SELECT c.id AS cuenta_id, c.numero_cuenta, c.tipo AS cuenta_tipo,"
+                    + " COALESCE(ap.saldo_cierre, c.saldo_inicial) AS saldo_apertura,"
+                    + " COALESCE(ci.saldo_cierre, c.saldo_inicial) AS saldo_cierre, m.id AS"
+                    + " movimiento_id, m.fecha, m.tipo AS movimiento_tipo, m.valor,"
+                    + " COALESCE(ap.saldo_cierre, c.saldo_inicial) + SUM(m.valor) OVER (PARTITION"
+                    + " BY c.id ORDER BY m.fecha, m.created_at, m.id) AS saldo_post_movimiento FROM"
+                    + " bank.cuenta c LEFT JOIN LATERAL (SELECT s.saldo_cierre FROM"
+                    + " bank.saldo_diario s WHERE s.cuenta_id = c.id AND s.dia < :startDay ORDER"
+                    + " BY s.dia DESC LIMIT 1) ap ON true LEFT JOIN LATERAL (SELECT s.saldo_cierre"
+                    + " FROM bank.saldo_diario s WHERE s.cuenta_id = c.id AND s.dia <= :endDay"
+                    + " ORDER BY s.dia DESC LIMIT 1) ci ON true LEFT JOIN bank.movimiento m ON"
+                    + " m.cuenta_id = c.id AND m.fecha >= :from AND m.fecha < :to WHERE"
+                    + " c.cliente_id = :clientId ORDER BY c.numero_cuenta, m.fecha, m.created_at,"
+                    + " m.id";
+
+    // Solo viajan una fila y dos sumas por cuenta; la agregación se resuelve con
+    // idx_movimiento_cuenta_orden sin visitar la tabla de movimientos
+    private static final String ACCOUNT_TOTALS_SQL =
+            "SELECT c.id AS cuenta_id, c.numero_cuenta, c.tipo AS cuenta_tipo,"
+                    + " COALESCE(ap.saldo_cierre, c.saldo_inicial) AS saldo_apertura,"
+                    + " COALESCE(ci.saldo_cierre, c.saldo_inicial) AS saldo_cierre,"
+                    + " COALESCE(SUM(m.valor) FILTER (WHERE m.tipo = 'DEBITO'), 0) AS"
+                    + " total_debitos, COALESCE(SUM(m.valor) FILTER (WHERE m.tipo = 'CREDITO'), 0)"
+                    + " AS total_creditos, COUNT(m.id) FILTER (WHERE m.tipo = 'DEBITO') AS"
+                    + " cantidad_debitos, COUNT(m.id) FILTER (WHERE m.tipo = 'CREDITO') AS"
+                    + " cantidad_creditos FROM bank.cuenta c LEFT JOIN LATERAL (SELECT"
+                    + " s.saldo_cierre FROM bank.saldo_diario s WHERE s.cuenta_id = c.id AND s.dia"
+                    + " < :startDay ORDER BY s.dia DESC LIMIT 1) ap ON true LEFT JOIN LATERAL"
+                    + " (SELECT s.saldo_cierre FROM bank.saldo_diario s WHERE s.cuenta_id = c.id"
+                    + " AND s.dia <= :endDay ORDER BY s.dia DESC LIMIT 1) ci ON true LEFT JOIN"
+                    + " bank.movimiento m ON m.cuenta_id = c.id AND m.fecha >= :from AND m.fecha <"
+                    + " :to WHERE c.cliente_id = :clientId GROUP BY c.id, c.numero_cuenta, c.tipo,"
+                    + " c.saldo_inicial, ap.saldo_cierre, ci.saldo_cierre ORDER BY"
+                    + " c.numero_cuenta";
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Flux<StatementLine> findStatementLines(
+            UUID clientId, LocalDate startDate, LocalDate endDate) {
+        return databaseClient
+                .sql(STATEMENT_SQL)
+                .bind("clientId", clientId)
+                .bind("startDay", startDate)
+                .bind("endDay", endDate)
+                .bind("from", startDate.atStartOfDay())
+                .bind("to", endDate.plusDays(1).atStartOfDay())
+                .map(StatementPersistenceAdapter::toStatementLine)
+                .all();
+    }
+
+    @Override
+    public Flux<AccountTotals> findAccountTotals(
+            UUID clientId, LocalDate startDate, LocalDate endDate) {
+        return databaseClient
+                .sql(ACCOUNT_TOTALS_SQL)
+                .bind("clientId", clientId)
+                .bind("startDay", startDate)
+                .bind("endDay", endDate)
+                .bind("from", startDate.atStartOfDay())
+                .bind("to", endDate.plusDays(1).atStartOfDay())
+                .map(StatementPersistenceAdapter::toAccountTotals)
+                .all();
+    }
+
+    private static StatementLine toStatementLine(Readable row) {
+        String movementType = row.get("movimiento_tipo", String.class);
+        return StatementLine.builder()
+                .accountId(row.get("cuenta_id", UUID.class))
+                .accountNumber(row.get("numero_cuenta", Long.class))
+                .accountType(AccountType.valueOf(row.get("cuenta_tipo", String.class)))
+                .openingBalance(row.get("saldo_apertura", BigDecimal.class))
+                .closingBalance(row.get("saldo_cierre", BigDecimal.class))
+                .movementId(row.get("movimiento_id", UUID.class))
+                .movementDate(row.get("fecha", LocalDateTime.class))
+                .movementType(movementType != null ? MovementType.valueOf(movementType) : null)
+                .movementValue(row.get("valor", BigDecimal.class))
+                .balanceAfterMovement(row.get("saldo_post_movimiento", BigDecimal.class))
+                .build();
+    }
+
+    private static AccountTotals toAccountTotals(Readable row) {
+        return AccountTotals.builder()
+                .accountId(row.get("cuenta_id", UUID.class))
+                .accountNumber(row.get("numero_cuenta", Long.class))
+                .accountType(AccountType.valueOf(row.get("cuenta_tipo", String.class)))
+                .openingBalance(row.get("saldo_apertura", BigDecimal.class))
+                .closingBalance(row.get("saldo_cierre", BigDecimal.class))
+                .totalDebits(row.get("total_debitos", BigDecimal.class))
+                .totalCredits(row.get("total_creditos", BigDecimal.class))
+                .debitCount(row.get("cantidad_debitos", Long.class))
+                .creditCount(row.get("cantidad_creditos", Long.class))
+                .build();
+    }
+}
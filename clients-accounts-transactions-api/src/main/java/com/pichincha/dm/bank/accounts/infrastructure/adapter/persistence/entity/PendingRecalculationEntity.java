@@ -0,0 +1,32 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.entity;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table(name = "recalculo_pendiente", schema = "bank")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class PendingRecalculationEntity {
+
+    @Id
+    @Column("cuenta_id")
+    private UUID accountId;
+
+    @Column("desde")
+    private LocalDateTime fromDateTime;
+
+    @Column("version")
+    private Long version;
+
+    @Column("registrado_en")
+    private LocalDateTime registeredAt;
+}
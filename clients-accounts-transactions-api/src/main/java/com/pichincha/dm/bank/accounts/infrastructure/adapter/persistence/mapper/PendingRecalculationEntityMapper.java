@@ -0,0 +1,16 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.mapper;
+
+import com.pichincha.dm.bank.accounts.domain.PendingRecalculation;
+import com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.entity.PendingRecalculationEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = org.mapstruct.ReportingPolicy.IGNORE)
+public interface PendingRecalculationEntityMapper {
+
+    @Mapping(target = "accountId", source = "accountId")
+    @Mapping(target = "fromDateTime", source = "fromDateTime")
+    @Mapping(target = "version", source = "version")
+    @Mapping(target = "registeredAt", source = "registeredAt")
+    PendingRecalculation toDomain(PendingRecalculationEntity entity);
+}
@@ -1,6 +1,8 @@
 package com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.repository;
 
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.entity.AccountEntity;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.UUID;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
@@ -16,9 +18,32 @@ public interface AccountRepository extends R2dbcRepository<AccountEntity, UUID>
     @Query(
             "SELECT * FROM bank.cuenta "
                     + "WHERE (:clientId IS NULL OR cliente_id = :clientId) "
-                    + "ORDER BY created_at DESC "
+                    + "ORDER BY created_at DESC, id DESC "
                     + "LIMIT :size OFFSET :offset")
     Flux<AccountEntity> findWithFilters(UUID clientId, int size, int offset);
 
+    /**
+     * Igual que {@link #findWithFilters}, pero continúa después de la última cuenta entregada en
+     * lugar de descartar las páginas anteriores.
+     */
+    @Query(
+            "SELECT * FROM bank.cuenta "
+                    + "WHERE (:clientId IS NULL OR cliente_id = :clientId) "
+                    + "AND (created_at, id) < (:afterCreatedAt, :afterId) "
+                    + "ORDER BY created_at DESC, id DESC "
+                    + "LIMIT :size")
+    Flux<AccountEntity> findAfter(
+            UUID clientId, LocalDateTime afterCreatedAt, UUID afterId, int size);
+
+    /**
+     * Aplica el ajuste al saldo actual en una sola sentencia. No retorna filas si la cuenta no
+     * existe o si un ajuste negativo dejaría el saldo por debajo de cero.
+     */
+    @Query(
+            "UPDATE bank.cuenta SET saldo_actual = saldo_actual + :delta::numeric, updated_at ="
+                + " now() WHERE id = :accountId::uuid AND (:delta::numeric >= 0 OR saldo_actual +"
+                + " :delta::numeric >= 0) RETURNING *")
+    Mono<AccountEntity> applyBalanceDelta(UUID accountId, BigDecimal delta);
+
     Mono<Void> deleteByAccountNumber(Long accountNumber);
 }
@@ -1,30 +1,34 @@
 package com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.repository;
 
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.entity.MovementEntity;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
+import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @Repository
 public interface MovementRepository extends R2dbcRepository<MovementEntity, UUID> {
 
+    /**
+     * Obtiene el movimiento con su saldo posterior calculado a partir del saldo de cierre del día
+     * anterior (o del saldo inicial) más los movimientos hasta él inclusive.
+     */
     @Query(
-            "SELECT m.* FROM bank.movimiento m LEFT JOIN bank.cuenta c ON m.cuenta_id = c.id WHERE"
-                + " (:clientId::uuid IS NULL OR c.cliente_id = :clientId::uuid) AND"
-                + " (:accountNumber::bigint IS NULL OR c.numero_cuenta = :accountNumber::bigint)"
-                + " AND (:startDate::timestamp IS NULL OR m.fecha >= :startDate::timestamp) AND"
-                + " (:endDate::timestamp IS NULL OR m.fecha <= :endDate::timestamp) ORDER BY"
-                + " m.fecha DESC LIMIT :size OFFSET :offset")
-    Flux<MovementEntity> findWithFilters(
-            UUID clientId,
-            Long accountNumber,
-            LocalDateTime startDate,
-            LocalDateTime endDate,
-            int size,
-            int offset);
+            "SELECT m.id, m.cuenta_id, m.fecha, m.tipo, m.valor, COALESCE(sd.saldo_cierre,"
+                    + " c.saldo_inicial) + (SELECT SUM(a.valor) FROM bank.movimiento a WHERE"
+                    + " a.cuenta_id = m.cuenta_id AND a.fecha >= COALESCE((sd.dia + 1)::timestamp,"
+                    + " '-infinity') AND (a.fecha, a.created_at, a.id) <= (m.fecha, m.created_at,"
+                    + " m.id)) AS saldo_post_movimiento, m.created_at FROM bank.movimiento m JOIN"
+                    + " bank.cuenta c ON c.id = m.cuenta_id LEFT JOIN LATERAL (SELECT s.dia,"
+                    + " s.saldo_cierre FROM bank.saldo_diario s WHERE s.cuenta_id = m.cuenta_id AND"
+                    + " s.dia < m.fecha::date ORDER BY s.dia DESC LIMIT 1) sd ON true WHERE m.id ="
+                    + " :id::uuid")
+    Mono<MovementEntity> findByIdDerivingBalance(UUID id);
 
     /**
      * Encuentra todos los movimientos posteriores a una fecha específica para una cuenta dada,
@@ -34,4 +38,76 @@ public interface MovementRepository extends R2dbcRepository<MovementEntity, UUID
             "SELECT * FROM bank.movimiento WHERE cuenta_id = :accountId::uuid "
                     + "AND fecha > :fromDateTime::timestamp ORDER BY fecha ASC")
     Flux<MovementEntity> findByAccountIdAndDateAfter(UUID accountId, LocalDateTime fromDateTime);
+
+    /**
+     * Suma el ajuste al saldo posterior de los movimientos de la cuenta con fecha dentro del rango
+     * (desde exclusivo, hasta inclusivo). Un límite superior nulo no acota el rango.
+     */
+    @Modifying
+    @Query(
+            "UPDATE bank.movimiento SET saldo_post_movimiento = saldo_post_movimiento +"
+                    + " :adjustment::numeric WHERE cuenta_id = :accountId::uuid AND fecha >"
+                    + " :fromDateTime::timestamp AND (:toDateTime::timestamp IS NULL OR fecha <="
+                    + " :toDateTime::timestamp)")
+    Mono<Long> shiftPostMovementBalances(
+            UUID accountId,
+            LocalDateTime fromDateTime,
+            LocalDateTime toDateTime,
+            BigDecimal adjustment);
+
+    /**
+     * Recalcula el saldo posterior de los movimientos de la cuenta posteriores a la fecha como
+     * saldo acumulado, partiendo del último movimiento anterior o del saldo inicial de la cuenta.
+     * Solo reescribe las filas cuyo saldo cambia.
+     */
+    @Modifying
+    @Query(
+            "WITH ancla AS (SELECT COALESCE((SELECT saldo_post_movimiento FROM bank.movimiento"
+                    + " WHERE cuenta_id = :accountId::uuid AND fecha <= :fromDateTime::timestamp"
+                    + " ORDER BY fecha DESC, created_at DESC, id DESC LIMIT 1), (SELECT"
+                    + " saldo_inicial FROM bank.cuenta WHERE id = :accountId::uuid)) AS saldo),"
+                    + " recalculado AS (SELECT m.id, (SELECT saldo FROM ancla) + SUM(m.valor) OVER"
+                    + " (ORDER BY m.fecha, m.created_at, m.id) AS saldo FROM bank.movimiento m"
+                    + " WHERE m.cuenta_id = :accountId::uuid AND m.fecha >"
+                    + " :fromDateTime::timestamp) UPDATE bank.movimiento m SET"
+                    + " saldo_post_movimiento = r.saldo FROM recalculado r WHERE m.id = r.id AND"
+                    + " m.saldo_post_movimiento IS DISTINCT FROM r.saldo")
+    Mono<Long> recomputePostMovementBalances(UUID accountId, LocalDateTime fromDateTime);
+
+    @Query("SELECT max(fecha) FROM bank.movimiento WHERE cuenta_id = :accountId::uuid")
+    Mono<LocalDateTime> findLatestDateByAccountId(UUID accountId);
+
+    /**
+     * Aplica el valor del movimiento al saldo de la cuenta, inserta el movimiento y ajusta el saldo
+     * de cierre de su día y de los días posteriores en una sola sentencia. Un día sin saldo de
+     * cierre parte del cierre anterior registrado más los movimientos existentes hasta ese día (la
+     * sentencia no ve el movimiento que inserta, que se suma aparte). No retorna filas si la cuenta
+     * no existe o si el saldo resultante sería negativo.
+     */
+    @Query(
+            "WITH cuenta_actualizada AS (UPDATE bank.cuenta SET saldo_actual = saldo_actual +"
+                + " :value::numeric, updated_at = now() WHERE id = :accountId::uuid AND"
+                + " (:value::numeric >= 0 OR saldo_actual + :value::numeric >= 0) RETURNING id,"
+                + " saldo_actual, saldo_inicial), insertado AS (INSERT INTO bank.movimiento"
+                + " (cuenta_id, fecha, tipo, valor, saldo_post_movimiento, created_at) SELECT id,"
+                + " :date::timestamp, :type, :value::numeric, saldo_actual, :createdAt::timestamp"
+                + " FROM cuenta_actualizada RETURNING *), cierre_dia AS (INSERT INTO"
+                + " bank.saldo_diario AS sd (cuenta_id, dia, saldo_cierre) SELECT i.cuenta_id,"
+                + " i.fecha::date, COALESCE(p.saldo_cierre, c.saldo_inicial) + COALESCE((SELECT"
+                + " SUM(o.valor) FROM bank.movimiento o WHERE o.cuenta_id = i.cuenta_id AND o.fecha"
+                + " >= COALESCE(p.dia + 1, '-infinity'::date) AND o.fecha < i.fecha::date + 1), 0)"
+                + " + i.valor FROM insertado i JOIN cuenta_actualizada c ON c.id = i.cuenta_id LEFT"
+                + " JOIN LATERAL (SELECT s.dia, s.saldo_cierre FROM bank.saldo_diario s WHERE"
+                + " s.cuenta_id = i.cuenta_id AND s.dia < i.fecha::date ORDER BY s.dia DESC LIMIT"
+                + " 1) p ON true ON CONFLICT (cuenta_id, dia) DO UPDATE SET saldo_cierre ="
+                + " sd.saldo_cierre + :value::numeric), dias_posteriores AS (UPDATE"
+                + " bank.saldo_diario s SET saldo_cierre = s.saldo_cierre + i.valor FROM insertado"
+                + " i WHERE s.cuenta_id = i.cuenta_id AND s.dia > i.fecha::date) SELECT * FROM"
+                + " insertado")
+    Mono<MovementEntity> insertApplyingBalance(
+            UUID accountId,
+            LocalDateTime date,
+            String type,
+            BigDecimal value,
+            LocalDateTime createdAt);
 }
@@ -0,0 +1,41 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.repository;
+
+import com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.entity.PendingRecalculationEntity;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface PendingRecalculationRepository
+        extends R2dbcRepository<PendingRecalculationEntity, UUID> {
+
+    /**
+     * Registra un recálculo pendiente para la cuenta. Si ya existe uno, conserva la fecha más
+     * antigua e incrementa la versión.
+     */
+    @Modifying
+    @Query(
+            "INSERT INTO bank.recalculo_pendiente (cuenta_id, desde) VALUES (:accountId::uuid,"
+                    + " :fromDateTime::timestamp) ON CONFLICT (cuenta_id) DO UPDATE SET desde ="
+                    + " LEAST(bank.recalculo_pendiente.desde, EXCLUDED.desde), version ="
+                    + " bank.recalculo_pendiente.version + 1, registrado_en = now()")
+    Mono<Long> upsertEarliest(UUID accountId, LocalDateTime fromDateTime);
+
+    @Query("SELECT * FROM bank.recalculo_pendiente ORDER BY registrado_en ASC LIMIT :limit")
+    Flux<PendingRecalculationEntity> findOldest(int limit);
+
+    Flux<PendingRecalculationEntity> findByAccountIdIn(Collection<UUID> accountIds);
+
+    /** Elimina el recálculo pendiente solo si no recibió nuevos ajustes desde que fue leído. */
+    @Modifying
+    @Query(
+            "DELETE FROM bank.recalculo_pendiente WHERE cuenta_id = :accountId::uuid AND version ="
+                    + " :version")
+    Mono<Long> deleteByAccountIdAndVersion(UUID accountId, Long version);
+}
@@ -6,7 +6,11 @@ import com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.api.AccountsAp
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.dto.CuentaCreateDto;
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.dto.CuentaDto;
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.dto.CuentaUpdateDto;
+import com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.dto.SaldoCuentaDto;
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.mapper.AccountMapper;
+import com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.mapper.NdjsonNegotiation;
+import com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.mapper.PageCursorCodec;
+import java.time.LocalDate;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -52,13 +56,46 @@ public class AccountController implements AccountsApi {
                 .map(ResponseEntity::ok);
     }
 
+    @Override
+    public Mono<ResponseEntity<SaldoCuentaDto>> getAccountBalanceAsOf(
+            String numeroCuenta, LocalDate fecha, ServerWebExchange exchange) {
+        return inputPort
+                .getBalanceAsOf(numeroCuenta, fecha)
+                .map(
+                        balance ->
+                                new SaldoCuentaDto()
+                                        .numeroCuenta(Long.valueOf(numeroCuenta))
+                                        .fecha(fecha)
+                                        .saldo(balance))
+                .map(ResponseEntity::ok);
+    }
+
     @Override
     public Mono<ResponseEntity<Flux<CuentaDto>>> listAccounts(
-            UUID clienteId, Integer page, Integer size, ServerWebExchange exchange) {
+            UUID clienteId, Integer page, Integer size, String cursor, ServerWebExchange exchange) {
 
-        return Mono.just(
-                ResponseEntity.ok(
-                        inputPort.listAccounts(clienteId, page, size).map(mapper::toDto)));
+        if (NdjsonNegotiation.requested(exchange.getRequest().getHeaders())) {
+            // Todas las cuentas, sin page ni size, escritas a medida que llegan de la base
+            return Mono.fromSupplier(
+                    () ->
+                            NdjsonNegotiation.ok(
+                                    inputPort
+                                            .streamAccounts(
+                                                    clienteId, PageCursorCodec.decode(cursor))
+                                            .map(mapper::toDto)));
+        }
+
+        return Mono.defer(
+                        () ->
+                                inputPort.listAccounts(
+                                        clienteId, page, PageCursorCodec.decode(cursor), size))
+                .map(
+                        result ->
+                                ResponseEntity.ok()
+                                        .headers(PageCursorCodec.headers(result))
+                                        .body(
+                                                Flux.fromIterable(result.getItems())
+                                                        .map(mapper::toDto)));
     }
 
     @Override
@@ -6,6 +6,7 @@ import com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.dto.ClienteCre
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.dto.ClienteDto;
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.dto.ClienteUpdateDto;
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.mapper.ClientMapper;
+import com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.mapper.PageCursorCodec;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -48,23 +49,15 @@ public class ClientController implements ClientsApi {
 
     @Override
     public Mono<ResponseEntity<Flux<ClienteDto>>> listClients(
-            Integer page, Integer size, ServerWebExchange exchange) {
-        int pageNumber = page != null ? page : 0;
-        int pageSize = size != null ? size : 20;
-
-        long skip = (long) pageNumber * pageSize;
-
-        return Mono.just(
-                ResponseEntity.ok(
-                        inputPort
-                                .getAllClients()
-                                .sort(
-                                        (client1, client2) ->
-                                                client2.getCreatedAt()
-                                                        .compareTo(client1.getCreatedAt()))
-                                .skip(skip)
-                                .take(pageSize)
-                                .map(mapper::toDto)));
+            Integer page, Integer size, String cursor, ServerWebExchange exchange) {
+        return Mono.defer(() -> inputPort.listClients(page, PageCursorCodec.decode(cursor), size))
+                .map(
+                        result ->
+                                ResponseEntity.ok()
+                                        .headers(PageCursorCodec.headers(result))
+                                        .body(
+                                                Flux.fromIterable(result.getItems())
+                                                        .map(mapper::toDto)));
     }
 
     @Override
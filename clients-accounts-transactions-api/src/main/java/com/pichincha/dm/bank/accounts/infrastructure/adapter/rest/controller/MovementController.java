@@ -9,6 +9,9 @@ import com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.dto.Movimiento
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.dto.MovimientoDto;
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.dto.MovimientoUpdateDto;
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.mapper.MovementMapper;
+import com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.mapper.NdjsonNegotiation;
+import com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.mapper.PageCursorCodec;
+import com.pichincha.dm.bank.accounts.infrastructure.sequencer.MovementSequencer;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.UUID;
@@ -31,13 +34,18 @@ public class MovementController implements MovementsApi {
     private final MovementInputPort inputPort;
     private final MovementMapper mapper;
     private final ObjectMapper objectMapper;
+    private final MovementSequencer movementSequencer;
 
     @Override
     public Mono<ResponseEntity<MovimientoDto>> createMovement(
             Mono<MovimientoCreateDto> movimientoCreateDto, ServerWebExchange exchange) {
         return movimientoCreateDto
                 .map(mapper::toDomain)
-                .flatMap(inputPort::createMovement)
+                .flatMap(
+                        movement ->
+                                movementSequencer.submit(
+                                        movement.getAccountId(),
+                                        () -> inputPort.createMovement(movement)))
                 .map(mapper::toDto)
                 .map(dto -> ResponseEntity.status(HttpStatus.CREATED).body(dto));
     }
@@ -46,7 +54,12 @@ public class MovementController implements MovementsApi {
     public Mono<ResponseEntity<Void>> deleteMovement(
             UUID movimientoId, ServerWebExchange exchange) {
         return inputPort
-                .deleteMovement(movimientoId)
+                .getMovementById(movimientoId)
+                .flatMap(
+                        movement ->
+                                movementSequencer.submit(
+                                        movement.getAccountId(),
+                                        () -> inputPort.deleteMovement(movimientoId)))
                 .then(Mono.just(ResponseEntity.noContent().<Void>build()));
     }
 
@@ -64,19 +77,41 @@ public class MovementController implements MovementsApi {
             LocalDate fechaHasta,
             Integer page,
             Integer size,
+            String cursor,
             ServerWebExchange exchange) {
 
-        return Mono.just(
-                ResponseEntity.ok(
-                        inputPort
-                                .listMovements(
+        if (NdjsonNegotiation.requested(exchange.getRequest().getHeaders())) {
+            // Todo el rango, sin page ni size, escrito a medida que llega de la base
+            return Mono.fromSupplier(
+                    () ->
+                            NdjsonNegotiation.ok(
+                                    inputPort
+                                            .streamMovements(
+                                                    clienteId,
+                                                    toAccountNumber(numeroCuenta),
+                                                    fechaDesde,
+                                                    fechaHasta,
+                                                    PageCursorCodec.decode(cursor))
+                                            .map(mapper::toDto)));
+        }
+
+        return Mono.defer(
+                        () ->
+                                inputPort.listMovements(
                                         clienteId,
-                                        Long.valueOf(numeroCuenta),
+                                        toAccountNumber(numeroCuenta),
                                         fechaDesde,
                                         fechaHasta,
                                         page,
-                                        size)
-                                .map(mapper::toDto)));
+                                        PageCursorCodec.decode(cursor),
+                                        size))
+                .map(
+                        result ->
+                                ResponseEntity.ok()
+                                        .headers(PageCursorCodec.headers(result))
+                                        .body(
+                                                Flux.fromIterable(result.getItems())
+                                                        .map(mapper::toDto)));
     }
 
     @Override
@@ -93,11 +128,19 @@ public class MovementController implements MovementsApi {
                             MovimientoUpdateDto updateDto = tuple.getT2();
                             return getMovementToUpdate(existing, updateDto);
                         })
-                .flatMap(inputPort::updateMovement)
+                .flatMap(
+                        movement ->
+                                movementSequencer.submit(
+                                        movement.getAccountId(),
+                                        () -> inputPort.updateMovement(movement)))
                 .map(mapper::toDto)
                 .map(ResponseEntity::ok);
     }
 
+    private static Long toAccountNumber(String numeroCuenta) {
+        return numeroCuenta != null ? Long.valueOf(numeroCuenta) : null;
+    }
+
     private static Movement getMovementToUpdate(Movement existing, MovimientoUpdateDto updateDto) {
         return Movement.builder()
                 .id(existing.getId())
@@ -1,13 +1,17 @@
 package com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.controller;
 
 import com.pichincha.dm.bank.accounts.application.port.input.ReportInputPort;
+import com.pichincha.dm.bank.accounts.domain.enums.ReportDetail;
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.api.ReportsApi;
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.dto.GenerateReport200Response;
+import com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.dto.PdfDocumentResource;
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.dto.PdfReportResponseDto;
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.mapper.ReportMapper;
 import java.time.LocalDate;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -28,31 +32,36 @@ public class ReportController implements ReportsApi {
             LocalDate fechaDesde,
             LocalDate fechaHasta,
             String formato,
+            String detalle,
             ServerWebExchange exchange) {
 
+        ReportDetail detail = ReportDetail.valueOf(detalle.toUpperCase());
         return switch (formato.toLowerCase()) {
-            case "json" -> generateJsonReport(clienteId, fechaDesde, fechaHasta);
-            case "pdf" -> generatePdfReport(clienteId, fechaDesde, fechaHasta);
+            case "json" -> generateJsonReport(clienteId, fechaDesde, fechaHasta, detail);
+            case "pdf" -> acceptsBinaryPdf(exchange)
+                    ? generatePdfDocument(clienteId, fechaDesde, fechaHasta, detail)
+                    : generatePdfReport(clienteId, fechaDesde, fechaHasta, detail);
+            case "pdfbase64" -> generatePdfReport(clienteId, fechaDesde, fechaHasta, detail);
             default -> Mono.error(
                     new IllegalArgumentException(
                             "Formato no soportado: "
                                     + formato
-                                    + ". Formatos disponibles: json, pdf"));
+                                    + ". Formatos disponibles: json, pdf, pdfBase64"));
         };
     }
 
     private Mono<ResponseEntity<GenerateReport200Response>> generateJsonReport(
-            UUID clienteId, LocalDate fechaDesde, LocalDate fechaHasta) {
+            UUID clienteId, LocalDate fechaDesde, LocalDate fechaHasta, ReportDetail detail) {
         return reportInputPort
-                .generateReport(clienteId, fechaDesde, fechaHasta)
+                .generateReport(clienteId, fechaDesde, fechaHasta, detail)
                 .map(reportMapper::toDto)
                 .map(ResponseEntity::ok);
     }
 
     private Mono<ResponseEntity<GenerateReport200Response>> generatePdfReport(
-            UUID clienteId, LocalDate fechaDesde, LocalDate fechaHasta) {
+            UUID clienteId, LocalDate fechaDesde, LocalDate fechaHasta, ReportDetail detail) {
         return reportInputPort
-                .generateFormattedReport(clienteId, fechaDesde, fechaHasta, "pdf")
+                .generateFormattedReport(clienteId, fechaDesde, fechaHasta, "pdf", detail)
                 .map(
                         pdfBase64Content -> {
                             PdfReportResponseDto pdfResponse =
@@ -62,4 +71,43 @@ public class ReportController implements ReportsApi {
                                     .body(pdfResponse);
                         });
     }
+
+    /**
+     * Solo se entrega el PDF binario si el cliente lo pide explícitamente; los comodines conservan
+     * la respuesta JSON con Base64 para no romper a los consumidores existentes.
+     */
+    private boolean acceptsBinaryPdf(ServerWebExchange exchange) {
+        return exchange.getRequest().getHeaders().getAccept().stream()
+                .anyMatch(MediaType.APPLICATION_PDF::equalsTypeAndSubtype);
+    }
+
+    /**
+     * Entrega el PDF binario como recurso dentro de la respuesta, con su tipo y nombre de archivo.
+     * Si la generación falla no hay cabeceras fijadas y el error se responde por el manejador
+     * global.
+     */
+    private Mono<ResponseEntity<GenerateReport200Response>> generatePdfDocument(
+            UUID clienteId, LocalDate fechaDesde, LocalDate fechaHasta, ReportDetail detail) {
+        return reportInputPort
+                .generatePdfDocument(clienteId, fechaDesde, fechaHasta, detail)
+                .map(
+                        pdfBytes ->
+                                ResponseEntity.ok()
+                                        .contentType(MediaType.APPLICATION_PDF)
+                                        .headers(
+                                                headers ->
+                                                        headers.setContentDisposition(
+                                                                ContentDisposition.attachment()
+                                                                        .filename(
+                                                                                pdfFileName(
+                                                                                        clienteId,
+                                                                                        fechaDesde,
+                                                                                        fechaHasta))
+                                                                        .build()))
+                                        .body(new PdfDocumentResource(pdfBytes)));
+    }
+
+    private String pdfFileName(UUID clienteId, LocalDate fechaDesde, LocalDate fechaHasta) {
+        return "estado-cuenta-" + clienteId + "-" + fechaDesde + "-" + fechaHasta + ".pdf";
+    }
 }
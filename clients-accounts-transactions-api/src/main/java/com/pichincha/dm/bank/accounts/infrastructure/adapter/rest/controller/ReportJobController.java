@@ -0,0 +1,87 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.controller;
+
+import com.pichincha.dm.bank.accounts.application.port.input.ReportJobInputPort;
+import com.pichincha.dm.bank.accounts.domain.enums.ReportDetail;
+import com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.api.ReportJobsApi;
+import com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.dto.ReporteTrabajoCreateDto;
+import com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.dto.ReporteTrabajoDto;
+import com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.mapper.ReportJobMapper;
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class ReportJobController implements ReportJobsApi {
+
+    private final ReportJobInputPort reportJobInputPort;
+    private final ReportJobMapper reportJobMapper;
+
+    @Override
+    public Mono<ResponseEntity<ReporteTrabajoDto>> submitReportJob(
+            Mono<ReporteTrabajoCreateDto> reporteTrabajoCreateDto, ServerWebExchange exchange) {
+        return reporteTrabajoCreateDto
+                .flatMap(
+                        request ->
+                                reportJobInputPort.submitJob(
+                                        request.getClienteId(),
+                                        request.getFechaDesde(),
+                                        request.getFechaHasta(),
+                                        request.getFormato().getValue(),
+                                        ReportDetail.valueOf(request.getDetalle().name())))
+                .map(reportJobMapper::toDto)
+                .map(
+                        job ->
+                                ResponseEntity.accepted()
+                                        .location(
+                                                URI.create("/api/reportes/trabajos/" + job.getId()))
+                                        .body(job));
+    }
+
+    @Override
+    public Mono<ResponseEntity<ReporteTrabajoDto>> getReportJob(
+            UUID trabajoId, Integer esperarSegundos, ServerWebExchange exchange) {
+        Duration maxWait = Duration.ofSeconds(esperarSegundos != null ? esperarSegundos : 0);
+        return reportJobInputPort
+                .awaitJob(trabajoId, maxWait)
+                .map(reportJobMapper::toDto)
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Entrega el archivo del resultado como {@link FileSystemResource}: el escritor de recursos de
+     * WebFlux lo envía con zero-copy (sendfile) desde el disco, sin cargarlo en el heap, y atiende
+     * solicitudes Range para reanudar descargas.
+     */
+    @Override
+    public Mono<ResponseEntity<Resource>> downloadReportJobResult(
+            UUID trabajoId, ServerWebExchange exchange) {
+        return reportJobInputPort
+                .getJobResult(trabajoId)
+                .map(
+                        result ->
+                                ResponseEntity.ok()
+                                        .contentType(
+                                                MediaType.parseMediaType(result.getContentType()))
+                                        .headers(
+                                                headers ->
+                                                        headers.setContentDisposition(
+                                                                ContentDisposition.attachment()
+                                                                        .filename(
+                                                                                result
+                                                                                        .getFileName())
+                                                                        .build()))
+                                        .body(new FileSystemResource(result.getFile())));
+    }
+}
@@ -0,0 +1,15 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.dto;
+
+import org.springframework.core.io.ByteArrayResource;
+
+/**
+ * PDF binario como cuerpo de la respuesta del reporte. WebFlux elige el escritor según el tipo real
+ * del cuerpo, de modo que se escribe con el de recursos: Content-Length, solicitudes Range y
+ * bloques de lectura acotados, sin escribir a mano sobre la respuesta.
+ */
+public class PdfDocumentResource extends ByteArrayResource implements GenerateReport200Response {
+
+    public PdfDocumentResource(byte[] pdfBytes) {
+        super(pdfBytes, "Estado de cuenta PDF");
+    }
+}
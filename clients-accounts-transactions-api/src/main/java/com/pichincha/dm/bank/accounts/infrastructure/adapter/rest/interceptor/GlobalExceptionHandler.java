@@ -1,33 +1,44 @@
 package com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.interceptor;
 
 import com.pichincha.dm.bank.accounts.domain.exception.GeneralApplicationException;
+import com.pichincha.dm.bank.accounts.domain.exception.ReportRenderRejectedException;
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.dto.ErrorDto;
 import java.time.OffsetDateTime;
 import java.util.List;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.server.ServerWebExchange;
 
+/**
+ * Responde los errores como {@link ErrorDto} en JSON. Si el cliente no acepta JSON (por ejemplo,
+ * pidió el reporte con {@code Accept: application/pdf}) se responde el mismo error como {@code
+ * application/problem+json}; el tipo se fija explícitamente para que la negociación de contenido no
+ * convierta el error en un 406.
+ */
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
     @ExceptionHandler(GeneralApplicationException.class)
-    public ResponseEntity<ErrorDto> handleGeneralApplicationException(
-            GeneralApplicationException ex) {
-        ErrorDto errorDto =
-                new ErrorDto(
-                        OffsetDateTime.now(),
-                        ex.getStatusCode().value(),
-                        ex.getMessage(),
-                        ex.getBusinessMessage());
-        errorDto.setCode(ex.getStatusCode().toString());
-        errorDto.setDetails(List.of());
-        return ResponseEntity.status(ex.getStatusCode()).body(errorDto);
+    public ResponseEntity<Object> handleGeneralApplicationException(
+            GeneralApplicationException ex, ServerWebExchange exchange) {
+        return toResponse(exchange, new HttpHeaders(), toErrorDto(ex));
+    }
+
+    @ExceptionHandler(ReportRenderRejectedException.class)
+    public ResponseEntity<Object> handleReportRenderRejectedException(
+            ReportRenderRejectedException ex, ServerWebExchange exchange) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfter().toSeconds()));
+        return toResponse(exchange, headers, toErrorDto(ex));
     }
 
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<ErrorDto> handleGenericException(Exception ex) {
+    public ResponseEntity<Object> handleGenericException(Exception ex, ServerWebExchange exchange) {
         ErrorDto errorDto =
                 new ErrorDto(
                         OffsetDateTime.now(),
@@ -36,6 +47,44 @@ public class GlobalExceptionHandler {
                         "An unexpected error occurred");
         errorDto.setCode(HttpStatusCode.valueOf(500).toString());
         errorDto.setDetails(List.of());
-        return ResponseEntity.status(500).body(errorDto);
+        return toResponse(exchange, new HttpHeaders(), errorDto);
+    }
+
+    private ResponseEntity<Object> toResponse(
+            ServerWebExchange exchange, HttpHeaders headers, ErrorDto errorDto) {
+        ResponseEntity.BodyBuilder response =
+                ResponseEntity.status(errorDto.getStatus()).headers(headers);
+        if (acceptsJson(exchange)) {
+            return response.contentType(MediaType.APPLICATION_JSON).body(errorDto);
+        }
+        return response.contentType(MediaType.APPLICATION_PROBLEM_JSON).body(toProblem(errorDto));
+    }
+
+    private boolean acceptsJson(ServerWebExchange exchange) {
+        List<MediaType> accepted = exchange.getRequest().getHeaders().getAccept();
+        return accepted.isEmpty()
+                || accepted.stream().anyMatch(MediaType.APPLICATION_JSON::isCompatibleWith);
+    }
+
+    private ProblemDetail toProblem(ErrorDto errorDto) {
+        ProblemDetail problem =
+                ProblemDetail.forStatusAndDetail(
+                        HttpStatusCode.valueOf(errorDto.getStatus()), errorDto.getMessage());
+        problem.setProperty("code", errorDto.getCode());
+        problem.setProperty("error", errorDto.getError());
+        problem.setProperty("timestamp", errorDto.getTimestamp());
+        return problem;
+    }
+
+    private ErrorDto toErrorDto(GeneralApplicationException ex) {
+        ErrorDto errorDto =
+                new ErrorDto(
+                        OffsetDateTime.now(),
+                        ex.getStatusCode().value(),
+                        ex.getMessage(),
+                        ex.getBusinessMessage());
+        errorDto.setCode(ex.getStatusCode().toString());
+        errorDto.setDetails(List.of());
+        return errorDto;
     }
 }
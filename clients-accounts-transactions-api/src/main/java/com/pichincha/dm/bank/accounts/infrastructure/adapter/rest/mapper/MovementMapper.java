@@ -29,6 +29,7 @@ public interface MovementMapper {
             target = "createdAt",
             source = "createdAt",
             qualifiedByName = "localDateTimeToOffsetDateTime")
+    @Mapping(target = "saldoPostMovimientoPendiente", source = "postMovementBalanceStale")
     MovimientoDto toDto(Movement movement);
 
     @Mapping(target = "id", ignore = true)
@@ -39,6 +40,7 @@ public interface MovementMapper {
     @Mapping(target = "postMovementBalance", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "account", ignore = true)
+    @Mapping(target = "postMovementBalanceStale", ignore = true)
     Movement toDomain(MovimientoCreateDto createDto);
 
     @Mapping(target = "id", ignore = true)
@@ -49,6 +51,7 @@ public interface MovementMapper {
     @Mapping(target = "postMovementBalance", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "account", ignore = true)
+    @Mapping(target = "postMovementBalanceStale", ignore = true)
     Movement toDomain(MovimientoUpdateDto updateDto);
 
     @Named("localDateTimeToOffsetDateTime")
@@ -0,0 +1,36 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.mapper;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Flux;
+
+/**
+ * Decide si un listado se entrega como arreglo JSON paginado o como flujo NDJSON ({@code
+ * application/x-ndjson}): una línea por elemento, escrita y enviada a medida que llega de la base.
+ */
+public final class NdjsonNegotiation {
+
+    private NdjsonNegotiation() {}
+
+    /**
+     * NDJSON solo si el encabezado Accept lo nombra explícitamente con al menos la misma
+     * preferencia que JSON; los comodines siguen recibiendo el arreglo JSON.
+     */
+    public static boolean requested(HttpHeaders headers) {
+        double ndjson = quality(headers, MediaType.APPLICATION_NDJSON);
+        return ndjson > 0 && ndjson >= quality(headers, MediaType.APPLICATION_JSON);
+    }
+
+    public static <T> ResponseEntity<Flux<T>> ok(Flux<T> body) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private static double quality(HttpHeaders headers, MediaType mediaType) {
+        return headers.getAccept().stream()
+                .filter(mediaType::equalsTypeAndSubtype)
+                .mapToDouble(MediaType::getQualityValue)
+                .max()
+                .orElse(0);
+    }
+}
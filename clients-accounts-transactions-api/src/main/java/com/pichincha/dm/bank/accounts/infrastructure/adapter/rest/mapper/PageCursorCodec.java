@@ -0,0 +1,60 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.mapper;
+
+import com.pichincha.dm.bank.accounts.domain.CursorPage;
+import com.pichincha.dm.bank.accounts.domain.PageCursor;
+import com.pichincha.dm.bank.accounts.domain.exception.GeneralApplicationException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Convierte el cursor de paginación en el texto opaco que viaja en el encabezado {@value
+ * #NEXT_CURSOR_HEADER} y en el parámetro {@code cursor}, y viceversa.
+ */
+public final class PageCursorCodec {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Cursor-Siguiente";
+
+    private static final String SEPARATOR = "|";
+
+    private PageCursorCodec() {}
+
+    public static String encode(PageCursor cursor) {
+        String raw = cursor.getPosition() + SEPARATOR + cursor.getId();
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Retorna null si no se envió cursor. */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return PageCursor.builder()
+                    .position(LocalDateTime.parse(raw.substring(0, separator)))
+                    .id(UUID.fromString(raw.substring(separator + 1)))
+                    .build();
+        } catch (RuntimeException e) {
+            throw new GeneralApplicationException(
+                    "Invalid page cursor: " + token,
+                    "Cursor de paginación inválido",
+                    HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /** Encabezados de la respuesta; vacíos cuando la página es la última. */
+    public static HttpHeaders headers(CursorPage<?> page) {
+        HttpHeaders headers = new HttpHeaders();
+        if (page.hasNext()) {
+            headers.set(NEXT_CURSOR_HEADER, encode(page.getNext()));
+        }
+        return headers;
+    }
+}
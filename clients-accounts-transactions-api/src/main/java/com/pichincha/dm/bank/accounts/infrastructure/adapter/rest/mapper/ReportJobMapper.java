@@ -0,0 +1,50 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.mapper;
+
+import com.pichincha.dm.bank.accounts.domain.ReportJob;
+import com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.dto.ReporteTrabajoDto;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.Named;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(
+        componentModel = MappingConstants.ComponentModel.SPRING,
+        unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface ReportJobMapper {
+
+    @Mapping(target = "clienteId", source = "clientId")
+    @Mapping(target = "fechaDesde", source = "startDate")
+    @Mapping(target = "fechaHasta", source = "endDate")
+    @Mapping(target = "formato", source = "format", qualifiedByName = "formatToFormatoEnum")
+    @Mapping(target = "detalle", source = "detail")
+    @Mapping(target = "estado", source = "status")
+    @Mapping(target = "tamanoBytes", source = "sizeBytes")
+    @Mapping(target = "error", source = "errorMessage")
+    @Mapping(
+            target = "creadoEn",
+            source = "createdAt",
+            qualifiedByName = "localDateTimeToOffsetDateTime")
+    @Mapping(
+            target = "completadoEn",
+            source = "completedAt",
+            qualifiedByName = "localDateTimeToOffsetDateTime")
+    @Mapping(
+            target = "expiraEn",
+            source = "expiresAt",
+            qualifiedByName = "localDateTimeToOffsetDateTime")
+    ReporteTrabajoDto toDto(ReportJob reportJob);
+
+    @Named("formatToFormatoEnum")
+    default ReporteTrabajoDto.FormatoEnum formatToFormatoEnum(String format) {
+        return format != null ? ReporteTrabajoDto.FormatoEnum.fromValue(format) : null;
+    }
+
+    @Named("localDateTimeToOffsetDateTime")
+    default OffsetDateTime localDateTimeToOffsetDateTime(LocalDateTime localDateTime) {
+        return localDateTime != null ? localDateTime.atOffset(ZoneOffset.of("-05:00")) : null;
+    }
+}
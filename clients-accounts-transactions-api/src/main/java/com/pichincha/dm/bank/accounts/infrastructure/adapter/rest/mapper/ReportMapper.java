@@ -30,6 +30,8 @@ public interface ReportMapper {
     @Mapping(target = "saldoActual", source = "currentBalance")
     @Mapping(target = "totalDebitos", source = "totalDebits")
     @Mapping(target = "totalCreditos", source = "totalCredits")
+    @Mapping(target = "cantidadDebitos", source = "debitCount")
+    @Mapping(target = "cantidadCreditos", source = "creditCount")
     @Mapping(target = "movimientos", source = "movements")
     AccountSummaryDto toAccountSummaryDto(Report.AccountSummary accountSummary);
 
@@ -42,6 +44,8 @@ public interface ReportMapper {
     @Mapping(target = "valor", source = "amount")
     @Mapping(target = "saldoPostMovimiento", source = "balanceAfterTransaction")
     @Mapping(target = "createdAt", ignore = true) // No tenemos createdAt en MovementSummary
+    // El reporte no marca saldos pendientes de recálculo
+    @Mapping(target = "saldoPostMovimientoPendiente", ignore = true)
     MovimientoDto toMovimientoDto(Report.MovementSummary movementSummary);
 
     default OffsetDateTime localDateToOffsetDateTime(LocalDate localDate) {
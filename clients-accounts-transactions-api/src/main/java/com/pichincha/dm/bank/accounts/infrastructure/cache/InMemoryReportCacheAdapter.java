@@ -0,0 +1,266 @@
+package com.pichincha.dm.bank.accounts.infrastructure.cache;
+
+import com.pichincha.dm.bank.accounts.application.port.output.ReportCacheOutputPort;
+import com.pichincha.dm.bank.accounts.domain.Report;
+import com.pichincha.dm.bank.accounts.domain.ReportCacheKey;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+
+/**
+ * Caché LRU de reportes generados, acotada por cantidad de entradas y por el tamaño estimado de lo
+ * guardado, ya que un PDF en base64 puede ocupar varios MB. Cada generación en curso reserva su
+ * entrada; si el cliente se invalida o la entrada se desaloja antes de terminar, el resultado no se
+ * guarda, de modo que un reporte leído antes de una escritura nunca sobrevive a su invalidación.
+ * Las cuentas de los reportes guardados se indexan por cliente para invalidar a partir de una
+ * cuenta sin consultar la base.
+ */
+@Slf4j
+@Component
+public class InMemoryReportCacheAdapter implements ReportCacheOutputPort {
+
+    private static final String REQUESTS_METRIC = "bank.reports.cache.requests";
+    private static final long ACCOUNT_BYTES = 256;
+    private static final long MOVEMENT_BYTES = 192;
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private long storedBytes;
+    private final Map<ReportCacheKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<UUID, UUID> accountClients = new HashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public InMemoryReportCacheAdapter(
+            MeterRegistry meterRegistry,
+            @Value("${bank.reports.cache.max-entries:256}") int maxEntries,
+            @Value("${bank.reports.cache.max-bytes:64MB}") DataSize maxBytes) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes.toBytes();
+        this.hits =
+                Counter.builder(REQUESTS_METRIC)
+                        .tag("result", "hit")
+                        .description("Report requests answered from the cache")
+                        .register(meterRegistry);
+        this.misses =
+                Counter.builder(REQUESTS_METRIC)
+                        .tag("result", "miss")
+                        .description("Report requests that had to generate the report")
+                        .register(meterRegistry);
+        this.evictions =
+                Counter.builder("bank.reports.cache.evictions")
+                        .description(
+                                "Cached reports dropped to stay within max-entries or max-bytes")
+                        .register(meterRegistry);
+        Gauge.builder("bank.reports.cache.size", this, InMemoryReportCacheAdapter::size)
+                .description("Cached or in-progress reports")
+                .register(meterRegistry);
+        Gauge.builder("bank.reports.cache.bytes", this, InMemoryReportCacheAdapter::bytes)
+                .description("Estimated size of the cached reports")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> getOrLoad(ReportCacheKey key, Supplier<Mono<T>> loader) {
+        if (maxEntries <= 0 || maxBytes <= 0) {
+            return Mono.defer(loader);
+        }
+
+        return Mono.defer(
+                () -> {
+                    Entry reserved;
+                    synchronized (entries) {
+                        Entry cached = entries.get(key);
+                        if (cached != null && cached.value != null) {
+                            hits.increment();
+                            return Mono.just((T) cached.value);
+                        }
+                        reserved = new Entry();
+                        entries.put(key, reserved);
+                        evictOverflow();
+                    }
+
+                    misses.increment();
+                    return loader.get()
+                            .doOnSuccess(value -> store(key, reserved, value))
+                            .doOnError(error -> release(key, reserved))
+                            .doOnCancel(() -> release(key, reserved));
+                });
+    }
+
+    @Override
+    public Mono<Void> invalidateClient(UUID clientId) {
+        return Mono.fromRunnable(
+                () -> {
+                    synchronized (entries) {
+                        removeEntries(key -> clientId.equals(key.getClientId()), clientId);
+                    }
+                });
+    }
+
+    @Override
+    public Mono<Void> invalidateAccount(UUID accountId) {
+        return Mono.fromRunnable(
+                () -> {
+                    synchronized (entries) {
+                        UUID clientId = accountClients.get(accountId);
+                        if (clientId != null) {
+                            removeEntries(key -> clientId.equals(key.getClientId()), clientId);
+                        } else {
+                            // Cuenta sin reportes guardados: solo pueden estar afectados los que
+                            // aún se generan, cuyas cuentas todavía no se conocen; se anota para
+                            // descartarlos al terminar si resultan incluir la cuenta
+                            entries.values().stream()
+                                    .filter(entry -> entry.value == null)
+                                    .forEach(entry -> entry.invalidatedAccounts.add(accountId));
+                        }
+                    }
+                });
+    }
+
+    private void removeEntries(Predicate<ReportCacheKey> matches, UUID clientId) {
+        int removed = 0;
+        Iterator<Map.Entry<ReportCacheKey, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<ReportCacheKey, Entry> cached = iterator.next();
+            if (matches.test(cached.getKey())) {
+                storedBytes -= cached.getValue().bytes;
+                iterator.remove();
+                removed++;
+            }
+        }
+        accountClients.values().removeIf(clientId::equals);
+        if (removed > 0) {
+            log.debug("Invalidated {} cached reports for client {}", removed, clientId);
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<ReportCacheKey, Entry>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || storedBytes > maxBytes) && eldest.hasNext()) {
+            Map.Entry<ReportCacheKey, Entry> cached = eldest.next();
+            // Desalojar una generación en curso no libera memoria; solo cuenta para max-entries
+            if (entries.size() <= maxEntries && cached.getValue().value == null) {
+                continue;
+            }
+            UUID clientId = cached.getKey().getClientId();
+            storedBytes -= cached.getValue().bytes;
+            eldest.remove();
+            evictions.increment();
+            if (entries.keySet().stream().noneMatch(key -> clientId.equals(key.getClientId()))) {
+                accountClients.values().removeIf(clientId::equals);
+            }
+        }
+    }
+
+    private void store(ReportCacheKey key, Entry reserved, Object value) {
+        if (value == null) {
+            release(key, reserved);
+            return;
+        }
+        long bytes = estimateBytes(value);
+        synchronized (entries) {
+            if (entries.get(key) != reserved) {
+                return;
+            }
+            if (bytes > maxBytes || isInvalidated(key, reserved, value)) {
+                entries.remove(key, reserved);
+                return;
+            }
+            reserved.value = value;
+            reserved.bytes = bytes;
+            storedBytes += bytes;
+            if (value instanceof Report report && report.getAccounts() != null) {
+                report.getAccounts()
+                        .forEach(
+                                account ->
+                                        accountClients.put(
+                                                account.getAccountId(), key.getClientId()));
+            }
+            evictOverflow();
+        }
+    }
+
+    /**
+     * Si alguna cuenta invalidada durante la generación pertenece al resultado. Los formatos se
+     * construyen a partir del reporte de dominio del mismo cliente y periodo, guardado bajo el
+     * formato nulo; si ya no está, no se puede descartar que esté afectado.
+     */
+    private boolean isInvalidated(ReportCacheKey key, Entry reserved, Object value) {
+        if (reserved.invalidatedAccounts.isEmpty()) {
+            return false;
+        }
+        Object source = value;
+        if (!(value instanceof Report)) {
+            Entry report = entries.get(key.toBuilder().format(null).build());
+            source = report != null ? report.value : null;
+        }
+        if (!(source instanceof Report report)) {
+            return true;
+        }
+        List<Report.AccountSummary> accounts =
+                report.getAccounts() != null ? report.getAccounts() : List.of();
+        return accounts.stream()
+                .anyMatch(account -> reserved.invalidatedAccounts.contains(account.getAccountId()));
+    }
+
+    /** Tamaño aproximado en memoria; los reportes de dominio se estiman por cuenta y movimiento. */
+    static long estimateBytes(Object value) {
+        if (value instanceof byte[] bytes) {
+            return bytes.length;
+        }
+        if (value instanceof String text) {
+            return text.length();
+        }
+        if (value instanceof Report report && report.getAccounts() != null) {
+            long bytes = 0;
+            for (Report.AccountSummary account : report.getAccounts()) {
+                int movements = account.getMovements() != null ? account.getMovements().size() : 0;
+                bytes += ACCOUNT_BYTES + movements * MOVEMENT_BYTES;
+            }
+            return bytes;
+        }
+        return ACCOUNT_BYTES;
+    }
+
+    private void release(ReportCacheKey key, Entry reserved) {
+        synchronized (entries) {
+            entries.remove(key, reserved);
+        }
+    }
+
+    private int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private long bytes() {
+        synchronized (entries) {
+            return storedBytes;
+        }
+    }
+
+    private static final class Entry {
+        private volatile Object value;
+        private long bytes;
+        private final Set<UUID> invalidatedAccounts = new HashSet<>();
+    }
+}
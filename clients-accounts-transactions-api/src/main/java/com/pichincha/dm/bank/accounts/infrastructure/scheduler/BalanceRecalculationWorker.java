@@ -0,0 +1,68 @@
+package com.pichincha.dm.bank.accounts.infrastructure.scheduler;
+
+import com.pichincha.dm.bank.accounts.application.service.BalanceRecalculationService;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Procesa periódicamente los recálculos de saldo pendientes cuando el modo de recálculo es
+ * diferido.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "bank.movements.recalculation.mode", havingValue = "DEFERRED")
+public class BalanceRecalculationWorker {
+
+    private final BalanceRecalculationService balanceRecalculationService;
+
+    @Value("${bank.movements.recalculation.worker.interval:5s}")
+    private Duration interval;
+
+    @Value("${bank.movements.recalculation.worker.batch-size:50}")
+    private int batchSize;
+
+    private Disposable subscription;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        subscription =
+                Flux.interval(interval)
+                        .onBackpressureDrop()
+                        .concatMap(tick -> processBatch(), 1)
+                        .subscribe();
+    }
+
+    Mono<Long> processBatch() {
+        return balanceRecalculationService
+                .processPendingRecalculations(batchSize)
+                .doOnNext(
+                        rows -> {
+                            if (rows > 0) {
+                                log.info("Deferred recalculation rewrote {} movements", rows);
+                            }
+                        })
+                .onErrorResume(
+                        error -> {
+                            log.error("Deferred balance recalculation failed", error);
+                            return Mono.empty();
+                        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.pichincha.dm.bank.accounts.infrastructure.scheduler;
+
+import com.pichincha.dm.bank.accounts.application.port.input.StatementBatchInputPort;
+import com.pichincha.dm.bank.accounts.domain.StatementBatchResult;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.YearMonth;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Revisa periódicamente si el mes anterior ya tiene sus estados de cuenta archivados y, si no,
+ * corre el cierre. Tras una caída, la siguiente revisión retoma la corrida con los clientes
+ * pendientes. Está desactivado por defecto: se habilita en una sola réplica para que el cierre no
+ * corra en paralelo.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "bank.reports.batch.enabled", havingValue = "true")
+public class MonthEndStatementWorker {
+
+    private final StatementBatchInputPort statementBatchInputPort;
+
+    @Value("${bank.reports.batch.initial-delay:1m}")
+    private Duration initialDelay;
+
+    @Value("${bank.reports.batch.check-interval:1h}")
+    private Duration checkInterval;
+
+    private Disposable subscription;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        subscription =
+                Flux.interval(initialDelay, checkInterval)
+                        .onBackpressureDrop()
+                        .concatMap(tick -> closePreviousMonth(), 1)
+                        .subscribe();
+    }
+
+    Mono<StatementBatchResult> closePreviousMonth() {
+        YearMonth period = YearMonth.now().minusMonths(1);
+        return statementBatchInputPort
+                .isPeriodArchived(period)
+                .filter(archived -> !archived)
+                .flatMap(pending -> statementBatchInputPort.runMonthEnd(period))
+                .onErrorResume(
+                        error -> {
+                            log.error("Month-end statement run for {} failed", period, error);
+                            return Mono.empty();
+                        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.pichincha.dm.bank.accounts.infrastructure.scheduler;
+
+import com.pichincha.dm.bank.accounts.application.port.input.ReportJobInputPort;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/** Elimina periódicamente los trabajos de reporte vencidos y sus archivos de resultado. */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReportJobCleanupWorker {
+
+    private final ReportJobInputPort reportJobInputPort;
+
+    @Value("${bank.reports.jobs.cleanup-interval:5m}")
+    private Duration interval;
+
+    private Disposable subscription;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        subscription =
+                Flux.interval(Duration.ZERO, interval)
+                        .onBackpressureDrop()
+                        .concatMap(tick -> purgeExpired(), 1)
+                        .subscribe();
+    }
+
+    Mono<Long> purgeExpired() {
+        return reportJobInputPort
+                .purgeExpiredJobs()
+                .doOnNext(
+                        purged -> {
+                            if (purged > 0) {
+                                log.info("Purged {} expired report jobs", purged);
+                            }
+                        })
+                .onErrorResume(
+                        error -> {
+                            log.error("Report job cleanup failed", error);
+                            return Mono.empty();
+                        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.pichincha.dm.bank.accounts.infrastructure.sequencer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * Serializa las operaciones de escritura de movimientos por cuenta. Cada cuenta se asigna a una
+ * franja con su propia cola sin bloqueos; las operaciones de una franja se ejecutan de una en una y
+ * en orden de llegada, mientras que franjas distintas avanzan en paralelo. Una operación encolada
+ * se ejecuta completa aunque quien la envió cancele su suscripción.
+ */
+@Slf4j
+@Component
+public class MovementSequencer {
+
+    private final Stripe[] stripes;
+    private final AtomicInteger pendingOperations = new AtomicInteger();
+    private final Timer waitTimer;
+    private final Counter hotStripes;
+    private final int hotAccountThreshold;
+
+    public MovementSequencer(
+            MeterRegistry meterRegistry,
+            @Value("${bank.movements.sequencer.stripes:1024}") int stripeCount,
+            @Value("${bank.movements.sequencer.hot-account-threshold:8}") int hotAccountThreshold) {
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.hotAccountThreshold = hotAccountThreshold;
+        this.waitTimer =
+                Timer.builder("bank.movements.sequencer.wait")
+                        .description("Time a movement write waits for its account stripe")
+                        .publishPercentileHistogram()
+                        .register(meterRegistry);
+        Gauge.builder("bank.movements.sequencer.queue.depth", pendingOperations, AtomicInteger::get)
+                .description("Movement writes queued or running across all stripes")
+                .register(meterRegistry);
+        // Por franja y no por cuenta: una etiqueta por cuenta no tiene cardinalidad acotada
+        Gauge.builder("bank.movements.sequencer.queue.depth.max", this, MovementSequencer::maxDepth)
+                .description("Movement writes queued or running on the busiest stripe")
+                .register(meterRegistry);
+        this.hotStripes =
+                Counter.builder("bank.movements.sequencer.hot")
+                        .description("Times a stripe reached the hot-account threshold")
+                        .register(meterRegistry);
+    }
+
+    public <T> Mono<T> submit(UUID accountId, Supplier<Mono<T>> operation) {
+        return Mono.create(
+                sink -> {
+                    Stripe stripe = stripeFor(accountId);
+                    SequencedOperation<T> sequenced = new SequencedOperation<>(operation, sink);
+
+                    int depth = stripe.depth.incrementAndGet();
+                    pendingOperations.incrementAndGet();
+                    // Solo al cruzar el umbral, no mientras la franja siga caliente
+                    if (depth == hotAccountThreshold) {
+                        hotStripes.increment();
+                        log.warn(
+                                "Account {} stripe reached {} queued movement writes",
+                                accountId,
+                                depth);
+                    }
+
+                    stripe.queue.offer(sequenced);
+                    drain(stripe);
+                });
+    }
+
+    private Stripe stripeFor(UUID accountId) {
+        int hash = accountId.hashCode();
+        return stripes[Math.floorMod(hash ^ (hash >>> 16), stripes.length)];
+    }
+
+    private void drain(Stripe stripe) {
+        if (stripe.wip.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missed = 1;
+        do {
+            if (!stripe.active) {
+                SequencedOperation<?> next = stripe.queue.poll();
+                if (next != null) {
+                    stripe.active = true;
+                    next.start(() -> release(stripe));
+                }
+            }
+            missed = stripe.wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private int maxDepth() {
+        return Arrays.stream(stripes).mapToInt(stripe -> stripe.depth.get()).max().orElse(0);
+    }
+
+    private void release(Stripe stripe) {
+        if (stripe.depth.decrementAndGet() == hotAccountThreshold - 1) {
+            log.info("Movement write stripe drained below {} queued writes", hotAccountThreshold);
+        }
+        pendingOperations.decrementAndGet();
+        stripe.active = false;
+        drain(stripe);
+    }
+
+    private static final class Stripe {
+        private final Queue<SequencedOperation<?>> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final AtomicInteger depth = new AtomicInteger();
+        private volatile boolean active;
+    }
+
+    private final class SequencedOperation<T> {
+        private final Supplier<Mono<T>> operation;
+        private final MonoSink<T> sink;
+        private final long enqueuedAt = System.nanoTime();
+        private volatile boolean valueDelivered;
+
+        private SequencedOperation(Supplier<Mono<T>> operation, MonoSink<T> sink) {
+            this.operation = operation;
+            this.sink = sink;
+        }
+
+        // La escritura se suscribe aparte del solicitante: si este cancela, la operación aceptada
+        // termina igual y solo se descarta su resultado
+        private void start(Runnable onFinish) {
+            waitTimer.record(Duration.ofNanos(System.nanoTime() - enqueuedAt));
+            Mono.defer(operation)
+                    .contextWrite(sink.contextView())
+                    .doFinally(signal -> onFinish.run())
+                    .subscribe(this::deliver, sink::error, this::complete);
+        }
+
+        private void deliver(T value) {
+            valueDelivered = true;
+            sink.success(value);
+        }
+
+        private void complete() {
+            if (!valueDelivered) {
+                sink.success();
+            }
+        }
+    }
+}
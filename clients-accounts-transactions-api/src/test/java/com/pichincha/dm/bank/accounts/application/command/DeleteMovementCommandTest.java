@@ -1,10 +1,17 @@
 package com.pichincha.dm.bank.accounts.application.command;
 
 import static java.math.BigDecimal.valueOf;
-import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 import com.pichincha.dm.bank.accounts.application.port.output.AccountOutputPort;
 import com.pichincha.dm.bank.accounts.application.port.output.MovementOutputPort;
@@ -13,16 +20,22 @@ import com.pichincha.dm.bank.accounts.domain.Account;
 import com.pichincha.dm.bank.accounts.domain.Movement;
 import com.pichincha.dm.bank.accounts.domain.enums.AccountType;
 import com.pichincha.dm.bank.accounts.domain.enums.MovementType;
+import com.pichincha.dm.bank.accounts.domain.exception.TransactionNotAllowedException;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
 @ExtendWith(MockitoExtension.class)
@@ -73,7 +86,7 @@ class DeleteMovementCommandTest {
     }
 
     @Test
-    void shouldReturnSameInstanceWhenWithMovementToDeleteCalled() {
+    void shouldReturnNewInstanceWhenWithMovementToDeleteCalled() {
         // Arrange
         Movement movement = createTestMovement();
 
@@ -81,11 +94,11 @@ class DeleteMovementCommandTest {
         DeleteMovementCommand result = deleteMovementCommand.withMovementToDelete(movement);
 
         // Assert
-        assertSame(deleteMovementCommand, result);
+        assertNotSame(deleteMovementCommand, result);
     }
 
     @Test
-    void shouldReturnSameInstanceWhenWithAccountCalled() {
+    void shouldReturnNewInstanceWhenWithAccountCalled() {
         // Arrange
         Account account = createTestAccount();
 
@@ -93,20 +106,20 @@ class DeleteMovementCommandTest {
         DeleteMovementCommand result = deleteMovementCommand.withAccount(account);
 
         // Assert
-        assertSame(deleteMovementCommand, result);
+        assertNotSame(deleteMovementCommand, result);
     }
 
     @Test
     void givenValidMovementAndAccountWhenExecuteThenDeleteMovementSuccessfully() {
         // Arrange
-        deleteMovementCommand.withMovementToDelete(testMovement).withAccount(testAccount);
+        DeleteMovementCommand command =
+                deleteMovementCommand.withMovementToDelete(testMovement).withAccount(testAccount);
 
-        BigDecimal expectedNewBalance = valueOf(1000);
         BigDecimal expectedBalanceAdjustment = valueOf(200);
 
         doReturn(Mono.just(testAccount))
                 .when(accountOutputPort)
-                .updateBalance(accountId, expectedNewBalance);
+                .applyBalanceDelta(accountId, expectedBalanceAdjustment);
 
         doReturn(Mono.empty()).when(movementOutputPort).deleteById(movementId);
 
@@ -118,18 +131,119 @@ class DeleteMovementCommandTest {
                         eq(expectedBalanceAdjustment));
 
         // Act
-        Mono<Void> result = deleteMovementCommand.execute();
+        Mono<Void> result = command.execute();
 
         // Assert
         StepVerifier.create(result).verifyComplete();
 
-        verify(accountOutputPort).updateBalance(accountId, expectedNewBalance);
+        verify(accountOutputPort).applyBalanceDelta(accountId, expectedBalanceAdjustment);
         verify(movementOutputPort).deleteById(movementId);
         verify(balanceRecalculationService)
                 .recalculatePostMovementBalances(
                         accountId, movementDate.plusNanos(1), expectedBalanceAdjustment);
     }
 
+    @Test
+    void givenBalanceDeltaRejectedWhenExecuteThenThrowTransactionNotAllowedException() {
+        // Arrange
+        Movement creditMovement =
+                Movement.builder()
+                        .id(movementId)
+                        .accountId(accountId)
+                        .date(movementDate)
+                        .type(MovementType.CREDITO)
+                        .value(valueOf(900))
+                        .postMovementBalance(valueOf(800))
+                        .createdAt(LocalDateTime.now())
+                        .build();
+
+        DeleteMovementCommand command =
+                deleteMovementCommand.withMovementToDelete(creditMovement).withAccount(testAccount);
+
+        doReturn(Mono.empty()).when(accountOutputPort).applyBalanceDelta(accountId, valueOf(-900));
+
+        // Act
+        Mono<Void> result = command.execute();
+
+        // Assert
+        StepVerifier.create(result).expectError(TransactionNotAllowedException.class).verify();
+
+        verify(movementOutputPort, never()).deleteById(movementId);
+        verifyNoInteractions(balanceRecalculationService);
+    }
+
+    @Test
+    void givenThousandsOfConcurrentDeletesWhenExecuteThenEachUsesItsOwnState() {
+        // Arrange
+        int deletes = 5000;
+        Map<UUID, BigDecimal> appliedAdjustments = new ConcurrentHashMap<>();
+        Set<UUID> deletedMovementIds = ConcurrentHashMap.newKeySet();
+
+        doAnswer(
+                        invocation ->
+                                Mono.fromRunnable(
+                                                () ->
+                                                        appliedAdjustments.put(
+                                                                invocation.getArgument(0),
+                                                                invocation.getArgument(1)))
+                                        .subscribeOn(Schedulers.parallel())
+                                        .thenReturn(testAccount))
+                .when(accountOutputPort)
+                .applyBalanceDelta(any(UUID.class), any(BigDecimal.class));
+
+        doAnswer(
+                        invocation ->
+                                Mono.fromRunnable(
+                                        () -> deletedMovementIds.add(invocation.getArgument(0))))
+                .when(movementOutputPort)
+                .deleteById(any(UUID.class));
+
+        doReturn(Mono.empty())
+                .when(balanceRecalculationService)
+                .recalculatePostMovementBalances(
+                        any(UUID.class), any(LocalDateTime.class), any(BigDecimal.class));
+
+        // Act
+        Flux<Void> result =
+                Flux.range(0, deletes)
+                        .flatMap(
+                                index ->
+                                        Mono.defer(() -> executeDelete(index))
+                                                .subscribeOn(Schedulers.parallel()),
+                                256);
+
+        // Assert
+        StepVerifier.create(result).verifyComplete();
+
+        assertEquals(deletes, appliedAdjustments.size());
+        assertEquals(deletes, deletedMovementIds.size());
+        for (int index = 0; index < deletes; index++) {
+            assertEquals(valueOf(index + 1), appliedAdjustments.get(new UUID(0, index)));
+            assertTrue(deletedMovementIds.contains(new UUID(1, index)));
+        }
+        verify(balanceRecalculationService, times(deletes))
+                .recalculatePostMovementBalances(
+                        any(UUID.class), any(LocalDateTime.class), any(BigDecimal.class));
+    }
+
+    private Mono<Void> executeDelete(int index) {
+        Movement movement =
+                Movement.builder()
+                        .id(new UUID(1, index))
+                        .accountId(new UUID(0, index))
+                        .date(movementDate)
+                        .type(MovementType.DEBITO)
+                        .value(valueOf(-(index + 1)))
+                        .postMovementBalance(valueOf(1000))
+                        .createdAt(movementDate)
+                        .build();
+
+        return deleteMovementCommand
+                .withMovementToDelete(movement)
+                .withAccount(Account.builder().id(new UUID(0, index)).build())
+                .execute();
+    }
+
     private Movement createTestMovement() {
         return Movement.builder()
                 .id(UUID.randomUUID())
@@ -2,10 +2,13 @@ package com.pichincha.dm.bank.accounts.application.command;
 
 import static java.math.BigDecimal.valueOf;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 
@@ -16,16 +19,23 @@ import com.pichincha.dm.bank.accounts.domain.Account;
 import com.pichincha.dm.bank.accounts.domain.Movement;
 import com.pichincha.dm.bank.accounts.domain.enums.AccountType;
 import com.pichincha.dm.bank.accounts.domain.enums.MovementType;
+import com.pichincha.dm.bank.accounts.domain.exception.TransactionNotAllowedException;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
 @ExtendWith(MockitoExtension.class)
@@ -88,7 +98,7 @@ class UpdateMovementCommandTest {
     }
 
     @Test
-    void shouldReturnSameInstanceWhenWithOldMovementCalled() {
+    void shouldReturnNewInstanceWhenWithOldMovementCalled() {
         // Arrange
         Movement movement = createTestMovement();
 
@@ -96,11 +106,11 @@ class UpdateMovementCommandTest {
         UpdateMovementCommand result = updateMovementCommand.withOldMovement(movement);
 
         // Assert
-        assertSame(updateMovementCommand, result);
+        assertNotSame(updateMovementCommand, result);
     }
 
     @Test
-    void shouldReturnSameInstanceWhenWithNewMovementCalled() {
+    void shouldReturnNewInstanceWhenWithNewMovementCalled() {
         // Arrange
         Movement movement = createTestMovement();
 
@@ -108,11 +118,11 @@ class UpdateMovementCommandTest {
         UpdateMovementCommand result = updateMovementCommand.withNewMovement(movement);
 
         // Assert
-        assertSame(updateMovementCommand, result);
+        assertNotSame(updateMovementCommand, result);
     }
 
     @Test
-    void shouldReturnSameInstanceWhenWithAccountCalled() {
+    void shouldReturnNewInstanceWhenWithAccountCalled() {
         // Arrange
         Account account = createTestAccount();
 
@@ -120,24 +130,24 @@ class UpdateMovementCommandTest {
         UpdateMovementCommand result = updateMovementCommand.withAccount(account);
 
         // Assert
-        assertSame(updateMovementCommand, result);
+        assertNotSame(updateMovementCommand, result);
     }
 
     @Test
     void givenValidMovementsWhenExecuteThenUpdateMovementSuccessfully() {
         // Arrange
-        updateMovementCommand
-                .withOldMovement(oldMovement)
-                .withNewMovement(newMovement)
-                .withAccount(testAccount);
+        UpdateMovementCommand command =
+                updateMovementCommand
+                        .withOldMovement(oldMovement)
+                        .withNewMovement(newMovement)
+                        .withAccount(testAccount);
 
         BigDecimal expectedBalanceAdjustment = valueOf(50);
-        BigDecimal expectedNewAccountBalance = valueOf(850);
         BigDecimal expectedPostMovementBalance = valueOf(850);
 
         doReturn(Mono.just(testAccount))
                 .when(accountOutputPort)
-                .updateBalance(accountId, expectedNewAccountBalance);
+                .applyBalanceDelta(accountId, expectedBalanceAdjustment);
 
         doReturn(Mono.just(newMovement)).when(movementOutputPort).update(any(Movement.class));
 
@@ -149,12 +159,12 @@ class UpdateMovementCommandTest {
                         eq(expectedBalanceAdjustment));
 
         // Act
-        Mono<Void> result = updateMovementCommand.execute();
+        Mono<Void> result = command.execute();
 
         // Assert
         StepVerifier.create(result).verifyComplete();
 
-        verify(accountOutputPort).updateBalance(accountId, expectedNewAccountBalance);
+        verify(accountOutputPort).applyBalanceDelta(accountId, expectedBalanceAdjustment);
         verify(movementOutputPort).update(any(Movement.class));
         verify(balanceRecalculationService)
                 .recalculatePostMovementBalances(
@@ -177,31 +187,133 @@ class UpdateMovementCommandTest {
                         .createdAt(LocalDateTime.now())
                         .build();
 
-        updateMovementCommand
-                .withOldMovement(oldMovement)
-                .withNewMovement(sameValueMovement)
-                .withAccount(testAccount);
+        UpdateMovementCommand command =
+                updateMovementCommand
+                        .withOldMovement(oldMovement)
+                        .withNewMovement(sameValueMovement)
+                        .withAccount(testAccount);
 
         BigDecimal expectedBalanceAdjustment = valueOf(0);
-        BigDecimal expectedNewAccountBalance = valueOf(800);
 
         doReturn(Mono.just(testAccount))
                 .when(accountOutputPort)
-                .updateBalance(accountId, expectedNewAccountBalance);
+                .applyBalanceDelta(accountId, expectedBalanceAdjustment);
 
         doReturn(Mono.just(sameValueMovement)).when(movementOutputPort).update(any(Movement.class));
 
         // Act
-        Mono<Void> result = updateMovementCommand.execute();
+        Mono<Void> result = command.execute();
 
         // Assert
         StepVerifier.create(result).verifyComplete();
 
-        verify(accountOutputPort).updateBalance(accountId, expectedNewAccountBalance);
+        verify(accountOutputPort).applyBalanceDelta(accountId, expectedBalanceAdjustment);
         verify(movementOutputPort).update(any(Movement.class));
         verifyNoInteractions(balanceRecalculationService);
     }
 
+    @Test
+    void givenBalanceDeltaRejectedWhenExecuteThenThrowTransactionNotAllowedException() {
+        // Arrange
+        UpdateMovementCommand command =
+                updateMovementCommand
+                        .withOldMovement(oldMovement)
+                        .withNewMovement(newMovement)
+                        .withAccount(testAccount);
+
+        doReturn(Mono.empty()).when(accountOutputPort).applyBalanceDelta(accountId, valueOf(50));
+
+        // Act
+        Mono<Void> result = command.execute();
+
+        // Assert
+        StepVerifier.create(result).expectError(TransactionNotAllowedException.class).verify();
+
+        verify(movementOutputPort, never()).update(any(Movement.class));
+        verifyNoInteractions(balanceRecalculationService);
+    }
+
+    @Test
+    void givenThousandsOfConcurrentUpdatesWhenExecuteThenEachUsesItsOwnState() {
+        // Arrange
+        int updates = 5000;
+        Map<UUID, BigDecimal> appliedAdjustments = new ConcurrentHashMap<>();
+
+        doAnswer(
+                        invocation ->
+                                Mono.fromRunnable(
+                                                () ->
+                                                        appliedAdjustments.put(
+                                                                invocation.getArgument(0),
+                                                                invocation.getArgument(1)))
+                                        .subscribeOn(Schedulers.parallel())
+                                        .thenReturn(testAccount))
+                .when(accountOutputPort)
+                .applyBalanceDelta(any(UUID.class), any(BigDecimal.class));
+
+        doAnswer(invocation -> Mono.just(invocation.getArgument(0)))
+                .when(movementOutputPort)
+                .update(any(Movement.class));
+
+        doReturn(Mono.empty())
+                .when(balanceRecalculationService)
+                .recalculatePostMovementBalances(
+                        any(UUID.class), any(LocalDateTime.class), any(BigDecimal.class));
+
+        List<Movement> updatedMovements =
+                IntStream.range(0, updates).mapToObj(this::createMovementWithValue).toList();
+
+        // Act
+        Flux<Void> result =
+                Flux.range(0, updates)
+                        .flatMap(
+                                index ->
+                                        Mono.defer(
+                                                        () ->
+                                                                executeUpdate(
+                                                                        updatedMovements.get(index),
+                                                                        index))
+                                                .subscribeOn(Schedulers.parallel()),
+                                256);
+
+        // Assert
+        StepVerifier.create(result).verifyComplete();
+
+        assertEquals(updates, appliedAdjustments.size());
+        for (int index = 0; index < updates; index++) {
+            assertEquals(valueOf(index + 1), appliedAdjustments.get(new UUID(0, index)));
+            assertEquals(
+                    valueOf(1000 + index), updatedMovements.get(index).getPostMovementBalance());
+        }
+        verify(balanceRecalculationService, times(updates))
+                .recalculatePostMovementBalances(
+                        any(UUID.class), any(LocalDateTime.class), any(BigDecimal.class));
+    }
+
+    private Mono<Void> executeUpdate(Movement updatedMovement, int index) {
+        return updateMovementCommand
+                .withOldMovement(createMovementWithValue(-1))
+                .withNewMovement(updatedMovement)
+                .withAccount(createAccount(index))
+                .execute();
+    }
+
+    private Movement createMovementWithValue(int value) {
+        return Movement.builder()
+                .id(movementId)
+                .accountId(accountId)
+                .date(movementDate)
+                .type(MovementType.CREDITO)
+                .value(valueOf(value))
+                .postMovementBalance(valueOf(999))
+                .createdAt(movementDate)
+                .build();
+    }
+
+    private Account createAccount(int index) {
+        return Account.builder().id(new UUID(0, index)).build();
+    }
+
     private Movement createTestMovement() {
         return Movement.builder()
                 .id(UUID.randomUUID())
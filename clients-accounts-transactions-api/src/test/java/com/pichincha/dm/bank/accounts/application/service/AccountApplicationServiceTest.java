@@ -3,16 +3,29 @@ package com.pichincha.dm.bank.accounts.application.service;
 import static java.math.BigDecimal.valueOf;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 import com.pichincha.dm.bank.accounts.application.port.output.AccountOutputPort;
+import com.pichincha.dm.bank.accounts.application.port.output.DailyBalanceOutputPort;
+import com.pichincha.dm.bank.accounts.application.port.output.ReportCacheOutputPort;
 import com.pichincha.dm.bank.accounts.domain.Account;
+import com.pichincha.dm.bank.accounts.domain.CursorPage;
+import com.pichincha.dm.bank.accounts.domain.PageCursor;
 import com.pichincha.dm.bank.accounts.domain.enums.AccountType;
+import com.pichincha.dm.bank.accounts.domain.exception.DataAccessException;
+import com.pichincha.dm.bank.accounts.domain.exception.GeneralApplicationException;
 import com.pichincha.dm.bank.accounts.util.AccountNumberGenerator;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,6 +35,7 @@ import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -31,6 +45,10 @@ class AccountApplicationServiceTest {
 
     @Mock private AccountOutputPort accountOutputPort;
 
+    @Mock private DailyBalanceOutputPort dailyBalanceOutputPort;
+
+    @Mock private ReportCacheOutputPort reportCacheOutputPort;
+
     @InjectMocks private AccountApplicationService accountApplicationService;
 
     private Account testAccount;
@@ -54,6 +72,8 @@ class AccountApplicationServiceTest {
                         .createdAt(LocalDateTime.now())
                         .updatedAt(LocalDateTime.now())
                         .build();
+
+        lenient().doReturn(Mono.empty()).when(reportCacheOutputPort).invalidateClient(clientId);
     }
 
     @Test
@@ -98,6 +118,7 @@ class AccountApplicationServiceTest {
             assertEquals(inputAccount.getInitBalance(), inputAccount.getCurrentBalance());
 
             verify(accountOutputPort).save(inputAccount);
+            verify(reportCacheOutputPort).invalidateClient(clientId);
         }
     }
 
@@ -116,7 +137,7 @@ class AccountApplicationServiceTest {
     }
 
     @Test
-    void givenValidParametersWhenListAccountsThenReturnAccountFlux() {
+    void givenValidParametersWhenListAccountsThenReturnAccountPage() {
         // Arrange
         Account account1 = createTestAccountWithId(UUID.randomUUID());
         Account account2 = createTestAccountWithId(UUID.randomUUID());
@@ -128,14 +149,88 @@ class AccountApplicationServiceTest {
         doReturn(expectedAccounts).when(accountOutputPort).findAll(clientId, page, size);
 
         // Act
-        Flux<Account> result = accountApplicationService.listAccounts(clientId, page, size);
+        Mono<CursorPage<Account>> result =
+                accountApplicationService.listAccounts(clientId, page, null, size);
 
         // Assert
-        StepVerifier.create(result).expectNext(account1).expectNext(account2).verifyComplete();
+        StepVerifier.create(result)
+                .assertNext(
+                        accounts -> {
+                            assertEquals(List.of(account1, account2), accounts.getItems());
+                            assertNull(accounts.getNext());
+                        })
+                .verifyComplete();
 
         verify(accountOutputPort).findAll(clientId, page, size);
     }
 
+    @Test
+    void givenCursorAndFullPageWhenListAccountsThenReturnCursorOfLastAccount() {
+        // Arrange
+        PageCursor after =
+                PageCursor.builder()
+                        .position(LocalDateTime.of(2024, 2, 1, 12, 0))
+                        .id(UUID.randomUUID())
+                        .build();
+        Account account1 = createTestAccountWithId(UUID.randomUUID());
+        Account account2 = createTestAccountWithId(UUID.randomUUID());
+
+        doReturn(Flux.just(account1, account2))
+                .when(accountOutputPort)
+                .findAfter(clientId, after, 2);
+
+        // Act
+        Mono<CursorPage<Account>> result =
+                accountApplicationService.listAccounts(clientId, null, after, 2);
+
+        // Assert
+        StepVerifier.create(result)
+                .assertNext(
+                        accounts -> {
+                            assertEquals(account2.getId(), accounts.getNext().getId());
+                            assertEquals(account2.getCreatedAt(), accounts.getNext().getPosition());
+                        })
+                .verifyComplete();
+
+        verify(accountOutputPort, never()).findAll(any(), any(), any());
+    }
+
+    @Test
+    void givenCursorWhenStreamAccountsThenEmitEveryAccountAfterIt() {
+        // Arrange
+        PageCursor after =
+                PageCursor.builder()
+                        .position(LocalDateTime.of(2024, 2, 1, 12, 0))
+                        .id(UUID.randomUUID())
+                        .build();
+        Account account1 = createTestAccountWithId(UUID.randomUUID());
+        Account account2 = createTestAccountWithId(UUID.randomUUID());
+
+        doReturn(Flux.just(account1, account2)).when(accountOutputPort).stream(clientId, after);
+
+        // Act
+        Flux<Account> result = accountApplicationService.streamAccounts(clientId, after);
+
+        // Assert
+        StepVerifier.create(result).expectNext(account1, account2).verifyComplete();
+
+        verify(accountOutputPort, never()).findAfter(any(), any(), any());
+    }
+
+    @Test
+    void givenDatabaseErrorWhenStreamAccountsThenMapToDataAccessException() {
+        // Arrange
+        doReturn(Flux.error(new RuntimeException(new IllegalStateException("connection closed"))))
+                .when(accountOutputPort)
+                .stream(null, null);
+
+        // Act
+        Flux<Account> result = accountApplicationService.streamAccounts(null, null);
+
+        // Assert
+        StepVerifier.create(result).expectError(DataAccessException.class).verify();
+    }
+
     @Test
     void givenValidAccountWhenUpdateAccountThenReturnUpdatedAccount() {
         // Arrange
@@ -155,11 +250,13 @@ class AccountApplicationServiceTest {
         StepVerifier.create(result).expectNext(updatedAccount).verifyComplete();
 
         verify(accountOutputPort).update(testAccount);
+        verify(reportCacheOutputPort).invalidateClient(clientId);
     }
 
     @Test
     void givenValidAccountNumberWhenDeleteAccountThenCompleteSuccessfully() {
         // Arrange
+        doReturn(Mono.just(testAccount)).when(accountOutputPort).findByAccountNumber(accountNumber);
         doReturn(Mono.empty()).when(accountOutputPort).deleteByAccountNumber(accountNumber);
 
         // Act
@@ -169,6 +266,23 @@ class AccountApplicationServiceTest {
         StepVerifier.create(result).verifyComplete();
 
         verify(accountOutputPort).deleteByAccountNumber(accountNumber);
+        verify(reportCacheOutputPort).invalidateClient(clientId);
+    }
+
+    @Test
+    void givenUnknownAccountNumberWhenDeleteAccountThenDeleteWithoutInvalidatingReports() {
+        // Arrange
+        doReturn(Mono.empty()).when(accountOutputPort).findByAccountNumber(accountNumber);
+        doReturn(Mono.empty()).when(accountOutputPort).deleteByAccountNumber(accountNumber);
+
+        // Act
+        Mono<Void> result = accountApplicationService.deleteAccount(accountNumber);
+
+        // Assert
+        StepVerifier.create(result).verifyComplete();
+
+        verify(accountOutputPort).deleteByAccountNumber(accountNumber);
+        verifyNoInteractions(reportCacheOutputPort);
     }
 
     private Account createTestAccountWithId(UUID id) {
@@ -185,4 +299,57 @@ class AccountApplicationServiceTest {
                 .createdAt(LocalDateTime.now())
                 .build();
     }
+
+    @Test
+    void givenDailyBalanceWhenGetBalanceAsOfThenReturnClosingBalance() {
+        // Arrange
+        LocalDate date = LocalDate.of(2024, 1, 15);
+
+        doReturn(Mono.just(testAccount)).when(accountOutputPort).findByAccountNumber(accountNumber);
+        doReturn(Mono.just(valueOf(1250)))
+                .when(dailyBalanceOutputPort)
+                .findClosingBalance(testAccount.getId(), date);
+
+        // Act
+        Mono<BigDecimal> result = accountApplicationService.getBalanceAsOf(accountNumber, date);
+
+        // Assert
+        StepVerifier.create(result).expectNext(valueOf(1250)).verifyComplete();
+    }
+
+    @Test
+    void givenNoDailyBalanceBeforeDateWhenGetBalanceAsOfThenReturnInitialBalance() {
+        // Arrange
+        LocalDate date = LocalDate.of(2024, 1, 15);
+
+        doReturn(Mono.empty())
+                .when(dailyBalanceOutputPort)
+                .findClosingBalance(testAccount.getId(), date);
+
+        // Act
+        Mono<BigDecimal> result = accountApplicationService.getBalanceAsOf(testAccount, date);
+
+        // Assert
+        StepVerifier.create(result).expectNext(valueOf(1000)).verifyComplete();
+    }
+
+    @Test
+    void givenUnknownAccountWhenGetBalanceAsOfThenReturnNotFound() {
+        // Arrange
+        doReturn(Mono.empty()).when(accountOutputPort).findByAccountNumber(accountNumber);
+
+        // Act
+        Mono<BigDecimal> result =
+                accountApplicationService.getBalanceAsOf(accountNumber, LocalDate.of(2024, 1, 15));
+
+        // Assert
+        StepVerifier.create(result)
+                .expectErrorMatches(
+                        error ->
+                                error instanceof GeneralApplicationException exception
+                                        && exception.getStatusCode() == HttpStatus.NOT_FOUND)
+                .verify();
+
+        verifyNoInteractions(dailyBalanceOutputPort);
+    }
 }
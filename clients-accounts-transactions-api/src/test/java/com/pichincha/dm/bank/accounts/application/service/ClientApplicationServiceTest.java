@@ -1,13 +1,21 @@
 package com.pichincha.dm.bank.accounts.application.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 import com.pichincha.dm.bank.accounts.application.port.output.ClientOutputPort;
 import com.pichincha.dm.bank.accounts.domain.Client;
+import com.pichincha.dm.bank.accounts.domain.CursorPage;
+import com.pichincha.dm.bank.accounts.domain.PageCursor;
 import com.pichincha.dm.bank.accounts.domain.Person;
 import com.pichincha.dm.bank.accounts.domain.enums.Gender;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -51,6 +59,56 @@ class ClientApplicationServiceTest {
         StepVerifier.create(result).expectNext(client1).expectNext(client2).verifyComplete();
     }
 
+    @Test
+    void givenPageAndSizeWhenListClientsThenReturnPageWithoutNextCursor() {
+        // Arrange
+        Client client1 = createTestClient(UUID.randomUUID());
+        Client client2 = createTestClient(UUID.randomUUID());
+
+        doReturn(Flux.just(client1, client2)).when(clientOutputPort).findAll(2, 10);
+
+        // Act
+        Mono<CursorPage<Client>> result = clientApplicationService.listClients(2, null, 10);
+
+        // Assert
+        StepVerifier.create(result)
+                .assertNext(
+                        page -> {
+                            assertEquals(List.of(client1, client2), page.getItems());
+                            assertFalse(page.hasNext());
+                        })
+                .verifyComplete();
+    }
+
+    @Test
+    void givenCursorWhenListClientsThenSeekAfterItAndReturnNextCursor() {
+        // Arrange
+        PageCursor after =
+                PageCursor.builder()
+                        .position(LocalDateTime.of(2024, 3, 1, 8, 0))
+                        .id(UUID.randomUUID())
+                        .build();
+        Client client1 = createTestClient(UUID.randomUUID());
+        Client client2 = createTestClient(UUID.randomUUID());
+
+        doReturn(Flux.just(client1, client2)).when(clientOutputPort).findAfter(after, 2);
+
+        // Act
+        Mono<CursorPage<Client>> result = clientApplicationService.listClients(5, after, 2);
+
+        // Assert
+        StepVerifier.create(result)
+                .assertNext(
+                        page -> {
+                            assertEquals(2, page.getItems().size());
+                            assertEquals(client2.getId(), page.getNext().getId());
+                            assertEquals(client2.getCreatedAt(), page.getNext().getPosition());
+                        })
+                .verifyComplete();
+
+        verify(clientOutputPort, never()).findAll(any(), any());
+    }
+
     @Test
     void givenValidClientIdWhenGetClientByIdThenReturnClient() {
         // Arrange
@@ -1,16 +1,33 @@
 package com.pichincha.dm.bank.accounts.application.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import com.pichincha.dm.bank.accounts.application.command.DeleteMovementCommand;
 import com.pichincha.dm.bank.accounts.application.command.UpdateMovementCommand;
+import com.pichincha.dm.bank.accounts.application.port.output.AccountLockOutputPort;
 import com.pichincha.dm.bank.accounts.application.port.output.AccountOutputPort;
+import com.pichincha.dm.bank.accounts.application.port.output.DailyBalanceOutputPort;
 import com.pichincha.dm.bank.accounts.application.port.output.MovementOutputPort;
+import com.pichincha.dm.bank.accounts.application.port.output.PendingRecalculationOutputPort;
+import com.pichincha.dm.bank.accounts.application.port.output.ReportCacheOutputPort;
+import com.pichincha.dm.bank.accounts.application.port.output.StatementArchiveOutputPort;
+import com.pichincha.dm.bank.accounts.application.port.output.TransactionOutputPort;
 import com.pichincha.dm.bank.accounts.domain.Account;
+import com.pichincha.dm.bank.accounts.domain.CursorPage;
 import com.pichincha.dm.bank.accounts.domain.Movement;
+import com.pichincha.dm.bank.accounts.domain.PageCursor;
+import com.pichincha.dm.bank.accounts.domain.PendingRecalculation;
 import com.pichincha.dm.bank.accounts.domain.enums.AccountType;
 import com.pichincha.dm.bank.accounts.domain.enums.MovementType;
 import com.pichincha.dm.bank.accounts.domain.exception.DataModifyException;
@@ -18,13 +35,20 @@ import com.pichincha.dm.bank.accounts.domain.exception.TransactionNotAllowedExce
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -38,6 +62,18 @@ class MovementApplicationServiceTest {
 
     @Mock private AccountOutputPort accountOutputPort;
 
+    @Mock private AccountLockOutputPort accountLockOutputPort;
+
+    @Mock private PendingRecalculationOutputPort pendingRecalculationOutputPort;
+
+    @Mock private DailyBalanceOutputPort dailyBalanceOutputPort;
+
+    @Mock private ReportCacheOutputPort reportCacheOutputPort;
+
+    @Mock private TransactionOutputPort transactionOutputPort;
+
+    @Mock private StatementArchiveOutputPort statementArchiveOutputPort;
+
     @Mock private UpdateMovementCommand updateMovementCommand;
 
     @Mock private DeleteMovementCommand deleteMovementCommand;
@@ -60,6 +96,27 @@ class MovementApplicationServiceTest {
                         testAccountId,
                         MovementType.CREDITO,
                         BigDecimal.valueOf(500));
+
+        lenient()
+                .doAnswer(invocation -> invocation.<Supplier<Mono<?>>>getArgument(1).get())
+                .when(accountLockOutputPort)
+                .withAccountLock(any(UUID.class), any());
+        lenient()
+                .doAnswer(invocation -> invocation.<Supplier<Mono<?>>>getArgument(0).get())
+                .when(transactionOutputPort)
+                .inTransaction(any());
+        lenient()
+                .doReturn(Mono.empty())
+                .when(dailyBalanceOutputPort)
+                .applyMovement(any(UUID.class), any(BigDecimal.class), any(BigDecimal.class));
+        lenient()
+                .doReturn(Mono.empty())
+                .when(reportCacheOutputPort)
+                .invalidateAccount(any(UUID.class));
+        lenient()
+                .doReturn(Mono.empty())
+                .when(statementArchiveOutputPort)
+                .evictFrom(any(UUID.class), any(YearMonth.class));
     }
 
     @Test
@@ -76,11 +133,12 @@ class MovementApplicationServiceTest {
                         BigDecimal.valueOf(500));
         expectedMovement.setPostMovementBalance(BigDecimal.valueOf(1500));
 
-        doReturn(Mono.just(testAccount)).when(accountOutputPort).findById(testAccountId);
+        Account updatedAccount = createTestAccount(testAccountId, BigDecimal.valueOf(1500));
 
-        doReturn(Mono.just(testAccount))
+        doReturn(Mono.just(testAccount)).when(accountOutputPort).findById(testAccountId);
+        doReturn(Mono.just(updatedAccount))
                 .when(accountOutputPort)
-                .updateBalance(eq(testAccountId), eq(BigDecimal.valueOf(1500)));
+                .applyBalanceDelta(eq(testAccountId), eq(BigDecimal.valueOf(500)));
 
         doReturn(Mono.just(expectedMovement)).when(movementOutputPort).save(any(Movement.class));
 
@@ -96,8 +154,38 @@ class MovementApplicationServiceTest {
                                         && movement.getValue().equals(BigDecimal.valueOf(500)))
                 .verifyComplete();
 
-        verify(accountOutputPort).updateBalance(testAccountId, BigDecimal.valueOf(1500));
+        verify(accountLockOutputPort).withAccountLock(eq(testAccountId), any());
+        verify(accountOutputPort).findById(testAccountId);
+        verify(accountOutputPort).applyBalanceDelta(testAccountId, BigDecimal.valueOf(500));
         verify(movementOutputPort).save(any(Movement.class));
+        verify(reportCacheOutputPort).invalidateAccount(testAccountId);
+        verify(transactionOutputPort).inTransaction(any());
+        verify(dailyBalanceOutputPort)
+                .applyMovement(testMovementId, BigDecimal.ZERO, BigDecimal.valueOf(500));
+        verify(statementArchiveOutputPort, never())
+                .evictFrom(any(UUID.class), any(YearMonth.class));
+    }
+
+    @Test
+    void givenDebitExceedingBalanceWhenCreateMovementThenThrowTransactionNotAllowedException() {
+        // Arrange
+        Movement debitMovement =
+                createTestMovement(
+                        null, testAccountId, MovementType.DEBITO, BigDecimal.valueOf(-1500));
+
+        doReturn(Mono.just(testAccount)).when(accountOutputPort).findById(testAccountId);
+
+        // Act
+        Mono<Movement> result = movementApplicationService.createMovement(debitMovement);
+
+        // Assert
+        StepVerifier.create(result).expectError(TransactionNotAllowedException.class).verify();
+
+        verify(accountOutputPort, never())
+                .applyBalanceDelta(any(UUID.class), any(BigDecimal.class));
+        verify(movementOutputPort, never()).save(any(Movement.class));
+        verify(dailyBalanceOutputPort, never())
+                .applyMovement(any(UUID.class), any(BigDecimal.class), any(BigDecimal.class));
     }
 
     @Test
@@ -108,8 +196,6 @@ class MovementApplicationServiceTest {
                 createTestMovement(
                         null, testAccountId, MovementType.CREDITO, BigDecimal.valueOf(-100));
 
-        doReturn(Mono.just(testAccount)).when(accountOutputPort).findById(testAccountId);
-
         // Act
         Mono<Movement> result = movementApplicationService.createMovement(invalidCreditMovement);
 
@@ -125,8 +211,6 @@ class MovementApplicationServiceTest {
                 createTestMovement(
                         null, testAccountId, MovementType.DEBITO, BigDecimal.valueOf(100));
 
-        doReturn(Mono.just(testAccount)).when(accountOutputPort).findById(testAccountId);
-
         // Act
         Mono<Movement> result = movementApplicationService.createMovement(invalidDebitMovement);
 
@@ -148,16 +232,142 @@ class MovementApplicationServiceTest {
         StepVerifier.create(result).expectError(DataModifyException.class).verify();
     }
 
+    @Test
+    void givenAtomicPostingModeWhenCreateMovementThenSaveApplyingBalanceInSingleStatement() {
+        // Arrange
+        ReflectionTestUtils.setField(
+                movementApplicationService, "postingMode", MovementPostingMode.ATOMIC);
+        Movement creditMovement =
+                createTestMovement(
+                        null, testAccountId, MovementType.CREDITO, BigDecimal.valueOf(500));
+        Movement storedMovement =
+                createTestMovement(
+                        testMovementId,
+                        testAccountId,
+                        MovementType.CREDITO,
+                        BigDecimal.valueOf(500));
+        storedMovement.setPostMovementBalance(BigDecimal.valueOf(1500));
+
+        doReturn(Mono.just(testAccount)).when(accountOutputPort).findById(testAccountId);
+        doReturn(Mono.just(storedMovement))
+                .when(movementOutputPort)
+                .saveApplyingBalance(creditMovement);
+
+        // Act
+        Mono<Movement> result = movementApplicationService.createMovement(creditMovement);
+
+        // Assert
+        StepVerifier.create(result).expectNext(storedMovement).verifyComplete();
+
+        verify(accountOutputPort).findById(testAccountId);
+        verify(accountOutputPort, never())
+                .applyBalanceDelta(any(UUID.class), any(BigDecimal.class));
+        verify(movementOutputPort, never()).save(any(Movement.class));
+        verify(transactionOutputPort, never()).inTransaction(any());
+        verify(dailyBalanceOutputPort, never())
+                .applyMovement(any(UUID.class), any(BigDecimal.class), any(BigDecimal.class));
+    }
+
+    @Test
+    void givenAtomicPostingModeAndInsufficientBalanceWhenCreateMovementThenThrowException() {
+        // Arrange
+        ReflectionTestUtils.setField(
+                movementApplicationService, "postingMode", MovementPostingMode.ATOMIC);
+        Movement debitMovement =
+                createTestMovement(
+                        null, testAccountId, MovementType.DEBITO, BigDecimal.valueOf(-1500));
+
+        doReturn(Mono.just(testAccount)).when(accountOutputPort).findById(testAccountId);
+
+        // Act
+        Mono<Movement> result = movementApplicationService.createMovement(debitMovement);
+
+        // Assert
+        StepVerifier.create(result).expectError(TransactionNotAllowedException.class).verify();
+
+        verify(movementOutputPort, never()).saveApplyingBalance(any(Movement.class));
+    }
+
+    @Test
+    void givenBalanceSpentConcurrentlyWhenCreateMovementThenRejectAfterGuardedWrite() {
+        // Arrange
+        ReflectionTestUtils.setField(
+                movementApplicationService, "postingMode", MovementPostingMode.ATOMIC);
+        Movement debitMovement =
+                createTestMovement(
+                        null, testAccountId, MovementType.DEBITO, BigDecimal.valueOf(-800));
+        Account spentAccount = createTestAccount(testAccountId, BigDecimal.valueOf(300));
+
+        doReturn(Mono.just(testAccount), Mono.just(spentAccount))
+                .when(accountOutputPort)
+                .findById(testAccountId);
+        doReturn(Mono.empty()).when(movementOutputPort).saveApplyingBalance(debitMovement);
+
+        // Act
+        Mono<Movement> result = movementApplicationService.createMovement(debitMovement);
+
+        // Assert
+        StepVerifier.create(result).expectError(TransactionNotAllowedException.class).verify();
+
+        verify(accountOutputPort, times(2)).findById(testAccountId);
+    }
+
+    @Test
+    void givenAtomicPostingModeAndInvalidValueWhenCreateMovementThenSkipPersistence() {
+        // Arrange
+        ReflectionTestUtils.setField(
+                movementApplicationService, "postingMode", MovementPostingMode.ATOMIC);
+        Movement invalidCreditMovement =
+                createTestMovement(
+                        null, testAccountId, MovementType.CREDITO, BigDecimal.valueOf(-100));
+
+        // Act
+        Mono<Movement> result = movementApplicationService.createMovement(invalidCreditMovement);
+
+        // Assert
+        StepVerifier.create(result).expectError(TransactionNotAllowedException.class).verify();
+
+        verify(movementOutputPort, never()).saveApplyingBalance(any(Movement.class));
+    }
+
     @Test
     void givenValidMovementIdWhenGetMovementByIdThenReturnMovement() {
         // Arrange
         doReturn(Mono.just(testMovement)).when(movementOutputPort).findById(testMovementId);
+        doReturn(Flux.empty())
+                .when(pendingRecalculationOutputPort)
+                .findByAccountIds(Set.of(testAccountId));
 
         // Act
         Mono<Movement> result = movementApplicationService.getMovementById(testMovementId);
 
         // Assert
         StepVerifier.create(result).expectNext(testMovement).verifyComplete();
+        assertFalse(testMovement.getPostMovementBalanceStale());
+    }
+
+    @Test
+    void givenPendingRecalculationWhenGetMovementByIdThenMarkBalanceAsStale() {
+        // Arrange
+        PendingRecalculation pending =
+                PendingRecalculation.builder()
+                        .accountId(testAccountId)
+                        .fromDateTime(testMovement.getDate().minusDays(1))
+                        .version(1L)
+                        .build();
+
+        doReturn(Mono.just(testMovement)).when(movementOutputPort).findById(testMovementId);
+        doReturn(Flux.just(pending))
+                .when(pendingRecalculationOutputPort)
+                .findByAccountIds(Set.of(testAccountId));
+
+        // Act
+        Mono<Movement> result = movementApplicationService.getMovementById(testMovementId);
+
+        // Assert
+        StepVerifier.create(result)
+                .assertNext(movement -> assertTrue(movement.getPostMovementBalanceStale()))
+                .verifyComplete();
     }
 
     @Test
@@ -187,14 +397,126 @@ class MovementApplicationServiceTest {
         doReturn(expectedMovements)
                 .when(movementOutputPort)
                 .findAll(clientId, accountNumber, startDate, endDate, page, size);
+        doReturn(Flux.empty())
+                .when(pendingRecalculationOutputPort)
+                .findByAccountIds(Set.of(testAccountId));
 
         // Act
-        Flux<Movement> result =
+        Mono<CursorPage<Movement>> result =
                 movementApplicationService.listMovements(
-                        clientId, accountNumber, startDate, endDate, page, size);
+                        clientId, accountNumber, startDate, endDate, page, null, size);
 
         // Assert
-        StepVerifier.create(result).expectNext(movement1).expectNext(movement2).verifyComplete();
+        StepVerifier.create(result)
+                .assertNext(
+                        movements -> {
+                            assertEquals(List.of(movement1, movement2), movements.getItems());
+                            assertNull(movements.getNext());
+                        })
+                .verifyComplete();
+    }
+
+    @Test
+    void givenCursorWhenListMovementsThenSeekAfterItAndMarkStaleBalances() {
+        // Arrange
+        LocalDateTime pendingSince = LocalDateTime.of(2024, 1, 10, 0, 0);
+        PageCursor after =
+                PageCursor.builder()
+                        .position(LocalDateTime.of(2024, 1, 20, 9, 0))
+                        .id(UUID.randomUUID())
+                        .build();
+        Movement recent =
+                createTestMovement(
+                        UUID.randomUUID(),
+                        testAccountId,
+                        MovementType.CREDITO,
+                        BigDecimal.valueOf(300));
+        recent.setDate(LocalDateTime.of(2024, 1, 15, 9, 0));
+        Movement older =
+                createTestMovement(
+                        UUID.randomUUID(),
+                        testAccountId,
+                        MovementType.DEBITO,
+                        BigDecimal.valueOf(-150));
+        older.setDate(LocalDateTime.of(2024, 1, 5, 9, 0));
+
+        doReturn(Flux.just(recent, older))
+                .when(movementOutputPort)
+                .findAfter(null, null, null, null, after, 2);
+        doReturn(
+                        Flux.just(
+                                PendingRecalculation.builder()
+                                        .accountId(testAccountId)
+                                        .fromDateTime(pendingSince)
+                                        .build()))
+                .when(pendingRecalculationOutputPort)
+                .findByAccountIds(Set.of(testAccountId));
+
+        // Act
+        Mono<CursorPage<Movement>> result =
+                movementApplicationService.listMovements(null, null, null, null, 0, after, 2);
+
+        // Assert
+        StepVerifier.create(result)
+                .assertNext(
+                        movements -> {
+                            assertTrue(movements.getItems().get(0).getPostMovementBalanceStale());
+                            assertFalse(movements.getItems().get(1).getPostMovementBalanceStale());
+                            assertEquals(older.getId(), movements.getNext().getId());
+                            assertEquals(older.getDate(), movements.getNext().getPosition());
+                        })
+                .verifyComplete();
+    }
+
+    @Test
+    void givenLongHistoryWhenStreamMovementsThenKeepOrderAndMarkStaleBalancesByBatch() {
+        // Arrange
+        LocalDateTime pendingSince = LocalDateTime.of(2024, 1, 10, 0, 0);
+        LocalDateTime latest = LocalDateTime.of(2024, 1, 31, 12, 0);
+        List<Movement> history =
+                IntStream.range(0, 150)
+                        .mapToObj(
+                                i -> {
+                                    Movement movement =
+                                            createTestMovement(
+                                                    UUID.randomUUID(),
+                                                    testAccountId,
+                                                    MovementType.CREDITO,
+                                                    BigDecimal.TEN);
+                                    movement.setDate(latest.minusHours(i * 6L));
+                                    return movement;
+                                })
+                        .toList();
+
+        doReturn(Flux.fromIterable(history)).when(movementOutputPort).stream(
+                null, 1001L, null, null, null);
+        doReturn(
+                        Flux.just(
+                                PendingRecalculation.builder()
+                                        .accountId(testAccountId)
+                                        .fromDateTime(pendingSince)
+                                        .build()))
+                .when(pendingRecalculationOutputPort)
+                .findByAccountIds(Set.of(testAccountId));
+
+        // Act
+        Flux<Movement> result =
+                movementApplicationService.streamMovements(null, 1001L, null, null, null);
+
+        // Assert
+        StepVerifier.create(result.collectList())
+                .assertNext(
+                        movements -> {
+                            assertEquals(history, movements);
+                            movements.forEach(
+                                    movement ->
+                                            assertEquals(
+                                                    movement.getDate().isAfter(pendingSince),
+                                                    movement.getPostMovementBalanceStale()));
+                        })
+                .verifyComplete();
+
+        verify(pendingRecalculationOutputPort, times(2)).findByAccountIds(Set.of(testAccountId));
     }
 
     @Test
@@ -237,10 +559,17 @@ class MovementApplicationServiceTest {
         // Assert
         StepVerifier.create(result).expectNext(updatedMovement).verifyComplete();
 
+        verify(accountLockOutputPort).withAccountLock(eq(testAccountId), any());
         verify(updateMovementCommand).withNewMovement(updatedMovement);
         verify(updateMovementCommand).withOldMovement(existingMovement);
         verify(updateMovementCommand).withAccount(testAccount);
-        verify(updateMovementCommand).execute();
+        verify(transactionOutputPort).inTransaction(any());
+        InOrder inOrder = inOrder(updateMovementCommand, dailyBalanceOutputPort);
+        inOrder.verify(updateMovementCommand).execute();
+        inOrder.verify(dailyBalanceOutputPort)
+                .applyMovement(testMovementId, BigDecimal.valueOf(300), BigDecimal.valueOf(400));
+        verify(statementArchiveOutputPort)
+                .evictFrom(testAccount.getClientId(), YearMonth.from(existingMovement.getDate()));
     }
 
     @Test
@@ -264,9 +593,16 @@ class MovementApplicationServiceTest {
         // Assert
         StepVerifier.create(result).verifyComplete();
 
+        verify(accountLockOutputPort).withAccountLock(eq(testAccountId), any());
         verify(deleteMovementCommand).withMovementToDelete(testMovement);
         verify(deleteMovementCommand).withAccount(testAccount);
-        verify(deleteMovementCommand).execute();
+        verify(transactionOutputPort).inTransaction(any());
+        InOrder inOrder = inOrder(dailyBalanceOutputPort, deleteMovementCommand);
+        inOrder.verify(dailyBalanceOutputPort)
+                .applyMovement(testMovementId, BigDecimal.valueOf(500), BigDecimal.ZERO);
+        inOrder.verify(deleteMovementCommand).execute();
+        verify(statementArchiveOutputPort)
+                .evictFrom(testAccount.getClientId(), YearMonth.from(testMovement.getDate()));
     }
 
     private Account createTestAccount(UUID id, BigDecimal balance) {
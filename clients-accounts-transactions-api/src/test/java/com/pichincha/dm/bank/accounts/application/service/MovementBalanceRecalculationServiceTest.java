@@ -1,23 +1,31 @@
 package com.pichincha.dm.bank.accounts.application.service;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
+import com.pichincha.dm.bank.accounts.application.port.output.AccountLockOutputPort;
 import com.pichincha.dm.bank.accounts.application.port.output.MovementOutputPort;
+import com.pichincha.dm.bank.accounts.application.port.output.PendingRecalculationOutputPort;
 import com.pichincha.dm.bank.accounts.domain.Movement;
+import com.pichincha.dm.bank.accounts.domain.PendingRecalculation;
 import com.pichincha.dm.bank.accounts.domain.enums.MovementType;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -27,6 +35,10 @@ class MovementBalanceRecalculationServiceTest {
 
     @Mock private MovementOutputPort movementOutputPort;
 
+    @Mock private PendingRecalculationOutputPort pendingRecalculationOutputPort;
+
+    @Mock private AccountLockOutputPort accountLockOutputPort;
+
     @InjectMocks private MovementBalanceRecalculationService balanceRecalculationService;
 
     private UUID testAccountId;
@@ -69,12 +81,12 @@ class MovementBalanceRecalculationServiceTest {
                 .updateBatch(any(List.class));
 
         // Act
-        Mono<Void> result =
+        Mono<Long> result =
                 balanceRecalculationService.recalculatePostMovementBalances(
                         testAccountId, testDateTime, testBalanceAdjustment);
 
         // Assert
-        StepVerifier.create(result).verifyComplete();
+        StepVerifier.create(result).expectNext(3L).verifyComplete();
 
         verify(movementOutputPort).findMovementsAfterDate(testAccountId, testDateTime);
         verify(movementOutputPort).updateBatch(any(List.class));
@@ -86,18 +98,171 @@ class MovementBalanceRecalculationServiceTest {
         BigDecimal zeroAdjustment = BigDecimal.ZERO;
 
         // Act
-        Mono<Void> result =
+        Mono<Long> result =
                 balanceRecalculationService.recalculatePostMovementBalances(
                         testAccountId, testDateTime, zeroAdjustment);
 
         // Assert
-        StepVerifier.create(result).verifyComplete();
+        StepVerifier.create(result).expectNext(0L).verifyComplete();
+
+        verify(movementOutputPort, never())
+                .findMovementsAfterDate(any(UUID.class), any(LocalDateTime.class));
+        verify(movementOutputPort, never()).updateBatch(any(List.class));
+    }
+
+    @Test
+    void givenSetBasedModeWhenRecalculatePostMovementBalancesThenShiftWithSingleUpdate() {
+        // Arrange
+        ReflectionTestUtils.setField(
+                balanceRecalculationService,
+                "recalculationMode",
+                BalanceRecalculationMode.SET_BASED);
+
+        doReturn(Mono.just(25L))
+                .when(movementOutputPort)
+                .shiftPostMovementBalances(
+                        testAccountId, testDateTime, null, testBalanceAdjustment);
+
+        // Act
+        Mono<Long> result =
+                balanceRecalculationService.recalculatePostMovementBalances(
+                        testAccountId, testDateTime, testBalanceAdjustment);
+
+        // Assert
+        StepVerifier.create(result).expectNext(25L).verifyComplete();
 
         verify(movementOutputPort, never())
                 .findMovementsAfterDate(any(UUID.class), any(LocalDateTime.class));
         verify(movementOutputPort, never()).updateBatch(any(List.class));
     }
 
+    @Test
+    void givenSetBasedModeWithChunksWhenRecalculatePostMovementBalancesThenShiftEachDateRange() {
+        // Arrange
+        ReflectionTestUtils.setField(
+                balanceRecalculationService,
+                "recalculationMode",
+                BalanceRecalculationMode.SET_BASED);
+        ReflectionTestUtils.setField(balanceRecalculationService, "chunkDays", 30);
+
+        LocalDateTime fromDateTime = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime secondChunk = fromDateTime.plusDays(30);
+        LocalDateTime thirdChunk = fromDateTime.plusDays(60);
+
+        doReturn(Mono.just(fromDateTime.plusDays(45)))
+                .when(movementOutputPort)
+                .findLatestMovementDate(testAccountId);
+        doReturn(Mono.just(10L))
+                .when(movementOutputPort)
+                .shiftPostMovementBalances(
+                        testAccountId, fromDateTime, secondChunk, testBalanceAdjustment);
+        doReturn(Mono.just(4L))
+                .when(movementOutputPort)
+                .shiftPostMovementBalances(
+                        testAccountId, secondChunk, thirdChunk, testBalanceAdjustment);
+
+        // Act
+        Mono<Long> result =
+                balanceRecalculationService.recalculatePostMovementBalances(
+                        testAccountId, fromDateTime, testBalanceAdjustment);
+
+        // Assert
+        StepVerifier.create(result).expectNext(14L).verifyComplete();
+
+        verify(movementOutputPort)
+                .shiftPostMovementBalances(
+                        testAccountId, fromDateTime, secondChunk, testBalanceAdjustment);
+        verify(movementOutputPort)
+                .shiftPostMovementBalances(
+                        testAccountId, secondChunk, thirdChunk, testBalanceAdjustment);
+    }
+
+    @Test
+    void givenDeferredModeWhenRecalculatePostMovementBalancesThenRegisterPendingRecalculation() {
+        // Arrange
+        ReflectionTestUtils.setField(
+                balanceRecalculationService,
+                "recalculationMode",
+                BalanceRecalculationMode.DEFERRED);
+
+        doReturn(Mono.empty())
+                .when(pendingRecalculationOutputPort)
+                .register(testAccountId, testDateTime);
+
+        // Act
+        Mono<Long> result =
+                balanceRecalculationService.recalculatePostMovementBalances(
+                        testAccountId, testDateTime, testBalanceAdjustment);
+
+        // Assert
+        StepVerifier.create(result).expectNext(0L).verifyComplete();
+
+        verify(pendingRecalculationOutputPort).register(testAccountId, testDateTime);
+        verify(movementOutputPort, never())
+                .findMovementsAfterDate(any(UUID.class), any(LocalDateTime.class));
+    }
+
+    @Test
+    void givenDerivedModeWhenRecalculatePostMovementBalancesThenSkipTailRewrite() {
+        // Arrange
+        ReflectionTestUtils.setField(
+                balanceRecalculationService, "recalculationMode", BalanceRecalculationMode.DERIVED);
+
+        // Act
+        Mono<Long> result =
+                balanceRecalculationService.recalculatePostMovementBalances(
+                        testAccountId, testDateTime, testBalanceAdjustment);
+
+        // Assert
+        StepVerifier.create(result).expectNext(0L).verifyComplete();
+
+        verifyNoInteractions(movementOutputPort, pendingRecalculationOutputPort);
+    }
+
+    @Test
+    void givenPendingRecalculationsWhenProcessPendingRecalculationsThenRecomputeEachAccountOnce() {
+        // Arrange
+        UUID secondAccountId = UUID.randomUUID();
+        PendingRecalculation firstPending =
+                PendingRecalculation.builder()
+                        .accountId(testAccountId)
+                        .fromDateTime(testDateTime)
+                        .version(3L)
+                        .build();
+        PendingRecalculation secondPending =
+                PendingRecalculation.builder()
+                        .accountId(secondAccountId)
+                        .fromDateTime(testDateTime.minusDays(2))
+                        .version(1L)
+                        .build();
+
+        doAnswer(invocation -> invocation.<Supplier<Mono<?>>>getArgument(1).get())
+                .when(accountLockOutputPort)
+                .withAccountLock(any(UUID.class), any());
+        doReturn(Flux.just(firstPending, secondPending))
+                .when(pendingRecalculationOutputPort)
+                .findOldest(10);
+        doReturn(Mono.just(7L))
+                .when(movementOutputPort)
+                .recomputePostMovementBalances(testAccountId, testDateTime);
+        doReturn(Mono.just(2L))
+                .when(movementOutputPort)
+                .recomputePostMovementBalances(secondAccountId, testDateTime.minusDays(2));
+        doReturn(Mono.just(true)).when(pendingRecalculationOutputPort).complete(firstPending);
+        doReturn(Mono.just(false)).when(pendingRecalculationOutputPort).complete(secondPending);
+
+        // Act
+        Mono<Long> result = balanceRecalculationService.processPendingRecalculations(10);
+
+        // Assert
+        StepVerifier.create(result).expectNext(9L).verifyComplete();
+
+        verify(accountLockOutputPort).withAccountLock(eq(testAccountId), any());
+        verify(accountLockOutputPort).withAccountLock(eq(secondAccountId), any());
+        verify(pendingRecalculationOutputPort).complete(firstPending);
+        verify(pendingRecalculationOutputPort).complete(secondPending);
+    }
+
     private Movement createTestMovement(
             UUID movementId, BigDecimal value, BigDecimal postMovementBalance) {
         return Movement.builder()
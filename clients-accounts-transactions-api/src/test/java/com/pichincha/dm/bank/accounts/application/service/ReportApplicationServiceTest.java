@@ -1,26 +1,38 @@
 package com.pichincha.dm.bank.accounts.application.service;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
-import com.pichincha.dm.bank.accounts.application.port.input.AccountInputPort;
 import com.pichincha.dm.bank.accounts.application.port.input.ClientInputPort;
-import com.pichincha.dm.bank.accounts.application.port.input.MovementInputPort;
+import com.pichincha.dm.bank.accounts.application.port.output.ReportCacheOutputPort;
+import com.pichincha.dm.bank.accounts.application.port.output.ReportOutputPort;
+import com.pichincha.dm.bank.accounts.application.port.output.StatementArchiveOutputPort;
+import com.pichincha.dm.bank.accounts.application.port.output.StatementOutputPort;
 import com.pichincha.dm.bank.accounts.application.strategy.ReportGeneratorStrategyFactory;
-import com.pichincha.dm.bank.accounts.domain.Account;
+import com.pichincha.dm.bank.accounts.domain.AccountTotals;
 import com.pichincha.dm.bank.accounts.domain.Client;
-import com.pichincha.dm.bank.accounts.domain.Movement;
 import com.pichincha.dm.bank.accounts.domain.Person;
 import com.pichincha.dm.bank.accounts.domain.Report;
+import com.pichincha.dm.bank.accounts.domain.ReportCacheKey;
+import com.pichincha.dm.bank.accounts.domain.StatementLine;
 import com.pichincha.dm.bank.accounts.domain.enums.AccountType;
 import com.pichincha.dm.bank.accounts.domain.enums.MovementType;
+import com.pichincha.dm.bank.accounts.domain.enums.ReportDetail;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Base64;
 import java.util.UUID;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -36,12 +48,18 @@ class ReportApplicationServiceTest {
 
     @Mock private ClientInputPort clientInputPort;
 
-    @Mock private AccountInputPort accountInputPort;
-
-    @Mock private MovementInputPort movementInputPort;
+    @Mock private StatementOutputPort statementOutputPort;
 
     @Mock private ReportGeneratorStrategyFactory strategyFactory;
 
+    @Mock private ReportCacheOutputPort reportCacheOutputPort;
+
+    @Mock private ReportSingleFlight reportSingleFlight;
+
+    @Mock private ReportOutputPort reportOutputPort;
+
+    @Mock private StatementArchiveOutputPort statementArchiveOutputPort;
+
     @InjectMocks private ReportApplicationService reportApplicationService;
 
     private UUID clientId;
@@ -49,8 +67,7 @@ class ReportApplicationServiceTest {
     private LocalDate startDate;
     private LocalDate endDate;
     private Client mockClient;
-    private Account mockAccount;
-    private Movement mockMovement;
+    private StatementLine creditLine;
     private Person mockPerson;
 
     @BeforeEach
@@ -64,35 +81,36 @@ class ReportApplicationServiceTest {
 
         mockClient = Client.builder().id(clientId).person(mockPerson).build();
 
-        mockAccount =
-                Account.builder()
-                        .id(accountId)
-                        .clientId(clientId)
-                        .accountNumber(123456L)
-                        .type(AccountType.AHORROS)
-                        .initBalance(new BigDecimal("1000.00"))
-                        .currentBalance(new BigDecimal("1200.00"))
-                        .build();
+        creditLine =
+                createLine(
+                        accountId,
+                        123456L,
+                        LocalDateTime.of(2024, 1, 15, 10, 0),
+                        MovementType.CREDITO,
+                        new BigDecimal("200.00"),
+                        new BigDecimal("1200.00"));
 
-        mockMovement =
-                Movement.builder()
-                        .id(UUID.randomUUID())
-                        .accountId(accountId)
-                        .date(LocalDateTime.of(2024, 1, 15, 10, 0))
-                        .type(MovementType.CREDITO)
-                        .value(new BigDecimal("200.00"))
-                        .postMovementBalance(new BigDecimal("1200.00"))
-                        .build();
+        lenient()
+                .doAnswer(invocation -> invocation.<Supplier<Mono<?>>>getArgument(1).get())
+                .when(reportCacheOutputPort)
+                .getOrLoad(any(ReportCacheKey.class), any());
+        lenient()
+                .doAnswer(invocation -> invocation.<Supplier<Mono<?>>>getArgument(1).get())
+                .when(reportSingleFlight)
+                .execute(any(ReportCacheKey.class), any());
+        lenient()
+                .doReturn(Mono.empty())
+                .when(statementArchiveOutputPort)
+                .find(any(UUID.class), any(YearMonth.class));
     }
 
     @Test
     void givenValidParametersWhenGenerateReportThenReturnReport() {
         // Arrange
         doReturn(Mono.just(mockClient)).when(clientInputPort).getClientById(clientId);
-        doReturn(Flux.just(mockAccount)).when(accountInputPort).listAccounts(clientId, null, null);
-        doReturn(Flux.just(mockMovement))
-                .when(movementInputPort)
-                .listMovements(any(), eq(123456L), eq(startDate), eq(endDate), any(), any());
+        doReturn(Flux.just(creditLine))
+                .when(statementOutputPort)
+                .findStatementLines(clientId, startDate, endDate);
 
         // Act & Assert
         StepVerifier.create(reportApplicationService.generateReport(clientId, startDate, endDate))
@@ -103,6 +121,12 @@ class ReportApplicationServiceTest {
                             assertEquals(startDate, report.getStartDate());
                             assertEquals(endDate, report.getEndDate());
                             assertEquals(1, report.getAccounts().size());
+                            assertEquals(
+                                    new BigDecimal("1000.00"),
+                                    report.getAccounts().get(0).getInitialBalance());
+                            assertEquals(
+                                    new BigDecimal("1200.00"),
+                                    report.getAccounts().get(0).getCurrentBalance());
                             assertNotNull(report.getTotalDebits());
                             assertNotNull(report.getTotalCredits());
                             return true;
@@ -110,6 +134,99 @@ class ReportApplicationServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    void givenSeveralAccountsWhenGenerateReportThenFoldEachAccountWithoutCaps() {
+        // Arrange
+        UUID secondAccountId = UUID.randomUUID();
+        Flux<StatementLine> lines =
+                Flux.concat(
+                        Flux.range(0, 60)
+                                .map(
+                                        day ->
+                                                createLine(
+                                                        accountId,
+                                                        123456L,
+                                                        LocalDateTime.of(2024, 1, 1, 8, 0)
+                                                                .plusHours(day),
+                                                        MovementType.DEBITO,
+                                                        new BigDecimal("-5.00"),
+                                                        new BigDecimal("995.00"))),
+                        Flux.just(
+                                StatementLine.builder()
+                                        .accountId(secondAccountId)
+                                        .accountNumber(654321L)
+                                        .accountType(AccountType.CORRIENTE)
+                                        .openingBalance(new BigDecimal("50.00"))
+                                        .closingBalance(new BigDecimal("50.00"))
+                                        .build()));
+
+        doReturn(Mono.just(mockClient)).when(clientInputPort).getClientById(clientId);
+        doReturn(lines).when(statementOutputPort).findStatementLines(clientId, startDate, endDate);
+
+        // Act & Assert
+        StepVerifier.create(reportApplicationService.generateReport(clientId, startDate, endDate))
+                .assertNext(
+                        report -> {
+                            assertEquals(2, report.getAccounts().size());
+
+                            Report.AccountSummary first = report.getAccounts().get(0);
+                            assertEquals(123456L, first.getAccountNumber());
+                            assertEquals(60, first.getMovements().size());
+                            assertEquals(new BigDecimal("-300.00"), first.getTotalDebits());
+                            assertEquals(60, first.getDebitCount());
+                            assertEquals(BigDecimal.ZERO, first.getTotalCredits());
+
+                            Report.AccountSummary second = report.getAccounts().get(1);
+                            assertEquals(654321L, second.getAccountNumber());
+                            assertTrue(second.getMovements().isEmpty());
+                            assertEquals(new BigDecimal("50.00"), second.getInitialBalance());
+
+                            assertEquals(new BigDecimal("-300.00"), report.getTotalDebits());
+                        })
+                .verifyComplete();
+    }
+
+    @Test
+    void givenSummaryDetailWhenGenerateReportThenUseAccountTotalsWithoutMovements() {
+        // Arrange
+        AccountTotals totals =
+                AccountTotals.builder()
+                        .accountId(accountId)
+                        .accountNumber(123456L)
+                        .accountType(AccountType.AHORROS)
+                        .openingBalance(new BigDecimal("1000.00"))
+                        .closingBalance(new BigDecimal("1150.00"))
+                        .totalDebits(new BigDecimal("-50.00"))
+                        .totalCredits(new BigDecimal("200.00"))
+                        .debitCount(2)
+                        .creditCount(1)
+                        .build();
+
+        doReturn(Mono.just(mockClient)).when(clientInputPort).getClientById(clientId);
+        doReturn(Flux.just(totals))
+                .when(statementOutputPort)
+                .findAccountTotals(clientId, startDate, endDate);
+
+        // Act & Assert
+        StepVerifier.create(
+                        reportApplicationService.generateReport(
+                                clientId, startDate, endDate, ReportDetail.RESUMEN))
+                .assertNext(
+                        report -> {
+                            assertEquals(ReportDetail.RESUMEN, report.getDetail());
+                            Report.AccountSummary account = report.getAccounts().get(0);
+                            assertTrue(account.getMovements().isEmpty());
+                            assertEquals(2, account.getDebitCount());
+                            assertEquals(1, account.getCreditCount());
+                            assertEquals(new BigDecimal("1150.00"), account.getCurrentBalance());
+                            assertEquals(new BigDecimal("-50.00"), report.getTotalDebits());
+                            assertEquals(new BigDecimal("200.00"), report.getTotalCredits());
+                        })
+                .verifyComplete();
+
+        verify(statementOutputPort, never()).findStatementLines(any(), any(), any());
+    }
+
     @Test
     void givenInvalidDateRangeWhenGenerateReportThenThrowException() {
         // Arrange
@@ -131,10 +248,9 @@ class ReportApplicationServiceTest {
         String expectedFormattedReport = "formatted-report-content";
 
         doReturn(Mono.just(mockClient)).when(clientInputPort).getClientById(clientId);
-        doReturn(Flux.just(mockAccount)).when(accountInputPort).listAccounts(clientId, null, null);
-        doReturn(Flux.just(mockMovement))
-                .when(movementInputPort)
-                .listMovements(any(), eq(123456L), eq(startDate), eq(endDate), any(), any());
+        doReturn(Flux.just(creditLine))
+                .when(statementOutputPort)
+                .findStatementLines(clientId, startDate, endDate);
         doReturn(Mono.just(expectedFormattedReport))
                 .when(strategyFactory)
                 .generateReport(any(Report.class), eq(format));
@@ -146,4 +262,158 @@ class ReportApplicationServiceTest {
                 .expectNext(expectedFormattedReport)
                 .verifyComplete();
     }
+
+    @Test
+    void givenCachedReportWhenGenerateFormattedReportThenSkipGeneration() {
+        // Arrange
+        ReportCacheKey expectedKey =
+                ReportCacheKey.builder()
+                        .clientId(clientId)
+                        .startDate(startDate)
+                        .endDate(endDate)
+                        .detail(ReportDetail.COMPLETO)
+                        .format("pdf")
+                        .build();
+        doReturn(Mono.just("cached-pdf"))
+                .when(reportCacheOutputPort)
+                .getOrLoad(eq(expectedKey), any());
+
+        // Act & Assert
+        StepVerifier.create(
+                        reportApplicationService.generateFormattedReport(
+                                clientId, startDate, endDate, "PDF"))
+                .expectNext("cached-pdf")
+                .verifyComplete();
+
+        verify(statementOutputPort, never()).findStatementLines(any(), any(), any());
+        verify(strategyFactory, never()).generateReport(any(), any());
+    }
+
+    @Test
+    void givenValidParametersWhenGeneratePdfDocumentThenRenderBinaryPdf() {
+        // Arrange
+        byte[] pdfBytes = {0x25, 0x50, 0x44, 0x46};
+        ReportCacheKey expectedKey =
+                ReportCacheKey.builder()
+                        .clientId(clientId)
+                        .startDate(startDate)
+                        .endDate(endDate)
+                        .detail(ReportDetail.COMPLETO)
+                        .format("application/pdf")
+                        .build();
+
+        doReturn(Mono.just(mockClient)).when(clientInputPort).getClientById(clientId);
+        doReturn(Flux.just(creditLine))
+                .when(statementOutputPort)
+                .findStatementLines(clientId, startDate, endDate);
+        doReturn(Mono.just(pdfBytes)).when(reportOutputPort).renderPdf(any(Report.class));
+
+        // Act & Assert
+        StepVerifier.create(
+                        reportApplicationService.generatePdfDocument(
+                                clientId, startDate, endDate, ReportDetail.COMPLETO))
+                .assertNext(result -> assertArrayEquals(pdfBytes, result))
+                .verifyComplete();
+
+        verify(reportCacheOutputPort).getOrLoad(eq(expectedKey), any());
+        verify(strategyFactory, never()).generateReport(any(), any());
+    }
+
+    @Test
+    void givenArchivedMonthWhenGeneratePdfDocumentThenServeArchiveWithoutGeneration() {
+        // Arrange
+        byte[] archivedPdf = {0x25, 0x50, 0x44, 0x46, 0x2D};
+        doReturn(Mono.just(archivedPdf))
+                .when(statementArchiveOutputPort)
+                .find(clientId, YearMonth.of(2024, 1));
+
+        // Act & Assert
+        StepVerifier.create(
+                        reportApplicationService.generatePdfDocument(
+                                clientId, startDate, endDate, ReportDetail.COMPLETO))
+                .assertNext(result -> assertArrayEquals(archivedPdf, result))
+                .verifyComplete();
+
+        verify(reportCacheOutputPort, never()).getOrLoad(any(), any());
+        verify(reportOutputPort, never()).renderPdf(any());
+    }
+
+    @Test
+    void givenArchivedMonthWhenGenerateFormattedPdfReportThenReturnArchiveAsBase64() {
+        // Arrange
+        byte[] archivedPdf = {0x25, 0x50, 0x44, 0x46, 0x2D};
+        doReturn(Mono.just(archivedPdf))
+                .when(statementArchiveOutputPort)
+                .find(clientId, YearMonth.of(2024, 1));
+
+        // Act & Assert
+        StepVerifier.create(
+                        reportApplicationService.generateFormattedReport(
+                                clientId, startDate, endDate, "PDF"))
+                .expectNext(Base64.getEncoder().encodeToString(archivedPdf))
+                .verifyComplete();
+
+        verify(strategyFactory, never()).generateReport(any(), any());
+    }
+
+    @Test
+    void givenPartialMonthWhenGeneratePdfDocumentThenSkipArchive() {
+        // Arrange
+        LocalDate midMonth = LocalDate.of(2024, 1, 15);
+        byte[] pdfBytes = {0x25, 0x50, 0x44, 0x46};
+        doReturn(Mono.just(mockClient)).when(clientInputPort).getClientById(clientId);
+        doReturn(Flux.just(creditLine))
+                .when(statementOutputPort)
+                .findStatementLines(clientId, startDate, midMonth);
+        doReturn(Mono.just(pdfBytes)).when(reportOutputPort).renderPdf(any(Report.class));
+
+        // Act & Assert
+        StepVerifier.create(
+                        reportApplicationService.generatePdfDocument(
+                                clientId, startDate, midMonth, ReportDetail.COMPLETO))
+                .assertNext(result -> assertArrayEquals(pdfBytes, result))
+                .verifyComplete();
+
+        verify(statementArchiveOutputPort, never()).find(any(), any());
+    }
+
+    @Test
+    void givenValidParametersWhenGenerateUncachedReportThenBypassCacheAndSingleFlight() {
+        // Arrange
+        doReturn(Mono.just(mockClient)).when(clientInputPort).getClientById(clientId);
+        doReturn(Flux.just(creditLine))
+                .when(statementOutputPort)
+                .findStatementLines(clientId, startDate, endDate);
+
+        // Act & Assert
+        StepVerifier.create(
+                        reportApplicationService.generateUncachedReport(
+                                clientId, startDate, endDate, ReportDetail.COMPLETO))
+                .assertNext(report -> assertEquals(1, report.getAccounts().size()))
+                .verifyComplete();
+
+        verify(reportCacheOutputPort, never()).getOrLoad(any(), any());
+        verify(reportSingleFlight, never()).execute(any(), any());
+    }
+
+    private StatementLine createLine(
+            UUID lineAccountId,
+            Long accountNumber,
+            LocalDateTime date,
+            MovementType type,
+            BigDecimal value,
+            BigDecimal balanceAfter) {
+        return StatementLine.builder()
+                .accountId(lineAccountId)
+                .accountNumber(accountNumber)
+                .accountType(AccountType.AHORROS)
+                .openingBalance(new BigDecimal("1000.00"))
+                .closingBalance(new BigDecimal("1200.00"))
+                .movementId(UUID.randomUUID())
+                .movementDate(date)
+                .movementType(type)
+                .movementValue(value)
+                .balanceAfterMovement(balanceAfter)
+                .build();
+    }
 }
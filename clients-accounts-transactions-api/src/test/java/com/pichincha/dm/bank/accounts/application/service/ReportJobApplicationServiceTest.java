@@ -0,0 +1,435 @@
+package com.pichincha.dm.bank.accounts.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.pichincha.dm.bank.accounts.application.port.input.ReportInputPort;
+import com.pichincha.dm.bank.accounts.application.port.output.ReportJobOutputPort;
+import com.pichincha.dm.bank.accounts.application.port.output.ReportResultStoreOutputPort;
+import com.pichincha.dm.bank.accounts.application.strategy.ReportGeneratorStrategy;
+import com.pichincha.dm.bank.accounts.application.strategy.ReportGeneratorStrategyFactory;
+import com.pichincha.dm.bank.accounts.domain.Report;
+import com.pichincha.dm.bank.accounts.domain.ReportJob;
+import com.pichincha.dm.bank.accounts.domain.ReportJobResult;
+import com.pichincha.dm.bank.accounts.domain.enums.ReportDetail;
+import com.pichincha.dm.bank.accounts.domain.enums.ReportJobStatus;
+import com.pichincha.dm.bank.accounts.domain.exception.GeneralApplicationException;
+import com.pichincha.dm.bank.accounts.domain.exception.ReportRenderRejectedException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class ReportJobApplicationServiceTest {
+
+    private static final LocalDate START_DATE = LocalDate.of(2024, 1, 1);
+    private static final LocalDate END_DATE = LocalDate.of(2024, 1, 31);
+    private static final Duration TTL = Duration.ofHours(1);
+    private static final Duration MAX_WAIT = Duration.ofSeconds(1);
+
+    @Mock private ReportInputPort reportInputPort;
+    @Mock private ReportGeneratorStrategyFactory strategyFactory;
+    @Mock private ReportGeneratorStrategy pdfStrategy;
+    @Mock private ReportJobOutputPort reportJobOutputPort;
+    @Mock private ReportResultStoreOutputPort reportResultStoreOutputPort;
+
+    private final Map<UUID, ReportJob> savedJobs = new ConcurrentHashMap<>();
+    private ReportJobApplicationService reportJobApplicationService;
+    private UUID clientId;
+    private Report report;
+
+    @BeforeEach
+    void setUp() {
+        clientId = UUID.randomUUID();
+        report =
+                Report.builder()
+                        .clientId(clientId)
+                        .clientName("Juan Perez")
+                        .startDate(START_DATE)
+                        .endDate(END_DATE)
+                        .accounts(List.of())
+                        .totalDebits(BigDecimal.ZERO)
+                        .totalCredits(BigDecimal.ZERO)
+                        .build();
+
+        lenient().doReturn(Mono.just(pdfStrategy)).when(strategyFactory).getStrategy("pdf");
+        lenient().doReturn("pdf").when(pdfStrategy).getFormatType();
+        lenient().doReturn("application/pdf").when(pdfStrategy).getContentType();
+        lenient()
+                .doAnswer(
+                        invocation -> {
+                            ReportJob job = invocation.getArgument(0);
+                            savedJobs.put(job.getId(), job);
+                            return Mono.just(job);
+                        })
+                .when(reportJobOutputPort)
+                .save(any(ReportJob.class));
+        lenient()
+                .doAnswer(invocation -> Mono.justOrEmpty(savedJobs.get(invocation.getArgument(0))))
+                .when(reportJobOutputPort)
+                .findById(any(UUID.class));
+
+        reportJobApplicationService = createService(2, 32, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reportJobApplicationService.shutdown();
+    }
+
+    @Test
+    void givenValidRequestWhenSubmitJobThenGenerateInBackgroundAndStoreResult() {
+        // Arrange
+        byte[] pdfBytes = {'%', 'P', 'D', 'F'};
+        Path file = Path.of("/tmp/result.pdf");
+        doReturn(Mono.just(report))
+                .when(reportInputPort)
+                .generateUncachedReport(clientId, START_DATE, END_DATE, ReportDetail.COMPLETO);
+        doReturn(Mono.just(pdfBytes)).when(pdfStrategy).generateDocument(report);
+        doReturn(Mono.just(file)).when(reportResultStoreOutputPort).write(any(), any());
+
+        // Act
+        ReportJob submitted = submit().block();
+        Mono<ReportJob> result =
+                reportJobApplicationService.awaitJob(submitted.getId(), Duration.ofSeconds(5));
+
+        // Assert
+        StepVerifier.create(result)
+                .assertNext(
+                        job -> {
+                            assertEquals(ReportJobStatus.COMPLETADO, job.getStatus());
+                            assertEquals("application/pdf", job.getContentType());
+                            assertEquals(4L, job.getSizeBytes());
+                            assertEquals(job.getCompletedAt().plus(TTL), job.getExpiresAt());
+                        })
+                .verifyComplete();
+
+        verify(reportResultStoreOutputPort).write(submitted.getId(), pdfBytes);
+    }
+
+    @Test
+    void givenGenerationFailsWhenRunJobThenRecordJobAsFailed() {
+        // Arrange
+        doReturn(
+                        Mono.error(
+                                new GeneralApplicationException(
+                                        "Cliente no encontrado con ID: " + clientId,
+                                        "Cliente no encontrado",
+                                        HttpStatus.NOT_FOUND)))
+                .when(reportInputPort)
+                .generateUncachedReport(clientId, START_DATE, END_DATE, ReportDetail.COMPLETO);
+
+        // Act
+        ReportJob submitted = submit().block();
+        Mono<ReportJob> result =
+                reportJobApplicationService.awaitJob(submitted.getId(), Duration.ofSeconds(5));
+
+        // Assert
+        StepVerifier.create(result)
+                .assertNext(
+                        job -> {
+                            assertEquals(ReportJobStatus.FALLIDO, job.getStatus());
+                            assertEquals("Cliente no encontrado", job.getErrorMessage());
+                        })
+                .verifyComplete();
+
+        verify(reportResultStoreOutputPort, never()).write(any(), any());
+    }
+
+    @Test
+    void givenJobStillRunningWhenAwaitJobThenReturnCurrentStatusAfterMaxWait() {
+        // Arrange
+        doReturn(Mono.never())
+                .when(reportInputPort)
+                .generateUncachedReport(clientId, START_DATE, END_DATE, ReportDetail.COMPLETO);
+        ReportJob submitted = submit().block();
+
+        // Act
+        Mono<ReportJob> result =
+                reportJobApplicationService.awaitJob(submitted.getId(), Duration.ofMillis(100));
+
+        // Assert
+        StepVerifier.create(result)
+                .assertNext(job -> assertEquals(ReportJobStatus.EN_PROCESO, job.getStatus()))
+                .verifyComplete();
+    }
+
+    @Test
+    void givenWaitLongerThanMaxWaitWhenAwaitJobThenReturnAfterMaxWait() {
+        // Arrange
+        doReturn(Mono.never())
+                .when(reportInputPort)
+                .generateUncachedReport(clientId, START_DATE, END_DATE, ReportDetail.COMPLETO);
+        ReportJob submitted = submit().block();
+
+        // Act
+        Mono<ReportJob> result =
+                reportJobApplicationService.awaitJob(submitted.getId(), Duration.ofMinutes(10));
+
+        // Assert
+        StepVerifier.create(result)
+                .assertNext(job -> assertEquals(ReportJobStatus.EN_PROCESO, job.getStatus()))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void givenRenderPoolFullWhenRunJobThenRetryRenderWithBackoff() {
+        // Arrange
+        byte[] pdfBytes = {'%', 'P', 'D', 'F'};
+        AtomicInteger renderAttempts = new AtomicInteger();
+        doReturn(Mono.just(report))
+                .when(reportInputPort)
+                .generateUncachedReport(clientId, START_DATE, END_DATE, ReportDetail.COMPLETO);
+        doReturn(
+                        Mono.defer(
+                                () ->
+                                        renderAttempts.incrementAndGet() < 3
+                                                ? Mono.error(
+                                                        new ReportRenderRejectedException(
+                                                                "Render pool is full",
+                                                                Duration.ofSeconds(1)))
+                                                : Mono.just(pdfBytes)))
+                .when(pdfStrategy)
+                .generateDocument(report);
+        doReturn(Mono.just(Path.of("/tmp/result.pdf")))
+                .when(reportResultStoreOutputPort)
+                .write(any(), any());
+
+        // Act
+        ReportJob submitted = submit().block();
+        Mono<ReportJob> result = reportJobApplicationService.awaitJob(submitted.getId(), MAX_WAIT);
+
+        // Assert
+        StepVerifier.create(result)
+                .assertNext(job -> assertEquals(ReportJobStatus.COMPLETADO, job.getStatus()))
+                .verifyComplete();
+
+        assertEquals(3, renderAttempts.get());
+        verify(reportInputPort, never())
+                .generateReport(any(UUID.class), any(), any(), any(ReportDetail.class));
+    }
+
+    @Test
+    void givenClientAtJobLimitWhenSubmitJobThenRejectWithTooManyRequests() {
+        // Arrange
+        doReturn(Mono.never())
+                .when(reportInputPort)
+                .generateUncachedReport(clientId, START_DATE, END_DATE, ReportDetail.COMPLETO);
+        submit().block();
+        submit().block();
+
+        // Act
+        Mono<ReportJob> result = submit();
+
+        // Assert
+        StepVerifier.create(result)
+                .expectErrorMatches(
+                        error ->
+                                error instanceof GeneralApplicationException exception
+                                        && exception.getStatusCode()
+                                                == HttpStatus.TOO_MANY_REQUESTS)
+                .verify();
+        assertEquals(2, savedJobs.size());
+    }
+
+    @Test
+    void givenFinishedJobWhenSubmitJobThenReleaseClientSlot() {
+        // Arrange
+        reportJobApplicationService.shutdown();
+        reportJobApplicationService = createService(1, 32, 1);
+        doReturn(Mono.just(report))
+                .when(reportInputPort)
+                .generateUncachedReport(clientId, START_DATE, END_DATE, ReportDetail.COMPLETO);
+        doReturn(Mono.just(new byte[] {1})).when(pdfStrategy).generateDocument(report);
+        doReturn(Mono.just(Path.of("/tmp/result.pdf")))
+                .when(reportResultStoreOutputPort)
+                .write(any(), any());
+        ReportJob first = submit().block();
+        reportJobApplicationService.awaitJob(first.getId(), Duration.ofSeconds(5)).block();
+
+        // Act
+        Mono<ReportJob> result = submit();
+
+        // Assert
+        StepVerifier.create(result)
+                .assertNext(job -> assertEquals(ReportJobStatus.PENDIENTE, job.getStatus()))
+                .verifyComplete();
+    }
+
+    @Test
+    void givenQueueFullWhenSubmitJobThenRejectWithRetryAfter() {
+        // Arrange
+        reportJobApplicationService.shutdown();
+        reportJobApplicationService = createService(1, 1, 10);
+        doReturn(Mono.never())
+                .when(reportInputPort)
+                .generateUncachedReport(clientId, START_DATE, END_DATE, ReportDetail.COMPLETO);
+        doReturn(Mono.empty()).when(reportJobOutputPort).deleteById(any());
+        submit().block();
+        submit().block();
+
+        // Act
+        Mono<ReportJob> result = submit();
+
+        // Assert
+        StepVerifier.create(result)
+                .expectErrorMatches(
+                        error ->
+                                error instanceof ReportRenderRejectedException exception
+                                        && exception.getRetryAfter().equals(Duration.ofSeconds(7)))
+                .verify();
+        verify(reportJobOutputPort).deleteById(any());
+    }
+
+    @Test
+    void givenStartDateAfterEndDateWhenSubmitJobThenReturnError() {
+        // Act
+        Mono<ReportJob> result =
+                reportJobApplicationService.submitJob(
+                        clientId, END_DATE, START_DATE, "pdf", ReportDetail.COMPLETO);
+
+        // Assert
+        StepVerifier.create(result).expectError(IllegalArgumentException.class).verify();
+        verify(reportJobOutputPort, never()).save(any());
+    }
+
+    @Test
+    void givenPendingJobWhenGetJobResultThenReturnConflict() {
+        // Arrange
+        ReportJob job = job(ReportJobStatus.EN_PROCESO, null);
+        savedJobs.put(job.getId(), job);
+
+        // Act
+        Mono<ReportJobResult> result = reportJobApplicationService.getJobResult(job.getId());
+
+        // Assert
+        StepVerifier.create(result)
+                .expectErrorMatches(
+                        error ->
+                                error instanceof GeneralApplicationException exception
+                                        && exception.getStatusCode() == HttpStatus.CONFLICT)
+                .verify();
+    }
+
+    @Test
+    void givenCompletedJobWhenGetJobResultThenReturnStoredFile() {
+        // Arrange
+        ReportJob job = job(ReportJobStatus.COMPLETADO, LocalDateTime.now().plusMinutes(30));
+        savedJobs.put(job.getId(), job);
+        Path file = Path.of("/tmp/result.pdf");
+        doReturn(Mono.just(file)).when(reportResultStoreOutputPort).find(job.getId());
+
+        // Act
+        Mono<ReportJobResult> result = reportJobApplicationService.getJobResult(job.getId());
+
+        // Assert
+        StepVerifier.create(result)
+                .assertNext(
+                        jobResult -> {
+                            assertEquals(file, jobResult.getFile());
+                            assertEquals("application/pdf", jobResult.getContentType());
+                            assertEquals(2048L, jobResult.getSizeBytes());
+                            assertEquals(
+                                    "estado-cuenta-" + clientId + "-2024-01-01-2024-01-31.pdf",
+                                    jobResult.getFileName());
+                        })
+                .verifyComplete();
+    }
+
+    @Test
+    void givenExpiredJobWhenGetJobThenReturnNotFound() {
+        // Arrange
+        ReportJob job = job(ReportJobStatus.COMPLETADO, LocalDateTime.now().minusMinutes(1));
+        savedJobs.put(job.getId(), job);
+
+        // Act
+        Mono<ReportJob> result = reportJobApplicationService.getJob(job.getId());
+
+        // Assert
+        StepVerifier.create(result)
+                .expectErrorMatches(
+                        error ->
+                                error instanceof GeneralApplicationException exception
+                                        && exception.getStatusCode() == HttpStatus.NOT_FOUND)
+                .verify();
+    }
+
+    @Test
+    void givenExpiredJobsWhenPurgeExpiredJobsThenDeleteResultsAndOrphans() {
+        // Arrange
+        ReportJob expired = job(ReportJobStatus.COMPLETADO, LocalDateTime.now().minusMinutes(1));
+        doReturn(Flux.just(expired)).when(reportJobOutputPort).findExpired(any());
+        doReturn(Mono.empty()).when(reportResultStoreOutputPort).delete(expired.getId());
+        doReturn(Mono.empty()).when(reportJobOutputPort).deleteById(expired.getId());
+        doReturn(Mono.just(3L)).when(reportResultStoreOutputPort).deleteOlderThan(TTL);
+
+        // Act
+        Mono<Long> result = reportJobApplicationService.purgeExpiredJobs();
+
+        // Assert
+        StepVerifier.create(result).expectNext(1L).verifyComplete();
+
+        verify(reportResultStoreOutputPort).delete(expired.getId());
+        verify(reportJobOutputPort).deleteById(expired.getId());
+        verify(reportResultStoreOutputPort).deleteOlderThan(TTL);
+    }
+
+    private ReportJobApplicationService createService(
+            int workers, int queueCapacity, int maxJobsPerClient) {
+        return new ReportJobApplicationService(
+                reportInputPort,
+                strategyFactory,
+                reportJobOutputPort,
+                reportResultStoreOutputPort,
+                workers,
+                queueCapacity,
+                maxJobsPerClient,
+                TTL,
+                Duration.ofSeconds(7),
+                Duration.ofMillis(10),
+                MAX_WAIT);
+    }
+
+    private Mono<ReportJob> submit() {
+        return reportJobApplicationService.submitJob(
+                clientId, START_DATE, END_DATE, "pdf", ReportDetail.COMPLETO);
+    }
+
+    private ReportJob job(ReportJobStatus status, LocalDateTime expiresAt) {
+        return ReportJob.builder()
+                .id(UUID.randomUUID())
+                .clientId(clientId)
+                .startDate(START_DATE)
+                .endDate(END_DATE)
+                .format("pdf")
+                .detail(ReportDetail.COMPLETO)
+                .status(status)
+                .contentType("application/pdf")
+                .sizeBytes(2048L)
+                .createdAt(LocalDateTime.now().minusMinutes(5))
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
@@ -0,0 +1,144 @@
+package com.pichincha.dm.bank.accounts.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import com.pichincha.dm.bank.accounts.domain.ReportCacheKey;
+import com.pichincha.dm.bank.accounts.domain.enums.ReportDetail;
+import com.pichincha.dm.bank.accounts.domain.exception.GeneralApplicationException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+class ReportSingleFlightTest {
+
+    private ReportSingleFlight reportSingleFlight;
+    private ReportCacheKey key;
+    private AtomicInteger generations;
+
+    @BeforeEach
+    void setUp() {
+        reportSingleFlight = new ReportSingleFlight();
+        ReflectionTestUtils.setField(reportSingleFlight, "timeout", Duration.ofSeconds(5));
+        key =
+                ReportCacheKey.builder()
+                        .clientId(UUID.randomUUID())
+                        .startDate(LocalDate.of(2024, 1, 1))
+                        .endDate(LocalDate.of(2024, 1, 31))
+                        .detail(ReportDetail.COMPLETO)
+                        .format("pdf")
+                        .build();
+        generations = new AtomicInteger();
+    }
+
+    @Test
+    void givenIdenticalRequestsInFlightWhenExecuteThenShareOneGeneration() {
+        // Arrange
+        Sinks.One<String> gate = Sinks.one();
+        List<String> results = new CopyOnWriteArrayList<>();
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            reportSingleFlight.execute(key, () -> generate(gate)).subscribe(results::add);
+        }
+        gate.tryEmitValue("pdf-content");
+
+        // Assert
+        assertEquals(1, generations.get());
+        assertEquals(
+                List.of("pdf-content", "pdf-content", "pdf-content", "pdf-content", "pdf-content"),
+                results);
+    }
+
+    @Test
+    void givenFirstSubscriberCancelsWhenExecuteThenSharedGenerationContinues() {
+        // Arrange
+        Sinks.One<String> gate = Sinks.one();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Disposable first =
+                reportSingleFlight
+                        .execute(key, () -> generate(gate).doOnCancel(() -> cancelled.set(true)))
+                        .subscribe();
+        Mono<String> second = reportSingleFlight.execute(key, () -> generate(gate));
+
+        // Act
+        first.dispose();
+
+        // Assert
+        StepVerifier.create(second)
+                .then(() -> gate.tryEmitValue("pdf-content"))
+                .expectNext("pdf-content")
+                .verifyComplete();
+        assertFalse(cancelled.get());
+        assertEquals(1, generations.get());
+    }
+
+    @Test
+    void givenFinishedGenerationWhenExecuteAgainThenStartNewGeneration() {
+        // Act
+        StepVerifier.create(reportSingleFlight.execute(key, () -> generate("first")))
+                .expectNext("first")
+                .verifyComplete();
+        StepVerifier.create(reportSingleFlight.execute(key, () -> generate("second")))
+                .expectNext("second")
+                .verifyComplete();
+
+        // Assert
+        assertEquals(2, generations.get());
+    }
+
+    @Test
+    void givenFailedGenerationWhenExecuteThenPropagateErrorToEveryWaiter() {
+        // Arrange
+        Sinks.One<String> gate = Sinks.one();
+        IllegalStateException failure = new IllegalStateException("render failed");
+        Mono<String> first = reportSingleFlight.execute(key, () -> generate(gate));
+        Mono<String> second = reportSingleFlight.execute(key, () -> generate(gate));
+
+        // Act & Assert
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> gate.tryEmitError(failure))
+                .expectErrorMatches(failure::equals)
+                .verify();
+        StepVerifier.create(reportSingleFlight.execute(key, () -> generate("retry")))
+                .expectNext("retry")
+                .verifyComplete();
+    }
+
+    @Test
+    void givenGenerationExceedsTimeoutWhenExecuteThenReturnServiceUnavailable() {
+        // Arrange
+        ReflectionTestUtils.setField(reportSingleFlight, "timeout", Duration.ofMillis(50));
+
+        // Act & Assert
+        StepVerifier.create(reportSingleFlight.execute(key, Mono::<String>never))
+                .expectErrorMatches(
+                        error ->
+                                error instanceof GeneralApplicationException exception
+                                        && exception.getStatusCode()
+                                                == HttpStatus.SERVICE_UNAVAILABLE)
+                .verify(Duration.ofSeconds(2));
+    }
+
+    private Mono<String> generate(Sinks.One<String> gate) {
+        generations.incrementAndGet();
+        return gate.asMono();
+    }
+
+    private Mono<String> generate(String value) {
+        generations.incrementAndGet();
+        return Mono.just(value);
+    }
+}
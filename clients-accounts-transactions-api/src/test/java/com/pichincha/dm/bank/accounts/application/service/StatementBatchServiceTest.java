@@ -0,0 +1,237 @@
+package com.pichincha.dm.bank.accounts.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.pichincha.dm.bank.accounts.application.port.input.ReportInputPort;
+import com.pichincha.dm.bank.accounts.application.port.output.ClientOutputPort;
+import com.pichincha.dm.bank.accounts.application.port.output.ReportOutputPort;
+import com.pichincha.dm.bank.accounts.application.port.output.StatementArchiveOutputPort;
+import com.pichincha.dm.bank.accounts.domain.Report;
+import com.pichincha.dm.bank.accounts.domain.StatementBatchResult;
+import com.pichincha.dm.bank.accounts.domain.enums.ReportDetail;
+import com.pichincha.dm.bank.accounts.domain.exception.GeneralApplicationException;
+import com.pichincha.dm.bank.accounts.domain.exception.ReportRenderRejectedException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class StatementBatchServiceTest {
+
+    private static final YearMonth PERIOD = YearMonth.of(2024, 1);
+    private static final LocalDate START_DATE = LocalDate.of(2024, 1, 1);
+    private static final LocalDate END_DATE = LocalDate.of(2024, 1, 31);
+
+    @Mock private ClientOutputPort clientOutputPort;
+    @Mock private ReportInputPort reportInputPort;
+    @Mock private ReportOutputPort reportOutputPort;
+    @Mock private StatementArchiveOutputPort statementArchiveOutputPort;
+
+    @InjectMocks private StatementBatchService statementBatchService;
+
+    private UUID firstClientId;
+    private UUID secondClientId;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(statementBatchService, "dbConcurrency", 2);
+        ReflectionTestUtils.setField(statementBatchService, "renderConcurrency", 2);
+        ReflectionTestUtils.setField(
+                statementBatchService, "renderRetryBackoff", Duration.ofMillis(1));
+        ReflectionTestUtils.setField(statementBatchService, "progressEvery", 1);
+
+        firstClientId = UUID.randomUUID();
+        secondClientId = UUID.randomUUID();
+        lenient()
+                .doReturn(Flux.just(firstClientId, secondClientId))
+                .when(clientOutputPort)
+                .findAllIds();
+        lenient()
+                .doReturn(Mono.just(false))
+                .when(statementArchiveOutputPort)
+                .contains(any(UUID.class), any(YearMonth.class));
+        lenient()
+                .doReturn(Mono.empty())
+                .when(statementArchiveOutputPort)
+                .markPeriodComplete(PERIOD);
+    }
+
+    @Test
+    void givenClientsWhenRunMonthEndThenArchiveEveryStatementAndMarkPeriodComplete() {
+        // Arrange
+        Report firstReport = report(firstClientId);
+        Report secondReport = report(secondClientId);
+        byte[] firstPdf = {1};
+        byte[] secondPdf = {2};
+        stubReport(firstClientId, firstReport);
+        stubReport(secondClientId, secondReport);
+        doReturn(Mono.just(firstPdf)).when(reportOutputPort).renderPdf(firstReport);
+        doReturn(Mono.just(secondPdf)).when(reportOutputPort).renderPdf(secondReport);
+        doReturn(Mono.just("digest-1"))
+                .when(statementArchiveOutputPort)
+                .store(firstClientId, PERIOD, firstPdf);
+        doReturn(Mono.just("digest-2"))
+                .when(statementArchiveOutputPort)
+                .store(secondClientId, PERIOD, secondPdf);
+
+        // Act
+        Mono<StatementBatchResult> result = statementBatchService.runMonthEnd(PERIOD);
+
+        // Assert
+        StepVerifier.create(result)
+                .assertNext(
+                        batch -> {
+                            assertEquals(2, batch.getArchived());
+                            assertEquals(0, batch.getSkipped());
+                            assertEquals(0, batch.getFailed());
+                        })
+                .verifyComplete();
+
+        verify(statementArchiveOutputPort).markPeriodComplete(PERIOD);
+    }
+
+    @Test
+    void givenPartiallyArchivedPeriodWhenRunMonthEndThenResumeWithPendingClients() {
+        // Arrange
+        Report secondReport = report(secondClientId);
+        byte[] secondPdf = {2};
+        doReturn(Mono.just(true)).when(statementArchiveOutputPort).contains(firstClientId, PERIOD);
+        stubReport(secondClientId, secondReport);
+        doReturn(Mono.just(secondPdf)).when(reportOutputPort).renderPdf(secondReport);
+        doReturn(Mono.just("digest-2"))
+                .when(statementArchiveOutputPort)
+                .store(secondClientId, PERIOD, secondPdf);
+
+        // Act
+        Mono<StatementBatchResult> result = statementBatchService.runMonthEnd(PERIOD);
+
+        // Assert
+        StepVerifier.create(result)
+                .assertNext(
+                        batch -> {
+                            assertEquals(1, batch.getArchived());
+                            assertEquals(1, batch.getSkipped());
+                        })
+                .verifyComplete();
+
+        verify(reportInputPort, never())
+                .generateUncachedReport(firstClientId, START_DATE, END_DATE, ReportDetail.COMPLETO);
+    }
+
+    @Test
+    void givenFailingClientWhenRunMonthEndThenContinueAndLeavePeriodOpen() {
+        // Arrange
+        Report secondReport = report(secondClientId);
+        byte[] secondPdf = {2};
+        doReturn(
+                        Mono.error(
+                                new GeneralApplicationException(
+                                        "Cliente no encontrado con ID: " + firstClientId,
+                                        "Cliente no encontrado",
+                                        HttpStatus.NOT_FOUND)))
+                .when(reportInputPort)
+                .generateUncachedReport(firstClientId, START_DATE, END_DATE, ReportDetail.COMPLETO);
+        stubReport(secondClientId, secondReport);
+        doReturn(Mono.just(secondPdf)).when(reportOutputPort).renderPdf(secondReport);
+        doReturn(Mono.just("digest-2"))
+                .when(statementArchiveOutputPort)
+                .store(secondClientId, PERIOD, secondPdf);
+
+        // Act
+        Mono<StatementBatchResult> result = statementBatchService.runMonthEnd(PERIOD);
+
+        // Assert
+        StepVerifier.create(result)
+                .assertNext(
+                        batch -> {
+                            assertEquals(1, batch.getArchived());
+                            assertEquals(1, batch.getFailed());
+                        })
+                .verifyComplete();
+
+        verify(statementArchiveOutputPort, never()).markPeriodComplete(any());
+    }
+
+    @Test
+    void givenRenderPoolFullWhenRunMonthEndThenRetryRender() {
+        // Arrange
+        doReturn(Flux.just(firstClientId)).when(clientOutputPort).findAllIds();
+        Report firstReport = report(firstClientId);
+        byte[] firstPdf = {1};
+        stubReport(firstClientId, firstReport);
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<byte[]> rejectedOnce =
+                Mono.defer(
+                        () ->
+                                attempts.getAndIncrement() == 0
+                                        ? Mono.<byte[]>error(
+                                                new ReportRenderRejectedException(
+                                                        Duration.ofSeconds(1)))
+                                        : Mono.just(firstPdf));
+        doReturn(rejectedOnce).when(reportOutputPort).renderPdf(firstReport);
+        doReturn(Mono.just("digest-1"))
+                .when(statementArchiveOutputPort)
+                .store(firstClientId, PERIOD, firstPdf);
+
+        // Act
+        Mono<StatementBatchResult> result = statementBatchService.runMonthEnd(PERIOD);
+
+        // Assert
+        StepVerifier.create(result)
+                .assertNext(batch -> assertEquals(1, batch.getArchived()))
+                .verifyComplete();
+
+        assertEquals(2, attempts.get());
+        verify(statementArchiveOutputPort, times(1)).store(firstClientId, PERIOD, firstPdf);
+    }
+
+    @Test
+    void givenArchivedPeriodWhenIsPeriodArchivedThenReturnTrue() {
+        // Arrange
+        doReturn(Mono.just(true)).when(statementArchiveOutputPort).isPeriodComplete(PERIOD);
+
+        // Act & Assert
+        StepVerifier.create(statementBatchService.isPeriodArchived(PERIOD))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    private void stubReport(UUID clientId, Report report) {
+        doReturn(Mono.just(report))
+                .when(reportInputPort)
+                .generateUncachedReport(clientId, START_DATE, END_DATE, ReportDetail.COMPLETO);
+    }
+
+    private Report report(UUID clientId) {
+        return Report.builder()
+                .clientId(clientId)
+                .clientName("Cliente " + clientId)
+                .startDate(START_DATE)
+                .endDate(END_DATE)
+                .accounts(List.of())
+                .totalDebits(BigDecimal.ZERO)
+                .totalCredits(BigDecimal.ZERO)
+                .build();
+    }
+}
@@ -0,0 +1,60 @@
+package com.pichincha.dm.bank.accounts.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class CursorPageTest {
+
+    @Test
+    void givenFullPageWhenOfThenNextCursorPointsToLastItem() {
+        // Arrange
+        Client first = client(LocalDateTime.of(2024, 1, 2, 10, 0));
+        Client last = client(LocalDateTime.of(2024, 1, 1, 10, 0));
+
+        // Act
+        CursorPage<Client> result = CursorPage.of(List.of(first, last), 2, this::cursorOf);
+
+        // Assert
+        assertTrue(result.hasNext());
+        assertEquals(last.getId(), result.getNext().getId());
+        assertEquals(last.getCreatedAt(), result.getNext().getPosition());
+    }
+
+    @Test
+    void givenPartialPageWhenOfThenHasNoNextCursor() {
+        // Act
+        CursorPage<Client> result =
+                CursorPage.of(List.of(client(LocalDateTime.now())), 2, this::cursorOf);
+
+        // Assert
+        assertFalse(result.hasNext());
+        assertNull(result.getNext());
+    }
+
+    @Test
+    void givenEmptyPageOrUnknownSizeWhenOfThenHasNoNextCursor() {
+        // Act
+        CursorPage<Client> empty = CursorPage.of(List.of(), 0, this::cursorOf);
+        CursorPage<Client> unsized =
+                CursorPage.of(List.of(client(LocalDateTime.now())), null, this::cursorOf);
+
+        // Assert
+        assertFalse(empty.hasNext());
+        assertFalse(unsized.hasNext());
+    }
+
+    private Client client(LocalDateTime createdAt) {
+        return Client.builder().id(UUID.randomUUID()).createdAt(createdAt).build();
+    }
+
+    private PageCursor cursorOf(Client client) {
+        return PageCursor.builder().position(client.getCreatedAt()).id(client.getId()).build();
+    }
+}
@@ -0,0 +1,179 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.archive;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.test.StepVerifier;
+
+class LocalStatementArchiveAdapterTest {
+
+    private static final YearMonth PERIOD = YearMonth.of(2024, 1);
+    private static final byte[] PDF = {'%', 'P', 'D', 'F', '-', '1'};
+
+    @TempDir private Path tempDir;
+
+    private LocalStatementArchiveAdapter localStatementArchiveAdapter;
+    private UUID clientId;
+
+    @BeforeEach
+    void setUp() {
+        localStatementArchiveAdapter = new LocalStatementArchiveAdapter(tempDir);
+        clientId = UUID.randomUUID();
+    }
+
+    @Test
+    void givenPdfWhenStoreThenWriteContentAddressedObjectAndIndexEntry() throws IOException {
+        // Act
+        String digest = localStatementArchiveAdapter.store(clientId, PERIOD, PDF).block();
+
+        // Assert
+        Path object =
+                tempDir.resolve("objects").resolve(digest.substring(0, 2)).resolve(digest + ".pdf");
+        assertArrayEquals(PDF, Files.readAllBytes(object));
+        assertEquals(
+                digest,
+                Files.readString(
+                        tempDir.resolve("index").resolve("2024-01").resolve(clientId.toString())));
+        assertEquals(64, digest.length());
+    }
+
+    @Test
+    void givenSameContentForTwoClientsWhenStoreThenKeepSingleObject() throws IOException {
+        // Act
+        localStatementArchiveAdapter.store(clientId, PERIOD, PDF).block();
+        localStatementArchiveAdapter.store(UUID.randomUUID(), PERIOD, PDF).block();
+
+        // Assert
+        try (Stream<Path> files = Files.walk(tempDir.resolve("objects"))) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    void givenStoredStatementWhenFindThenReturnPdf() {
+        // Arrange
+        localStatementArchiveAdapter.store(clientId, PERIOD, PDF).block();
+
+        // Act & Assert
+        StepVerifier.create(localStatementArchiveAdapter.find(clientId, PERIOD))
+                .assertNext(pdf -> assertArrayEquals(PDF, pdf))
+                .verifyComplete();
+        StepVerifier.create(localStatementArchiveAdapter.contains(clientId, PERIOD))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    @Test
+    void givenOtherPeriodWhenFindThenReturnEmpty() {
+        // Arrange
+        localStatementArchiveAdapter.store(clientId, PERIOD, PDF).block();
+
+        // Act & Assert
+        StepVerifier.create(localStatementArchiveAdapter.find(clientId, PERIOD.plusMonths(1)))
+                .verifyComplete();
+        StepVerifier.create(localStatementArchiveAdapter.contains(clientId, PERIOD.plusMonths(1)))
+                .expectNext(false)
+                .verifyComplete();
+    }
+
+    @Test
+    void givenCorruptObjectWhenFindThenReturnEmpty() throws IOException {
+        // Arrange
+        String digest = localStatementArchiveAdapter.store(clientId, PERIOD, PDF).block();
+        Path object =
+                tempDir.resolve("objects").resolve(digest.substring(0, 2)).resolve(digest + ".pdf");
+        Files.write(object, new byte[] {'X'});
+
+        // Act & Assert
+        StepVerifier.create(localStatementArchiveAdapter.find(clientId, PERIOD)).verifyComplete();
+    }
+
+    @Test
+    void givenMarkedPeriodWhenIsPeriodCompleteThenReturnTrue() {
+        // Arrange
+        StepVerifier.create(localStatementArchiveAdapter.isPeriodComplete(PERIOD))
+                .expectNext(false)
+                .verifyComplete();
+
+        // Act
+        localStatementArchiveAdapter.markPeriodComplete(PERIOD).block();
+
+        // Assert
+        StepVerifier.create(localStatementArchiveAdapter.isPeriodComplete(PERIOD))
+                .expectNext(true)
+                .verifyComplete();
+        assertTrue(Files.exists(tempDir.resolve("index").resolve("2024-01").resolve("_COMPLETE")));
+    }
+
+    @Test
+    void givenArchivedStatementWhenEvictFromThenDropIndexEntryAndCompleteMarker() {
+        // Arrange
+        String digest = localStatementArchiveAdapter.store(clientId, PERIOD, PDF).block();
+        localStatementArchiveAdapter.markPeriodComplete(PERIOD).block();
+
+        // Act
+        StepVerifier.create(localStatementArchiveAdapter.evictFrom(clientId, PERIOD))
+                .verifyComplete();
+
+        // Assert
+        StepVerifier.create(localStatementArchiveAdapter.find(clientId, PERIOD)).verifyComplete();
+        StepVerifier.create(localStatementArchiveAdapter.isPeriodComplete(PERIOD))
+                .expectNext(false)
+                .verifyComplete();
+        assertTrue(
+                Files.exists(
+                        tempDir.resolve("objects")
+                                .resolve(digest.substring(0, 2))
+                                .resolve(digest + ".pdf")));
+    }
+
+    @Test
+    void givenOlderMonthEditedWhenEvictFromThenLaterMonthsAreNoLongerServed() {
+        // Arrange
+        YearMonth earlier = PERIOD.minusMonths(1);
+        YearMonth later = PERIOD.plusMonths(2);
+        UUID otherClientId = UUID.randomUUID();
+        localStatementArchiveAdapter.store(clientId, earlier, PDF).block();
+        localStatementArchiveAdapter.store(clientId, PERIOD, PDF).block();
+        localStatementArchiveAdapter.store(clientId, later, PDF).block();
+        localStatementArchiveAdapter.store(otherClientId, later, PDF).block();
+        localStatementArchiveAdapter.markPeriodComplete(earlier).block();
+        localStatementArchiveAdapter.markPeriodComplete(later).block();
+
+        // Act
+        localStatementArchiveAdapter.evictFrom(clientId, PERIOD).block();
+
+        // Assert
+        StepVerifier.create(localStatementArchiveAdapter.find(clientId, later)).verifyComplete();
+        StepVerifier.create(localStatementArchiveAdapter.find(clientId, PERIOD)).verifyComplete();
+        StepVerifier.create(localStatementArchiveAdapter.find(clientId, earlier))
+                .assertNext(pdf -> assertArrayEquals(PDF, pdf))
+                .verifyComplete();
+        StepVerifier.create(localStatementArchiveAdapter.find(otherClientId, later))
+                .assertNext(pdf -> assertArrayEquals(PDF, pdf))
+                .verifyComplete();
+        StepVerifier.create(localStatementArchiveAdapter.isPeriodComplete(earlier))
+                .expectNext(true)
+                .verifyComplete();
+        StepVerifier.create(localStatementArchiveAdapter.isPeriodComplete(later))
+                .expectNext(false)
+                .verifyComplete();
+    }
+
+    @Test
+    void givenEmptyArchiveWhenEvictFromThenComplete() {
+        // Act & Assert
+        StepVerifier.create(localStatementArchiveAdapter.evictFrom(clientId, PERIOD))
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,84 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.job;
+
+import com.pichincha.dm.bank.accounts.domain.ReportJob;
+import com.pichincha.dm.bank.accounts.domain.enums.ReportJobStatus;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+class InMemoryReportJobAdapterTest {
+
+    private InMemoryReportJobAdapter inMemoryReportJobAdapter;
+
+    @BeforeEach
+    void setUp() {
+        inMemoryReportJobAdapter = new InMemoryReportJobAdapter();
+    }
+
+    @Test
+    void givenSavedJobWhenFindByIdThenReturnLatestVersion() {
+        // Arrange
+        ReportJob job = job(ReportJobStatus.PENDIENTE, null);
+        inMemoryReportJobAdapter.save(job).block();
+        ReportJob running = job.toBuilder().status(ReportJobStatus.EN_PROCESO).build();
+
+        // Act
+        inMemoryReportJobAdapter.save(running).block();
+
+        // Assert
+        StepVerifier.create(inMemoryReportJobAdapter.findById(job.getId()))
+                .expectNext(running)
+                .verifyComplete();
+    }
+
+    @Test
+    void givenUnknownJobWhenFindByIdThenReturnEmpty() {
+        // Act & Assert
+        StepVerifier.create(inMemoryReportJobAdapter.findById(UUID.randomUUID())).verifyComplete();
+    }
+
+    @Test
+    void givenFinishedAndRunningJobsWhenFindExpiredThenReturnOnlyExpiredFinishedJobs() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        ReportJob expired = job(ReportJobStatus.COMPLETADO, now.minusMinutes(1));
+        ReportJob failed = job(ReportJobStatus.FALLIDO, now.minusSeconds(1));
+        ReportJob valid = job(ReportJobStatus.COMPLETADO, now.plusMinutes(30));
+        ReportJob running = job(ReportJobStatus.EN_PROCESO, null);
+        for (ReportJob job : new ReportJob[] {expired, failed, valid, running}) {
+            inMemoryReportJobAdapter.save(job).block();
+        }
+
+        // Act & Assert
+        StepVerifier.create(inMemoryReportJobAdapter.findExpired(now).collectList())
+                .expectNextMatches(
+                        jobs -> jobs.size() == 2 && jobs.contains(expired) && jobs.contains(failed))
+                .verifyComplete();
+    }
+
+    @Test
+    void givenSavedJobWhenDeleteByIdThenRemoveIt() {
+        // Arrange
+        ReportJob job = job(ReportJobStatus.COMPLETADO, LocalDateTime.now());
+        inMemoryReportJobAdapter.save(job).block();
+
+        // Act
+        inMemoryReportJobAdapter.deleteById(job.getId()).block();
+
+        // Assert
+        StepVerifier.create(inMemoryReportJobAdapter.findById(job.getId())).verifyComplete();
+    }
+
+    private ReportJob job(ReportJobStatus status, LocalDateTime expiresAt) {
+        return ReportJob.builder()
+                .id(UUID.randomUUID())
+                .clientId(UUID.randomUUID())
+                .format("pdf")
+                .status(status)
+                .createdAt(LocalDateTime.now())
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
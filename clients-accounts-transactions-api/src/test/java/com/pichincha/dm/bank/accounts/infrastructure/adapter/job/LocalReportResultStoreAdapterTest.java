@@ -0,0 +1,99 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.job;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.test.StepVerifier;
+
+class LocalReportResultStoreAdapterTest {
+
+    @TempDir private Path tempDir;
+
+    private Path directory;
+    private LocalReportResultStoreAdapter localReportResultStoreAdapter;
+
+    @BeforeEach
+    void setUp() {
+        directory = tempDir.resolve("report-jobs");
+        localReportResultStoreAdapter = new LocalReportResultStoreAdapter(directory);
+    }
+
+    @Test
+    void givenContentWhenWriteThenStoreItWithoutTemporaryFile() throws IOException {
+        // Arrange
+        UUID jobId = UUID.randomUUID();
+        byte[] content = {'%', 'P', 'D', 'F'};
+
+        // Act
+        Path result = localReportResultStoreAdapter.write(jobId, content).block();
+
+        // Assert
+        assertArrayEquals(content, Files.readAllBytes(result));
+        assertEquals(directory, result.getParent());
+        try (var files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void givenStoredResultWhenFindThenReturnItsPath() {
+        // Arrange
+        UUID jobId = UUID.randomUUID();
+        Path stored = localReportResultStoreAdapter.write(jobId, new byte[] {1}).block();
+
+        // Act & Assert
+        StepVerifier.create(localReportResultStoreAdapter.find(jobId))
+                .expectNext(stored)
+                .verifyComplete();
+        StepVerifier.create(localReportResultStoreAdapter.find(UUID.randomUUID())).verifyComplete();
+    }
+
+    @Test
+    void givenStoredResultWhenDeleteThenRemoveFile() {
+        // Arrange
+        UUID jobId = UUID.randomUUID();
+        Path stored = localReportResultStoreAdapter.write(jobId, new byte[] {1}).block();
+
+        // Act
+        localReportResultStoreAdapter.delete(jobId).block();
+
+        // Assert
+        assertFalse(Files.exists(stored));
+    }
+
+    @Test
+    void givenOldAndRecentResultsWhenDeleteOlderThanThenDeleteOnlyOldOnes() throws IOException {
+        // Arrange
+        Path old = localReportResultStoreAdapter.write(UUID.randomUUID(), new byte[] {1}).block();
+        Path recent =
+                localReportResultStoreAdapter.write(UUID.randomUUID(), new byte[] {2}).block();
+        Files.setLastModifiedTime(old, FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+
+        // Act & Assert
+        StepVerifier.create(localReportResultStoreAdapter.deleteOlderThan(Duration.ofHours(1)))
+                .expectNext(1L)
+                .verifyComplete();
+        assertFalse(Files.exists(old));
+        assertTrue(Files.exists(recent));
+    }
+
+    @Test
+    void givenMissingDirectoryWhenDeleteOlderThanThenReturnZero() {
+        // Act & Assert
+        StepVerifier.create(localReportResultStoreAdapter.deleteOlderThan(Duration.ofHours(1)))
+                .expectNext(0L)
+                .verifyComplete();
+    }
+}
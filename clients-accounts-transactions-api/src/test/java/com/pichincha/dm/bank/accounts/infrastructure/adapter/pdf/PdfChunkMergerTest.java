@@ -0,0 +1,61 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.pdf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.Test;
+
+class PdfChunkMergerTest {
+
+    @Test
+    void givenChunksWhenMergeThenKeepOrderAndNumberPagesOverWholeDocument() throws IOException {
+        // Arrange
+        byte[] first = blankPdf(2);
+        byte[] second = blankPdf(1);
+
+        // Act
+        byte[] result = PdfChunkMerger.merge(List.of(first, second), "BANCO DEL PICHINCHA");
+
+        // Assert
+        try (PDDocument merged = PDDocument.load(result)) {
+            assertEquals(3, merged.getNumberOfPages());
+
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setStartPage(3);
+            stripper.setEndPage(3);
+            String lastPage = stripper.getText(merged);
+            assertTrue(lastPage.contains("BANCO DEL PICHINCHA"));
+            assertTrue(lastPage.contains("Página 3 de 3"));
+        }
+    }
+
+    @Test
+    void givenSingleChunkWhenMergeThenStampItsPages() throws IOException {
+        // Act
+        byte[] result = PdfChunkMerger.merge(List.of(blankPdf(1)), "Encabezado");
+
+        // Assert
+        try (PDDocument merged = PDDocument.load(result)) {
+            String text = new PDFTextStripper().getText(merged);
+            assertTrue(text.contains("Encabezado"));
+            assertTrue(text.contains("Página 1 de 1"));
+        }
+    }
+
+    private byte[] blankPdf(int pages) throws IOException {
+        try (PDDocument document = new PDDocument();
+                ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            for (int i = 0; i < pages; i++) {
+                document.addPage(new PDPage());
+            }
+            document.save(outputStream);
+            return outputStream.toByteArray();
+        }
+    }
+}
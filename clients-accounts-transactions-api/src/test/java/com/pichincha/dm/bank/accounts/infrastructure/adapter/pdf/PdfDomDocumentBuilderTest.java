@@ -0,0 +1,133 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.pdf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+class PdfDomDocumentBuilderTest {
+
+    private static final String XHTML_NAMESPACE = "http://www.w3.org/1999/xhtml";
+
+    private PdfDomDocumentBuilder pdfDomDocumentBuilder;
+
+    @BeforeEach
+    void setUp() {
+        pdfDomDocumentBuilder = new PdfDomDocumentBuilder();
+    }
+
+    @Test
+    void givenNewBuilderWhenBuildThenDocumentHasHeadWithStylesheetAndEmptyBody() {
+        // Act
+        Document result = pdfDomDocumentBuilder.build();
+
+        // Assert
+        Element html = result.getDocumentElement();
+        assertEquals("html", html.getLocalName());
+        assertEquals(XHTML_NAMESPACE, html.getNamespaceURI());
+        assertEquals("Estado de Cuenta", elements(result, "title").item(0).getTextContent());
+        assertEquals(
+                PdfDocumentBuilder.STYLESHEET, elements(result, "style").item(0).getTextContent());
+        assertEquals(0, elements(result, "body").item(0).getChildNodes().getLength());
+    }
+
+    @Test
+    void givenTwoBuildersWhenAddContentToOneThenTemplateIsNotShared() {
+        // Arrange
+        PdfDomDocumentBuilder other = new PdfDomDocumentBuilder();
+
+        // Act
+        Document result = pdfDomDocumentBuilder.addBankHeader("Banco", "Estado").build();
+        Document untouched = other.build();
+
+        // Assert
+        assertNotSame(elements(result, "style").item(0), elements(untouched, "style").item(0));
+        assertEquals(1, elements(result, "h1").getLength());
+        assertEquals(0, elements(untouched, "h1").getLength());
+    }
+
+    @Test
+    void givenMarkupInValuesWhenAddInfoRowThenKeepItAsText() {
+        // Act
+        Document result =
+                pdfDomDocumentBuilder
+                        .addInfoTable()
+                        .addInfoRow("Cliente:", "Pérez & Hijos <S.A.>")
+                        .closeTable()
+                        .build();
+
+        // Assert
+        NodeList cells = elements(result, "td");
+        assertEquals(2, cells.getLength());
+        assertEquals("Pérez & Hijos <S.A.>", cells.item(1).getTextContent());
+        assertEquals(1, elements(result, "b").getLength());
+    }
+
+    @Test
+    void givenSectionWithTableWhenCloseThenNestTableInsideSection() {
+        // Act
+        Document result =
+                pdfDomDocumentBuilder
+                        .addSection("Resumen de Cuentas")
+                        .addDataTable("Número de Cuenta", "Tipo", "Saldo Actual")
+                        .addAmountRow("1001", "AHORROS", "$900,00")
+                        .closeTable()
+                        .closeSection()
+                        .addParagraph("Fin")
+                        .build();
+
+        // Assert
+        Element section = (Element) elements(result, "div").item(0);
+        assertEquals("section", section.getAttribute("class"));
+        assertEquals("Resumen de Cuentas", section.getFirstChild().getTextContent());
+        assertEquals("table", section.getLastChild().getLocalName());
+        assertEquals(3, elements(result, "th").getLength());
+        NodeList cells = elements(result, "td");
+        assertEquals("", ((Element) cells.item(0)).getAttribute("class"));
+        assertEquals("amount", ((Element) cells.item(2)).getAttribute("class"));
+        assertEquals("body", elements(result, "p").item(0).getParentNode().getLocalName());
+    }
+
+    @Test
+    void givenNegativeMovementWhenAddMovementRowThenColorAmountAsNegative() {
+        // Act
+        Document result =
+                pdfDomDocumentBuilder
+                        .addDataTable("Fecha", "Tipo", "Movimiento", "Saldo Después")
+                        .addMovementRow("15/01/2024", "DEBITO", "-$100,00", false, "$900,00")
+                        .closeTable()
+                        .build();
+
+        // Assert
+        Element amount = (Element) elements(result, "span").item(0);
+        assertEquals("negative", amount.getAttribute("class"));
+        assertEquals("-$100,00", amount.getTextContent());
+        assertEquals(4, elements(result, "td").getLength());
+    }
+
+    @Test
+    void givenColoredAmountAndEmptyMessageWhenBuildThenApplyClassesAndItalics() {
+        // Act
+        Document result =
+                pdfDomDocumentBuilder
+                        .addSummaryTable()
+                        .addColoredAmountRow("Total Créditos:", "$500,00", true)
+                        .closeTable()
+                        .addEmptyMessage("No hay cuentas para mostrar")
+                        .build();
+
+        // Assert
+        Element amount = (Element) elements(result, "td").item(1);
+        assertEquals("amount positive", amount.getAttribute("class"));
+        assertTrue(elements(result, "i").item(0).getTextContent().contains("No hay cuentas"));
+    }
+
+    private NodeList elements(Document document, String name) {
+        return document.getElementsByTagNameNS(XHTML_NAMESPACE, name);
+    }
+}
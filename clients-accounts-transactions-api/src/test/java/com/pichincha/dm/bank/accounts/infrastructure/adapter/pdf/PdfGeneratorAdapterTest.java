@@ -2,27 +2,53 @@ package com.pichincha.dm.bank.accounts.infrastructure.adapter.pdf;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import com.pichincha.dm.bank.accounts.domain.Report;
+import com.pichincha.dm.bank.accounts.domain.enums.ReportDetail;
+import com.pichincha.dm.bank.accounts.domain.exception.ReportRenderRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.Mock;
 import org.mockito.MockedStatic;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 @ExtendWith(MockitoExtension.class)
 class PdfGeneratorAdapterTest {
 
+    @Mock private PdfRenderPool pdfRenderPool;
+
+    @Spy private PdfRendererResources rendererResources = new PdfRendererResources();
+
+    @Spy private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks private PdfGeneratorAdapter pdfGeneratorAdapter;
 
     private Report testReport;
@@ -30,6 +56,12 @@ class PdfGeneratorAdapterTest {
     @BeforeEach
     void setUp() {
         testReport = createTestReport();
+        ReflectionTestUtils.setField(pdfGeneratorAdapter, "markupMode", PdfMarkupMode.HTML);
+
+        lenient()
+                .doAnswer(invocation -> Mono.fromCallable(invocation.<Callable<?>>getArgument(0)))
+                .when(pdfRenderPool)
+                .render(any());
     }
 
     @Test
@@ -63,6 +95,235 @@ class PdfGeneratorAdapterTest {
             factoryMock.verify(
                     () -> ReportPdfFactory.createAccountStatementPdf(testReport), times(1));
         }
+        assertEquals(1, meterRegistry.get("bank.reports.pdf.size").summary().count());
+    }
+
+    @Test
+    void givenValidReportWhenRenderPdfThenReturnRawPdfBytes() {
+        // Arrange
+        String expectedHtml = "<html><body>Test HTML Content</body></html>";
+
+        try (MockedStatic<ReportPdfFactory> factoryMock = mockStatic(ReportPdfFactory.class)) {
+            factoryMock
+                    .when(() -> ReportPdfFactory.createAccountStatementPdf(any(Report.class)))
+                    .thenReturn(expectedHtml);
+
+            // Act
+            Mono<byte[]> result = pdfGeneratorAdapter.renderPdf(testReport);
+
+            // Assert
+            StepVerifier.create(result)
+                    .assertNext(
+                            pdfBytes ->
+                                    assertEquals(
+                                            "%PDF",
+                                            new String(pdfBytes, 0, 4, StandardCharsets.US_ASCII)))
+                    .verifyComplete();
+        }
+    }
+
+    @Test
+    void givenReportWhenRenderWithoutMetricsThenBypassPoolAndMeters() {
+        // Arrange
+        ReflectionTestUtils.setField(pdfGeneratorAdapter, "markupMode", PdfMarkupMode.DOM);
+
+        // Act
+        Mono<byte[]> result = pdfGeneratorAdapter.renderWithoutMetrics(testReport);
+
+        // Assert
+        StepVerifier.create(result)
+                .assertNext(
+                        pdfBytes ->
+                                assertEquals(
+                                        "%PDF",
+                                        new String(pdfBytes, 0, 4, StandardCharsets.US_ASCII)))
+                .verifyComplete();
+
+        verify(pdfRenderPool, never()).render(any());
+        assertEquals(0, meterRegistry.get("bank.reports.pdf.size").summary().count());
+    }
+
+    @Test
+    void givenDomMarkupWhenRenderPdfThenRenderDocumentTreeWithoutHtmlText() {
+        // Arrange
+        ReflectionTestUtils.setField(pdfGeneratorAdapter, "markupMode", PdfMarkupMode.DOM);
+        testReport.setClientName("Pérez & Hijos <S.A.>");
+        testReport.setAccounts(
+                new ArrayList<>(
+                        List.of(
+                                Report.AccountSummary.builder()
+                                        .accountNumber(1001L)
+                                        .accountType("AHORROS")
+                                        .initialBalance(new BigDecimal("1000.00"))
+                                        .currentBalance(new BigDecimal("900.00"))
+                                        .movements(
+                                                List.of(
+                                                        Report.MovementSummary.builder()
+                                                                .date(LocalDate.of(2024, 1, 15))
+                                                                .type("DEBITO")
+                                                                .amount(new BigDecimal("-100.00"))
+                                                                .balanceAfterTransaction(
+                                                                        new BigDecimal("900.00"))
+                                                                .build()))
+                                        .build())));
+
+        try (MockedStatic<ReportPdfFactory> factoryMock =
+                mockStatic(ReportPdfFactory.class, CALLS_REAL_METHODS)) {
+
+            // Act
+            Mono<byte[]> result = pdfGeneratorAdapter.renderPdf(testReport);
+
+            // Assert
+            StepVerifier.create(result)
+                    .assertNext(
+                            pdfBytes ->
+                                    assertEquals(
+                                            "%PDF",
+                                            new String(pdfBytes, 0, 4, StandardCharsets.US_ASCII)))
+                    .verifyComplete();
+
+            factoryMock.verify(() -> ReportPdfFactory.createAccountStatementDocument(testReport));
+            factoryMock.verify(
+                    () -> ReportPdfFactory.createAccountStatementPdf(any(Report.class)), times(0));
+        }
+    }
+
+    @Test
+    void givenDomMarkupAndSummaryReportWhenRenderPdfThenUseAccountSummaryDocument() {
+        // Arrange
+        ReflectionTestUtils.setField(pdfGeneratorAdapter, "markupMode", PdfMarkupMode.DOM);
+        testReport.setDetail(ReportDetail.RESUMEN);
+
+        try (MockedStatic<ReportPdfFactory> factoryMock =
+                mockStatic(ReportPdfFactory.class, CALLS_REAL_METHODS)) {
+
+            // Act
+            Mono<byte[]> result = pdfGeneratorAdapter.renderPdf(testReport);
+
+            // Assert
+            StepVerifier.create(result).expectNextCount(1).verifyComplete();
+
+            factoryMock.verify(() -> ReportPdfFactory.createAccountSummaryDocument(testReport));
+            factoryMock.verify(
+                    () -> ReportPdfFactory.createAccountSummaryPdf(any(Report.class)), times(0));
+        }
+    }
+
+    @Test
+    void givenMovementsAboveThresholdWhenRenderPdfThenRenderChunksOneAtATimeAndMerge()
+            throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(pdfGeneratorAdapter, "chunkedThresholdRows", 2);
+        ReflectionTestUtils.setField(pdfGeneratorAdapter, "rowsPerChunk", 1);
+        AtomicInteger rendering = new AtomicInteger();
+        AtomicInteger maxRendering = new AtomicInteger();
+        doAnswer(
+                        invocation ->
+                                Mono.fromCallable(
+                                        () -> {
+                                            maxRendering.accumulateAndGet(
+                                                    rendering.incrementAndGet(), Math::max);
+                                            try {
+                                                return invocation
+                                                        .<Callable<?>>getArgument(0)
+                                                        .call();
+                                            } finally {
+                                                rendering.decrementAndGet();
+                                            }
+                                        }))
+                .when(pdfRenderPool)
+                .render(any());
+        testReport.setAccounts(
+                List.of(
+                        Report.AccountSummary.builder()
+                                .accountNumber(1001L)
+                                .accountType("AHORROS")
+                                .initialBalance(new BigDecimal("1000.00"))
+                                .currentBalance(new BigDecimal("1030.00"))
+                                .movements(
+                                        Collections.nCopies(
+                                                3,
+                                                Report.MovementSummary.builder()
+                                                        .date(LocalDate.of(2024, 1, 15))
+                                                        .type("CREDITO")
+                                                        .amount(new BigDecimal("10.00"))
+                                                        .balanceAfterTransaction(
+                                                                new BigDecimal("1010.00"))
+                                                        .build()))
+                                .build()));
+
+        // Act
+        byte[] result = pdfGeneratorAdapter.renderPdf(testReport).block();
+
+        // Assert
+        verify(pdfRenderPool, times(4)).render(any());
+        assertEquals(1, maxRendering.get());
+        try (PDDocument merged = PDDocument.load(result)) {
+            assertEquals(3, merged.getNumberOfPages());
+            assertTrue(new PDFTextStripper().getText(merged).contains("Página 3 de 3"));
+        }
+        assertEquals(1, meterRegistry.get("bank.reports.pdf.size").summary().count());
+    }
+
+    @Test
+    void givenNonPositiveRowsPerChunkWhenValidateChunkingThenFailStartup() {
+        // Arrange
+        ReflectionTestUtils.setField(pdfGeneratorAdapter, "rowsPerChunk", 0);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, pdfGeneratorAdapter::validateChunking);
+    }
+
+    @Test
+    void givenSummaryReportAboveThresholdWhenRenderPdfThenRenderSingleDocument() {
+        // Arrange
+        ReflectionTestUtils.setField(pdfGeneratorAdapter, "markupMode", PdfMarkupMode.DOM);
+        ReflectionTestUtils.setField(pdfGeneratorAdapter, "chunkedThresholdRows", 1);
+        testReport.setDetail(ReportDetail.RESUMEN);
+
+        // Act
+        StepVerifier.create(pdfGeneratorAdapter.renderPdf(testReport))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        // Assert
+        verify(pdfRenderPool, times(1)).render(any());
+    }
+
+    @Test
+    void givenRenderQueueFullWhenGeneratePdfFromReportThenPropagateRejectionUnwrapped() {
+        // Arrange
+        ReportRenderRejectedException rejection =
+                new ReportRenderRejectedException(Duration.ofSeconds(5));
+        doReturn(Mono.error(rejection)).when(pdfRenderPool).render(any());
+
+        // Act
+        Mono<String> result = pdfGeneratorAdapter.generatePdfFromReport(testReport);
+
+        // Assert
+        StepVerifier.create(result).expectErrorMatches(rejection::equals).verify();
+    }
+
+    @Test
+    void givenSummaryReportWhenGeneratePdfFromReportThenUseAccountSummaryLayout() {
+        // Arrange
+        testReport.setDetail(ReportDetail.RESUMEN);
+
+        try (MockedStatic<ReportPdfFactory> factoryMock = mockStatic(ReportPdfFactory.class)) {
+            factoryMock
+                    .when(() -> ReportPdfFactory.createAccountSummaryPdf(any(Report.class)))
+                    .thenReturn("<html><body>Resumen</body></html>");
+
+            // Act
+            Mono<String> result = pdfGeneratorAdapter.generatePdfFromReport(testReport);
+
+            // Assert
+            StepVerifier.create(result).expectNextCount(1).verifyComplete();
+
+            factoryMock.verify(() -> ReportPdfFactory.createAccountSummaryPdf(testReport));
+            factoryMock.verify(
+                    () -> ReportPdfFactory.createAccountStatementPdf(any(Report.class)), times(0));
+        }
     }
 
     @Test
@@ -0,0 +1,159 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.pdf;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.pichincha.dm.bank.accounts.domain.Report;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Compara el armado del documento como texto HTML frente al árbol DOM, solo el armado y el PDF
+ * completo, con 100, 10k y 100k movimientos, además del renderizado por fragmentos en paralelo
+ * (fila CHUNK). No forma parte de la suite normal:
+ *
+ * <pre>
+ *   PDF_BENCHMARK=true ./gradlew test -PtestMaxHeap=3g --tests '*PdfMarkupBenchmarkTest'
+ *   PDF_BENCHMARK=true PDF_BENCHMARK_ROWS=100,10000 ./gradlew test --tests '*PdfMarkupBenchmarkTest'
+ * </pre>
+ *
+ * Con 100k movimientos el renderizado completo necesita unos 3 GB de heap en el proceso de pruebas,
+ * de ahí {@code -PtestMaxHeap}.
+ */
+@EnabledIfEnvironmentVariable(named = "PDF_BENCHMARK", matches = "true")
+class PdfMarkupBenchmarkTest {
+
+    private static final String DEFAULT_ROWS = "100,10000,100000";
+    private static final int CHUNK_ROWS = 2500;
+
+    private PdfRenderPool pdfRenderPool;
+    private PdfGeneratorAdapter pdfGeneratorAdapter;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        pdfRenderPool = new PdfRenderPool(meterRegistry, 0, 32, Duration.ofSeconds(5));
+        pdfGeneratorAdapter =
+                new PdfGeneratorAdapter(pdfRenderPool, new PdfRendererResources(), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pdfRenderPool.shutdown();
+    }
+
+    @Test
+    void givenStatementSizesWhenRenderWithEachMarkupThenReportTimings() {
+        String rowsSetting = System.getenv().getOrDefault("PDF_BENCHMARK_ROWS", DEFAULT_ROWS);
+        List<Integer> rowCounts =
+                Arrays.stream(rowsSetting.split(","))
+                        .map(String::trim)
+                        .map(Integer::valueOf)
+                        .toList();
+
+        System.out.printf(
+                "%-10s %-6s %14s %14s %12s%n",
+                "rows", "markup", "build (ms)", "render (ms)", "bytes");
+        for (int rows : rowCounts) {
+            Report report = createReport(rows);
+            int iterations = rows >= 100_000 ? 1 : 3;
+
+            long htmlBuild =
+                    median(iterations, () -> ReportPdfFactory.createAccountStatementPdf(report));
+            long domBuild =
+                    median(
+                            iterations,
+                            () -> ReportPdfFactory.createAccountStatementDocument(report));
+
+            byte[][] output = new byte[1][];
+            long htmlRender =
+                    median(iterations, () -> output[0] = render(report, PdfMarkupMode.HTML));
+            System.out.printf(
+                    "%-10d %-6s %14d %14d %12d%n",
+                    rows, "HTML", htmlBuild, htmlRender, output[0].length);
+            long domRender =
+                    median(iterations, () -> output[0] = render(report, PdfMarkupMode.DOM));
+            System.out.printf(
+                    "%-10d %-6s %14d %14d %12d%n",
+                    rows, "DOM", domBuild, domRender, output[0].length);
+
+            long chunkedRender = median(iterations, () -> output[0] = renderChunked(report));
+            System.out.printf(
+                    "%-10d %-6s %14s %14d %12d%n",
+                    rows, "CHUNK", "-", chunkedRender, output[0].length);
+
+            assertTrue(output[0].length > 0);
+        }
+    }
+
+    private byte[] render(Report report, PdfMarkupMode markupMode) {
+        ReflectionTestUtils.setField(pdfGeneratorAdapter, "markupMode", markupMode);
+        ReflectionTestUtils.setField(pdfGeneratorAdapter, "chunkedThresholdRows", 0);
+        return pdfGeneratorAdapter.renderPdf(report).block();
+    }
+
+    private byte[] renderChunked(Report report) {
+        ReflectionTestUtils.setField(pdfGeneratorAdapter, "chunkedThresholdRows", 1);
+        ReflectionTestUtils.setField(pdfGeneratorAdapter, "rowsPerChunk", CHUNK_ROWS);
+        return pdfGeneratorAdapter.renderPdf(report).block();
+    }
+
+    /** Mediana en milisegundos, después de una ejecución de calentamiento. */
+    private long median(int iterations, Supplier<?> task) {
+        task.get();
+        long[] elapsed = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            task.get();
+            elapsed[i] = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        }
+        Arrays.sort(elapsed);
+        return elapsed[iterations / 2];
+    }
+
+    private Report createReport(int rows) {
+        List<Report.MovementSummary> movements = new ArrayList<>(rows);
+        BigDecimal balance = new BigDecimal("1000.00");
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < rows; i++) {
+            BigDecimal amount = i % 2 == 0 ? new BigDecimal("10.00") : new BigDecimal("-5.00");
+            balance = balance.add(amount);
+            movements.add(
+                    Report.MovementSummary.builder()
+                            .date(start.plusDays(i % 365))
+                            .type(i % 2 == 0 ? "CREDITO" : "DEBITO")
+                            .amount(amount)
+                            .balanceAfterTransaction(balance)
+                            .build());
+        }
+
+        return Report.builder()
+                .clientId(UUID.randomUUID())
+                .clientName("Benchmark Cliente")
+                .startDate(start)
+                .endDate(start.plusDays(364))
+                .accounts(
+                        List.of(
+                                Report.AccountSummary.builder()
+                                        .accountNumber(1001L)
+                                        .accountType("AHORROS")
+                                        .initialBalance(new BigDecimal("1000.00"))
+                                        .currentBalance(balance)
+                                        .movements(movements)
+                                        .build()))
+                .totalDebits(new BigDecimal("5.00").multiply(BigDecimal.valueOf(rows / 2)))
+                .totalCredits(new BigDecimal("10.00").multiply(BigDecimal.valueOf(rows - rows / 2)))
+                .build();
+    }
+}
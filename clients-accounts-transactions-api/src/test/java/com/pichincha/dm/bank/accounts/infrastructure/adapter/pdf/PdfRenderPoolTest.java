@@ -0,0 +1,116 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.pdf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.pichincha.dm.bank.accounts.domain.exception.ReportRenderRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.test.StepVerifier;
+
+class PdfRenderPoolTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PdfRenderPool pdfRenderPool;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        pdfRenderPool = new PdfRenderPool(meterRegistry, 1, 1, Duration.ofSeconds(7));
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        pdfRenderPool.shutdown();
+    }
+
+    @Test
+    void givenRenderTaskWhenRenderThenRunOnRenderThreadAndRecordMetrics() {
+        // Arrange
+        String callerThread = Thread.currentThread().getName();
+
+        // Act & Assert
+        StepVerifier.create(pdfRenderPool.render(() -> Thread.currentThread().getName()))
+                .assertNext(
+                        thread -> {
+                            assertNotEquals(callerThread, thread);
+                            assertTrue(thread.startsWith("pdf-render-"));
+                        })
+                .verifyComplete();
+
+        assertEquals(1, meterRegistry.get("bank.reports.pdf.render").timer().count());
+        assertEquals(1, meterRegistry.get("bank.reports.pdf.queue.wait").timer().count());
+    }
+
+    @Test
+    void givenBusyThreadAndFullQueueWhenRenderThenRejectWithRetryAfter() {
+        // Arrange
+        pdfRenderPool.render(this::blockUntilReleased).subscribe();
+        pdfRenderPool.render(this::blockUntilReleased).subscribe();
+
+        // Act & Assert
+        StepVerifier.create(pdfRenderPool.render(() -> "rejected"))
+                .expectErrorMatches(
+                        error ->
+                                error instanceof ReportRenderRejectedException rejected
+                                        && rejected.getRetryAfter().equals(Duration.ofSeconds(7))
+                                        && rejected.getStatusCode().value() == 503)
+                .verify();
+
+        assertEquals(1.0, meterRegistry.get("bank.reports.pdf.rejected").counter().count());
+        assertEquals(1.0, meterRegistry.get("bank.reports.pdf.queue.depth").gauge().value());
+    }
+
+    @Test
+    void givenQueuedRenderWhenSubscriberCancelsThenDropItFromQueue() {
+        // Arrange
+        AtomicBoolean queuedRan = new AtomicBoolean();
+        pdfRenderPool.render(this::blockUntilReleased).subscribe();
+        Disposable queued =
+                pdfRenderPool
+                        .render(
+                                () -> {
+                                    queuedRan.set(true);
+                                    return "queued";
+                                })
+                        .subscribe();
+
+        // Act
+        queued.dispose();
+
+        // Assert
+        assertEquals(0.0, meterRegistry.get("bank.reports.pdf.queue.depth").gauge().value());
+        StepVerifier.create(pdfRenderPool.render(() -> "next"))
+                .then(release::countDown)
+                .expectNext("next")
+                .verifyComplete();
+        assertFalse(queuedRan.get());
+    }
+
+    private String blockUntilReleased() throws InterruptedException {
+        release.await(5, TimeUnit.SECONDS);
+        return "released";
+    }
+
+    @Test
+    void givenFixedThreadsWhenParallelismThenReturnPoolSize() {
+        // Arrange
+        PdfRenderPool pool = new PdfRenderPool(meterRegistry, 3, 1, Duration.ofSeconds(7));
+
+        // Act & Assert
+        assertEquals(3, pool.parallelism());
+        pool.shutdown();
+    }
+}
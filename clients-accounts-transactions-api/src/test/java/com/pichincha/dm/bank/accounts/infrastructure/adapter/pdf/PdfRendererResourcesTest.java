@@ -0,0 +1,43 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.pdf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+import com.openhtmltopdf.pdfboxout.PdfRendererBuilder;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class PdfRendererResourcesTest {
+
+    private final PdfRendererResources pdfRendererResources = new PdfRendererResources();
+
+    @Test
+    void givenSharedResourcesWhenRenderSeveralDocumentsThenEachBuilderProducesPdf()
+            throws IOException {
+        // Act
+        byte[] first = render(pdfRendererResources.newBuilder());
+        byte[] second = render(pdfRendererResources.newBuilder());
+
+        // Assert
+        assertEquals("%PDF", new String(first, 0, 4, StandardCharsets.US_ASCII));
+        assertEquals("%PDF", new String(second, 0, 4, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void givenSharedResourcesWhenNewBuilderThenReturnIndependentBuilders() {
+        // Act & Assert
+        assertNotSame(pdfRendererResources.newBuilder(), pdfRendererResources.newBuilder());
+    }
+
+    private byte[] render(PdfRendererBuilder builder) throws IOException {
+        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            builder.withW3cDocument(
+                    new PdfDomDocumentBuilder().addParagraph("Prueba").build(), null);
+            builder.toStream(outputStream);
+            builder.run();
+            return outputStream.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.pdf;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.pichincha.dm.bank.accounts.domain.Report;
+import com.pichincha.dm.bank.accounts.domain.enums.ReportDetail;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+class PdfRendererWarmupTest {
+
+    @Mock private PdfGeneratorAdapter pdfGeneratorAdapter;
+
+    @InjectMocks private PdfRendererWarmup pdfRendererWarmup;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(pdfRendererWarmup, "iterations", 2);
+        ReflectionTestUtils.setField(pdfRendererWarmup, "timeout", Duration.ofSeconds(5));
+    }
+
+    @Test
+    void givenIterationsWhenWarmUpThenRenderEachDetailEveryIteration() {
+        // Arrange
+        doReturn(Mono.just(new byte[] {1}))
+                .when(pdfGeneratorAdapter)
+                .renderWithoutMetrics(any(Report.class));
+
+        // Act
+        pdfRendererWarmup.warmUp();
+
+        // Assert
+        verify(pdfGeneratorAdapter, times(2))
+                .renderWithoutMetrics(
+                        argThat(report -> report.getDetail() == ReportDetail.COMPLETO));
+        verify(pdfGeneratorAdapter, times(2))
+                .renderWithoutMetrics(
+                        argThat(report -> report.getDetail() == ReportDetail.RESUMEN));
+        verify(pdfGeneratorAdapter, never()).renderPdf(any(Report.class));
+    }
+
+    @Test
+    void givenRenderFailureWhenWarmUpThenDoNotPropagate() {
+        // Arrange
+        doReturn(Mono.error(new IllegalStateException("render failed")))
+                .when(pdfGeneratorAdapter)
+                .renderWithoutMetrics(any(Report.class));
+
+        // Act & Assert
+        assertDoesNotThrow(() -> pdfRendererWarmup.warmUp());
+        verify(pdfGeneratorAdapter).renderWithoutMetrics(any(Report.class));
+    }
+
+    @Test
+    void givenLifecycleWhenStartThenWarmUpBeforeMarkingRunning() {
+        // Arrange
+        doReturn(Mono.just(new byte[] {1}))
+                .when(pdfGeneratorAdapter)
+                .renderWithoutMetrics(any(Report.class));
+
+        // Act
+        pdfRendererWarmup.start();
+
+        // Assert
+        verify(pdfGeneratorAdapter, times(4)).renderWithoutMetrics(any(Report.class));
+        assertTrue(pdfRendererWarmup.isRunning());
+        pdfRendererWarmup.stop();
+        assertFalse(pdfRendererWarmup.isRunning());
+    }
+
+    @Test
+    void givenLifecyclePhaseWhenCompareWithWebServerThenStartBeforeServerBinds() {
+        // Act & Assert
+        assertTrue(pdfRendererWarmup.getPhase() < SmartLifecycle.DEFAULT_PHASE - 2048);
+    }
+
+    @Test
+    void givenSummaryDetailWhenSyntheticReportThenOmitMovements() {
+        // Act
+        Report complete = pdfRendererWarmup.syntheticReport(ReportDetail.COMPLETO);
+        Report summary = pdfRendererWarmup.syntheticReport(ReportDetail.RESUMEN);
+
+        // Assert
+        assertEquals(200, complete.getAccounts().get(0).getMovements().size());
+        assertTrue(summary.getAccounts().get(0).getMovements().isEmpty());
+    }
+}
@@ -1,7 +1,10 @@
 package com.pichincha.dm.bank.accounts.infrastructure.adapter.pdf;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mockStatic;
@@ -12,12 +15,15 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
 
 @ExtendWith(MockitoExtension.class)
 class ReportPdfFactoryTest {
@@ -201,4 +207,141 @@ class ReportPdfFactoryTest {
                     () -> assertTrue(result.contains("No hay cuentas para mostrar")));
         }
     }
+
+    @Test
+    void givenValidReportWhenCreateAccountStatementDocumentThenMatchHtmlLayout() {
+        // Act
+        Document result = ReportPdfFactory.createAccountStatementDocument(testReport);
+
+        // Assert
+        String text = result.getDocumentElement().getTextContent();
+        assertAll(
+                () -> assertTrue(text.contains("BANCO DEL PICHINCHA")),
+                () -> assertTrue(text.contains("Juan Pérez")),
+                () -> assertTrue(text.contains("Cuenta: 1001")),
+                () ->
+                        assertEquals(
+                                "positive",
+                                ((Element) result.getElementsByTagNameNS("*", "span").item(0))
+                                        .getAttribute("class")));
+    }
+
+    @Test
+    void givenReportWithEmptyAccountsWhenCreateAccountSummaryDocumentThenAddEmptyMessage() {
+        // Arrange
+        Report emptyAccountsReport = Report.builder().accounts(Collections.emptyList()).build();
+
+        // Act
+        Document result = ReportPdfFactory.createAccountSummaryDocument(emptyAccountsReport);
+
+        // Assert
+        String text = result.getDocumentElement().getTextContent();
+        assertAll(
+                () -> assertTrue(text.contains("Resumen de Cuentas")),
+                () -> assertTrue(text.contains("No hay cuentas para mostrar")));
+    }
+
+    @Test
+    void givenMovementsAboveChunkSizeWhenSplitAccountStatementThenPackRowsAcrossChunks() {
+        // Arrange
+        Report.AccountSummary large =
+                Report.AccountSummary.builder()
+                        .accountNumber(1001L)
+                        .movements(Collections.nCopies(5, testMovementSummary))
+                        .build();
+        Report.AccountSummary small =
+                Report.AccountSummary.builder()
+                        .accountNumber(1002L)
+                        .movements(Collections.nCopies(1, testMovementSummary))
+                        .build();
+        Report report = Report.builder().accounts(Arrays.asList(large, small)).build();
+
+        // Act
+        List<PdfStatementChunk> chunks = ReportPdfFactory.splitAccountStatement(report, 2);
+
+        // Assert
+        assertEquals(3, chunks.size());
+        assertAll(
+                () -> assertTrue(chunks.get(0).isFirst()),
+                () -> assertFalse(chunks.get(0).isLast()),
+                () -> assertTrue(chunks.get(1).getSlices().get(0).isContinuation()),
+                () -> assertTrue(chunks.get(2).isLast()),
+                () -> assertEquals(2, chunks.get(2).getSlices().size()),
+                () ->
+                        assertEquals(
+                                1002L,
+                                chunks.get(2).getSlices().get(1).getAccount().getAccountNumber()));
+    }
+
+    @Test
+    void givenNonPositiveRowsPerChunkWhenSplitAccountStatementThenThrowIllegalArgument() {
+        // Arrange
+        Report report =
+                Report.builder()
+                        .accounts(
+                                List.of(
+                                        Report.AccountSummary.builder()
+                                                .accountNumber(1001L)
+                                                .movements(List.of(testMovementSummary))
+                                                .build()))
+                        .build();
+
+        // Act & Assert
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> ReportPdfFactory.splitAccountStatement(report, 0));
+    }
+
+    @Test
+    void givenNoMovementsWhenSplitAccountStatementThenReturnSingleChunk() {
+        // Act
+        List<PdfStatementChunk> chunks =
+                ReportPdfFactory.splitAccountStatement(
+                        Report.builder().accounts(new ArrayList<>()).build(), 100);
+
+        // Assert
+        assertEquals(1, chunks.size());
+        assertTrue(chunks.get(0).isFirst() && chunks.get(0).isLast());
+    }
+
+    @Test
+    void givenMiddleChunkWhenCreateChunkDocumentThenOmitHeaderAndPeriodSummary() {
+        // Arrange
+        List<PdfStatementChunk> chunks =
+                ReportPdfFactory.splitAccountStatement(
+                        Report.builder()
+                                .accounts(
+                                        List.of(
+                                                Report.AccountSummary.builder()
+                                                        .accountNumber(1001L)
+                                                        .movements(
+                                                                Collections.nCopies(
+                                                                        3, testMovementSummary))
+                                                        .build()))
+                                .build(),
+                        1);
+
+        // Act
+        String middle =
+                ReportPdfFactory.createAccountStatementChunkDocument(testReport, chunks.get(1))
+                        .getDocumentElement()
+                        .getTextContent();
+        String first =
+                ReportPdfFactory.createAccountStatementChunkDocument(testReport, chunks.get(0))
+                        .getDocumentElement()
+                        .getTextContent();
+        String last =
+                ReportPdfFactory.createAccountStatementChunkDocument(testReport, chunks.get(2))
+                        .getDocumentElement()
+                        .getTextContent();
+
+        // Assert
+        assertAll(
+                () -> assertTrue(first.contains("BANCO DEL PICHINCHA")),
+                () -> assertFalse(first.contains("Resumen del Período")),
+                () -> assertFalse(middle.contains("BANCO DEL PICHINCHA")),
+                () -> assertTrue(middle.contains("Cuenta: 1001 (continuación)")),
+                () -> assertFalse(middle.contains("Resumen del Período")),
+                () -> assertTrue(last.contains("Resumen del Período")));
+    }
 }
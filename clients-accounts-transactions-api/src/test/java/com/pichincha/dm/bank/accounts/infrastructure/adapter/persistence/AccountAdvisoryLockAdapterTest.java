@@ -0,0 +1,80 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class AccountAdvisoryLockAdapterTest {
+
+    @Mock private DatabaseClient databaseClient;
+
+    @Mock private DatabaseClient.GenericExecuteSpec executeSpec;
+
+    @Mock private TransactionalOperator transactionalOperator;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AccountAdvisoryLockAdapter accountAdvisoryLockAdapter;
+    private UUID testAccountId;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        accountAdvisoryLockAdapter =
+                new AccountAdvisoryLockAdapter(
+                        databaseClient, transactionalOperator, meterRegistry);
+        testAccountId = UUID.randomUUID();
+    }
+
+    @Test
+    void givenLockDisabledWhenWithAccountLockThenRunOperationWithoutTransaction() {
+        // Act
+        Mono<String> result =
+                accountAdvisoryLockAdapter.withAccountLock(testAccountId, () -> Mono.just("done"));
+
+        // Assert
+        StepVerifier.create(result).expectNext("done").verifyComplete();
+
+        verifyNoInteractions(databaseClient, transactionalOperator);
+    }
+
+    @Test
+    void givenLockEnabledWhenWithAccountLockThenLockAccountInsideTransaction() {
+        // Arrange
+        ReflectionTestUtils.setField(accountAdvisoryLockAdapter, "enabled", true);
+
+        doReturn(executeSpec).when(databaseClient).sql(any(String.class));
+        doReturn(executeSpec).when(executeSpec).bind("accountId", testAccountId.toString());
+        doReturn(Mono.empty()).when(executeSpec).then();
+        doAnswer(invocation -> invocation.getArgument(0))
+                .when(transactionalOperator)
+                .transactional(any(Mono.class));
+
+        // Act
+        Mono<String> result =
+                accountAdvisoryLockAdapter.withAccountLock(testAccountId, () -> Mono.just("done"));
+
+        // Assert
+        StepVerifier.create(result).expectNext("done").verifyComplete();
+
+        verify(transactionalOperator).transactional(any(Mono.class));
+        verify(executeSpec).bind("accountId", testAccountId.toString());
+        assertEquals(1, meterRegistry.get("bank.movements.advisory-lock.wait").timer().count());
+    }
+}
@@ -4,24 +4,40 @@ import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 import com.pichincha.dm.bank.accounts.domain.Account;
+import com.pichincha.dm.bank.accounts.domain.PageCursor;
 import com.pichincha.dm.bank.accounts.domain.enums.AccountType;
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.entity.AccountEntity;
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.mapper.AccountEntityMapper;
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.repository.AccountRepository;
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.service.AccountTransactionService;
+import io.r2dbc.spi.Readable;
+import io.r2dbc.spi.Statement;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
+import java.util.function.Function;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.ExecuteFunction;
+import org.springframework.r2dbc.core.RowsFetchSpec;
+import org.springframework.r2dbc.core.StatementFilterFunction;
+import org.springframework.test.util.ReflectionTestUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -35,6 +51,10 @@ class AccountPersistenceAdapterTest {
 
     @Mock private AccountTransactionService transactionService;
 
+    @Mock private DatabaseClient databaseClient;
+
+    @Mock private DatabaseClient.GenericExecuteSpec executeSpec;
+
     @InjectMocks private AccountPersistenceAdapter accountPersistenceAdapter;
 
     private Account testAccount;
@@ -191,6 +211,85 @@ class AccountPersistenceAdapterTest {
         verify(accountMapper).toDomain(secondAccountEntity);
     }
 
+    @Test
+    void givenCursorWhenFindAfterThenSeekPastLastAccount() {
+        // Arrange
+        PageCursor after =
+                PageCursor.builder()
+                        .position(LocalDateTime.of(2024, 1, 1, 10, 0))
+                        .id(UUID.randomUUID())
+                        .build();
+
+        doReturn(Flux.just(testAccountEntity))
+                .when(accountRepository)
+                .findAfter(testClientId, after.getPosition(), after.getId(), 20);
+        doReturn(testAccount).when(accountMapper).toDomain(testAccountEntity);
+
+        // Act
+        Flux<Account> result = accountPersistenceAdapter.findAfter(testClientId, after, null);
+
+        // Assert
+        StepVerifier.create(result).expectNext(testAccount).verifyComplete();
+
+        verify(accountRepository).findAfter(testClientId, after.getPosition(), after.getId(), 20);
+    }
+
+    @Test
+    void givenClientAndCursorWhenStreamThenSeekPastCursorWithoutLimit() {
+        // Arrange
+        ReflectionTestUtils.setField(accountPersistenceAdapter, "streamFetchSize", 250);
+        PageCursor after =
+                PageCursor.builder()
+                        .position(LocalDateTime.of(2024, 1, 2, 10, 0))
+                        .id(UUID.randomUUID())
+                        .build();
+
+        stubRows(row(testAccountEntity));
+        doReturn(testAccount).when(accountMapper).toDomain(any(AccountEntity.class));
+
+        // Act
+        Flux<Account> result = accountPersistenceAdapter.stream(testClientId, after);
+
+        // Assert
+        StepVerifier.create(result).expectNext(testAccount).verifyComplete();
+
+        verify(databaseClient)
+                .sql(
+                        endsWith(
+                                " FROM bank.cuenta WHERE cliente_id = :clientId AND (created_at,"
+                                        + " id) < (:afterCreatedAt, :afterId) ORDER BY created_at"
+                                        + " DESC, id DESC"));
+        verify(executeSpec).bind("clientId", testClientId);
+        verify(executeSpec).bind("afterCreatedAt", after.getPosition());
+        verify(executeSpec).bind("afterId", after.getId());
+    }
+
+    @Test
+    void givenNoFiltersWhenStreamThenReadAllAccountsInFetchSizeBatches() {
+        // Arrange
+        ReflectionTestUtils.setField(accountPersistenceAdapter, "streamFetchSize", 250);
+        Statement statement = mock(Statement.class);
+        ExecuteFunction next = mock(ExecuteFunction.class);
+        doReturn(statement).when(statement).fetchSize(250);
+
+        stubRows(row(testAccountEntity));
+        doReturn(testAccount).when(accountMapper).toDomain(any(AccountEntity.class));
+
+        // Act
+        Flux<Account> result = accountPersistenceAdapter.stream(null, null);
+
+        // Assert
+        StepVerifier.create(result).expectNext(testAccount).verifyComplete();
+
+        verify(databaseClient).sql(endsWith(" FROM bank.cuenta ORDER BY created_at DESC, id DESC"));
+        verify(executeSpec, never()).bind(anyString(), any());
+        ArgumentCaptor<StatementFilterFunction> filter =
+                ArgumentCaptor.forClass(StatementFilterFunction.class);
+        verify(executeSpec).filter(filter.capture());
+        filter.getValue().filter(statement, next);
+        verify(next).execute(statement);
+    }
+
     @Test
     void givenValidAccountWhenUpdateThenReturnUpdatedAccountMono() {
         // Arrange
@@ -224,21 +323,20 @@ class AccountPersistenceAdapterTest {
     }
 
     @Test
-    void givenValidAccountIdAndBalanceWhenUpdateBalanceThenReturnUpdatedAccountMono() {
+    void givenValidAccountIdAndDeltaWhenApplyBalanceDeltaThenReturnUpdatedAccountMono() {
         // Arrange
+        BigDecimal delta = BigDecimal.valueOf(-200.00);
         BigDecimal newBalance = BigDecimal.valueOf(3000.00);
 
-        Account foundAccount = Account.builder().build();
         Account updatedAccount = Account.builder().currentBalance(newBalance).build();
 
-        doReturn(Mono.just(testAccountEntity)).when(accountRepository).findById(testAccountId);
-        doReturn(foundAccount).when(accountMapper).toDomain(testAccountEntity);
-        doReturn(Mono.just(updatedAccount))
-                .when(transactionService)
-                .updateAccount(any(Account.class));
+        doReturn(Mono.just(testAccountEntity))
+                .when(accountRepository)
+                .applyBalanceDelta(testAccountId, delta);
+        doReturn(updatedAccount).when(accountMapper).toDomain(testAccountEntity);
 
         // Act
-        Mono<Account> result = accountPersistenceAdapter.updateBalance(testAccountId, newBalance);
+        Mono<Account> result = accountPersistenceAdapter.applyBalanceDelta(testAccountId, delta);
 
         // Assert
         StepVerifier.create(result)
@@ -250,9 +348,24 @@ class AccountPersistenceAdapterTest {
                         })
                 .verifyComplete();
 
-        verify(accountRepository).findById(testAccountId);
+        verify(accountRepository).applyBalanceDelta(testAccountId, delta);
         verify(accountMapper).toDomain(testAccountEntity);
-        verify(transactionService).updateAccount(any(Account.class));
+    }
+
+    @Test
+    void givenRejectedDeltaWhenApplyBalanceDeltaThenReturnEmptyMono() {
+        // Arrange
+        BigDecimal delta = BigDecimal.valueOf(-9000.00);
+
+        doReturn(Mono.empty()).when(accountRepository).applyBalanceDelta(testAccountId, delta);
+
+        // Act
+        Mono<Account> result = accountPersistenceAdapter.applyBalanceDelta(testAccountId, delta);
+
+        // Assert
+        StepVerifier.create(result).verifyComplete();
+
+        verify(accountRepository).applyBalanceDelta(testAccountId, delta);
     }
 
     @Test
@@ -271,4 +384,33 @@ class AccountPersistenceAdapterTest {
 
         verify(accountRepository).deleteByAccountNumber(accountNumberLong);
     }
+
+    private Readable row(AccountEntity entity) {
+        Readable row = mock(Readable.class);
+        doReturn(entity.getId()).when(row).get("id", UUID.class);
+        doReturn(entity.getClientId()).when(row).get("cliente_id", UUID.class);
+        doReturn(entity.getAccountNumber()).when(row).get("numero_cuenta", Long.class);
+        doReturn(entity.getType().name()).when(row).get("tipo", String.class);
+        doReturn(entity.getInitBalance()).when(row).get("saldo_inicial", BigDecimal.class);
+        doReturn(entity.getCurrentBalance()).when(row).get("saldo_actual", BigDecimal.class);
+        doReturn(entity.getState()).when(row).get("estado", Boolean.class);
+        doReturn(entity.getCreatedAt()).when(row).get("created_at", LocalDateTime.class);
+        doReturn(entity.getUpdatedAt()).when(row).get("updated_at", LocalDateTime.class);
+        return row;
+    }
+
+    private <T> void stubRows(Readable... rows) {
+        RowsFetchSpec<T> fetchSpec = mock(RowsFetchSpec.class);
+        doReturn(executeSpec).when(databaseClient).sql(anyString());
+        lenient().doReturn(executeSpec).when(executeSpec).bind(anyString(), any());
+        doReturn(executeSpec).when(executeSpec).filter(any(StatementFilterFunction.class));
+        doAnswer(
+                        invocation -> {
+                            Function<Readable, T> mapper = invocation.getArgument(0);
+                            doReturn(Flux.fromArray(rows).map(mapper)).when(fetchSpec).all();
+                            return fetchSpec;
+                        })
+                .when(executeSpec)
+                .map(any(Function.class));
+    }
 }
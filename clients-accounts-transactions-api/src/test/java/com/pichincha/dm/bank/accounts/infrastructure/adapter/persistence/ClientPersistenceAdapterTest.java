@@ -2,29 +2,43 @@ package com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import com.pichincha.dm.bank.accounts.domain.Client;
+import com.pichincha.dm.bank.accounts.domain.PageCursor;
 import com.pichincha.dm.bank.accounts.domain.Person;
 import com.pichincha.dm.bank.accounts.domain.enums.Gender;
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.entity.ClientEntity;
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.entity.PersonEntity;
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.mapper.ClientEntityMapper;
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.repository.ClientRepository;
-import com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.repository.PersonRepository;
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.service.ClientTransactionService;
+import io.r2dbc.spi.Readable;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.UUID;
+import java.util.function.Function;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.RowsFetchSpec;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -34,12 +48,14 @@ class ClientPersistenceAdapterTest {
 
     @Mock private ClientRepository clientRepository;
 
-    @Mock private PersonRepository personRepository;
-
     @Mock private ClientEntityMapper clientMapper;
 
     @Mock private ClientTransactionService transactionService;
 
+    @Mock private DatabaseClient databaseClient;
+
+    @Mock private DatabaseClient.GenericExecuteSpec executeSpec;
+
     @InjectMocks private ClientPersistenceAdapter clientPersistenceAdapter;
 
     private Client testClient;
@@ -99,17 +115,21 @@ class ClientPersistenceAdapterTest {
                         true,
                         LocalDateTime.of(2024, 1, 1, 10, 0),
                         LocalDateTime.of(2024, 1, 15, 15, 30));
+
+        lenient().doReturn(executeSpec).when(databaseClient).sql(anyString());
+        lenient().doReturn(executeSpec).when(executeSpec).bind(anyString(), any());
     }
 
     @Test
     void givenValidClientWhenSaveThenReturnSavedClientMono() {
         // Arrange
-        Client savedClient = Client.builder().id(UUID.randomUUID()).build();
+        Client savedClient = Client.builder().id(testClientId).state(true).build();
 
         doReturn(Mono.just(savedClient)).when(transactionService).saveClient(testClient);
-        doReturn(Mono.just(testClientEntity)).when(clientRepository).findById(savedClient.getId());
-        doReturn(Mono.just(testPersonEntity)).when(personRepository).findById(testPersonId);
-        doReturn(savedClient).when(clientMapper).toDomain(testClientEntity, testPersonEntity);
+        stubRow(row(testClientEntity, testPersonEntity));
+        doReturn(savedClient)
+                .when(clientMapper)
+                .toDomain(any(ClientEntity.class), any(PersonEntity.class));
 
         // Act
         Mono<Client> result = clientPersistenceAdapter.save(testClient);
@@ -121,19 +141,45 @@ class ClientPersistenceAdapterTest {
                             assertAll(
                                     () -> assertNotNull(client),
                                     () -> assertEquals(savedClient.getId(), client.getId()),
-                                    () ->
-                                            assertEquals(
-                                                    savedClient.getPersonaId(),
-                                                    client.getPersonaId()),
-                                    () -> assertEquals(savedClient.getId(), client.getId()),
                                     () -> assertEquals(savedClient.getState(), client.getState()));
                         })
                 .verifyComplete();
 
         verify(transactionService).saveClient(testClient);
-        verify(clientRepository).findById(savedClient.getId());
-        verify(personRepository).findById(testPersonId);
-        verify(clientMapper).toDomain(testClientEntity, testPersonEntity);
+        verify(databaseClient).sql(contains("WHERE c.id = :id"));
+        verify(executeSpec).bind("id", testClientId);
+    }
+
+    @Test
+    void givenClientPersonRowWhenFindByIdThenMapBothEntitiesFromSingleQuery() {
+        // Arrange
+        stubRow(row(testClientEntity, testPersonEntity));
+        ArgumentCaptor<ClientEntity> clientCaptor = ArgumentCaptor.forClass(ClientEntity.class);
+        ArgumentCaptor<PersonEntity> personCaptor = ArgumentCaptor.forClass(PersonEntity.class);
+        doReturn(testClient)
+                .when(clientMapper)
+                .toDomain(clientCaptor.capture(), personCaptor.capture());
+
+        // Act
+        Mono<Client> result = clientPersistenceAdapter.findById(testClientId);
+
+        // Assert
+        StepVerifier.create(result).expectNext(testClient).verifyComplete();
+
+        ClientEntity clientEntity = clientCaptor.getValue();
+        PersonEntity personEntity = personCaptor.getValue();
+        assertAll(
+                () -> assertEquals(testClientId, clientEntity.getId()),
+                () -> assertEquals(testPersonId, clientEntity.getPersonId()),
+                () -> assertEquals("CLI001", clientEntity.getUsername()),
+                () -> assertEquals(testClientEntity.getCreatedAt(), clientEntity.getCreatedAt()),
+                () -> assertEquals(testPersonId, personEntity.getId()),
+                () -> assertEquals("Juan", personEntity.getName()),
+                () -> assertEquals("MASCULINO", personEntity.getGender()),
+                () -> assertEquals("1234567890", personEntity.getIdentification()),
+                () -> assertFalse(personEntity.getState()),
+                () -> assertEquals(testPersonEntity.getCreatedAt(), personEntity.getCreatedAt()));
+        verify(databaseClient).sql(contains("JOIN bank.persona p ON p.id = c.persona_id"));
     }
 
     @Test
@@ -141,68 +187,117 @@ class ClientPersistenceAdapterTest {
         // Arrange
         UUID secondClientId = UUID.randomUUID();
         UUID secondPersonId = UUID.randomUUID();
+        ClientEntity secondClientEntity = secondClientEntity(secondClientId, secondPersonId);
+        PersonEntity secondPersonEntity = secondPersonEntity(secondPersonId);
+        Client secondClient = Client.builder().id(secondClientId).build();
 
-        Person secondPerson =
-                Person.builder()
-                        .id(secondPersonId)
-                        .name("Maria Lopez")
-                        .gender(Gender.FEMENINO)
-                        .identification("0987654321")
-                        .build();
+        stubRows(
+                row(testClientEntity, testPersonEntity),
+                row(secondClientEntity, secondPersonEntity));
+        doReturn(testClient, secondClient)
+                .when(clientMapper)
+                .toDomain(any(ClientEntity.class), any(PersonEntity.class));
 
-        Client secondClient =
-                Client.builder()
-                        .id(secondClientId)
-                        .personaId(secondPersonId)
-                        .person(secondPerson)
-                        .build();
+        // Act
+        Flux<Client> result = clientPersistenceAdapter.findAll();
 
-        PersonEntity secondPersonEntity =
-                new PersonEntity(
-                        secondPersonId,
-                        "Maria",
-                        "Lopez",
-                        Gender.FEMENINO.name(),
-                        LocalDate.now(),
-                        "0987654321",
-                        "Calle Secundaria 456",
-                        "0123456789",
-                        false,
-                        LocalDateTime.of(2024, 1, 2, 9, 0),
-                        LocalDateTime.of(2024, 1, 12, 14, 30));
+        // Assert
+        StepVerifier.create(result)
+                .assertNext(client -> assertEquals(testClient.getId(), client.getId()))
+                .assertNext(client -> assertEquals(secondClient.getId(), client.getId()))
+                .verifyComplete();
 
-        ClientEntity secondClientEntity =
-                new ClientEntity(
-                        secondClientId,
-                        secondPersonId,
-                        "CLI002",
-                        "encryptedPassword456",
-                        true,
-                        LocalDateTime.of(2024, 1, 2, 11, 0),
-                        LocalDateTime.of(2024, 1, 16, 16, 30));
+        verify(databaseClient).sql(anyString());
+        verify(clientMapper, times(2)).toDomain(any(ClientEntity.class), any(PersonEntity.class));
+    }
+
+    @Test
+    void givenExistingClientsWhenFindAllIdsThenReadOnlyClientIds() {
+        // Arrange
+        UUID secondClientId = UUID.randomUUID();
+        stubRows(
+                row(testClientEntity, testPersonEntity),
+                row(secondClientEntity(secondClientId, UUID.randomUUID()), testPersonEntity));
 
-        Flux<ClientEntity> clientEntities = Flux.just(testClientEntity, secondClientEntity);
+        // Act
+        Flux<UUID> result = clientPersistenceAdapter.findAllIds();
 
-        doReturn(clientEntities).when(clientRepository).findAll();
-        doReturn(Mono.just(testPersonEntity)).when(personRepository).findById(testPersonId);
-        doReturn(Mono.just(secondPersonEntity)).when(personRepository).findById(secondPersonId);
-        doReturn(testClient).when(clientMapper).toDomain(testClientEntity, testPersonEntity);
-        doReturn(secondClient).when(clientMapper).toDomain(secondClientEntity, secondPersonEntity);
+        // Assert
+        StepVerifier.create(result).expectNext(testClientId, secondClientId).verifyComplete();
+
+        verify(databaseClient).sql("SELECT id FROM bank.cliente ORDER BY id");
+        verify(clientMapper, never()).toDomain(any(ClientEntity.class), any(PersonEntity.class));
+    }
+
+    @Test
+    void givenPageAndSizeWhenFindAllPagedThenQueryPageInDatabaseOrder() {
+        // Arrange
+        UUID secondClientId = UUID.randomUUID();
+        UUID secondPersonId = UUID.randomUUID();
+        Client secondClient = Client.builder().id(secondClientId).build();
+
+        stubRows(
+                row(testClientEntity, testPersonEntity),
+                row(
+                        secondClientEntity(secondClientId, secondPersonId),
+                        secondPersonEntity(secondPersonId)));
+        doReturn(testClient, secondClient)
+                .when(clientMapper)
+                .toDomain(any(ClientEntity.class), any(PersonEntity.class));
 
         // Act
-        Flux<Client> result = clientPersistenceAdapter.findAll();
+        Flux<Client> result = clientPersistenceAdapter.findAll(3, 10);
 
         // Assert
         StepVerifier.create(result)
-                .assertNext(client -> assertEquals(testClient.getId(), client.getId()))
-                .assertNext(client -> assertEquals(secondClient.getId(), client.getId()))
+                .assertNext(client -> assertEquals(testClientId, client.getId()))
+                .assertNext(client -> assertEquals(secondClientId, client.getId()))
                 .verifyComplete();
 
-        verify(clientRepository).findAll();
-        verify(personRepository).findById(testPersonId);
-        verify(personRepository).findById(secondPersonId);
-        verify(clientMapper).toDomain(testClientEntity, testPersonEntity);
-        verify(clientMapper).toDomain(secondClientEntity, secondPersonEntity);
+        verify(databaseClient).sql(contains("ORDER BY c.created_at DESC, c.id DESC"));
+        verify(executeSpec).bind("size", 10);
+        verify(executeSpec).bind("offset", 30L);
+    }
+
+    @Test
+    void givenNoPagingParametersWhenFindAllPagedThenUseFirstPageOfTwenty() {
+        // Arrange
+        stubRows();
+
+        // Act
+        Flux<Client> result = clientPersistenceAdapter.findAll(null, null);
+
+        // Assert
+        StepVerifier.create(result).verifyComplete();
+
+        verify(executeSpec).bind("size", 20);
+        verify(executeSpec).bind("offset", 0L);
+    }
+
+    @Test
+    void givenCursorWhenFindAfterThenSeekPastLastClient() {
+        // Arrange
+        PageCursor after =
+                PageCursor.builder()
+                        .position(LocalDateTime.of(2024, 1, 2, 9, 0))
+                        .id(UUID.randomUUID())
+                        .build();
+
+        stubRows(row(testClientEntity, testPersonEntity));
+        doReturn(testClient)
+                .when(clientMapper)
+                .toDomain(any(ClientEntity.class), any(PersonEntity.class));
+
+        // Act
+        Flux<Client> result = clientPersistenceAdapter.findAfter(after, 10);
+
+        // Assert
+        StepVerifier.create(result).expectNext(testClient).verifyComplete();
+
+        verify(databaseClient).sql(contains("(c.created_at, c.id) < (:afterCreatedAt, :afterId)"));
+        verify(executeSpec).bind("afterCreatedAt", after.getPosition());
+        verify(executeSpec).bind("afterId", after.getId());
+        verify(executeSpec).bind("size", 10);
     }
 
     @Test
@@ -210,14 +305,14 @@ class ClientPersistenceAdapterTest {
         // Arrange
         Client clientToUpdate = Client.builder().password("newEncryptedPassword").build();
 
-        Client updatedClient = Client.builder().updatedAt(LocalDateTime.now()).build();
+        Client updatedClient =
+                Client.builder().id(testClientId).updatedAt(LocalDateTime.now()).build();
 
         doReturn(Mono.just(updatedClient)).when(transactionService).updateClient(clientToUpdate);
-        doReturn(Mono.just(testClientEntity))
-                .when(clientRepository)
-                .findById(updatedClient.getId());
-        doReturn(Mono.just(testPersonEntity)).when(personRepository).findById(testPersonId);
-        doReturn(updatedClient).when(clientMapper).toDomain(testClientEntity, testPersonEntity);
+        stubRow(row(testClientEntity, testPersonEntity));
+        doReturn(updatedClient)
+                .when(clientMapper)
+                .toDomain(any(ClientEntity.class), any(PersonEntity.class));
 
         // Act
         Mono<Client> result = clientPersistenceAdapter.update(clientToUpdate);
@@ -237,9 +332,7 @@ class ClientPersistenceAdapterTest {
                 .verifyComplete();
 
         verify(transactionService).updateClient(clientToUpdate);
-        verify(clientRepository).findById(updatedClient.getId());
-        verify(personRepository).findById(testPersonId);
-        verify(clientMapper).toDomain(testClientEntity, testPersonEntity);
+        verify(executeSpec).bind("id", testClientId);
     }
 
     @Test
@@ -269,4 +362,88 @@ class ClientPersistenceAdapterTest {
 
         verify(transactionService).deleteClient(testClientId);
     }
+
+    private ClientEntity secondClientEntity(UUID clientId, UUID personId) {
+        return new ClientEntity(
+                clientId,
+                personId,
+                "CLI002",
+                "encryptedPassword456",
+                true,
+                LocalDateTime.of(2024, 1, 1, 11, 0),
+                LocalDateTime.of(2024, 1, 16, 16, 30));
+    }
+
+    private PersonEntity secondPersonEntity(UUID personId) {
+        return new PersonEntity(
+                personId,
+                "Maria",
+                "Lopez",
+                Gender.FEMENINO.name(),
+                LocalDate.now(),
+                "0987654321",
+                "Calle Secundaria 456",
+                "0123456789",
+                false,
+                LocalDateTime.of(2024, 1, 1, 11, 0),
+                LocalDateTime.of(2024, 1, 16, 16, 30));
+    }
+
+    private Readable row(ClientEntity client, PersonEntity person) {
+        Readable row = mock(Readable.class);
+        lenient().doReturn(client.getId()).when(row).get("id", UUID.class);
+        lenient().doReturn(client.getPersonId()).when(row).get("persona_id", UUID.class);
+        lenient().doReturn(client.getUsername()).when(row).get("username", String.class);
+        lenient().doReturn(client.getPassword()).when(row).get("password", String.class);
+        lenient().doReturn(client.getState()).when(row).get("estado", Boolean.class);
+        lenient().doReturn(client.getCreatedAt()).when(row).get("created_at", LocalDateTime.class);
+        lenient().doReturn(client.getUpdatedAt()).when(row).get("updated_at", LocalDateTime.class);
+        lenient().doReturn(person.getName()).when(row).get("nombre", String.class);
+        lenient().doReturn(person.getLastName()).when(row).get("apellido", String.class);
+        lenient().doReturn(person.getGender()).when(row).get("genero", String.class);
+        lenient()
+                .doReturn(person.getBirthDate())
+                .when(row)
+                .get("fecha_nacimiento", LocalDate.class);
+        lenient()
+                .doReturn(person.getIdentification())
+                .when(row)
+                .get("identificacion", String.class);
+        lenient().doReturn(person.getPhone()).when(row).get("telefono", String.class);
+        lenient().doReturn(person.getAddress()).when(row).get("direccion", String.class);
+        lenient().doReturn(person.getState()).when(row).get("persona_estado", Boolean.class);
+        lenient()
+                .doReturn(person.getCreatedAt())
+                .when(row)
+                .get("persona_created_at", LocalDateTime.class);
+        lenient()
+                .doReturn(person.getUpdatedAt())
+                .when(row)
+                .get("persona_updated_at", LocalDateTime.class);
+        return row;
+    }
+
+    private <T> void stubRow(Readable row) {
+        RowsFetchSpec<T> fetchSpec = mock(RowsFetchSpec.class);
+        doAnswer(
+                        invocation -> {
+                            Function<Readable, T> mapper = invocation.getArgument(0);
+                            doReturn(Mono.just(mapper.apply(row))).when(fetchSpec).one();
+                            return fetchSpec;
+                        })
+                .when(executeSpec)
+                .map(any(Function.class));
+    }
+
+    private <T> void stubRows(Readable... rows) {
+        RowsFetchSpec<T> fetchSpec = mock(RowsFetchSpec.class);
+        doAnswer(
+                        invocation -> {
+                            Function<Readable, T> mapper = invocation.getArgument(0);
+                            doReturn(Flux.fromArray(rows).map(mapper)).when(fetchSpec).all();
+                            return fetchSpec;
+                        })
+                .when(executeSpec)
+                .map(any(Function.class));
+    }
 }
@@ -0,0 +1,137 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.RowsFetchSpec;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class DailyBalancePersistenceAdapterTest {
+
+    @Mock private DatabaseClient databaseClient;
+
+    @Mock private DatabaseClient.GenericExecuteSpec executeSpec;
+
+    @Mock private RowsFetchSpec<BigDecimal> fetchSpec;
+
+    @InjectMocks private DailyBalancePersistenceAdapter dailyBalanceAdapter;
+
+    private UUID testAccountId;
+    private LocalDate testDay;
+
+    @BeforeEach
+    void setUp() {
+        testAccountId = UUID.randomUUID();
+        testDay = LocalDate.of(2024, 1, 15);
+    }
+
+    @Test
+    void givenMovementWhenApplyMovementThenUpsertItsDayAndShiftLaterDaysInOneStatement() {
+        // Arrange
+        UUID movementId = UUID.randomUUID();
+        BigDecimal previousValue = BigDecimal.valueOf(100);
+        BigDecimal newValue = BigDecimal.valueOf(25);
+
+        stubApplyMovement();
+
+        // Act
+        Mono<Void> result = dailyBalanceAdapter.applyMovement(movementId, previousValue, newValue);
+
+        // Assert
+        StepVerifier.create(result).verifyComplete();
+
+        String sql = capturedSql();
+        assertTrue(sql.contains("fecha::date AS dia FROM bank.movimiento"));
+        assertTrue(
+                sql.contains(
+                        "ON CONFLICT (cuenta_id, dia) DO UPDATE SET saldo_cierre ="
+                                + " sd.saldo_cierre + :delta"));
+        assertTrue(sql.endsWith("s.dia > m.dia"));
+        verify(executeSpec).bind("movementId", movementId);
+        verify(executeSpec).bind("newValue", newValue);
+        verify(executeSpec).bind("delta", BigDecimal.valueOf(-75));
+    }
+
+    @Test
+    void givenAccountWithUnsnapshottedMovementsWhenApplyMovementThenSeedDayFromRealBalance() {
+        // Arrange
+        stubApplyMovement();
+
+        // Act
+        dailyBalanceAdapter
+                .applyMovement(UUID.randomUUID(), BigDecimal.ZERO, BigDecimal.TEN)
+                .block();
+
+        // Assert
+        String sql = capturedSql();
+        // Sin cierre anterior se suman todos los movimientos previos sobre el saldo inicial
+        assertTrue(sql.contains("COALESCE(p.saldo_cierre, c.saldo_inicial) + COALESCE((SELECT"));
+        assertTrue(sql.contains("o.fecha >= COALESCE(p.dia + 1, '-infinity'::date)"));
+        assertTrue(sql.contains("o.fecha < m.dia + 1"));
+        // El propio movimiento se cuenta una sola vez, con su valor nuevo
+        assertTrue(sql.contains("o.id <> m.id"));
+        assertTrue(sql.contains("0) + :newValue"));
+    }
+
+    @Test
+    void givenClosingBalanceWhenFindClosingBalanceThenReturnLatestUpToDay() {
+        // Arrange
+        doReturn(executeSpec).when(databaseClient).sql(contains("dia <= :day"));
+        doReturn(executeSpec).when(executeSpec).bind("accountId", testAccountId);
+        doReturn(executeSpec).when(executeSpec).bind("day", testDay);
+        doReturn(fetchSpec).when(executeSpec).map(any(Function.class));
+        doReturn(Mono.just(BigDecimal.valueOf(1425))).when(fetchSpec).one();
+
+        // Act
+        Mono<BigDecimal> result = dailyBalanceAdapter.findClosingBalance(testAccountId, testDay);
+
+        // Assert
+        StepVerifier.create(result).expectNext(BigDecimal.valueOf(1425)).verifyComplete();
+    }
+
+    @Test
+    void givenNoClosingBalanceWhenFindClosingBalanceThenReturnEmpty() {
+        // Arrange
+        doReturn(executeSpec).when(databaseClient).sql(contains("dia <= :day"));
+        doReturn(executeSpec).when(executeSpec).bind("accountId", testAccountId);
+        doReturn(executeSpec).when(executeSpec).bind("day", testDay);
+        doReturn(fetchSpec).when(executeSpec).map(any(Function.class));
+        doReturn(Mono.empty()).when(fetchSpec).one();
+
+        // Act
+        Mono<BigDecimal> result = dailyBalanceAdapter.findClosingBalance(testAccountId, testDay);
+
+        // Assert
+        StepVerifier.create(result).verifyComplete();
+    }
+
+    private void stubApplyMovement() {
+        doReturn(executeSpec).when(databaseClient).sql(anyString());
+        doReturn(executeSpec).when(executeSpec).bind(anyString(), any());
+        doReturn(Mono.empty()).when(executeSpec).then();
+    }
+
+    private String capturedSql() {
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(databaseClient).sql(sql.capture());
+        return sql.getValue();
+    }
+}
@@ -4,27 +4,47 @@ import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
+import com.pichincha.dm.bank.accounts.application.service.BalanceRecalculationMode;
 import com.pichincha.dm.bank.accounts.domain.Movement;
+import com.pichincha.dm.bank.accounts.domain.PageCursor;
 import com.pichincha.dm.bank.accounts.domain.enums.MovementType;
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.entity.MovementEntity;
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.mapper.MovementEntityMapper;
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.repository.MovementRepository;
 import com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.service.MovementTransactionService;
+import io.r2dbc.spi.Readable;
+import io.r2dbc.spi.Statement;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Function;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.ExecuteFunction;
+import org.springframework.r2dbc.core.RowsFetchSpec;
+import org.springframework.r2dbc.core.StatementFilterFunction;
+import org.springframework.test.util.ReflectionTestUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -38,6 +58,10 @@ class MovementPersistenceAdapterTest {
 
     @Mock private MovementTransactionService transactionService;
 
+    @Mock private DatabaseClient databaseClient;
+
+    @Mock private DatabaseClient.GenericExecuteSpec executeSpec;
+
     @InjectMocks private MovementPersistenceAdapter movementPersistenceAdapter;
 
     private Movement testMovement;
@@ -114,62 +138,88 @@ class MovementPersistenceAdapterTest {
         verify(movementMapper).toDomain(testMovementEntity);
     }
 
+    @Test
+    void givenValidMovementWhenSaveApplyingBalanceThenReturnStoredMovementMono() {
+        // Arrange
+        testMovement.setCreatedAt(LocalDateTime.of(2024, 1, 15, 10, 30));
+
+        doReturn(Mono.just(testMovementEntity))
+                .when(movementRepository)
+                .insertApplyingBalance(
+                        testAccountId,
+                        testMovement.getDate(),
+                        "CREDITO",
+                        testMovement.getValue(),
+                        testMovement.getCreatedAt());
+        doReturn(testMovement).when(movementMapper).toDomain(testMovementEntity);
+
+        // Act
+        Mono<Movement> result = movementPersistenceAdapter.saveApplyingBalance(testMovement);
+
+        // Assert
+        StepVerifier.create(result).expectNext(testMovement).verifyComplete();
+
+        verify(movementRepository)
+                .insertApplyingBalance(
+                        testAccountId,
+                        testMovement.getDate(),
+                        "CREDITO",
+                        testMovement.getValue(),
+                        testMovement.getCreatedAt());
+    }
+
     @Test
     void givenValidFiltersWhenFindAllThenReturnMovementsFlux() {
         // Arrange
         LocalDate startDate = LocalDate.of(2024, 1, 1);
         LocalDate endDate = LocalDate.of(2024, 1, 31);
         Long accountNumber = 1001L;
-        Integer page = 0;
-        Integer size = 10;
-
-        LocalDateTime startDateTime = startDate.atStartOfDay();
-        LocalDateTime endDateTime = endDate.atTime(23, 59, 59, 999999999);
-        int offset = 0;
-
-        Movement secondMovement =
-                Movement.builder()
-                        .id(UUID.randomUUID())
-                        .type(MovementType.DEBITO)
-                        .value(BigDecimal.valueOf(200.00))
-                        .postMovementBalance(BigDecimal.valueOf(1300.00))
-                        .build();
-
+        UUID secondMovementId = UUID.randomUUID();
+        Movement secondMovement = Movement.builder().id(secondMovementId).build();
         MovementEntity secondMovementEntity =
                 new MovementEntity(
-                        secondMovement.getId(),
+                        secondMovementId,
                         testAccountId,
                         LocalDateTime.of(2024, 1, 16, 14, 45),
                         MovementType.DEBITO,
-                        BigDecimal.valueOf(1500.00),
+                        BigDecimal.valueOf(-1500.00),
                         BigDecimal.valueOf(200.00),
                         LocalDateTime.of(2024, 1, 16, 14, 45));
 
-        Flux<MovementEntity> movementEntities = Flux.just(testMovementEntity, secondMovementEntity);
-
-        doReturn(movementEntities)
-                .when(movementRepository)
-                .findWithFilters(
-                        testClientId, accountNumber, startDateTime, endDateTime, size, offset);
-        doReturn(testMovement).when(movementMapper).toDomain(testMovementEntity);
-        doReturn(secondMovement).when(movementMapper).toDomain(secondMovementEntity);
+        stubRows(row(testMovementEntity), row(secondMovementEntity));
+        ArgumentCaptor<MovementEntity> entityCaptor = ArgumentCaptor.forClass(MovementEntity.class);
+        doReturn(testMovement, secondMovement)
+                .when(movementMapper)
+                .toDomain(entityCaptor.capture());
 
         // Act
         Flux<Movement> result =
                 movementPersistenceAdapter.findAll(
-                        testClientId, accountNumber, startDate, endDate, page, size);
+                        testClientId, accountNumber, startDate, endDate, 0, 10);
 
         // Assert
         StepVerifier.create(result)
                 .assertNext(movement -> assertEquals(testMovement.getId(), movement.getId()))
-                .assertNext(movement -> assertEquals(secondMovement.getId(), movement.getId()))
+                .assertNext(movement -> assertEquals(secondMovementId, movement.getId()))
                 .verifyComplete();
 
-        verify(movementRepository)
-                .findWithFilters(
-                        testClientId, accountNumber, startDateTime, endDateTime, size, offset);
-        verify(movementMapper).toDomain(testMovementEntity);
-        verify(movementMapper).toDomain(secondMovementEntity);
+        MovementEntity first = entityCaptor.getAllValues().get(0);
+        assertEquals(testMovementId, first.getId());
+        assertEquals(MovementType.CREDITO, first.getType());
+        assertEquals(testMovementEntity.getDate(), first.getDate());
+        assertEquals(MovementType.DEBITO, entityCaptor.getAllValues().get(1).getType());
+        verify(databaseClient)
+                .sql(
+                        startsWith(
+                                "SELECT m.id, m.cuenta_id, m.fecha, m.tipo, m.valor,"
+                                        + " m.saldo_post_movimiento, m.created_at FROM"
+                                        + " bank.movimiento m WHERE m.cuenta_id ="));
+        verify(executeSpec).bind("accountNumber", accountNumber);
+        verify(executeSpec).bind("clientId", testClientId);
+        verify(executeSpec).bind("startDate", startDate.atStartOfDay());
+        verify(executeSpec).bind("endDate", endDate.atTime(23, 59, 59, 999999999));
+        verify(executeSpec).bind("size", 10);
+        verify(executeSpec, never()).bind(eq("offset"), any());
     }
 
     @Test
@@ -291,4 +341,215 @@ class MovementPersistenceAdapterTest {
         verify(movementMapper).toDomain(testMovementEntity);
         verify(movementMapper).toDomain(secondEntity);
     }
+
+    @Test
+    void givenAdjustmentWhenShiftPostMovementBalancesThenReturnAffectedRowsMono() {
+        // Arrange
+        LocalDateTime fromDateTime = LocalDateTime.of(2024, 1, 1, 0, 0);
+        BigDecimal adjustment = BigDecimal.valueOf(50.00);
+
+        doReturn(Mono.just(12L))
+                .when(movementRepository)
+                .shiftPostMovementBalances(testAccountId, fromDateTime, null, adjustment);
+
+        // Act
+        Mono<Long> result =
+                movementPersistenceAdapter.shiftPostMovementBalances(
+                        testAccountId, fromDateTime, null, adjustment);
+
+        // Assert
+        StepVerifier.create(result).expectNext(12L).verifyComplete();
+
+        verify(movementRepository)
+                .shiftPostMovementBalances(testAccountId, fromDateTime, null, adjustment);
+    }
+
+    @Test
+    void givenAccountIdWhenFindLatestMovementDateThenReturnDateMono() {
+        // Arrange
+        LocalDateTime latestDate = LocalDateTime.of(2024, 3, 1, 9, 30);
+
+        doReturn(Mono.just(latestDate))
+                .when(movementRepository)
+                .findLatestDateByAccountId(testAccountId);
+
+        // Act
+        Mono<LocalDateTime> result =
+                movementPersistenceAdapter.findLatestMovementDate(testAccountId);
+
+        // Assert
+        StepVerifier.create(result).expectNext(latestDate).verifyComplete();
+
+        verify(movementRepository).findLatestDateByAccountId(testAccountId);
+    }
+
+    @Test
+    void givenAccountIdWhenRecomputePostMovementBalancesThenReturnChangedRowsMono() {
+        // Arrange
+        LocalDateTime fromDateTime = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+        doReturn(Mono.just(8L))
+                .when(movementRepository)
+                .recomputePostMovementBalances(testAccountId, fromDateTime);
+
+        // Act
+        Mono<Long> result =
+                movementPersistenceAdapter.recomputePostMovementBalances(
+                        testAccountId, fromDateTime);
+
+        // Assert
+        StepVerifier.create(result).expectNext(8L).verifyComplete();
+
+        verify(movementRepository).recomputePostMovementBalances(testAccountId, fromDateTime);
+    }
+
+    @Test
+    void givenDerivedModeWhenFindByIdThenComputeBalanceOnRead() {
+        // Arrange
+        ReflectionTestUtils.setField(
+                movementPersistenceAdapter, "recalculationMode", BalanceRecalculationMode.DERIVED);
+
+        doReturn(Mono.just(testMovementEntity))
+                .when(movementRepository)
+                .findByIdDerivingBalance(testMovementId);
+        doReturn(testMovement).when(movementMapper).toDomain(testMovementEntity);
+
+        // Act
+        Mono<Movement> result = movementPersistenceAdapter.findById(testMovementId);
+
+        // Assert
+        StepVerifier.create(result).expectNext(testMovement).verifyComplete();
+
+        verify(movementRepository, never()).findById(any(UUID.class));
+    }
+
+    @Test
+    void givenDerivedModeWhenFindAllThenComputeBalancesOnRead() {
+        // Arrange
+        ReflectionTestUtils.setField(
+                movementPersistenceAdapter, "recalculationMode", BalanceRecalculationMode.DERIVED);
+        LocalDate startDate = LocalDate.of(2024, 1, 1);
+        LocalDate endDate = LocalDate.of(2024, 1, 31);
+
+        stubRows(row(testMovementEntity));
+        doReturn(testMovement).when(movementMapper).toDomain(any(MovementEntity.class));
+
+        // Act
+        Flux<Movement> result =
+                movementPersistenceAdapter.findAll(testClientId, 1001L, startDate, endDate, 2, 10);
+
+        // Assert
+        StepVerifier.create(result).expectNext(testMovement).verifyComplete();
+
+        verify(databaseClient).sql(startsWith("WITH pagina AS (SELECT m.id"));
+        verify(executeSpec).bind("offset", 20L);
+    }
+
+    @Test
+    void givenCursorWhenFindAfterThenSeekPastLastMovement() {
+        // Arrange
+        PageCursor after =
+                PageCursor.builder()
+                        .position(LocalDateTime.of(2024, 1, 20, 9, 0))
+                        .id(UUID.randomUUID())
+                        .build();
+
+        stubRows(row(testMovementEntity));
+        doReturn(testMovement).when(movementMapper).toDomain(any(MovementEntity.class));
+
+        // Act
+        Flux<Movement> result =
+                movementPersistenceAdapter.findAfter(testClientId, null, null, null, after, 25);
+
+        // Assert
+        StepVerifier.create(result).expectNext(testMovement).verifyComplete();
+
+        verify(databaseClient).sql(contains("JOIN bank.cuenta c ON c.id = m.cuenta_id"));
+        verify(executeSpec).bind("afterDate", after.getPosition());
+        verify(executeSpec).bind("afterId", after.getId());
+        verify(executeSpec).bind("size", 25);
+    }
+
+    @Test
+    void givenDerivedModeAndCursorWhenFindAfterThenDeriveBalancesForPage() {
+        // Arrange
+        ReflectionTestUtils.setField(
+                movementPersistenceAdapter, "recalculationMode", BalanceRecalculationMode.DERIVED);
+        PageCursor after =
+                PageCursor.builder()
+                        .position(LocalDateTime.of(2024, 1, 20, 9, 0))
+                        .id(UUID.randomUUID())
+                        .build();
+
+        stubRows(row(testMovementEntity));
+        doReturn(testMovement).when(movementMapper).toDomain(any(MovementEntity.class));
+
+        // Act
+        Flux<Movement> result =
+                movementPersistenceAdapter.findAfter(null, 1001L, null, null, after, null);
+
+        // Assert
+        StepVerifier.create(result).expectNext(testMovement).verifyComplete();
+
+        verify(databaseClient).sql(startsWith("WITH pagina AS (SELECT m.id"));
+        verify(executeSpec).bind("afterId", after.getId());
+        verify(executeSpec).bind("size", 50);
+    }
+
+    @Test
+    void givenFiltersWhenStreamThenReadWholeRangeInFetchSizeBatches() {
+        // Arrange
+        ReflectionTestUtils.setField(movementPersistenceAdapter, "streamFetchSize", 250);
+        Statement statement = mock(Statement.class);
+        ExecuteFunction next = mock(ExecuteFunction.class);
+        doReturn(statement).when(statement).fetchSize(250);
+
+        stubRows(row(testMovementEntity), row(testMovementEntity));
+        doReturn(executeSpec).when(executeSpec).filter(any(StatementFilterFunction.class));
+        doReturn(testMovement).when(movementMapper).toDomain(any(MovementEntity.class));
+
+        // Act
+        Flux<Movement> result =
+                movementPersistenceAdapter.stream(
+                        testClientId, 1001L, LocalDate.of(2024, 1, 1), null, null);
+
+        // Assert
+        StepVerifier.create(result).expectNext(testMovement, testMovement).verifyComplete();
+
+        verify(databaseClient).sql(endsWith("ORDER BY m.fecha DESC, m.id DESC"));
+        verify(executeSpec, never()).bind(eq("size"), any());
+        ArgumentCaptor<StatementFilterFunction> filter =
+                ArgumentCaptor.forClass(StatementFilterFunction.class);
+        verify(executeSpec).filter(filter.capture());
+        filter.getValue().filter(statement, next);
+        verify(next).execute(statement);
+    }
+
+    private Readable row(MovementEntity entity) {
+        Readable row = mock(Readable.class);
+        doReturn(entity.getId()).when(row).get("id", UUID.class);
+        doReturn(entity.getAccountId()).when(row).get("cuenta_id", UUID.class);
+        doReturn(entity.getDate()).when(row).get("fecha", LocalDateTime.class);
+        doReturn(entity.getType().name()).when(row).get("tipo", String.class);
+        doReturn(entity.getValue()).when(row).get("valor", BigDecimal.class);
+        doReturn(entity.getPostMovementBalance())
+                .when(row)
+                .get("saldo_post_movimiento", BigDecimal.class);
+        doReturn(entity.getCreatedAt()).when(row).get("created_at", LocalDateTime.class);
+        return row;
+    }
+
+    private <T> void stubRows(Readable... rows) {
+        RowsFetchSpec<T> fetchSpec = mock(RowsFetchSpec.class);
+        doReturn(executeSpec).when(databaseClient).sql(anyString());
+        doReturn(executeSpec).when(executeSpec).bind(anyString(), any());
+        doAnswer(
+                        invocation -> {
+                            Function<Readable, T> mapper = invocation.getArgument(0);
+                            doReturn(Flux.fromArray(rows).map(mapper)).when(fetchSpec).all();
+                            return fetchSpec;
+                        })
+                .when(executeSpec)
+                .map(any(Function.class));
+    }
 }
@@ -0,0 +1,208 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.pichincha.dm.bank.accounts.domain.PageCursor;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Fija la sentencia que se envía a PostgreSQL para cada combinación de filtros. Los planes de cada
+ * una se comparan con scripts/benchmark/filtros_movimientos.sql.
+ */
+class MovementQueryBuilderTest {
+
+    private static final String SELECT =
+            "SELECT m.id, m.cuenta_id, m.fecha, m.tipo, m.valor, m.saldo_post_movimiento,"
+                    + " m.created_at FROM bank.movimiento m";
+    private static final String ORDER = " ORDER BY m.fecha DESC, m.id DESC LIMIT :size";
+
+    private final UUID clientId = UUID.randomUUID();
+    private final LocalDateTime startDate = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private final LocalDateTime endDate = LocalDateTime.of(2024, 1, 31, 23, 59, 59);
+
+    @Test
+    void givenNoFiltersWhenBuildThenQueryMovementsOnlyWithoutJoin() {
+        // Act
+        MovementQueryBuilder.Query result = MovementQueryBuilder.create().size(50).build();
+
+        // Assert
+        assertEquals(SELECT + ORDER, result.getSql());
+        assertEquals(List.of("size"), List.copyOf(result.getBindings().keySet()));
+    }
+
+    @Test
+    void givenAccountNumberWhenBuildThenResolveAccountIdInSubqueryWithoutJoin() {
+        // Act
+        MovementQueryBuilder.Query result =
+                MovementQueryBuilder.create().accountNumber(1001L).size(50).build();
+
+        // Assert
+        assertEquals(
+                SELECT
+                        + " WHERE m.cuenta_id = (SELECT id FROM bank.cuenta WHERE numero_cuenta ="
+                        + " :accountNumber)"
+                        + ORDER,
+                result.getSql());
+        assertEquals(1001L, result.getBindings().get("accountNumber"));
+    }
+
+    @Test
+    void givenClientAndAccountWhenBuildThenCheckOwnershipInsideSubquery() {
+        // Act
+        MovementQueryBuilder.Query result =
+                MovementQueryBuilder.create()
+                        .clientId(clientId)
+                        .accountNumber(1001L)
+                        .size(50)
+                        .build();
+
+        // Assert
+        assertEquals(
+                SELECT
+                        + " WHERE m.cuenta_id = (SELECT id FROM bank.cuenta WHERE numero_cuenta ="
+                        + " :accountNumber AND cliente_id = :clientId)"
+                        + ORDER,
+                result.getSql());
+        assertEquals(clientId, result.getBindings().get("clientId"));
+    }
+
+    @Test
+    void givenClientOnlyWhenBuildThenJoinAccountsByClient() {
+        // Act
+        MovementQueryBuilder.Query result =
+                MovementQueryBuilder.create().clientId(clientId).size(50).build();
+
+        // Assert
+        assertEquals(
+                SELECT
+                        + " JOIN bank.cuenta c ON c.id = m.cuenta_id WHERE c.cliente_id ="
+                        + " :clientId"
+                        + ORDER,
+                result.getSql());
+    }
+
+    @Test
+    void givenDateRangeWhenBuildThenFilterByDateOnly() {
+        // Act
+        MovementQueryBuilder.Query result =
+                MovementQueryBuilder.create()
+                        .startDate(startDate)
+                        .endDate(endDate)
+                        .size(50)
+                        .build();
+
+        // Assert
+        assertEquals(
+                SELECT + " WHERE m.fecha >= :startDate AND m.fecha <= :endDate" + ORDER,
+                result.getSql());
+        assertEquals(startDate, result.getBindings().get("startDate"));
+        assertEquals(endDate, result.getBindings().get("endDate"));
+    }
+
+    @Test
+    void givenAccountAndStartDateWithOffsetWhenBuildThenAppendOffset() {
+        // Act
+        MovementQueryBuilder.Query result =
+                MovementQueryBuilder.create()
+                        .accountNumber(1001L)
+                        .startDate(startDate)
+                        .size(20)
+                        .offset(40)
+                        .build();
+
+        // Assert
+        assertEquals(
+                SELECT
+                        + " WHERE m.cuenta_id = (SELECT id FROM bank.cuenta WHERE numero_cuenta ="
+                        + " :accountNumber) AND m.fecha >= :startDate"
+                        + ORDER
+                        + " OFFSET :offset",
+                result.getSql());
+        assertEquals(
+                List.of("accountNumber", "startDate", "size", "offset"),
+                List.copyOf(result.getBindings().keySet()));
+        assertEquals(40L, result.getBindings().get("offset"));
+    }
+
+    @Test
+    void givenCursorWhenBuildThenSeekByDateAndIdAndIgnoreOffset() {
+        // Arrange
+        PageCursor after =
+                PageCursor.builder()
+                        .position(LocalDateTime.of(2024, 1, 20, 9, 0))
+                        .id(UUID.randomUUID())
+                        .build();
+
+        // Act
+        MovementQueryBuilder.Query result =
+                MovementQueryBuilder.create()
+                        .accountNumber(1001L)
+                        .after(after)
+                        .size(50)
+                        .offset(100)
+                        .build();
+
+        // Assert
+        assertEquals(
+                SELECT
+                        + " WHERE m.cuenta_id = (SELECT id FROM bank.cuenta WHERE numero_cuenta ="
+                        + " :accountNumber) AND m.fecha <= :afterDate AND (m.fecha, m.id) <"
+                        + " (:afterDate, :afterId)"
+                        + ORDER,
+                result.getSql());
+        assertEquals(after.getPosition(), result.getBindings().get("afterDate"));
+        assertEquals(after.getId(), result.getBindings().get("afterId"));
+    }
+
+    @Test
+    void givenNoSizeWhenBuildThenKeepOrderWithoutLimit() {
+        // Arrange
+        PageCursor after =
+                PageCursor.builder()
+                        .position(LocalDateTime.of(2024, 1, 15, 10, 0))
+                        .id(UUID.randomUUID())
+                        .build();
+
+        // Act
+        MovementQueryBuilder.Query result =
+                MovementQueryBuilder.create().clientId(clientId).after(after).size(null).build();
+
+        // Assert
+        assertEquals(
+                SELECT
+                        + " JOIN bank.cuenta c ON c.id = m.cuenta_id WHERE c.cliente_id = :clientId"
+                        + " AND m.fecha <= :afterDate AND (m.fecha, m.id) < (:afterDate, :afterId)"
+                        + " ORDER BY m.fecha DESC, m.id DESC",
+                result.getSql());
+        assertEquals(
+                List.of("clientId", "afterDate", "afterId"),
+                List.copyOf(result.getBindings().keySet()));
+    }
+
+    @Test
+    void givenDerivingBalanceWhenBuildThenWrapFilteredPageInBalanceCte() {
+        // Act
+        MovementQueryBuilder.Query result =
+                MovementQueryBuilder.create()
+                        .accountNumber(1001L)
+                        .size(50)
+                        .derivingBalance(true)
+                        .build();
+
+        // Assert
+        assertTrue(
+                result.getSql()
+                        .startsWith(
+                                "WITH pagina AS ("
+                                        + SELECT
+                                        + " WHERE m.cuenta_id = (SELECT id FROM bank.cuenta WHERE"
+                                        + " numero_cuenta = :accountNumber)"
+                                        + ORDER
+                                        + "), limites AS ("));
+        assertTrue(result.getSql().endsWith("ORDER BY p.fecha DESC, p.id DESC"));
+    }
+}
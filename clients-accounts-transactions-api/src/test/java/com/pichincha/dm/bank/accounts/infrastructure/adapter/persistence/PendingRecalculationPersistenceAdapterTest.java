@@ -0,0 +1,139 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.pichincha.dm.bank.accounts.domain.PendingRecalculation;
+import com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.entity.PendingRecalculationEntity;
+import com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.mapper.PendingRecalculationEntityMapper;
+import com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence.repository.PendingRecalculationRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class PendingRecalculationPersistenceAdapterTest {
+
+    @Mock private PendingRecalculationRepository pendingRecalculationRepository;
+
+    @Mock private PendingRecalculationEntityMapper pendingRecalculationMapper;
+
+    @InjectMocks private PendingRecalculationPersistenceAdapter pendingRecalculationAdapter;
+
+    private UUID testAccountId;
+    private LocalDateTime testFromDateTime;
+    private PendingRecalculationEntity testEntity;
+    private PendingRecalculation testPending;
+
+    @BeforeEach
+    void setUp() {
+        testAccountId = UUID.randomUUID();
+        testFromDateTime = LocalDateTime.of(2024, 1, 15, 10, 30);
+        testEntity =
+                new PendingRecalculationEntity(
+                        testAccountId, testFromDateTime, 2L, LocalDateTime.of(2024, 1, 16, 8, 0));
+        testPending =
+                PendingRecalculation.builder()
+                        .accountId(testAccountId)
+                        .fromDateTime(testFromDateTime)
+                        .version(2L)
+                        .build();
+    }
+
+    @Test
+    void givenAccountAndDateWhenRegisterThenUpsertEarliestPendingRecalculation() {
+        // Arrange
+        doReturn(Mono.just(1L))
+                .when(pendingRecalculationRepository)
+                .upsertEarliest(testAccountId, testFromDateTime);
+
+        // Act
+        Mono<Void> result = pendingRecalculationAdapter.register(testAccountId, testFromDateTime);
+
+        // Assert
+        StepVerifier.create(result).verifyComplete();
+
+        verify(pendingRecalculationRepository).upsertEarliest(testAccountId, testFromDateTime);
+    }
+
+    @Test
+    void givenLimitWhenFindOldestThenReturnPendingRecalculationsFlux() {
+        // Arrange
+        doReturn(Flux.just(testEntity)).when(pendingRecalculationRepository).findOldest(20);
+        doReturn(testPending).when(pendingRecalculationMapper).toDomain(testEntity);
+
+        // Act
+        Flux<PendingRecalculation> result = pendingRecalculationAdapter.findOldest(20);
+
+        // Assert
+        StepVerifier.create(result).expectNext(testPending).verifyComplete();
+    }
+
+    @Test
+    void givenAccountIdsWhenFindByAccountIdsThenReturnPendingRecalculationsFlux() {
+        // Arrange
+        Set<UUID> accountIds = Set.of(testAccountId);
+
+        doReturn(Flux.just(testEntity))
+                .when(pendingRecalculationRepository)
+                .findByAccountIdIn(accountIds);
+        doReturn(testPending).when(pendingRecalculationMapper).toDomain(testEntity);
+
+        // Act
+        Flux<PendingRecalculation> result =
+                pendingRecalculationAdapter.findByAccountIds(accountIds);
+
+        // Assert
+        StepVerifier.create(result).expectNext(testPending).verifyComplete();
+    }
+
+    @Test
+    void givenNoAccountIdsWhenFindByAccountIdsThenSkipQuery() {
+        // Act
+        Flux<PendingRecalculation> result = pendingRecalculationAdapter.findByAccountIds(List.of());
+
+        // Assert
+        StepVerifier.create(result).verifyComplete();
+
+        verifyNoInteractions(pendingRecalculationRepository);
+    }
+
+    @Test
+    void givenUnchangedPendingRecalculationWhenCompleteThenReturnTrue() {
+        // Arrange
+        doReturn(Mono.just(1L))
+                .when(pendingRecalculationRepository)
+                .deleteByAccountIdAndVersion(testAccountId, 2L);
+
+        // Act
+        Mono<Boolean> result = pendingRecalculationAdapter.complete(testPending);
+
+        // Assert
+        StepVerifier.create(result).expectNext(true).verifyComplete();
+    }
+
+    @Test
+    void givenPendingRecalculationChangedWhileProcessingWhenCompleteThenReturnFalse() {
+        // Arrange
+        doReturn(Mono.just(0L))
+                .when(pendingRecalculationRepository)
+                .deleteByAccountIdAndVersion(testAccountId, 2L);
+
+        // Act
+        Mono<Boolean> result = pendingRecalculationAdapter.complete(testPending);
+
+        // Assert
+        StepVerifier.create(result).expectNext(false).verifyComplete();
+    }
+}
@@ -0,0 +1,47 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveTransactionAdapterTest {
+
+    @Mock private TransactionalOperator transactionalOperator;
+
+    @InjectMocks private ReactiveTransactionAdapter reactiveTransactionAdapter;
+
+    @Test
+    void givenOperationWhenInTransactionThenRunItOnSubscribeInsideTransactionalOperator() {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+        doAnswer(invocation -> invocation.getArgument(0))
+                .when(transactionalOperator)
+                .transactional(any(Mono.class));
+
+        // Act
+        Mono<String> result =
+                reactiveTransactionAdapter.inTransaction(
+                        () -> {
+                            calls.incrementAndGet();
+                            return Mono.just("done");
+                        });
+
+        // Assert
+        verify(transactionalOperator).transactional(any(Mono.class));
+        StepVerifier.create(result).expectNext("done").verifyComplete();
+        StepVerifier.create(result).expectNext("done").verifyComplete();
+        assertEquals(2, calls.get());
+    }
+}
@@ -0,0 +1,185 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import com.pichincha.dm.bank.accounts.domain.AccountTotals;
+import com.pichincha.dm.bank.accounts.domain.StatementLine;
+import com.pichincha.dm.bank.accounts.domain.enums.AccountType;
+import com.pichincha.dm.bank.accounts.domain.enums.MovementType;
+import io.r2dbc.spi.Readable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.RowsFetchSpec;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class StatementPersistenceAdapterTest {
+
+    @Mock private DatabaseClient databaseClient;
+
+    @Mock private DatabaseClient.GenericExecuteSpec executeSpec;
+
+    @InjectMocks private StatementPersistenceAdapter statementAdapter;
+
+    private UUID testClientId;
+    private UUID testAccountId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    @BeforeEach
+    void setUp() {
+        testClientId = UUID.randomUUID();
+        testAccountId = UUID.randomUUID();
+        startDate = LocalDate.of(2024, 1, 1);
+        endDate = LocalDate.of(2024, 1, 31);
+
+        doReturn(executeSpec).when(databaseClient).sql(anyString());
+        doReturn(executeSpec).when(executeSpec).bind(anyString(), any());
+    }
+
+    @Test
+    void givenClientAndPeriodWhenFindStatementLinesThenMapMovementRows() {
+        // Arrange
+        Readable row = mock(Readable.class);
+        UUID movementId = UUID.randomUUID();
+        LocalDateTime movementDate = LocalDateTime.of(2024, 1, 10, 9, 0);
+        doReturn(testAccountId).when(row).get("cuenta_id", UUID.class);
+        doReturn(478758L).when(row).get("numero_cuenta", Long.class);
+        doReturn("AHORROS").when(row).get("cuenta_tipo", String.class);
+        doReturn(new BigDecimal("2000.00")).when(row).get("saldo_apertura", BigDecimal.class);
+        doReturn(new BigDecimal("1425.00")).when(row).get("saldo_cierre", BigDecimal.class);
+        doReturn(movementId).when(row).get("movimiento_id", UUID.class);
+        doReturn(movementDate).when(row).get("fecha", LocalDateTime.class);
+        doReturn("DEBITO").when(row).get("movimiento_tipo", String.class);
+        doReturn(new BigDecimal("-575.00")).when(row).get("valor", BigDecimal.class);
+        doReturn(new BigDecimal("1425.00"))
+                .when(row)
+                .get("saldo_post_movimiento", BigDecimal.class);
+        stubRows(row);
+
+        // Act
+        Flux<StatementLine> result =
+                statementAdapter.findStatementLines(testClientId, startDate, endDate);
+
+        // Assert
+        StepVerifier.create(result)
+                .assertNext(
+                        line -> {
+                            assertTrue(line.hasMovement());
+                            assertEquals(testAccountId, line.getAccountId());
+                            assertEquals(AccountType.AHORROS, line.getAccountType());
+                            assertEquals(MovementType.DEBITO, line.getMovementType());
+                            assertEquals(movementDate, line.getMovementDate());
+                            assertEquals(new BigDecimal("1425.00"), line.getBalanceAfterMovement());
+                        })
+                .verifyComplete();
+
+        verify(executeSpec).bind("clientId", testClientId);
+        verify(executeSpec).bind("from", startDate.atStartOfDay());
+        verify(executeSpec).bind("to", LocalDate.of(2024, 2, 1).atStartOfDay());
+    }
+
+    @Test
+    void givenAccountWithoutMovementsWhenFindStatementLinesThenMapAccountOnlyRow() {
+        // Arrange
+        Readable row = mock(Readable.class);
+        doReturn(testAccountId).when(row).get("cuenta_id", UUID.class);
+        doReturn(225487L).when(row).get("numero_cuenta", Long.class);
+        doReturn("CORRIENTE").when(row).get("cuenta_tipo", String.class);
+        doReturn(new BigDecimal("100.00")).when(row).get("saldo_apertura", BigDecimal.class);
+        doReturn(new BigDecimal("100.00")).when(row).get("saldo_cierre", BigDecimal.class);
+        doReturn(null).when(row).get("movimiento_id", UUID.class);
+        doReturn(null).when(row).get("fecha", LocalDateTime.class);
+        doReturn(null).when(row).get("movimiento_tipo", String.class);
+        doReturn(null).when(row).get("valor", BigDecimal.class);
+        doReturn(null).when(row).get("saldo_post_movimiento", BigDecimal.class);
+        stubRows(row);
+
+        // Act
+        Flux<StatementLine> result =
+                statementAdapter.findStatementLines(testClientId, startDate, endDate);
+
+        // Assert
+        StepVerifier.create(result)
+                .assertNext(
+                        line -> {
+                            assertFalse(line.hasMovement());
+                            assertEquals(225487L, line.getAccountNumber());
+                            assertNull(line.getMovementType());
+                        })
+                .verifyComplete();
+    }
+
+    @Test
+    void givenClientAndPeriodWhenFindAccountTotalsThenMapGroupedRow() {
+        // Arrange
+        Readable row = mock(Readable.class);
+        doReturn(testAccountId).when(row).get("cuenta_id", UUID.class);
+        doReturn(478758L).when(row).get("numero_cuenta", Long.class);
+        doReturn("AHORROS").when(row).get("cuenta_tipo", String.class);
+        doReturn(new BigDecimal("2000.00")).when(row).get("saldo_apertura", BigDecimal.class);
+        doReturn(new BigDecimal("1625.00")).when(row).get("saldo_cierre", BigDecimal.class);
+        doReturn(new BigDecimal("-575.00")).when(row).get("total_debitos", BigDecimal.class);
+        doReturn(new BigDecimal("200.00")).when(row).get("total_creditos", BigDecimal.class);
+        doReturn(3L).when(row).get("cantidad_debitos", Long.class);
+        doReturn(1L).when(row).get("cantidad_creditos", Long.class);
+        stubRows(row);
+
+        // Act
+        Flux<AccountTotals> result =
+                statementAdapter.findAccountTotals(testClientId, startDate, endDate);
+
+        // Assert
+        StepVerifier.create(result)
+                .assertNext(
+                        totals -> {
+                            assertEquals(testAccountId, totals.getAccountId());
+                            assertEquals(AccountType.AHORROS, totals.getAccountType());
+                            assertEquals(new BigDecimal("2000.00"), totals.getOpeningBalance());
+                            assertEquals(new BigDecimal("1625.00"), totals.getClosingBalance());
+                            assertEquals(new BigDecimal("-575.00"), totals.getTotalDebits());
+                            assertEquals(new BigDecimal("200.00"), totals.getTotalCredits());
+                            assertEquals(3L, totals.getDebitCount());
+                            assertEquals(1L, totals.getCreditCount());
+                        })
+                .verifyComplete();
+
+        verify(databaseClient).sql(contains("GROUP BY"));
+        verify(executeSpec).bind("clientId", testClientId);
+        verify(executeSpec).bind("to", LocalDate.of(2024, 2, 1).atStartOfDay());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void stubRows(Readable row) {
+        RowsFetchSpec<T> fetchSpec = mock(RowsFetchSpec.class);
+        doAnswer(
+                        invocation -> {
+                            Function<Readable, T> mapper = invocation.getArgument(0);
+                            doReturn(Flux.just(mapper.apply(row))).when(fetchSpec).all();
+                            return fetchSpec;
+                        })
+                .when(executeSpec)
+                .map(any(Function.class));
+    }
+}
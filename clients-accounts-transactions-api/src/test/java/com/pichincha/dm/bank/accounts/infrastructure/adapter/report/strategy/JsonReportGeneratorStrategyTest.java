@@ -10,6 +10,7 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.pichincha.dm.bank.accounts.application.strategy.JsonReportGeneratorStrategy;
 import com.pichincha.dm.bank.accounts.domain.Report;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
@@ -60,6 +61,25 @@ class JsonReportGeneratorStrategyTest {
                 .verifyComplete();
     }
 
+    @Test
+    void shouldGenerateUtf8JsonDocumentWhenValidReportProvided() {
+        // Arrange
+        Report report = createValidReport();
+
+        // Act
+        Mono<byte[]> result = jsonReportGeneratorStrategy.generateDocument(report);
+
+        // Assert
+        StepVerifier.create(result)
+                .assertNext(
+                        bytes -> {
+                            String json = new String(bytes, StandardCharsets.UTF_8);
+                            assertTrue(json.contains(report.getClientName()));
+                        })
+                .verifyComplete();
+        assertEquals("application/json", jsonReportGeneratorStrategy.getContentType());
+    }
+
     private Report createValidReport() {
         UUID movementId = UUID.randomUUID();
         UUID clientId = UUID.randomUUID();
@@ -86,6 +86,23 @@ class PdfReportGeneratorStrategyTest {
         verifyNoMoreInteractions(reportOutputPort);
     }
 
+    @Test
+    void givenValidReportWhenGenerateDocumentThenReturnPdfBytesWithoutBase64() {
+        // Arrange
+        byte[] pdfBytes = {'%', 'P', 'D', 'F'};
+        doReturn(Mono.just(pdfBytes)).when(reportOutputPort).renderPdf(testReport);
+
+        // Act
+        Mono<byte[]> result = pdfReportGeneratorStrategy.generateDocument(testReport);
+
+        // Assert
+        StepVerifier.create(result).expectNext(pdfBytes).verifyComplete();
+        assertEquals("application/pdf", pdfReportGeneratorStrategy.getContentType());
+
+        verify(reportOutputPort).renderPdf(testReport);
+        verifyNoMoreInteractions(reportOutputPort);
+    }
+
     @Test
     void whenGetFormatTypeThenReturnPdfString() {
         // Act
@@ -0,0 +1,68 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+class NdjsonNegotiationTest {
+
+    @Test
+    void givenNdjsonAcceptWhenRequestedThenReturnTrue() {
+        // Arrange
+        HttpHeaders headers = accept("application/x-ndjson");
+
+        // Act & Assert
+        assertTrue(NdjsonNegotiation.requested(headers));
+    }
+
+    @Test
+    void givenNoAcceptOrWildcardWhenRequestedThenKeepJsonArray() {
+        // Act & Assert
+        assertFalse(NdjsonNegotiation.requested(new HttpHeaders()));
+        assertFalse(NdjsonNegotiation.requested(accept("*/*")));
+        assertFalse(NdjsonNegotiation.requested(accept("application/json")));
+    }
+
+    @Test
+    void givenJsonPreferredOverNdjsonWhenRequestedThenKeepJsonArray() {
+        // Arrange
+        HttpHeaders headers = accept("application/json, application/x-ndjson;q=0.5");
+
+        // Act & Assert
+        assertFalse(NdjsonNegotiation.requested(headers));
+    }
+
+    @Test
+    void givenNdjsonWithJsonFallbackWhenRequestedThenReturnTrue() {
+        // Arrange
+        HttpHeaders headers = accept("application/x-ndjson, application/json;q=0.9");
+
+        // Act & Assert
+        assertTrue(NdjsonNegotiation.requested(headers));
+    }
+
+    @Test
+    void givenFluxWhenOkThenRespondWithNdjsonContentType() {
+        // Act
+        ResponseEntity<Flux<String>> result = NdjsonNegotiation.ok(Flux.just("a", "b"));
+
+        // Assert
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(MediaType.APPLICATION_NDJSON, result.getHeaders().getContentType());
+        StepVerifier.create(result.getBody()).expectNext("a", "b").verifyComplete();
+    }
+
+    private HttpHeaders accept(String value) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT, value);
+        return headers;
+    }
+}
@@ -0,0 +1,90 @@
+package com.pichincha.dm.bank.accounts.infrastructure.adapter.rest.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.pichincha.dm.bank.accounts.domain.CursorPage;
+import com.pichincha.dm.bank.accounts.domain.PageCursor;
+import com.pichincha.dm.bank.accounts.domain.exception.GeneralApplicationException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+class PageCursorCodecTest {
+
+    @Test
+    void givenCursorWithMicrosecondsWhenEncodeAndDecodeThenKeepPositionAndId() {
+        // Arrange
+        PageCursor cursor =
+                PageCursor.builder()
+                        .position(LocalDateTime.of(2024, 1, 15, 10, 30, 5, 123_456_000))
+                        .id(UUID.randomUUID())
+                        .build();
+
+        // Act
+        String token = PageCursorCodec.encode(cursor);
+        PageCursor result = PageCursorCodec.decode(token);
+
+        // Assert
+        assertFalse(token.contains("|"));
+        assertFalse(token.contains("="));
+        assertEquals(cursor, result);
+    }
+
+    @Test
+    void givenMissingTokenWhenDecodeThenReturnNull() {
+        // Act & Assert
+        assertNull(PageCursorCodec.decode(null));
+        assertNull(PageCursorCodec.decode(" "));
+    }
+
+    @Test
+    void givenMalformedTokenWhenDecodeThenThrowBadRequest() {
+        // Arrange
+        String notBase64 = "%%%";
+        String withoutId =
+                Base64.getUrlEncoder()
+                        .encodeToString("2024-01-15T10:30".getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        GeneralApplicationException first =
+                assertThrows(
+                        GeneralApplicationException.class, () -> PageCursorCodec.decode(notBase64));
+        GeneralApplicationException second =
+                assertThrows(
+                        GeneralApplicationException.class, () -> PageCursorCodec.decode(withoutId));
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, first.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, second.getStatusCode());
+    }
+
+    @Test
+    void givenPageWithNextCursorWhenHeadersThenSetNextCursorHeader() {
+        // Arrange
+        PageCursor next =
+                PageCursor.builder()
+                        .position(LocalDateTime.of(2024, 1, 1, 0, 0))
+                        .id(UUID.randomUUID())
+                        .build();
+        CursorPage<String> page =
+                CursorPage.<String>builder().items(List.of("a")).next(next).build();
+        CursorPage<String> last = CursorPage.<String>builder().items(List.of("b")).build();
+
+        // Act
+        HttpHeaders headers = PageCursorCodec.headers(page);
+        HttpHeaders lastHeaders = PageCursorCodec.headers(last);
+
+        // Assert
+        assertEquals(
+                next, PageCursorCodec.decode(headers.getFirst(PageCursorCodec.NEXT_CURSOR_HEADER)));
+        assertFalse(lastHeaders.containsKey(PageCursorCodec.NEXT_CURSOR_HEADER));
+    }
+}
@@ -0,0 +1,245 @@
+package com.pichincha.dm.bank.accounts.infrastructure.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.pichincha.dm.bank.accounts.domain.Report;
+import com.pichincha.dm.bank.accounts.domain.ReportCacheKey;
+import com.pichincha.dm.bank.accounts.domain.enums.ReportDetail;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+class InMemoryReportCacheAdapterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private InMemoryReportCacheAdapter reportCache;
+    private UUID clientId;
+    private UUID accountId;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        reportCache = new InMemoryReportCacheAdapter(meterRegistry, 2, DataSize.ofMegabytes(1));
+        clientId = UUID.randomUUID();
+        accountId = UUID.randomUUID();
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void givenRepeatedKeyWhenGetOrLoadThenLoadOnceAndCountHit() {
+        // Arrange
+        ReportCacheKey key = key(clientId, "pdf");
+
+        // Act
+        StepVerifier.create(reportCache.getOrLoad(key, () -> load("pdf-content")))
+                .expectNext("pdf-content")
+                .verifyComplete();
+        StepVerifier.create(reportCache.getOrLoad(key, () -> load("other")))
+                .expectNext("pdf-content")
+                .verifyComplete();
+
+        // Assert
+        assertEquals(1, loads.get());
+        assertEquals(1.0, requests("hit"));
+        assertEquals(1.0, requests("miss"));
+    }
+
+    @Test
+    void givenMoreKeysThanMaxEntriesWhenGetOrLoadThenEvictLeastRecentlyUsed() {
+        // Arrange
+        ReportCacheKey first = key(clientId, "pdf");
+        ReportCacheKey second = key(clientId, "json");
+        ReportCacheKey third = key(UUID.randomUUID(), "pdf");
+
+        // Act
+        reportCache.getOrLoad(first, () -> load("first")).block();
+        reportCache.getOrLoad(second, () -> load("second")).block();
+        reportCache.getOrLoad(first, () -> load("first")).block();
+        reportCache.getOrLoad(third, () -> load("third")).block();
+        reportCache.getOrLoad(first, () -> load("first")).block();
+        reportCache.getOrLoad(second, () -> load("second")).block();
+
+        // Assert
+        assertEquals(4, loads.get());
+        assertEquals(2.0, meterRegistry.get("bank.reports.cache.evictions").counter().count());
+        assertEquals(2.0, meterRegistry.get("bank.reports.cache.size").gauge().value());
+    }
+
+    @Test
+    void givenValuesOverMaxBytesWhenGetOrLoadThenEvictLeastRecentlyUsed() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        InMemoryReportCacheAdapter boundedCache =
+                new InMemoryReportCacheAdapter(registry, 10, DataSize.ofBytes(10));
+        ReportCacheKey first = key(clientId, "pdf");
+        ReportCacheKey second = key(clientId, "json");
+
+        // Act
+        boundedCache.getOrLoad(first, () -> load("123456")).block();
+        boundedCache.getOrLoad(second, () -> load("654321")).block();
+        boundedCache.getOrLoad(first, () -> load("123456")).block();
+
+        // Assert
+        assertEquals(3, loads.get());
+        assertEquals(2.0, registry.get("bank.reports.cache.evictions").counter().count());
+        assertEquals(6.0, registry.get("bank.reports.cache.bytes").gauge().value());
+    }
+
+    @Test
+    void givenValueLargerThanMaxBytesWhenGetOrLoadThenReturnItWithoutStoring() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        InMemoryReportCacheAdapter boundedCache =
+                new InMemoryReportCacheAdapter(registry, 10, DataSize.ofBytes(4));
+        ReportCacheKey key = key(clientId, "pdf");
+
+        // Act
+        StepVerifier.create(boundedCache.getOrLoad(key, () -> load("123456")))
+                .expectNext("123456")
+                .verifyComplete();
+        boundedCache.getOrLoad(key, () -> load("123456")).block();
+
+        // Assert
+        assertEquals(2, loads.get());
+        assertEquals(0.0, registry.get("bank.reports.cache.size").gauge().value());
+    }
+
+    @Test
+    void givenStoredReportWhenInvalidateAccountThenDropEveryReportOfItsClient() {
+        // Arrange
+        ReportCacheKey reportKey = key(clientId, null);
+        ReportCacheKey pdfKey = key(clientId, "pdf");
+        reportCache.getOrLoad(reportKey, () -> load(reportWithAccount())).block();
+        reportCache.getOrLoad(pdfKey, () -> load("pdf-content")).block();
+
+        // Act
+        reportCache.invalidateAccount(accountId).block();
+
+        // Assert
+        reportCache.getOrLoad(pdfKey, () -> load("fresh")).block();
+        assertEquals(3, loads.get());
+        assertEquals(0.0, requests("hit"));
+    }
+
+    @Test
+    void givenLoadInProgressWhenInvalidateClientThenDoNotStoreStaleResult() {
+        // Arrange
+        ReportCacheKey key = key(clientId, "pdf");
+        Sinks.One<String> gate = Sinks.one();
+        Mono<String> inProgress = reportCache.getOrLoad(key, gate::asMono);
+
+        // Act
+        StepVerifier.create(inProgress)
+                .then(() -> reportCache.invalidateClient(clientId).block())
+                .then(() -> gate.tryEmitValue("stale"))
+                .expectNext("stale")
+                .verifyComplete();
+
+        // Assert
+        StepVerifier.create(reportCache.getOrLoad(key, () -> load("fresh")))
+                .expectNext("fresh")
+                .verifyComplete();
+    }
+
+    @Test
+    void givenLoadInProgressWhenInvalidateUnknownAccountThenDoNotStoreResult() {
+        // Arrange
+        ReportCacheKey key = key(clientId, null);
+        Sinks.One<Report> gate = Sinks.one();
+        Mono<Report> inProgress = reportCache.getOrLoad(key, gate::asMono);
+
+        // Act
+        StepVerifier.create(inProgress)
+                .then(() -> reportCache.invalidateAccount(accountId).block())
+                .then(() -> gate.tryEmitValue(reportWithAccount()))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        // Assert
+        reportCache.getOrLoad(key, () -> load(reportWithAccount())).block();
+        assertEquals(1, loads.get());
+        assertEquals(2.0, requests("miss"));
+    }
+
+    @Test
+    void givenLoadInProgressWhenInvalidateAccountOutsideReportThenStoreResult() {
+        // Arrange
+        ReportCacheKey key = key(clientId, null);
+        Sinks.One<Report> gate = Sinks.one();
+        Mono<Report> inProgress = reportCache.getOrLoad(key, gate::asMono);
+
+        // Act
+        StepVerifier.create(inProgress)
+                .then(() -> reportCache.invalidateAccount(UUID.randomUUID()).block())
+                .then(() -> gate.tryEmitValue(reportWithAccount()))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        // Assert
+        reportCache.getOrLoad(key, () -> load(reportWithAccount())).block();
+        assertEquals(0, loads.get());
+        assertEquals(1.0, requests("hit"));
+    }
+
+    @Test
+    void givenOtherClientReportsWhenInvalidateClientThenKeepThem() {
+        // Arrange
+        ReportCacheKey otherKey = key(UUID.randomUUID(), "pdf");
+        reportCache.getOrLoad(otherKey, () -> load("other-client")).block();
+
+        // Act
+        reportCache.invalidateClient(clientId).block();
+
+        // Assert
+        StepVerifier.create(reportCache.getOrLoad(otherKey, () -> load("reloaded")))
+                .expectNext("other-client")
+                .verifyComplete();
+    }
+
+    private <T> Mono<T> load(T value) {
+        return Mono.fromCallable(
+                () -> {
+                    loads.incrementAndGet();
+                    return value;
+                });
+    }
+
+    private Report reportWithAccount() {
+        return Report.builder()
+                .clientId(clientId)
+                .accounts(
+                        List.of(
+                                Report.AccountSummary.builder()
+                                        .accountId(accountId)
+                                        .accountNumber(478758L)
+                                        .build()))
+                .build();
+    }
+
+    private ReportCacheKey key(UUID keyClientId, String format) {
+        return ReportCacheKey.builder()
+                .clientId(keyClientId)
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2024, 1, 31))
+                .detail(ReportDetail.COMPLETO)
+                .format(format)
+                .build();
+    }
+
+    private double requests(String result) {
+        return meterRegistry
+                .get("bank.reports.cache.requests")
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+}
@@ -0,0 +1,56 @@
+package com.pichincha.dm.bank.accounts.infrastructure.scheduler;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
+
+import com.pichincha.dm.bank.accounts.application.service.BalanceRecalculationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceRecalculationWorkerTest {
+
+    @Mock private BalanceRecalculationService balanceRecalculationService;
+
+    @InjectMocks private BalanceRecalculationWorker balanceRecalculationWorker;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(balanceRecalculationWorker, "batchSize", 25);
+    }
+
+    @Test
+    void givenPendingRecalculationsWhenProcessBatchThenReturnRewrittenRows() {
+        // Arrange
+        doReturn(Mono.just(12L)).when(balanceRecalculationService).processPendingRecalculations(25);
+
+        // Act
+        Mono<Long> result = balanceRecalculationWorker.processBatch();
+
+        // Assert
+        StepVerifier.create(result).expectNext(12L).verifyComplete();
+
+        verify(balanceRecalculationService).processPendingRecalculations(25);
+    }
+
+    @Test
+    void givenRecalculationFailureWhenProcessBatchThenCompleteWithoutError() {
+        // Arrange
+        doReturn(Mono.error(new IllegalStateException("database unavailable")))
+                .when(balanceRecalculationService)
+                .processPendingRecalculations(25);
+
+        // Act
+        Mono<Long> result = balanceRecalculationWorker.processBatch();
+
+        // Assert
+        StepVerifier.create(result).verifyComplete();
+    }
+}
@@ -0,0 +1,76 @@
+package com.pichincha.dm.bank.accounts.infrastructure.scheduler;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.pichincha.dm.bank.accounts.application.port.input.StatementBatchInputPort;
+import com.pichincha.dm.bank.accounts.domain.StatementBatchResult;
+import java.time.Duration;
+import java.time.YearMonth;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class MonthEndStatementWorkerTest {
+
+    private static final YearMonth PREVIOUS_MONTH = YearMonth.now().minusMonths(1);
+
+    @Mock private StatementBatchInputPort statementBatchInputPort;
+
+    @InjectMocks private MonthEndStatementWorker monthEndStatementWorker;
+
+    @Test
+    void givenPreviousMonthNotArchivedWhenClosePreviousMonthThenRunMonthEnd() {
+        // Arrange
+        StatementBatchResult batchResult =
+                StatementBatchResult.builder()
+                        .period(PREVIOUS_MONTH)
+                        .archived(10)
+                        .elapsed(Duration.ofSeconds(2))
+                        .build();
+        doReturn(Mono.just(false)).when(statementBatchInputPort).isPeriodArchived(PREVIOUS_MONTH);
+        doReturn(Mono.just(batchResult)).when(statementBatchInputPort).runMonthEnd(PREVIOUS_MONTH);
+
+        // Act
+        Mono<StatementBatchResult> result = monthEndStatementWorker.closePreviousMonth();
+
+        // Assert
+        StepVerifier.create(result).expectNext(batchResult).verifyComplete();
+    }
+
+    @Test
+    void givenPreviousMonthArchivedWhenClosePreviousMonthThenSkipRun() {
+        // Arrange
+        doReturn(Mono.just(true)).when(statementBatchInputPort).isPeriodArchived(PREVIOUS_MONTH);
+
+        // Act
+        Mono<StatementBatchResult> result = monthEndStatementWorker.closePreviousMonth();
+
+        // Assert
+        StepVerifier.create(result).verifyComplete();
+
+        verify(statementBatchInputPort, never()).runMonthEnd(any());
+    }
+
+    @Test
+    void givenRunFailureWhenClosePreviousMonthThenCompleteWithoutError() {
+        // Arrange
+        doReturn(Mono.just(false)).when(statementBatchInputPort).isPeriodArchived(PREVIOUS_MONTH);
+        doReturn(Mono.error(new IllegalStateException("disk full")))
+                .when(statementBatchInputPort)
+                .runMonthEnd(PREVIOUS_MONTH);
+
+        // Act
+        Mono<StatementBatchResult> result = monthEndStatementWorker.closePreviousMonth();
+
+        // Assert
+        StepVerifier.create(result).verifyComplete();
+    }
+}
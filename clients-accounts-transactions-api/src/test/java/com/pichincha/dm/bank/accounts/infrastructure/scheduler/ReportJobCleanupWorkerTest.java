@@ -0,0 +1,49 @@
+package com.pichincha.dm.bank.accounts.infrastructure.scheduler;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
+
+import com.pichincha.dm.bank.accounts.application.port.input.ReportJobInputPort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class ReportJobCleanupWorkerTest {
+
+    @Mock private ReportJobInputPort reportJobInputPort;
+
+    @InjectMocks private ReportJobCleanupWorker reportJobCleanupWorker;
+
+    @Test
+    void givenExpiredJobsWhenPurgeExpiredThenReturnPurgedJobs() {
+        // Arrange
+        doReturn(Mono.just(4L)).when(reportJobInputPort).purgeExpiredJobs();
+
+        // Act
+        Mono<Long> result = reportJobCleanupWorker.purgeExpired();
+
+        // Assert
+        StepVerifier.create(result).expectNext(4L).verifyComplete();
+
+        verify(reportJobInputPort).purgeExpiredJobs();
+    }
+
+    @Test
+    void givenCleanupFailureWhenPurgeExpiredThenCompleteWithoutError() {
+        // Arrange
+        doReturn(Mono.error(new IllegalStateException("disk unavailable")))
+                .when(reportJobInputPort)
+                .purgeExpiredJobs();
+
+        // Act
+        Mono<Long> result = reportJobCleanupWorker.purgeExpired();
+
+        // Assert
+        StepVerifier.create(result).verifyComplete();
+    }
+}
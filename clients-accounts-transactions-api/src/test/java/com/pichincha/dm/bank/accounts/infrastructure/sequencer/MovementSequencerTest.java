@@ -0,0 +1,215 @@
+package com.pichincha.dm.bank.accounts.infrastructure.sequencer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+class MovementSequencerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MovementSequencer movementSequencer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        movementSequencer = new MovementSequencer(meterRegistry, 16, 8);
+    }
+
+    @Test
+    void givenOperationsOnSameAccountWhenSubmitThenRunOneAfterAnother() {
+        // Arrange
+        UUID accountId = UUID.randomUUID();
+        Sinks.One<String> firstGate = Sinks.one();
+        AtomicBoolean secondStarted = new AtomicBoolean();
+
+        List<String> results = new CopyOnWriteArrayList<>();
+
+        // Act
+        movementSequencer.submit(accountId, firstGate::asMono).subscribe(results::add);
+        movementSequencer
+                .submit(
+                        accountId,
+                        () -> {
+                            secondStarted.set(true);
+                            return Mono.just("second");
+                        })
+                .subscribe(results::add);
+
+        // Assert
+        assertFalse(secondStarted.get());
+        assertEquals(
+                2.0, meterRegistry.get("bank.movements.sequencer.queue.depth").gauge().value());
+
+        firstGate.tryEmitValue("first");
+
+        assertTrue(secondStarted.get());
+        assertEquals(List.of("first", "second"), results);
+        assertEquals(
+                0.0, meterRegistry.get("bank.movements.sequencer.queue.depth").gauge().value());
+        assertEquals(2, meterRegistry.get("bank.movements.sequencer.wait").timer().count());
+    }
+
+    @Test
+    void givenOperationsOnDifferentStripesWhenSubmitThenRunWithoutWaiting() {
+        // Arrange
+        MovementSequencer sequencer = new MovementSequencer(meterRegistry, 2, 8);
+        UUID blockedAccount = new UUID(0, 0);
+        UUID freeAccount = new UUID(0, 1);
+        Sinks.One<String> blockedGate = Sinks.one();
+
+        // Act
+        sequencer.submit(blockedAccount, blockedGate::asMono).subscribe();
+        Mono<String> result = sequencer.submit(freeAccount, () -> Mono.just("free"));
+
+        // Assert
+        StepVerifier.create(result).expectNext("free").verifyComplete();
+        blockedGate.tryEmitValue("blocked");
+    }
+
+    @Test
+    void givenHotAccountWhenSubmitBeyondThresholdThenCountCrossingOnceAndReportBusiestStripe() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MovementSequencer sequencer = new MovementSequencer(registry, 16, 3);
+        UUID hotAccount = UUID.randomUUID();
+        Sinks.One<String> gate = Sinks.one();
+
+        // Act
+        sequencer.submit(hotAccount, gate::asMono).subscribe();
+        for (int i = 0; i < 5; i++) {
+            sequencer.submit(hotAccount, () -> Mono.just("queued")).subscribe();
+        }
+        sequencer.submit(UUID.randomUUID(), Mono::<String>never).subscribe();
+
+        // Assert
+        assertEquals(1, registry.get("bank.movements.sequencer.hot").counter().count());
+        assertEquals(6.0, registry.get("bank.movements.sequencer.queue.depth.max").gauge().value());
+
+        gate.tryEmitValue("first");
+
+        assertEquals(1.0, registry.get("bank.movements.sequencer.queue.depth.max").gauge().value());
+    }
+
+    @Test
+    void givenFailingOperationWhenSubmitThenPropagateErrorAndReleaseStripe() {
+        // Arrange
+        UUID accountId = UUID.randomUUID();
+        IllegalStateException failure = new IllegalStateException("boom");
+
+        // Act
+        Mono<String> failed = movementSequencer.submit(accountId, () -> Mono.error(failure));
+        Mono<String> next = movementSequencer.submit(accountId, () -> Mono.just("next"));
+
+        // Assert
+        StepVerifier.create(failed).expectErrorMatches(failure::equals).verify();
+        StepVerifier.create(next).expectNext("next").verifyComplete();
+    }
+
+    @Test
+    void givenCancelledQueuedOperationWhenDrainThenStillRunIt() {
+        // Arrange
+        UUID accountId = UUID.randomUUID();
+        Sinks.One<String> firstGate = Sinks.one();
+        AtomicBoolean cancelledStarted = new AtomicBoolean();
+
+        movementSequencer.submit(accountId, firstGate::asMono).subscribe();
+        movementSequencer
+                .submit(
+                        accountId,
+                        () -> {
+                            cancelledStarted.set(true);
+                            return Mono.just("cancelled");
+                        })
+                .subscribe()
+                .dispose();
+
+        // Act
+        firstGate.tryEmitValue("first");
+
+        // Assert
+        assertTrue(cancelledStarted.get());
+        assertEquals(
+                0.0, meterRegistry.get("bank.movements.sequencer.queue.depth").gauge().value());
+    }
+
+    @Test
+    void givenRunningOperationWhenCancelledThenCompleteItBeforeNextOne() {
+        // Arrange
+        UUID accountId = UUID.randomUUID();
+        Sinks.One<String> runningGate = Sinks.one();
+        AtomicBoolean runningCompleted = new AtomicBoolean();
+        AtomicBoolean nextStarted = new AtomicBoolean();
+
+        Disposable running =
+                movementSequencer
+                        .submit(
+                                accountId,
+                                () ->
+                                        runningGate
+                                                .asMono()
+                                                .doOnSuccess(value -> runningCompleted.set(true)))
+                        .subscribe();
+        movementSequencer
+                .submit(
+                        accountId,
+                        () -> {
+                            nextStarted.set(true);
+                            return Mono.just("next");
+                        })
+                .subscribe();
+
+        // Act
+        running.dispose();
+
+        // Assert
+        assertFalse(nextStarted.get());
+
+        runningGate.tryEmitValue("running");
+
+        assertTrue(runningCompleted.get());
+        assertTrue(nextStarted.get());
+        assertEquals(
+                0.0, meterRegistry.get("bank.movements.sequencer.queue.depth").gauge().value());
+    }
+
+    @Test
+    void givenConcurrentSubmissionsOnSameAccountWhenDrainThenKeepArrivalOrder() {
+        // Arrange
+        UUID accountId = UUID.randomUUID();
+        List<Integer> executionOrder = new CopyOnWriteArrayList<>();
+
+        // Act
+        Flux<Integer> results =
+                Flux.range(0, 100)
+                        .concatMap(
+                                index ->
+                                        movementSequencer.submit(
+                                                accountId,
+                                                () ->
+                                                        Mono.fromCallable(
+                                                                () -> {
+                                                                    executionOrder.add(index);
+                                                                    return index;
+                                                                })));
+
+        // Assert
+        StepVerifier.create(results).expectNextCount(100).verifyComplete();
+        assertEquals(100, executionOrder.size());
+        for (int i = 0; i < executionOrder.size(); i++) {
+            assertEquals(i, executionOrder.get(i));
+        }
+    }
+}
@@ -58,12 +58,14 @@ export class ClientsComponent {
   }
 
   private _generateReport(row: Client) {
-    this._reportService.generateReport(row.id).subscribe({
-      next: (data: any) => {
+    this._reportService.downloadReport(row.id).subscribe({
+      next: (pdf: Blob) => {
+        const url = URL.createObjectURL(pdf);
         const link = document.createElement('a');
-        link.href = 'data:application/pdf;base64,' + data.pdfBase64;
+        link.href = url;
         link.download = row.persona.nombre + ' ' + row.persona.apellido + ' - Reporte de Movimientos.pdf';
         link.click();
+        URL.revokeObjectURL(url);
       },
       error: (error) => {
         console.error('Error generating report:', error);
@@ -65,7 +65,42 @@ describe('ReportService', () => {
     expect(req.request.params.get('fechaDesde')).toBe('2025-01-01');
     expect(req.request.params.get('fechaHasta')).toBe(service.getCurrentDate());
     expect(req.request.params.get('formato')).toBe('pdf');
+    expect(req.request.params.get('detalle')).toBe('completo');
 
     req.flush(mockData);
   });
+
+  it('should request the summary report when detalle is resumen', () => {
+    const clientId = '123';
+
+    service.generateReport(clientId, '2025-01-01', '2025-01-31', 'resumen').subscribe();
+
+    const req = httpTesting.expectOne(
+      (request) => request.url === `${environment.apiUrl}/reportes`
+    );
+    expect(req.request.params.get('detalle')).toBe('resumen');
+
+    req.flush({});
+  });
+
+  it('should request the binary PDF when downloadReport is called', (done) => {
+    const clientId = '123';
+    const pdf = new Blob(['%PDF'], { type: 'application/pdf' });
+
+    service.downloadReport(clientId).subscribe((data) => {
+      expect(data).toEqual(pdf);
+      done();
+    });
+
+    const req = httpTesting.expectOne(
+      (request) => request.url === `${environment.apiUrl}/reportes`
+    );
+    expect(req.request.method).toBe('GET');
+    expect(req.request.responseType).toBe('blob');
+    expect(req.request.headers.get('Accept')).toContain('application/pdf');
+    expect(req.request.params.get('formato')).toBe('pdf');
+    expect(req.request.params.get('detalle')).toBe('completo');
+
+    req.flush(pdf);
+  });
 });
@@ -1,4 +1,4 @@
-import { HttpClient, HttpParams } from '@angular/common/http';
+import { HttpClient, HttpHeaders, HttpParams } from '@angular/common/http';
 import { inject, Injectable } from '@angular/core';
 import { environment } from '../../../environments/environment.local';
 
@@ -17,12 +17,24 @@ export class ReportService {
       return `${year}-${month}-${day}`;
     }
 
-  generateReport(clientId: string, fechaDesde: string = "2025-01-01", fechaHasta: string = this.getCurrentDate()) {
+  generateReport(clientId: string, fechaDesde: string = "2025-01-01", fechaHasta: string = this.getCurrentDate(), detalle: 'completo' | 'resumen' = 'completo') {
     const params = new HttpParams()
       .set('clienteId', clientId)
       .set('fechaDesde', fechaDesde)
       .set('fechaHasta', fechaHasta)
-      .set('formato', 'pdf');
+      .set('formato', 'pdf')
+      .set('detalle', detalle);
     return this.http.get(this.apiUrl, { params });
   }
+
+  downloadReport(clientId: string, fechaDesde: string = "2025-01-01", fechaHasta: string = this.getCurrentDate(), detalle: 'completo' | 'resumen' = 'completo') {
+    const params = new HttpParams()
+      .set('clienteId', clientId)
+      .set('fechaDesde', fechaDesde)
+      .set('fechaHasta', fechaHasta)
+      .set('formato', 'pdf')
+      .set('detalle', detalle);
+    const headers = new HttpHeaders({ Accept: 'application/pdf, application/json;q=0.9' });
+    return this.http.get(this.apiUrl, { params, headers, responseType: 'blob' });
+  }
 }